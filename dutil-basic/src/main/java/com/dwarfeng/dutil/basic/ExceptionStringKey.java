@@ -40,11 +40,14 @@ public enum ExceptionStringKey implements Name {
     MUALISTMODEL_1("MuaListModel.1"), //
     STRINGOUTPUTSTREAM_0("StringOutputStream.0"), //
     STRINGOUTPUTSTREAM_1("StringOutputStream.1"), //
+    STRINGOUTPUTSTREAM_2("StringOutputStream.2"), //
     STRINGINPUTSTREAM_0("StringInputStream.0"), //
     STRINGINPUTSTREAM_1("StringInputStream.1"), //
     STRINGINPUTSTREAM_2("StringInputStream.2"), //
     STRINGINPUTSTREAM_3("StringInputStream.3"), //
     STRINGINPUTSTREAM_4("StringInputStream.4"), //
+    STRINGINPUTSTREAM_5("StringInputStream.5"), //
+    STRINGINPUTSTREAM_6("StringInputStream.6"), //
     IOUTIL_0("IOUtil.0"), //
     STRINGUTIL_0("StringUtil.0"), //
     ARRAYUTIL_0("ArrayUtil.0"), //
@@ -239,6 +242,7 @@ public enum ExceptionStringKey implements Name {
     RESOURCEUTIL_0("ResourceUtil.0"), //
     RESOURCEUTIL_1("ResourceUtil.1"), //
     RESOURCEUTIL_2("ResourceUtil.2"), //
+    RESOURCEUTIL_3("ResourceUtil.3"), //
     DELEGATERESOURCEHANDLER_0("DelegateResourceHandler.0"), //
     ABSTRACTRESOURCE_0("AbstractResource.0"), //
     URL2FILERESOURCE_0("Url2FileResource.0"), //
@@ -270,6 +274,9 @@ public enum ExceptionStringKey implements Name {
     FILEUTIL_1("FileUtil.1"), //
     FILEUTIL_2("FileUtil.2"), //
     FILEUTIL_3("FileUtil.3"), //
+    FILEUTIL_4("FileUtil.4"), //
+    FILEUTIL_5("FileUtil.5"), //
+    FILEUTIL_6("FileUtil.6"), //
     INTERVAL_0("Interval.0"), //
     INTERVAL_1("Interval.1"), //
     INTERVAL_2("Interval.2"), //
@@ -305,6 +312,9 @@ public enum ExceptionStringKey implements Name {
     CT_0("CT.0"), //
     CT_1("CT.1"), //
     CT_2("CT.2"), //
+    CT_3("CT.3"), //
+    CT_4("CT.4"), //
+    CT_5("CT.5"), //
     LOGGERHANDLER_0("LoggerHandler.0"), //
     LOGGERHANDLER_1("LoggerHandler.1"), //
     INTEGRALVALUEPARSER_0("IntegralValueParser.0"), //
@@ -320,6 +330,7 @@ public enum ExceptionStringKey implements Name {
     XMLJAR2REPORESOURCELOADER_2("XmlJar2RepoResourceLoader.2"), //
     XMLJAR2REPORESOURCELOADER_3("XmlJar2RepoResourceLoader.3"), //
     XMLJAR2REPORESOURCELOADER_4("XmlJar2RepoResourceLoader.4"), //
+    XMLJAR2REPORESOURCELOADER_5("XmlJar2RepoResourceLoader.5"), //
     ABSTRACTSETTINGHANDLER_0("AbstractSettingHandler.0"), //
     ABSTRACTSETTINGHANDLER_1("AbstractSettingHandler.1"), //
     ABSTRACTSETTINGHANDLER_2("AbstractSettingHandler.2"), //
@@ -407,6 +418,81 @@ public enum ExceptionStringKey implements Name {
     TIMEUTIL_2("TimeUtil.2"), //
     TIMEUTIL_3("TimeUtil.3"), //
     TIMEUTIL_4("TimeUtil.4"), //
+    CHUNKEDBYTEBUFFEROUTPUTSTREAM_0("ChunkedByteBufferOutputStream.0"), //
+    CHUNKEDBYTEBUFFEROUTPUTSTREAM_1("ChunkedByteBufferOutputStream.1"), //
+    CHUNKEDBYTEBUFFEROUTPUTSTREAM_2("ChunkedByteBufferOutputStream.2"), //
+    CHUNKEDBYTEBUFFEROUTPUTSTREAM_3("ChunkedByteBufferOutputStream.3"), //
+    CHUNKEDBYTEBUFFEROUTPUTSTREAM_4("ChunkedByteBufferOutputStream.4"), //
+    BITREADER_0("BitReader.0"), //
+    BITREADER_1("BitReader.1"), //
+    BITREADER_2("BitReader.2"), //
+    BITREADER_3("BitReader.3"), //
+    BITREADER_4("BitReader.4"), //
+    BITREADER_5("BitReader.5"), //
+    BITREADER_6("BitReader.6"), //
+    BITREADER_7("BitReader.7"), //
+    BITREADER_8("BitReader.8"), //
+    BITREADER_9("BitReader.9"), //
+    BITWRITER_0("BitWriter.0"), //
+    BITWRITER_1("BitWriter.1"), //
+    BITWRITER_2("BitWriter.2"), //
+    BITWRITER_3("BitWriter.3"), //
+    BITWRITER_4("BitWriter.4"), //
+    BITWRITER_5("BitWriter.5"), //
+    BITWRITER_6("BitWriter.6"), //
+    BITWRITER_7("BitWriter.7"), //
+    BITWRITER_8("BitWriter.8"), //
+    PACKEDLONGARRAY_0("PackedLongArray.0"), //
+    PACKEDLONGARRAY_1("PackedLongArray.1"), //
+    PACKEDLONGARRAY_2("PackedLongArray.2"), //
+    PACKEDLONGARRAY_3("PackedLongArray.3"), //
+    PACKEDLONGARRAY_4("PackedLongArray.4"), //
+    PACKEDLONGARRAY_5("PackedLongArray.5"), //
+    PACKEDLONGARRAY_6("PackedLongArray.6"), //
+    PACKEDLONGARRAY_7("PackedLongArray.7"), //
+    PACKEDINTARRAY_0("PackedIntArray.0"), //
+    PACKEDINTARRAY_1("PackedIntArray.1"), //
+    PACKEDINTARRAY_2("PackedIntArray.2"), //
+    PACKEDINTARRAY_3("PackedIntArray.3"), //
+    ROARINGBITMAP_0("RoaringBitmap.0"), //
+    ROARINGBITMAP_1("RoaringBitmap.1"), //
+    ROARINGBITMAP_2("RoaringBitmap.2"), //
+    ROARINGBITMAP_3("RoaringBitmap.3"), //
+    ROARINGBITMAP_4("RoaringBitmap.4"), //
+    ROARINGBITMAP_5("RoaringBitmap.5"), //
+    ROARINGBITMAP_6("RoaringBitmap.6"), //
+    ROARINGBITMAP_7("RoaringBitmap.7"), //
+    INDEXEDKEYLISTMODEL_0("IndexedKeyListModel.0"), //
+    INDEXEDKEYSETMODEL_0("IndexedKeySetModel.0"), //
+    OBSERVERREGISTRY_0("ObserverRegistry.0"), //
+    MODELEVENTDISPATCHER_0("ModelEventDispatcher.0"), //
+    CONCURRENTMAPMODEL_0("ConcurrentMapModel.0"), //
+    CONCURRENTMAPMODEL_1("ConcurrentMapModel.1"), //
+    CONCURRENTMAPMODEL_2("ConcurrentMapModel.2"), //
+    CONCURRENTMAPMODEL_3("ConcurrentMapModel.3"), //
+    CONCURRENTMAPMODEL_4("ConcurrentMapModel.4"), //
+    CONCURRENTMAPMODEL_5("ConcurrentMapModel.5"), //
+    CONCURRENTKEYSETMODEL_0("ConcurrentKeySetModel.0"), //
+    CONCURRENTKEYSETMODEL_1("ConcurrentKeySetModel.1"), //
+    ATOMICREFERENCEMODEL_0("AtomicReferenceModel.0"), //
+    ABSTRACTMODELJOURNAL_0("AbstractModelJournal.0"), //
+    ABSTRACTMODELJOURNAL_1("AbstractModelJournal.1"), //
+    ABSTRACTMODELJOURNAL_2("AbstractModelJournal.2"), //
+    ABSTRACTMODELJOURNAL_3("AbstractModelJournal.3"), //
+    ABSTRACTMODELJOURNAL_4("AbstractModelJournal.4"), //
+    LISTMODELJOURNAL_0("ListModelJournal.0"), //
+    LISTMODELJOURNAL_1("ListModelJournal.1"), //
+    LISTMODELJOURNAL_2("ListModelJournal.2"), //
+    MAPMODELJOURNAL_0("MapModelJournal.0"), //
+    MAPMODELJOURNAL_1("MapModelJournal.1"), //
+    MAPMODELJOURNAL_2("MapModelJournal.2"), //
+    MAPMODELJOURNAL_3("MapModelJournal.3"), //
+    PAGEDLISTMODEL_0("PagedListModel.0"), //
+    PAGEDLISTMODEL_1("PagedListModel.1"), //
+    PAGEDLISTMODEL_2("PagedListModel.2"), //
+    PAGEDLISTMODEL_3("PagedListModel.3"), //
+    PAGEDLISTMODEL_4("PagedListModel.4"), //
+    PAGEDLISTMODEL_5("PagedListModel.5"), //
 
     ;
 
@@ -0,0 +1,340 @@
+package com.dwarfeng.dutil.basic.bit;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+
+/**
+ * 位读取器。
+ *
+ * <p>
+ * 从字节数组、{@link ByteBuffer} 或者 {@link ReadableByteChannel} 中依次读取任意位宽的无符号整数，
+ * 读取器自动维护当前的位偏移，不需要调用者手动计算。
+ *
+ * <p>
+ * 位序与 {@link BitUtil} 一致：字节内从高位到低位读取，读取的位从高位到低位依次构成返回值的二进制表示。
+ *
+ * <p>
+ * 读取器缓存一个 64 位的窗口，窗口中的位读取完毕时才从数据源中装载后续的字节，
+ * 因此连续的小位宽读取只需要移位操作，不需要重复的边界检查与字节装载。
+ *
+ * <p>
+ * 使用通道作为数据源时，读取器持有一个固定大小的缓冲，缓冲读取完毕后再从通道中读取后续的数据，
+ * 适用于无法一次性载入内存的大型输入；通道应当处于阻塞模式。
+ *
+ * <p>
+ * 该读取器不是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public class BitReader implements Closeable {
+
+    /**
+     * 通道模式下默认的缓冲大小。
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final ByteBuffer buffer;
+    private final ReadableByteChannel channel;
+
+    /**
+     * 位窗口，有效的位左对齐存放。
+     */
+    private long window = 0;
+    private int windowBits = 0;
+    private long bitPosition = 0;
+    private boolean endOfChannel = false;
+
+    /**
+     * 生成一个从指定字节数组中读取的位读取器。
+     *
+     * @param data 指定的字节数组。
+     * @throws IllegalArgumentException 入口参数为 <code>null</code>。
+     */
+    public BitReader(byte[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.BITREADER_0));
+        }
+        this.buffer = ByteBuffer.wrap(data);
+        this.channel = null;
+    }
+
+    /**
+     * 生成一个从指定缓冲中读取的位读取器。
+     *
+     * <p>
+     * 读取器从缓冲的当前位置读取到缓冲的界限，读取不会改变指定缓冲的位置、界限与字节序。
+     *
+     * @param buffer 指定的缓冲。
+     * @throws IllegalArgumentException 入口参数为 <code>null</code>。
+     */
+    public BitReader(ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.BITREADER_1));
+        }
+        this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        this.channel = null;
+    }
+
+    /**
+     * 生成一个从指定通道中读取，使用默认缓冲大小的位读取器。
+     *
+     * @param channel 指定的通道。
+     * @throws IllegalArgumentException 入口参数为 <code>null</code>。
+     */
+    public BitReader(ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 生成一个从指定通道中读取，使用指定缓冲大小的位读取器。
+     *
+     * @param channel    指定的通道。
+     * @param bufferSize 指定的缓冲大小。
+     * @throws IllegalArgumentException 通道为 <code>null</code>，或者缓冲大小不为正数。
+     */
+    public BitReader(ReadableByteChannel channel, int bufferSize) {
+        if (channel == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.BITREADER_2));
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException(
+                    String.format(DwarfUtil.getExceptionString(ExceptionStringKey.BITREADER_3), bufferSize));
+        }
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.buffer.flip();
+        this.channel = channel;
+    }
+
+    /**
+     * 读取一个位。
+     *
+     * @return 读取的位值，0 或 1。
+     * @throws EOFException 已经到达数据的末尾。
+     * @throws IOException  从通道中读取时发生的 IO 异常。
+     */
+    public int readBit() throws IOException {
+        return (int) readBitsAsLong(1);
+    }
+
+    /**
+     * 读取指定位数，作为无符号整数返回。
+     *
+     * @param bitLength 位长度，范围 1 至 32。
+     * @return 读取的无符号整数值。
+     * @throws IllegalArgumentException bitLength 不在 1–32。
+     * @throws EOFException             剩余的位不足 bitLength。
+     * @throws IOException              从通道中读取时发生的 IO 异常。
+     */
+    public int readBitsAsInt(int bitLength) throws IOException {
+        if (bitLength < 1 || bitLength > 32) {
+            throw new IllegalArgumentException(
+                    String.format(DwarfUtil.getExceptionString(ExceptionStringKey.BITREADER_5), bitLength));
+        }
+        if (bitLength <= windowBits) {
+            return (int) take(bitLength);
+        }
+        return (int) readSlow(bitLength);
+    }
+
+    /**
+     * 读取指定位数，作为无符号长整数返回。
+     *
+     * @param bitLength 位长度，范围 1 至 64。
+     * @return 读取的无符号长整数值。
+     * @throws IllegalArgumentException bitLength 不在 1–64。
+     * @throws EOFException             剩余的位不足 bitLength。
+     * @throws IOException              从通道中读取时发生的 IO 异常。
+     */
+    public long readBitsAsLong(int bitLength) throws IOException {
+        if (bitLength < 1 || bitLength > 64) {
+            throw new IllegalArgumentException(
+                    String.format(DwarfUtil.getExceptionString(ExceptionStringKey.BITREADER_4), bitLength));
+        }
+        if (bitLength <= windowBits) {
+            return take(bitLength);
+        }
+        return readSlow(bitLength);
+    }
+
+    /**
+     * 连续读取位宽相同的多个无符号整数，填满指定的数组。
+     *
+     * @param dst       存放结果的数组。
+     * @param bitLength 每个整数的位长度，范围 1 至 32。
+     * @throws IllegalArgumentException dst 为 <code>null</code>，或者 bitLength 不在 1–32。
+     * @throws EOFException             剩余的位不足以填满数组。
+     * @throws IOException              从通道中读取时发生的 IO 异常。
+     */
+    public void readBits(int[] dst, int bitLength) throws IOException {
+        if (dst == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.BITREADER_6));
+        }
+        readBits(dst, 0, dst.length, bitLength);
+    }
+
+    /**
+     * 连续读取位宽相同的多个无符号整数，存放到数组的指定范围中。
+     *
+     * <p>
+     * 如果在读取的过程中到达了数据的末尾，已经读取的整数保留在数组中。
+     *
+     * @param dst       存放结果的数组。
+     * @param off       数组中的起始位置。
+     * @param len       读取的整数个数。
+     * @param bitLength 每个整数的位长度，范围 1 至 32。
+     * @throws IllegalArgumentException dst 为 <code>null</code>、范围越界，或者 bitLength 不在 1–32。
+     * @throws EOFException             剩余的位不足以读取 len 个整数。
+     * @throws IOException              从通道中读取时发生的 IO 异常。
+     */
+    public void readBits(int[] dst, int off, int len, int bitLength) throws IOException {
+        if (dst == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.BITREADER_6));
+        }
+        if (off < 0 || len < 0 || len > dst.length - off) {
+            throw new IllegalArgumentException(String.format(
+                    DwarfUtil.getExceptionString(ExceptionStringKey.BITREADER_7), off, len, dst.length));
+        }
+        if (bitLength < 1 || bitLength > 32) {
+            throw new IllegalArgumentException(
+                    String.format(DwarfUtil.getExceptionString(ExceptionStringKey.BITREADER_5), bitLength));
+        }
+        for (int i = off; i < off + len; i++) {
+            dst[i] = (int) (bitLength <= windowBits ? take(bitLength) : readSlow(bitLength));
+        }
+    }
+
+    /**
+     * 跳过指定数量的位。
+     *
+     * @param bitCount 跳过的位数。
+     * @throws IllegalArgumentException bitCount 为负数。
+     * @throws EOFException             剩余的位不足 bitCount。
+     * @throws IOException              从通道中读取时发生的 IO 异常。
+     */
+    public void skipBits(long bitCount) throws IOException {
+        if (bitCount < 0) {
+            throw new IllegalArgumentException(
+                    String.format(DwarfUtil.getExceptionString(ExceptionStringKey.BITREADER_8), bitCount));
+        }
+        while (bitCount > 0) {
+            int chunk = (int) Math.min(bitCount, Long.SIZE);
+            readBitsAsLong(chunk);
+            bitCount -= chunk;
+        }
+    }
+
+    /**
+     * 跳过当前字节中剩余的位，使下一次读取从字节的边界开始。
+     *
+     * @throws IOException 从通道中读取时发生的 IO 异常。
+     */
+    public void alignToByte() throws IOException {
+        int padding = (int) ((BitUtil.BITS_PER_BYTE - (bitPosition & BitUtil.MAX_BIT_OFFSET_IN_BYTE))
+                & BitUtil.MAX_BIT_OFFSET_IN_BYTE);
+        if (padding > 0) {
+            skipBits(padding);
+        }
+    }
+
+    /**
+     * 返回数据源中是否还有可以读取的位。
+     *
+     * @return 是否还有可以读取的位。
+     * @throws IOException 从通道中读取时发生的 IO 异常。
+     */
+    public boolean hasRemaining() throws IOException {
+        if (windowBits == 0) {
+            refill();
+        }
+        return windowBits > 0;
+    }
+
+    /**
+     * 返回已经读取的位数。
+     *
+     * @return 已经读取的位数。
+     */
+    public long getBitPosition() {
+        return bitPosition;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * 如果读取器的数据源是通道，则关闭该通道；否则该方法不做任何操作。
+     */
+    @Override
+    public void close() throws IOException {
+        if (Objects.nonNull(channel)) {
+            channel.close();
+        }
+    }
+
+    private long take(int bitLength) {
+        long value = window >>> (Long.SIZE - bitLength);
+        window = bitLength == Long.SIZE ? 0 : window << bitLength;
+        windowBits -= bitLength;
+        bitPosition += bitLength;
+        return value;
+    }
+
+    private long readSlow(int bitLength) throws IOException {
+        refill();
+        if (bitLength <= windowBits) {
+            return take(bitLength);
+        }
+        // 窗口装载之后依然不足时，只有窗口中已有超过 7 个字节，且数据源中还有后续的字节，才能跨窗口读取。
+        if (windowBits <= Long.SIZE - BitUtil.BITS_PER_BYTE || !(buffer.hasRemaining() || fill())) {
+            throw new EOFException(DwarfUtil.getExceptionString(ExceptionStringKey.BITREADER_9));
+        }
+        int high = windowBits;
+        int low = bitLength - high;
+        long value = take(high);
+        refill();
+        return (value << low) | take(low);
+    }
+
+    private void refill() throws IOException {
+        while (windowBits <= Long.SIZE - BitUtil.BITS_PER_BYTE) {
+            if (!buffer.hasRemaining() && !fill()) {
+                return;
+            }
+            if (windowBits == 0 && buffer.remaining() >= Long.BYTES) {
+                window = buffer.getLong();
+                windowBits = Long.SIZE;
+                return;
+            }
+            window |= (buffer.get() & 0xFFL) << (Long.SIZE - BitUtil.BITS_PER_BYTE - windowBits);
+            windowBits += BitUtil.BITS_PER_BYTE;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (Objects.isNull(channel) || endOfChannel) {
+            return false;
+        }
+        buffer.compact();
+        try {
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read == 0 && buffer.hasRemaining());
+            if (read < 0) {
+                endOfChannel = true;
+            }
+        } finally {
+            buffer.flip();
+        }
+        return buffer.hasRemaining();
+    }
+}
@@ -3,6 +3,9 @@ package com.dwarfeng.dutil.basic.bit;
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 /**
  * Bit 工具类。
  *
@@ -12,6 +15,10 @@ import com.dwarfeng.dutil.basic.ExceptionStringKey;
  * <p>
  * 位序约定：字节内从高位到低位（bit 7 → bit 0）。位偏移 0 表示第一个字节的最高位（bit 7）。
  *
+ * <p>
+ * 位复制、位段的提取与写入、位计数以及位逻辑运算均以 64 位的字为单位进行处理：
+ * 字节数组以大端序读取为长整数，通过移位与掩码完成合并，只有首尾不足一个字的部分才会按字节处理。
+ *
  * @author DwArFeng
  * @since 0.4.1-beta
  */
@@ -110,35 +117,38 @@ public final class BitUtil {
                 int sourceStartByte = sourceStartBit / BITS_PER_BYTE;
                 int destStartByte = destStartBit / BITS_PER_BYTE;
                 int byteLength = bitLength / BITS_PER_BYTE;
-                System.arraycopy(source, sourceStartByte, dest, destStartByte, byteLength);
                 int remainingBits = bitLength % BITS_PER_BYTE;
                 int mask = (1 << remainingBits) - 1;
                 mask <<= (BITS_PER_BYTE - remainingBits);
+                // 剩余位需要在复制之前读取，同数组重叠时 System.arraycopy 可能会覆盖该字节。
                 byte lastByte = (byte) (source[sourceStartByte + byteLength] & mask);
+                System.arraycopy(source, sourceStartByte, dest, destStartByte, byteLength);
                 dest[destStartByte + byteLength] &= (byte) ~mask;
                 dest[destStartByte + byteLength] |= lastByte;
             }
             return;
         }
-        // 循环复制位。
-        // 同数组重叠且目标起始位大于源起始位时，需反向复制以避免覆盖未读取的源数据。
+        // 以字为单位复制位。
+        // 同数组重叠且目标起始位大于源起始位时，需从尾部反向复制以避免覆盖未读取的源数据。
         boolean reverse = (source == dest)
                 && (sourceStartBit < destStartBit)
                 && (destStartBit < sourceStartBit + bitLength);
-        for (int j = 0; j < bitLength; j++) {
-            int i = reverse ? (bitLength - 1 - j) : j;
-            long srcBitPos = (long) sourceStartBit + i;
-            long destBitPos = (long) destStartBit + i;
-            int srcByteIdx = (int) (srcBitPos / BITS_PER_BYTE);
-            int srcBitIdx = MAX_BIT_OFFSET_IN_BYTE - ((int) (srcBitPos % BITS_PER_BYTE));
-            int mask = 1 << srcBitIdx;
-            int bit = (source[srcByteIdx] & mask) == 0 ? 0 : 1;
-            int destByteIdx = (int) (destBitPos / BITS_PER_BYTE);
-            int destBitIdx = MAX_BIT_OFFSET_IN_BYTE - ((int) (destBitPos % BITS_PER_BYTE));
-            if (bit == 1) {
-                dest[destByteIdx] |= (byte) (1 << destBitIdx);
-            } else {
-                dest[destByteIdx] &= (byte) ~(1 << destBitIdx);
+        ByteBuffer sourceView = ByteBuffer.wrap(source);
+        if (reverse) {
+            int remaining = bitLength;
+            while (remaining > 0) {
+                int chunk = Math.min(remaining, Long.SIZE);
+                remaining -= chunk;
+                long word = readBits(source, sourceView, (long) sourceStartBit + remaining, chunk);
+                writeBits(dest, (long) destStartBit + remaining, word, chunk);
+            }
+        } else {
+            int copied = 0;
+            while (copied < bitLength) {
+                int chunk = Math.min(bitLength - copied, Long.SIZE);
+                long word = readBits(source, sourceView, (long) sourceStartBit + copied, chunk);
+                writeBits(dest, (long) destStartBit + copied, word, chunk);
+                copied += chunk;
             }
         }
     }
@@ -227,11 +237,7 @@ public final class BitUtil {
                     String.format(DwarfUtil.getExceptionString(ExceptionStringKey.BITUTIL_9), bitLength));
         }
         checkBitOffset(data, bitOffset, bitLength);
-        int result = 0;
-        for (int i = 0; i < bitLength; i++) {
-            result = (result << 1) | getBit(data, bitOffset + i);
-        }
-        return result;
+        return (int) readBits(data, ByteBuffer.wrap(data), bitOffset, bitLength);
     }
 
     /**
@@ -260,11 +266,7 @@ public final class BitUtil {
                     String.format(DwarfUtil.getExceptionString(ExceptionStringKey.BITUTIL_10), bitLength));
         }
         checkBitOffset(data, bitOffset, bitLength);
-        long result = 0;
-        for (int i = 0; i < bitLength; i++) {
-            result = (result << 1) | getBit(data, bitOffset + i);
-        }
-        return result;
+        return readBits(data, ByteBuffer.wrap(data), bitOffset, bitLength);
     }
 
     /**
@@ -293,12 +295,7 @@ public final class BitUtil {
                     String.format(DwarfUtil.getExceptionString(ExceptionStringKey.BITUTIL_9), bitLength));
         }
         checkBitOffset(data, bitOffset, bitLength);
-        int mask = bitLength == 32 ? 0xFFFFFFFF : (1 << bitLength) - 1;
-        int maskedValue = value & mask;
-        for (int i = 0; i < bitLength; i++) {
-            boolean bit = ((maskedValue >> (bitLength - 1 - i)) & 1) != 0;
-            setBit(data, bitOffset + i, bit);
-        }
+        writeBits(data, bitOffset, value, bitLength);
     }
 
     /**
@@ -327,12 +324,7 @@ public final class BitUtil {
                     String.format(DwarfUtil.getExceptionString(ExceptionStringKey.BITUTIL_10), bitLength));
         }
         checkBitOffset(data, bitOffset, bitLength);
-        long mask = bitLength == 64 ? 0xFFFFFFFFFFFFFFFFL : (1L << bitLength) - 1;
-        long maskedValue = value & mask;
-        for (int i = 0; i < bitLength; i++) {
-            boolean bit = ((maskedValue >> (bitLength - 1 - i)) & 1) != 0;
-            setBit(data, bitOffset + i, bit);
-        }
+        writeBits(data, bitOffset, value, bitLength);
     }
 
     /**
@@ -348,7 +340,14 @@ public final class BitUtil {
      */
     public static void and(byte[] a, byte[] b, byte[] dest) {
         checkBitwiseArrays(a, b, dest);
-        for (int i = 0; i < a.length; i++) {
+        ByteBuffer aView = nativeView(a);
+        ByteBuffer bView = nativeView(b);
+        ByteBuffer destView = nativeView(dest);
+        int wordEnd = a.length - a.length % Long.BYTES;
+        for (int i = 0; i < wordEnd; i += Long.BYTES) {
+            destView.putLong(i, aView.getLong(i) & bView.getLong(i));
+        }
+        for (int i = wordEnd; i < a.length; i++) {
             dest[i] = (byte) (a[i] & b[i]);
         }
     }
@@ -366,7 +365,14 @@ public final class BitUtil {
      */
     public static void or(byte[] a, byte[] b, byte[] dest) {
         checkBitwiseArrays(a, b, dest);
-        for (int i = 0; i < a.length; i++) {
+        ByteBuffer aView = nativeView(a);
+        ByteBuffer bView = nativeView(b);
+        ByteBuffer destView = nativeView(dest);
+        int wordEnd = a.length - a.length % Long.BYTES;
+        for (int i = 0; i < wordEnd; i += Long.BYTES) {
+            destView.putLong(i, aView.getLong(i) | bView.getLong(i));
+        }
+        for (int i = wordEnd; i < a.length; i++) {
             dest[i] = (byte) (a[i] | b[i]);
         }
     }
@@ -384,7 +390,14 @@ public final class BitUtil {
      */
     public static void xor(byte[] a, byte[] b, byte[] dest) {
         checkBitwiseArrays(a, b, dest);
-        for (int i = 0; i < a.length; i++) {
+        ByteBuffer aView = nativeView(a);
+        ByteBuffer bView = nativeView(b);
+        ByteBuffer destView = nativeView(dest);
+        int wordEnd = a.length - a.length % Long.BYTES;
+        for (int i = 0; i < wordEnd; i += Long.BYTES) {
+            destView.putLong(i, aView.getLong(i) ^ bView.getLong(i));
+        }
+        for (int i = wordEnd; i < a.length; i++) {
             dest[i] = (byte) (a[i] ^ b[i]);
         }
     }
@@ -425,15 +438,108 @@ public final class BitUtil {
                     String.format(DwarfUtil.getExceptionString(ExceptionStringKey.BITUTIL_4), bitLength));
         }
         checkBitOffset(data, bitOffset, bitLength);
+        ByteBuffer view = ByteBuffer.wrap(data);
         int count = 0;
-        for (int i = 0; i < bitLength; i++) {
-            if (getBit(data, bitOffset + i) == 1) {
-                count++;
-            }
+        int counted = 0;
+        while (counted < bitLength) {
+            int chunk = Math.min(bitLength - counted, Long.SIZE);
+            count += Long.bitCount(readBits(data, view, (long) bitOffset + counted, chunk));
+            counted += chunk;
         }
         return count;
     }
 
+    /**
+     * 从字节数组的指定位置读取指定位数，不做参数检查。
+     *
+     * <p>
+     * 起始位所在的字节开始的 8 个字节以大端序读取为一个字，移位后即可得到结果；
+     * 当起始位不是字节对齐且需要读取的位跨越了该字时，再补充读取第 9 个字节的高位。
+     *
+     * @param data      字节数组。
+     * @param view      包装字节数组的大端序缓冲。
+     * @param bitOffset 起始位偏移。
+     * @param bitLength 位长度，范围 1 至 64。
+     * @return 读取的位构成的无符号长整数值。
+     */
+    private static long readBits(byte[] data, ByteBuffer view, long bitOffset, int bitLength) {
+        int byteIdx = (int) (bitOffset >>> 3);
+        int shift = (int) (bitOffset & MAX_BIT_OFFSET_IN_BYTE);
+        long word = loadWord(data, view, byteIdx) << shift;
+        if (shift + bitLength > Long.SIZE) {
+            word |= (data[byteIdx + Long.BYTES] & 0xFF) >>> (BITS_PER_BYTE - shift);
+        }
+        return word >>> (Long.SIZE - bitLength);
+    }
+
+    /**
+     * 以大端序读取指定字节开始的 8 个字节，超出数组的部分视为 0。
+     */
+    private static long loadWord(byte[] data, ByteBuffer view, int byteIdx) {
+        if (byteIdx + Long.BYTES <= data.length) {
+            return view.getLong(byteIdx);
+        }
+        long word = 0;
+        for (int i = byteIdx; i < byteIdx + Long.BYTES; i++) {
+            word <<= BITS_PER_BYTE;
+            if (i < data.length) {
+                word |= data[i] & 0xFF;
+            }
+        }
+        return word;
+    }
+
+    /**
+     * 将长整数的低指定位数写入字节数组的指定位置，不做参数检查。
+     *
+     * <p>
+     * 待写入的位首先左对齐到字的最高位，首尾不完整的字节通过掩码与原有的位合并，中间的完整字节直接写入。
+     *
+     * @param data      字节数组。
+     * @param bitOffset 起始位偏移。
+     * @param value     要写入的长整数值。
+     * @param bitLength 位长度，范围 1 至 64。
+     */
+    private static void writeBits(byte[] data, long bitOffset, long value, int bitLength) {
+        int byteIdx = (int) (bitOffset >>> 3);
+        int shift = (int) (bitOffset & MAX_BIT_OFFSET_IN_BYTE);
+        long word = value << (Long.SIZE - bitLength);
+        int remaining = bitLength;
+
+        // 首个字节：起始位之前的位保持不变。
+        if (shift != 0) {
+            int first = Math.min(BITS_PER_BYTE - shift, remaining);
+            int mask = (0xFF >>> shift) & (0xFF << (BITS_PER_BYTE - shift - first));
+            int bits = (int) (word >>> (Long.SIZE - BITS_PER_BYTE + shift)) & mask;
+            data[byteIdx] = (byte) ((data[byteIdx] & ~mask) | bits);
+            word <<= first;
+            remaining -= first;
+            byteIdx++;
+        }
+        // 中间的完整字节。
+        while (remaining >= BITS_PER_BYTE) {
+            data[byteIdx++] = (byte) (word >>> (Long.SIZE - BITS_PER_BYTE));
+            word <<= BITS_PER_BYTE;
+            remaining -= BITS_PER_BYTE;
+        }
+        // 末尾字节：结束位之后的位保持不变。
+        if (remaining > 0) {
+            int mask = (0xFF << (BITS_PER_BYTE - remaining)) & 0xFF;
+            int bits = (int) (word >>> (Long.SIZE - BITS_PER_BYTE)) & mask;
+            data[byteIdx] = (byte) ((data[byteIdx] & ~mask) | bits);
+        }
+    }
+
+    /**
+     * 以本地字节序包装字节数组。
+     *
+     * <p>
+     * 按位逻辑运算与字节序无关，使用本地字节序可以省去读写时的字节交换。
+     */
+    private static ByteBuffer nativeView(byte[] data) {
+        return ByteBuffer.wrap(data).order(ByteOrder.nativeOrder());
+    }
+
     /**
      * 校验位偏移与长度是否在数组范围内。
      */
@@ -0,0 +1,309 @@
+package com.dwarfeng.dutil.basic.bit;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+/**
+ * 位写入器。
+ *
+ * <p>
+ * 向字节数组、{@link ByteBuffer} 或者 {@link WritableByteChannel} 中依次写入任意位宽的无符号整数，
+ * 写入器自动维护当前的位偏移，不需要调用者手动计算。
+ *
+ * <p>
+ * 位序与 {@link BitUtil} 一致：仅使用值的低指定位数，从高位到低位依次写入，字节内从高位到低位填充。
+ *
+ * <p>
+ * 写入器缓存一个 64 位的窗口，写入的位首先合并到窗口中，窗口写满时才一次性写出到目标中。<br>
+ * 因此写入的数据在调用 {@link #flush()} 或 {@link #close()} 之前不一定出现在目标中。
+ * 对于字节数组与缓冲，{@link #flush()} 会将不足一个字节的剩余位以 0 补齐后写入当前字节，但不会移动写入的位置，
+ * 之后写入的位会继续填充该字节；对于通道，剩余位保留在窗口中，直到凑满一个字节或者写入器被关闭。
+ *
+ * <p>
+ * 写入字节数组或缓冲时，目标的空间不足会抛出 {@link IOException}。
+ * 写入缓冲时，写入器从缓冲的当前位置开始写入，写入不会改变指定缓冲的位置、界限与字节序，
+ * 写入的位数可以通过 {@link #getBitPosition()} 获取。
+ *
+ * <p>
+ * 该写入器不是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public class BitWriter implements Closeable, Flushable {
+
+    /**
+     * 通道模式下默认的缓冲大小。
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final ByteBuffer buffer;
+    private final WritableByteChannel channel;
+
+    /**
+     * 位窗口，有效的位左对齐存放。
+     */
+    private long window = 0;
+    private int windowBits = 0;
+    private long bitPosition = 0;
+
+    /**
+     * 生成一个向指定字节数组中写入的位写入器。
+     *
+     * @param data 指定的字节数组。
+     * @throws IllegalArgumentException 入口参数为 <code>null</code>。
+     */
+    public BitWriter(byte[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.BITWRITER_0));
+        }
+        this.buffer = ByteBuffer.wrap(data);
+        this.channel = null;
+    }
+
+    /**
+     * 生成一个向指定缓冲中写入的位写入器。
+     *
+     * @param buffer 指定的缓冲。
+     * @throws IllegalArgumentException 入口参数为 <code>null</code>。
+     */
+    public BitWriter(ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.BITWRITER_1));
+        }
+        this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        this.channel = null;
+    }
+
+    /**
+     * 生成一个向指定通道中写入，使用默认缓冲大小的位写入器。
+     *
+     * @param channel 指定的通道。
+     * @throws IllegalArgumentException 入口参数为 <code>null</code>。
+     */
+    public BitWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 生成一个向指定通道中写入，使用指定缓冲大小的位写入器。
+     *
+     * @param channel    指定的通道。
+     * @param bufferSize 指定的缓冲大小。
+     * @throws IllegalArgumentException 通道为 <code>null</code>，或者缓冲大小不为正数。
+     */
+    public BitWriter(WritableByteChannel channel, int bufferSize) {
+        if (channel == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.BITWRITER_2));
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException(
+                    String.format(DwarfUtil.getExceptionString(ExceptionStringKey.BITWRITER_3), bufferSize));
+        }
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.channel = channel;
+    }
+
+    /**
+     * 写入一个位。
+     *
+     * @param value 位值，true 表示 1，false 表示 0。
+     * @throws IOException 目标空间不足，或者向通道中写入时发生的 IO 异常。
+     */
+    public void writeBit(boolean value) throws IOException {
+        put(value ? 1 : 0, 1);
+    }
+
+    /**
+     * 将整数的低指定位数写入。
+     *
+     * @param value     要写入的整数值。
+     * @param bitLength 位长度，范围 1 至 32。
+     * @throws IllegalArgumentException bitLength 不在 1–32。
+     * @throws IOException              目标空间不足，或者向通道中写入时发生的 IO 异常。
+     */
+    public void writeBits(int value, int bitLength) throws IOException {
+        if (bitLength < 1 || bitLength > 32) {
+            throw new IllegalArgumentException(
+                    String.format(DwarfUtil.getExceptionString(ExceptionStringKey.BITWRITER_5), bitLength));
+        }
+        put(value & 0xFFFFFFFFL, bitLength);
+    }
+
+    /**
+     * 将长整数的低指定位数写入。
+     *
+     * @param value     要写入的长整数值。
+     * @param bitLength 位长度，范围 1 至 64。
+     * @throws IllegalArgumentException bitLength 不在 1–64。
+     * @throws IOException              目标空间不足，或者向通道中写入时发生的 IO 异常。
+     */
+    public void writeBits(long value, int bitLength) throws IOException {
+        if (bitLength < 1 || bitLength > 64) {
+            throw new IllegalArgumentException(
+                    String.format(DwarfUtil.getExceptionString(ExceptionStringKey.BITWRITER_4), bitLength));
+        }
+        put(value, bitLength);
+    }
+
+    /**
+     * 以相同的位宽连续写入数组中的所有整数。
+     *
+     * @param src       要写入的整数数组。
+     * @param bitLength 每个整数的位长度，范围 1 至 32。
+     * @throws IllegalArgumentException src 为 <code>null</code>，或者 bitLength 不在 1–32。
+     * @throws IOException              目标空间不足，或者向通道中写入时发生的 IO 异常。
+     */
+    public void writeBits(int[] src, int bitLength) throws IOException {
+        if (src == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.BITWRITER_6));
+        }
+        writeBits(src, 0, src.length, bitLength);
+    }
+
+    /**
+     * 以相同的位宽连续写入数组指定范围中的整数。
+     *
+     * @param src       要写入的整数数组。
+     * @param off       数组中的起始位置。
+     * @param len       写入的整数个数。
+     * @param bitLength 每个整数的位长度，范围 1 至 32。
+     * @throws IllegalArgumentException src 为 <code>null</code>、范围越界，或者 bitLength 不在 1–32。
+     * @throws IOException              目标空间不足，或者向通道中写入时发生的 IO 异常。
+     */
+    public void writeBits(int[] src, int off, int len, int bitLength) throws IOException {
+        if (src == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.BITWRITER_6));
+        }
+        if (off < 0 || len < 0 || len > src.length - off) {
+            throw new IllegalArgumentException(String.format(
+                    DwarfUtil.getExceptionString(ExceptionStringKey.BITWRITER_7), off, len, src.length));
+        }
+        if (bitLength < 1 || bitLength > 32) {
+            throw new IllegalArgumentException(
+                    String.format(DwarfUtil.getExceptionString(ExceptionStringKey.BITWRITER_5), bitLength));
+        }
+        for (int i = off; i < off + len; i++) {
+            put(src[i] & 0xFFFFFFFFL, bitLength);
+        }
+    }
+
+    /**
+     * 以 0 填充当前字节中剩余的位，使下一次写入从字节的边界开始。
+     *
+     * @throws IOException 目标空间不足，或者向通道中写入时发生的 IO 异常。
+     */
+    public void alignToByte() throws IOException {
+        int padding = (BitUtil.BITS_PER_BYTE - (windowBits & BitUtil.MAX_BIT_OFFSET_IN_BYTE))
+                & BitUtil.MAX_BIT_OFFSET_IN_BYTE;
+        if (padding > 0) {
+            put(0, padding);
+        }
+    }
+
+    /**
+     * 返回已经写入的位数。
+     *
+     * @return 已经写入的位数。
+     */
+    public long getBitPosition() {
+        return bitPosition;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * 将窗口中完整的字节写出到目标中；如果目标是通道，则将缓冲中的数据写入通道。
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        if (Objects.isNull(channel)) {
+            // 不足一个字节的剩余位以 0 补齐后写入当前字节，但不移动写入的位置。
+            if (windowBits > 0) {
+                if (!buffer.hasRemaining()) {
+                    throw new IOException(DwarfUtil.getExceptionString(ExceptionStringKey.BITWRITER_8));
+                }
+                buffer.put(buffer.position(), (byte) (window >>> (Long.SIZE - BitUtil.BITS_PER_BYTE)));
+            }
+        } else {
+            writeChannel();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * 关闭之前以 0 填充最后一个字节中剩余的位，并刷新写入器；如果写入器的目标是通道，则关闭该通道。
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            alignToByte();
+            flush();
+        } finally {
+            if (Objects.nonNull(channel)) {
+                channel.close();
+            }
+        }
+    }
+
+    private void put(long value, int bitLength) throws IOException {
+        int free = Long.SIZE - windowBits;
+        if (bitLength < free) {
+            window |= (value << (Long.SIZE - bitLength)) >>> windowBits;
+            windowBits += bitLength;
+            bitPosition += bitLength;
+            return;
+        }
+        // 窗口被写满，高位部分填满窗口之后写出，低位部分留在新的窗口中。
+        int low = bitLength - free;
+        window |= (value << (Long.SIZE - bitLength)) >>> windowBits;
+        windowBits = Long.SIZE;
+        drain();
+        window = low == 0 ? 0 : value << (Long.SIZE - low);
+        windowBits = low;
+        bitPosition += bitLength;
+    }
+
+    private void drain() throws IOException {
+        if (windowBits == Long.SIZE && buffer.remaining() >= Long.BYTES) {
+            buffer.putLong(window);
+            window = 0;
+            windowBits = 0;
+            return;
+        }
+        while (windowBits >= BitUtil.BITS_PER_BYTE) {
+            if (!buffer.hasRemaining()) {
+                if (Objects.isNull(channel)) {
+                    throw new IOException(DwarfUtil.getExceptionString(ExceptionStringKey.BITWRITER_8));
+                }
+                writeChannel();
+            }
+            buffer.put((byte) (window >>> (Long.SIZE - BitUtil.BITS_PER_BYTE)));
+            window <<= BitUtil.BITS_PER_BYTE;
+            windowBits -= BitUtil.BITS_PER_BYTE;
+        }
+    }
+
+    private void writeChannel() throws IOException {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } finally {
+            buffer.compact();
+        }
+    }
+}
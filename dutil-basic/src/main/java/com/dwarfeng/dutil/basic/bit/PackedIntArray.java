@@ -0,0 +1,158 @@
+package com.dwarfeng.dutil.basic.bit;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+
+/**
+ * 定宽压缩整数数组。
+ *
+ * <p>
+ * 与 {@link PackedLongArray} 相同，数组中的每个元素都是位宽固定的无符号整数，元素在 <code>long</code> 字中连续存放，
+ * 读写任意位置的元素都只需要常数次的移位与掩码操作。<br>
+ * 元素的位宽范围为 1 至 32，位宽为 32 时，读取的值与写入的 <code>int</code> 值的二进制表示相同。
+ *
+ * <p>
+ * 该数组不是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public class PackedIntArray {
+
+    private final PackedLongArray delegate;
+
+    /**
+     * 生成一个使用堆内存的定宽压缩整数数组。
+     *
+     * @param length   数组的长度。
+     * @param bitWidth 元素的位宽，范围 1 至 32。
+     * @throws IllegalArgumentException 长度为负数、位宽不在 1–32，或者数组的容量过大。
+     */
+    public PackedIntArray(int length, int bitWidth) {
+        this(length, bitWidth, false);
+    }
+
+    /**
+     * 生成一个定宽压缩整数数组。
+     *
+     * @param length   数组的长度。
+     * @param bitWidth 元素的位宽，范围 1 至 32。
+     * @param direct   是否使用直接内存。
+     * @throws IllegalArgumentException 长度为负数、位宽不在 1–32，或者数组的容量过大。
+     */
+    public PackedIntArray(int length, int bitWidth, boolean direct) {
+        if (bitWidth < 1 || bitWidth > 32) {
+            throw new IllegalArgumentException(
+                    String.format(DwarfUtil.getExceptionString(ExceptionStringKey.PACKEDINTARRAY_0), bitWidth));
+        }
+        this.delegate = new PackedLongArray(length, bitWidth, direct);
+    }
+
+    /**
+     * 返回数组的长度。
+     *
+     * @return 数组的长度。
+     */
+    public int length() {
+        return delegate.length();
+    }
+
+    /**
+     * 返回元素的位宽。
+     *
+     * @return 元素的位宽。
+     */
+    public int getBitWidth() {
+        return delegate.getBitWidth();
+    }
+
+    /**
+     * 返回数组是否使用直接内存。
+     *
+     * @return 数组是否使用直接内存。
+     */
+    public boolean isDirect() {
+        return delegate.isDirect();
+    }
+
+    /**
+     * 获取指定位置的元素。
+     *
+     * @param index 指定的位置。
+     * @return 指定位置的元素。
+     * @throws IndexOutOfBoundsException 位置越界。
+     */
+    public int get(int index) {
+        return (int) delegate.get(index);
+    }
+
+    /**
+     * 设置指定位置的元素。
+     *
+     * <p>
+     * 仅使用 value 的低 {@link #getBitWidth()} 位。
+     *
+     * @param index 指定的位置。
+     * @param value 元素的值。
+     * @throws IndexOutOfBoundsException 位置越界。
+     */
+    public void set(int index, int value) {
+        delegate.set(index, value);
+    }
+
+    /**
+     * 从指定位置开始，连续获取多个元素，存放到数组的指定范围中。
+     *
+     * @param index 起始位置。
+     * @param dst   存放结果的数组。
+     * @param off   数组中的起始位置。
+     * @param len   获取的元素个数。
+     * @throws IllegalArgumentException  dst 为 <code>null</code>，或者数组范围越界。
+     * @throws IndexOutOfBoundsException 该数组中的范围越界。
+     */
+    public void get(int index, int[] dst, int off, int len) {
+        if (dst == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.PACKEDINTARRAY_1));
+        }
+        checkArrayRange(dst.length, off, len);
+        delegate.checkRange(index, len);
+        for (int i = 0; i < len; i++) {
+            dst[off + i] = (int) delegate.read(index + i);
+        }
+    }
+
+    /**
+     * 从指定位置开始，连续设置多个元素，元素的值来自数组的指定范围。
+     *
+     * @param index 起始位置。
+     * @param src   元素的值所在的数组。
+     * @param off   数组中的起始位置。
+     * @param len   设置的元素个数。
+     * @throws IllegalArgumentException  src 为 <code>null</code>，或者数组范围越界。
+     * @throws IndexOutOfBoundsException 该数组中的范围越界。
+     */
+    public void set(int index, int[] src, int off, int len) {
+        if (src == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.PACKEDINTARRAY_2));
+        }
+        checkArrayRange(src.length, off, len);
+        delegate.checkRange(index, len);
+        for (int i = 0; i < len; i++) {
+            delegate.write(index + i, src[off + i]);
+        }
+    }
+
+    /**
+     * 将所有的元素设置为 0。
+     */
+    public void clear() {
+        delegate.clear();
+    }
+
+    private static void checkArrayRange(int arrayLength, int off, int len) {
+        if (off < 0 || len < 0 || len > arrayLength - off) {
+            throw new IllegalArgumentException(String.format(
+                    DwarfUtil.getExceptionString(ExceptionStringKey.PACKEDINTARRAY_3), off, len, arrayLength));
+        }
+    }
+}
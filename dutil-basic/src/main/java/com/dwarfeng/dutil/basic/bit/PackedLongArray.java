@@ -0,0 +1,254 @@
+package com.dwarfeng.dutil.basic.bit;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 定宽压缩长整数数组。
+ *
+ * <p>
+ * 数组中的每个元素都是位宽固定的无符号整数，元素在 <code>long</code> 字中首尾相接地连续存放，
+ * 一个元素最多跨越两个相邻的字，因此读写任意位置的元素都只需要常数次的移位与掩码操作。<br>
+ * 与 <code>long[]</code> 相比，位宽为 <code>n</code> 时，存储相同数量的元素只需要约 <code>n / 64</code> 的空间。
+ *
+ * <p>
+ * 元素的第 <code>i</code> 个值从第 <code>i * bitWidth</code> 位开始存放，字内的位从低位向高位编号。<br>
+ * 写入时仅使用值的低 <code>bitWidth</code> 位，读取的值总是非负的无符号整数（位宽为 64 时除外）。
+ *
+ * <p>
+ * 数组可以使用堆内存，也可以使用直接内存；直接内存不占用 Java 堆，适用于元素数量极大的场合。
+ *
+ * <p>
+ * 该数组不是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public class PackedLongArray {
+
+    private final int length;
+    private final int bitWidth;
+    private final long mask;
+    private final long[] words;
+    private final LongBuffer directWords;
+
+    /**
+     * 生成一个使用堆内存的定宽压缩长整数数组。
+     *
+     * @param length   数组的长度。
+     * @param bitWidth 元素的位宽，范围 1 至 64。
+     * @throws IllegalArgumentException 长度为负数、位宽不在 1–64，或者数组的容量过大。
+     */
+    public PackedLongArray(int length, int bitWidth) {
+        this(length, bitWidth, false);
+    }
+
+    /**
+     * 生成一个定宽压缩长整数数组。
+     *
+     * @param length   数组的长度。
+     * @param bitWidth 元素的位宽，范围 1 至 64。
+     * @param direct   是否使用直接内存。
+     * @throws IllegalArgumentException 长度为负数、位宽不在 1–64，或者数组的容量过大。
+     */
+    public PackedLongArray(int length, int bitWidth, boolean direct) {
+        if (length < 0) {
+            throw new IllegalArgumentException(
+                    String.format(DwarfUtil.getExceptionString(ExceptionStringKey.PACKEDLONGARRAY_0), length));
+        }
+        if (bitWidth < 1 || bitWidth > 64) {
+            throw new IllegalArgumentException(
+                    String.format(DwarfUtil.getExceptionString(ExceptionStringKey.PACKEDLONGARRAY_1), bitWidth));
+        }
+        long wordCount = ((long) length * bitWidth + Long.SIZE - 1) / Long.SIZE;
+        long maxWordCount = direct ? Integer.MAX_VALUE / Long.BYTES : Integer.MAX_VALUE - 8;
+        if (wordCount > maxWordCount) {
+            throw new IllegalArgumentException(String.format(
+                    DwarfUtil.getExceptionString(ExceptionStringKey.PACKEDLONGARRAY_2), length, bitWidth));
+        }
+
+        this.length = length;
+        this.bitWidth = bitWidth;
+        this.mask = bitWidth == Long.SIZE ? -1L : (1L << bitWidth) - 1;
+        if (direct) {
+            this.words = null;
+            this.directWords = ByteBuffer.allocateDirect((int) wordCount * Long.BYTES)
+                    .order(ByteOrder.nativeOrder()).asLongBuffer();
+        } else {
+            this.words = new long[(int) wordCount];
+            this.directWords = null;
+        }
+    }
+
+    /**
+     * 返回数组的长度。
+     *
+     * @return 数组的长度。
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * 返回元素的位宽。
+     *
+     * @return 元素的位宽。
+     */
+    public int getBitWidth() {
+        return bitWidth;
+    }
+
+    /**
+     * 返回数组是否使用直接内存。
+     *
+     * @return 数组是否使用直接内存。
+     */
+    public boolean isDirect() {
+        return Objects.nonNull(directWords);
+    }
+
+    /**
+     * 获取指定位置的元素。
+     *
+     * @param index 指定的位置。
+     * @return 指定位置的元素。
+     * @throws IndexOutOfBoundsException 位置越界。
+     */
+    public long get(int index) {
+        checkIndex(index);
+        return read(index);
+    }
+
+    /**
+     * 设置指定位置的元素。
+     *
+     * <p>
+     * 仅使用 value 的低 {@link #getBitWidth()} 位。
+     *
+     * @param index 指定的位置。
+     * @param value 元素的值。
+     * @throws IndexOutOfBoundsException 位置越界。
+     */
+    public void set(int index, long value) {
+        checkIndex(index);
+        write(index, value);
+    }
+
+    /**
+     * 从指定位置开始，连续获取多个元素，存放到数组的指定范围中。
+     *
+     * @param index 起始位置。
+     * @param dst   存放结果的数组。
+     * @param off   数组中的起始位置。
+     * @param len   获取的元素个数。
+     * @throws IllegalArgumentException  dst 为 <code>null</code>，或者数组范围越界。
+     * @throws IndexOutOfBoundsException 该数组中的范围越界。
+     */
+    public void get(int index, long[] dst, int off, int len) {
+        if (dst == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.PACKEDLONGARRAY_4));
+        }
+        checkArrayRange(dst.length, off, len);
+        checkRange(index, len);
+        for (int i = 0; i < len; i++) {
+            dst[off + i] = read(index + i);
+        }
+    }
+
+    /**
+     * 从指定位置开始，连续设置多个元素，元素的值来自数组的指定范围。
+     *
+     * @param index 起始位置。
+     * @param src   元素的值所在的数组。
+     * @param off   数组中的起始位置。
+     * @param len   设置的元素个数。
+     * @throws IllegalArgumentException  src 为 <code>null</code>，或者数组范围越界。
+     * @throws IndexOutOfBoundsException 该数组中的范围越界。
+     */
+    public void set(int index, long[] src, int off, int len) {
+        if (src == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.PACKEDLONGARRAY_5));
+        }
+        checkArrayRange(src.length, off, len);
+        checkRange(index, len);
+        for (int i = 0; i < len; i++) {
+            write(index + i, src[off + i]);
+        }
+    }
+
+    /**
+     * 将所有的元素设置为 0。
+     */
+    public void clear() {
+        if (Objects.nonNull(words)) {
+            Arrays.fill(words, 0L);
+        } else {
+            for (int i = 0; i < directWords.capacity(); i++) {
+                directWords.put(i, 0L);
+            }
+        }
+    }
+
+    long read(int index) {
+        long bitIndex = (long) index * bitWidth;
+        int wordIdx = (int) (bitIndex >>> 6);
+        int shift = (int) (bitIndex & (Long.SIZE - 1));
+        long value = word(wordIdx) >>> shift;
+        // 元素跨越了两个字，高位部分位于下一个字的低位。
+        if (shift + bitWidth > Long.SIZE) {
+            value |= word(wordIdx + 1) << (Long.SIZE - shift);
+        }
+        return value & mask;
+    }
+
+    void write(int index, long value) {
+        long bitIndex = (long) index * bitWidth;
+        int wordIdx = (int) (bitIndex >>> 6);
+        int shift = (int) (bitIndex & (Long.SIZE - 1));
+        long maskedValue = value & mask;
+        store(wordIdx, (word(wordIdx) & ~(mask << shift)) | (maskedValue << shift));
+        if (shift + bitWidth > Long.SIZE) {
+            int spill = Long.SIZE - shift;
+            store(wordIdx + 1, (word(wordIdx + 1) & ~(mask >>> spill)) | (maskedValue >>> spill));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(String.format(
+                    DwarfUtil.getExceptionString(ExceptionStringKey.PACKEDLONGARRAY_3), index, length));
+        }
+    }
+
+    void checkRange(int index, int len) {
+        if (index < 0 || len < 0 || len > length - index) {
+            throw new IndexOutOfBoundsException(String.format(
+                    DwarfUtil.getExceptionString(ExceptionStringKey.PACKEDLONGARRAY_7), index, len, length));
+        }
+    }
+
+    private static void checkArrayRange(int arrayLength, int off, int len) {
+        if (off < 0 || len < 0 || len > arrayLength - off) {
+            throw new IllegalArgumentException(String.format(
+                    DwarfUtil.getExceptionString(ExceptionStringKey.PACKEDLONGARRAY_6), off, len, arrayLength));
+        }
+    }
+
+    private long word(int wordIdx) {
+        return Objects.nonNull(words) ? words[wordIdx] : directWords.get(wordIdx);
+    }
+
+    private void store(int wordIdx, long word) {
+        if (Objects.nonNull(words)) {
+            words[wordIdx] = word;
+        } else {
+            directWords.put(wordIdx, word);
+        }
+    }
+}
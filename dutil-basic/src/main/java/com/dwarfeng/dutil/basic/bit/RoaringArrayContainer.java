@@ -0,0 +1,227 @@
+package com.dwarfeng.dutil.basic.bit;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * 压缩位图的数组容器。
+ *
+ * <p>
+ * 值以有序的 <code>char</code> 数组保存，基数超过 {@link #MAX_ARRAY_CARDINALITY} 时转换为位图容器。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+final class RoaringArrayContainer extends RoaringContainer {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private char[] content;
+    private int cardinality;
+
+    RoaringArrayContainer() {
+        this(new char[INITIAL_CAPACITY], 0);
+    }
+
+    RoaringArrayContainer(char[] content, int cardinality) {
+        this.content = content;
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    RoaringContainer add(char x) {
+        int index = Arrays.binarySearch(content, 0, cardinality, x);
+        if (index >= 0) {
+            return this;
+        }
+        if (cardinality >= MAX_ARRAY_CARDINALITY) {
+            return toBitmapContainer().add(x);
+        }
+        index = -index - 1;
+        if (cardinality == content.length) {
+            content = Arrays.copyOf(content, Math.min(Math.max(cardinality * 2, INITIAL_CAPACITY),
+                    MAX_ARRAY_CARDINALITY));
+        }
+        System.arraycopy(content, index, content, index + 1, cardinality - index);
+        content[index] = x;
+        cardinality++;
+        return this;
+    }
+
+    @Override
+    RoaringContainer remove(char x) {
+        int index = Arrays.binarySearch(content, 0, cardinality, x);
+        if (index < 0) {
+            return this;
+        }
+        System.arraycopy(content, index + 1, content, index, cardinality - index - 1);
+        cardinality--;
+        return this;
+    }
+
+    @Override
+    boolean contains(char x) {
+        return Arrays.binarySearch(content, 0, cardinality, x) >= 0;
+    }
+
+    @Override
+    int getCardinality() {
+        return cardinality;
+    }
+
+    @Override
+    RoaringContainer or(RoaringContainer other) {
+        if (!(other instanceof RoaringArrayContainer)) {
+            return other.or(this);
+        }
+        RoaringArrayContainer that = (RoaringArrayContainer) other;
+        if (cardinality + that.cardinality > MAX_ARRAY_CARDINALITY) {
+            RoaringBitmapContainer bitmap = toBitmapContainer();
+            bitmap.addAll(that.content, that.cardinality);
+            return bitmap.toEfficientContainer();
+        }
+        char[] result = new char[cardinality + that.cardinality];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < cardinality && j < that.cardinality) {
+            char a = content[i];
+            char b = that.content[j];
+            if (a < b) {
+                result[k++] = a;
+                i++;
+            } else if (a > b) {
+                result[k++] = b;
+                j++;
+            } else {
+                result[k++] = a;
+                i++;
+                j++;
+            }
+        }
+        while (i < cardinality) {
+            result[k++] = content[i++];
+        }
+        while (j < that.cardinality) {
+            result[k++] = that.content[j++];
+        }
+        return new RoaringArrayContainer(result, k);
+    }
+
+    @Override
+    RoaringContainer and(RoaringContainer other) {
+        char[] result = new char[cardinality];
+        int k = 0;
+        if (other instanceof RoaringArrayContainer) {
+            RoaringArrayContainer that = (RoaringArrayContainer) other;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < that.cardinality) {
+                char a = content[i];
+                char b = that.content[j];
+                if (a < b) {
+                    i++;
+                } else if (a > b) {
+                    j++;
+                } else {
+                    result[k++] = a;
+                    i++;
+                    j++;
+                }
+            }
+        } else {
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(content[i])) {
+                    result[k++] = content[i];
+                }
+            }
+        }
+        return new RoaringArrayContainer(result, k);
+    }
+
+    @Override
+    int nextValue(int from) {
+        int index = Arrays.binarySearch(content, 0, cardinality, (char) from);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < cardinality ? content[index] : -1;
+    }
+
+    @Override
+    void forEach(int high, IntConsumer action) {
+        for (int i = 0; i < cardinality; i++) {
+            action.accept(high | content[i]);
+        }
+    }
+
+    @Override
+    RoaringContainer runOptimize() {
+        int runCount = 0;
+        for (int i = 0; i < cardinality; i++) {
+            if (i == 0 || content[i] != content[i - 1] + 1) {
+                runCount++;
+            }
+        }
+        if (RoaringRunContainer.serializedSizeInBytes(runCount) >= serializedSizeInBytes()) {
+            return this;
+        }
+        char[] runs = new char[runCount * 2];
+        int runIndex = -1;
+        for (int i = 0; i < cardinality; i++) {
+            if (i == 0 || content[i] != content[i - 1] + 1) {
+                runs[++runIndex * 2] = content[i];
+            } else {
+                runs[runIndex * 2 + 1]++;
+            }
+        }
+        return new RoaringRunContainer(runs, runCount);
+    }
+
+    @Override
+    RoaringContainer copy() {
+        return new RoaringArrayContainer(Arrays.copyOf(content, Math.max(cardinality, INITIAL_CAPACITY)), cardinality);
+    }
+
+    @Override
+    byte getType() {
+        return TYPE_ARRAY;
+    }
+
+    @Override
+    int serializedSizeInBytes() {
+        return Integer.BYTES + cardinality * Character.BYTES;
+    }
+
+    @Override
+    void write(DataOutput out) throws IOException {
+        out.writeInt(cardinality);
+        for (int i = 0; i < cardinality; i++) {
+            out.writeChar(content[i]);
+        }
+    }
+
+    static RoaringArrayContainer read(DataInput in) throws IOException {
+        int cardinality = in.readInt();
+        if (cardinality <= 0 || cardinality > MAX_ARRAY_CARDINALITY) {
+            throw formatException();
+        }
+        char[] content = new char[cardinality];
+        for (int i = 0; i < cardinality; i++) {
+            content[i] = in.readChar();
+            if (i > 0 && content[i] <= content[i - 1]) {
+                throw formatException();
+            }
+        }
+        return new RoaringArrayContainer(content, cardinality);
+    }
+
+    RoaringBitmapContainer toBitmapContainer() {
+        RoaringBitmapContainer bitmap = new RoaringBitmapContainer();
+        bitmap.addAll(content, cardinality);
+        return bitmap;
+    }
+}
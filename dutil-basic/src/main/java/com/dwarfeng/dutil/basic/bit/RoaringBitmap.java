@@ -0,0 +1,515 @@
+package com.dwarfeng.dutil.basic.bit;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 压缩位图。
+ *
+ * <p>
+ * 保存 32 位整数的集合。整数按照高 16 位分组，每组的低 16 位保存在一个容器中，容器根据数据的分布选择存储方式：
+ * 稀疏的组使用有序数组，稠密的组使用 65536 位的位图，包含大段连续整数的组在调用 {@link #runOptimize()} 之后使用连续区间。<br>
+ * 与 {@link BitUtil} 操作的稠密字节数组相比，压缩位图占用的空间与集合中整数的数量与分布相关，而与整数的大小无关，
+ * 参与运算的两个位图也不需要具有相同的范围。
+ *
+ * <p>
+ * 整数按照无符号的顺序排列，即 <code>0</code> 最小，<code>-1</code>（<code>0xFFFFFFFF</code>）最大，
+ * 迭代器、{@link #forEach(IntConsumer)} 以及 {@link #toArray()} 都按照该顺序返回整数。
+ *
+ * <p>
+ * 序列化的格式与平台无关，所有的数值均以大端序写入：
+ * <blockquote><pre>
+ * int    魔数 0x52424D31
+ * int    容器的数量 n
+ * n 个容器，按照高 16 位从小到大排列：
+ *   char   高 16 位
+ *   byte   容器的类型，0：数组，1：位图，2：区间
+ *   数组： int 基数 c，c 个有序的 char
+ *   位图： 1024 个 long，第 i 个值对应第 i / 64 个 long 中从低位数起的第 i % 64 位
+ *   区间： int 区间数 r，r 对 char，分别为区间的起点与长度减一
+ * </pre></blockquote>
+ *
+ * <p>
+ * 该位图不是线程安全的，迭代的过程中修改位图的结果是不确定的。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public class RoaringBitmap {
+
+    private static final int SERIAL_MAGIC = 0x52424D31;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private char[] keys;
+    private RoaringContainer[] containers;
+    private int size;
+
+    /**
+     * 生成一个空的压缩位图。
+     */
+    public RoaringBitmap() {
+        this(new char[INITIAL_CAPACITY], new RoaringContainer[INITIAL_CAPACITY], 0);
+    }
+
+    private RoaringBitmap(char[] keys, RoaringContainer[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    /**
+     * 生成一个包含指定整数的压缩位图。
+     *
+     * @param values 指定的整数。
+     * @return 包含指定整数的压缩位图。
+     * @throws IllegalArgumentException 入口参数为 <code>null</code>。
+     */
+    public static RoaringBitmap of(int... values) {
+        if (values == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.ROARINGBITMAP_3));
+        }
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * 返回两个压缩位图的并集。
+     *
+     * <p>
+     * 该方法不会修改参与运算的压缩位图。
+     *
+     * @param a 第一个压缩位图。
+     * @param b 第二个压缩位图。
+     * @return 两个压缩位图的并集。
+     * @throws IllegalArgumentException 入口参数为 <code>null</code>。
+     */
+    public static RoaringBitmap or(RoaringBitmap a, RoaringBitmap b) {
+        checkOperands(a, b);
+        RoaringBitmap result = new RoaringBitmap(
+                new char[a.size + b.size], new RoaringContainer[a.size + b.size], 0);
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j >= b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.append(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i >= a.size || a.keys[i] > b.keys[j]) {
+                result.append(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                result.append(a.keys[i], a.containers[i].or(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 返回两个压缩位图的交集。
+     *
+     * <p>
+     * 该方法不会修改参与运算的压缩位图。
+     *
+     * @param a 第一个压缩位图。
+     * @param b 第二个压缩位图。
+     * @return 两个压缩位图的交集。
+     * @throws IllegalArgumentException 入口参数为 <code>null</code>。
+     */
+    public static RoaringBitmap and(RoaringBitmap a, RoaringBitmap b) {
+        checkOperands(a, b);
+        int capacity = Math.max(Math.min(a.size, b.size), 1);
+        RoaringBitmap result = new RoaringBitmap(new char[capacity], new RoaringContainer[capacity], 0);
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                RoaringContainer container = a.containers[i].and(b.containers[j]);
+                if (container.getCardinality() > 0) {
+                    result.append(a.keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 从数据输入中读取压缩位图。
+     *
+     * @param in 数据输入。
+     * @return 读取的压缩位图。
+     * @throws IllegalArgumentException 入口参数为 <code>null</code>。
+     * @throws IOException              读取时发生的 IO 异常，或者数据的格式不正确。
+     */
+    public static RoaringBitmap deserialize(DataInput in) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.ROARINGBITMAP_6));
+        }
+        if (in.readInt() != SERIAL_MAGIC) {
+            throw RoaringContainer.formatException();
+        }
+        int count = in.readInt();
+        if (count < 0 || count > RoaringContainer.MAX_VALUE_COUNT) {
+            throw RoaringContainer.formatException();
+        }
+        int capacity = Math.max(count, 1);
+        RoaringBitmap bitmap = new RoaringBitmap(new char[capacity], new RoaringContainer[capacity], 0);
+        for (int i = 0; i < count; i++) {
+            char key = in.readChar();
+            if (i > 0 && key <= bitmap.keys[i - 1]) {
+                throw RoaringContainer.formatException();
+            }
+            bitmap.append(key, RoaringContainer.read(in.readByte(), in));
+        }
+        return bitmap;
+    }
+
+    private static void checkOperands(RoaringBitmap a, RoaringBitmap b) {
+        if (a == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.ROARINGBITMAP_0));
+        }
+        if (b == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.ROARINGBITMAP_1));
+        }
+    }
+
+    /**
+     * 向位图中添加整数。
+     *
+     * @param x 指定的整数。
+     * @return 位图是否因为该操作而改变。
+     */
+    public boolean add(int x) {
+        char key = (char) (x >>> 16);
+        int index = indexOf(key);
+        if (index >= 0) {
+            RoaringContainer container = containers[index];
+            int cardinality = container.getCardinality();
+            containers[index] = container.add((char) x);
+            return containers[index].getCardinality() != cardinality;
+        }
+        insert(-index - 1, key, new RoaringArrayContainer().add((char) x));
+        return true;
+    }
+
+    /**
+     * 从位图中移除整数。
+     *
+     * @param x 指定的整数。
+     * @return 位图是否因为该操作而改变。
+     */
+    public boolean remove(int x) {
+        int index = indexOf((char) (x >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        RoaringContainer container = containers[index];
+        int cardinality = container.getCardinality();
+        container = container.remove((char) x);
+        if (container.getCardinality() == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+            containers[--size] = null;
+        } else {
+            containers[index] = container;
+        }
+        return container.getCardinality() != cardinality;
+    }
+
+    /**
+     * 返回位图中是否包含指定的整数。
+     *
+     * @param x 指定的整数。
+     * @return 位图中是否包含指定的整数。
+     */
+    public boolean contains(int x) {
+        int index = indexOf((char) (x >>> 16));
+        return index >= 0 && containers[index].contains((char) x);
+    }
+
+    /**
+     * 返回位图中整数的数量。
+     *
+     * @return 位图中整数的数量。
+     */
+    public long getCardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].getCardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * 返回位图是否为空。
+     *
+     * @return 位图是否为空。
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 移除位图中所有的整数。
+     */
+    public void clear() {
+        keys = new char[INITIAL_CAPACITY];
+        containers = new RoaringContainer[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * 将该位图修改为该位图与另一个位图的并集。
+     *
+     * @param other 另一个位图。
+     * @throws IllegalArgumentException 入口参数为 <code>null</code>。
+     */
+    public void or(RoaringBitmap other) {
+        replaceWith(or(this, other));
+    }
+
+    /**
+     * 将该位图修改为该位图与另一个位图的交集。
+     *
+     * @param other 另一个位图。
+     * @throws IllegalArgumentException 入口参数为 <code>null</code>。
+     */
+    public void and(RoaringBitmap other) {
+        replaceWith(and(this, other));
+    }
+
+    /**
+     * 将包含大段连续整数的容器转换为区间容器，并将其它的容器转换为占用空间最小的存储方式。
+     *
+     * <p>
+     * 单个整数的添加与移除会将区间容器转换回数组容器或位图容器，修改完成之后可以再次调用该方法。
+     *
+     * @return 是否有容器的存储方式发生了改变。
+     */
+    public boolean runOptimize() {
+        boolean changed = false;
+        for (int i = 0; i < size; i++) {
+            RoaringContainer container = containers[i].runOptimize();
+            changed |= container != containers[i];
+            containers[i] = container;
+        }
+        return changed;
+    }
+
+    /**
+     * 返回按照无符号顺序遍历位图中整数的迭代器。
+     *
+     * @return 遍历位图中整数的迭代器。
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new BitmapIterator();
+    }
+
+    /**
+     * 返回由位图中的整数组成的流，整数按照无符号的顺序排列。
+     *
+     * @return 由位图中的整数组成的流。
+     */
+    public IntStream stream() {
+        return StreamSupport.intStream(Spliterators.spliterator(iterator(), getCardinality(),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * 按照无符号的顺序对位图中的每个整数执行指定的操作。
+     *
+     * @param action 指定的操作。
+     * @throws IllegalArgumentException 入口参数为 <code>null</code>。
+     */
+    public void forEach(IntConsumer action) {
+        if (action == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.ROARINGBITMAP_2));
+        }
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    /**
+     * 以数组的形式返回位图中的整数，整数按照无符号的顺序排列。
+     *
+     * @return 位图中的整数组成的数组。
+     * @throws IllegalStateException 位图中整数的数量超出了数组的最大长度。
+     */
+    public int[] toArray() {
+        long cardinality = getCardinality();
+        if (cardinality > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException(String.format(
+                    DwarfUtil.getExceptionString(ExceptionStringKey.ROARINGBITMAP_7), cardinality));
+        }
+        int[] array = new int[(int) cardinality];
+        int[] index = new int[1];
+        forEach(value -> array[index[0]++] = value);
+        return array;
+    }
+
+    /**
+     * 返回位图序列化之后的字节数。
+     *
+     * @return 位图序列化之后的字节数。
+     */
+    public long serializedSizeInBytes() {
+        long bytes = 2L * Integer.BYTES;
+        for (int i = 0; i < size; i++) {
+            bytes += Character.BYTES + Byte.BYTES + containers[i].serializedSizeInBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * 将位图写入数据输出，格式参见类的说明。
+     *
+     * @param out 数据输出。
+     * @throws IllegalArgumentException 入口参数为 <code>null</code>。
+     * @throws IOException              写入时发生的 IO 异常。
+     */
+    public void serialize(DataOutput out) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.ROARINGBITMAP_5));
+        }
+        out.writeInt(SERIAL_MAGIC);
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeChar(keys[i]);
+            out.writeByte(containers[i].getType());
+            containers[i].write(out);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RoaringBitmap that = (RoaringBitmap) o;
+        if (size != that.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i] != that.keys[i]) {
+                return false;
+            }
+            // 相同的内容可能以不同的容器保存，通过交集的基数比较容器的内容。
+            int cardinality = containers[i].getCardinality();
+            if (cardinality != that.containers[i].getCardinality() ||
+                    containers[i].and(that.containers[i]).getCardinality() != cardinality) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hash = new int[]{1};
+        forEach(value -> hash[0] = 31 * hash[0] + value);
+        return hash[0];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach(value -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(Integer.toUnsignedString(value));
+        });
+        return sb.append('}').toString();
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insert(int index, char key, RoaringContainer container) {
+        if (size == keys.length) {
+            int capacity = Math.max(keys.length * 2, INITIAL_CAPACITY);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void append(char key, RoaringContainer container) {
+        insert(size, key, container);
+    }
+
+    private void replaceWith(RoaringBitmap other) {
+        keys = other.keys;
+        containers = other.containers;
+        size = other.size;
+    }
+
+    private final class BitmapIterator implements PrimitiveIterator.OfInt {
+
+        private int index = 0;
+        private long next;
+
+        BitmapIterator() {
+            next = find(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            int value = (int) next;
+            int low = value & 0xFFFF;
+            next = low + 1 < RoaringContainer.MAX_VALUE_COUNT ? find(low + 1) : findNextContainer();
+            return value;
+        }
+
+        private long findNextContainer() {
+            index++;
+            return find(0);
+        }
+
+        private long find(int from) {
+            while (index < size) {
+                int low = containers[index].nextValue(from);
+                if (low >= 0) {
+                    return ((long) keys[index] << 16) | low;
+                }
+                index++;
+                from = 0;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.dwarfeng.dutil.basic.bit;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.function.IntConsumer;
+
+/**
+ * 压缩位图的位图容器。
+ *
+ * <p>
+ * 值以 65536 位的位图保存，基数降低到 {@link #MAX_ARRAY_CARDINALITY} 及以下时转换为数组容器。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+final class RoaringBitmapContainer extends RoaringContainer {
+
+    private static final int WORD_COUNT = MAX_VALUE_COUNT / Long.SIZE;
+
+    private final long[] words;
+    private int cardinality;
+
+    RoaringBitmapContainer() {
+        this(new long[WORD_COUNT], 0);
+    }
+
+    private RoaringBitmapContainer(long[] words, int cardinality) {
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    RoaringContainer add(char x) {
+        long bit = 1L << x;
+        int index = x >>> 6;
+        if ((words[index] & bit) == 0) {
+            words[index] |= bit;
+            cardinality++;
+        }
+        return this;
+    }
+
+    @Override
+    RoaringContainer remove(char x) {
+        long bit = 1L << x;
+        int index = x >>> 6;
+        if ((words[index] & bit) == 0) {
+            return this;
+        }
+        words[index] &= ~bit;
+        cardinality--;
+        return toEfficientContainer();
+    }
+
+    @Override
+    boolean contains(char x) {
+        return (words[x >>> 6] & (1L << x)) != 0;
+    }
+
+    @Override
+    int getCardinality() {
+        return cardinality;
+    }
+
+    @Override
+    RoaringContainer or(RoaringContainer other) {
+        if (other instanceof RoaringBitmapContainer) {
+            long[] thatWords = ((RoaringBitmapContainer) other).words;
+            long[] result = new long[WORD_COUNT];
+            int resultCardinality = 0;
+            for (int i = 0; i < WORD_COUNT; i++) {
+                result[i] = words[i] | thatWords[i];
+                resultCardinality += Long.bitCount(result[i]);
+            }
+            return new RoaringBitmapContainer(result, resultCardinality);
+        }
+        RoaringBitmapContainer result = (RoaringBitmapContainer) copy();
+        if (other instanceof RoaringArrayContainer) {
+            other.forEach(0, value -> result.add((char) value));
+        } else {
+            ((RoaringRunContainer) other).forEachRun(result::addRange);
+        }
+        return result;
+    }
+
+    @Override
+    RoaringContainer and(RoaringContainer other) {
+        if (!(other instanceof RoaringBitmapContainer)) {
+            return other.and(this);
+        }
+        long[] thatWords = ((RoaringBitmapContainer) other).words;
+        long[] result = new long[WORD_COUNT];
+        int resultCardinality = 0;
+        for (int i = 0; i < WORD_COUNT; i++) {
+            result[i] = words[i] & thatWords[i];
+            resultCardinality += Long.bitCount(result[i]);
+        }
+        return new RoaringBitmapContainer(result, resultCardinality).toEfficientContainer();
+    }
+
+    @Override
+    int nextValue(int from) {
+        int index = from >>> 6;
+        long word = words[index] & (-1L << from);
+        while (word == 0) {
+            if (++index == WORD_COUNT) {
+                return -1;
+            }
+            word = words[index];
+        }
+        return index * Long.SIZE + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * 返回大于等于指定值的最小的不在容器中的值，不存在时返回 {@link #MAX_VALUE_COUNT}。
+     */
+    private int nextAbsentValue(int from) {
+        int index = from >>> 6;
+        long word = ~words[index] & (-1L << from);
+        while (word == 0) {
+            if (++index == WORD_COUNT) {
+                return MAX_VALUE_COUNT;
+            }
+            word = ~words[index];
+        }
+        return index * Long.SIZE + Long.numberOfTrailingZeros(word);
+    }
+
+    @Override
+    void forEach(int high, IntConsumer action) {
+        for (int i = 0; i < WORD_COUNT; i++) {
+            long word = words[i];
+            while (word != 0) {
+                action.accept(high | (i * Long.SIZE + Long.numberOfTrailingZeros(word)));
+                word &= word - 1;
+            }
+        }
+    }
+
+    @Override
+    RoaringContainer runOptimize() {
+        // 区间的起点是置 1 且前一位为 0 的位，前一位可能位于上一个字的最高位。
+        int runCount = 0;
+        long previous = 0;
+        for (long word : words) {
+            runCount += Long.bitCount(word & ~((word << 1) | (previous >>> (Long.SIZE - 1))));
+            previous = word;
+        }
+        if (RoaringRunContainer.serializedSizeInBytes(runCount) >= serializedSizeInBytes()) {
+            return this;
+        }
+        char[] runs = new char[runCount * 2];
+        int runIndex = 0;
+        int value = nextValue(0);
+        while (value >= 0) {
+            int end = nextAbsentValue(value) - 1;
+            runs[runIndex * 2] = (char) value;
+            runs[runIndex * 2 + 1] = (char) (end - value);
+            runIndex++;
+            value = end + 1 < MAX_VALUE_COUNT ? nextValue(end + 1) : -1;
+        }
+        return new RoaringRunContainer(runs, runCount);
+    }
+
+    @Override
+    RoaringContainer copy() {
+        return new RoaringBitmapContainer(words.clone(), cardinality);
+    }
+
+    @Override
+    byte getType() {
+        return TYPE_BITMAP;
+    }
+
+    @Override
+    int serializedSizeInBytes() {
+        return WORD_COUNT * Long.BYTES;
+    }
+
+    @Override
+    void write(DataOutput out) throws IOException {
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    static RoaringContainer read(DataInput in) throws IOException {
+        long[] words = new long[WORD_COUNT];
+        int cardinality = 0;
+        for (int i = 0; i < WORD_COUNT; i++) {
+            words[i] = in.readLong();
+            cardinality += Long.bitCount(words[i]);
+        }
+        if (cardinality == 0) {
+            throw formatException();
+        }
+        return new RoaringBitmapContainer(words, cardinality).toEfficientContainer();
+    }
+
+    void addAll(char[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            add(values[i]);
+        }
+    }
+
+    /**
+     * 将指定闭区间内的所有值添加到容器中。
+     *
+     * @param start 区间的起点。
+     * @param end   区间的终点，包含在区间内。
+     */
+    void addRange(int start, int end) {
+        int firstIndex = start >>> 6;
+        int lastIndex = end >>> 6;
+        long firstMask = -1L << start;
+        long lastMask = -1L >>> (Long.SIZE - 1 - (end & (Long.SIZE - 1)));
+        if (firstIndex == lastIndex) {
+            cardinality -= Long.bitCount(words[firstIndex]);
+            words[firstIndex] |= firstMask & lastMask;
+            cardinality += Long.bitCount(words[firstIndex]);
+            return;
+        }
+        for (int i = firstIndex; i <= lastIndex; i++) {
+            long mask = i == firstIndex ? firstMask : i == lastIndex ? lastMask : -1L;
+            cardinality -= Long.bitCount(words[i]);
+            words[i] |= mask;
+            cardinality += Long.bitCount(words[i]);
+        }
+    }
+
+    RoaringContainer toEfficientContainer() {
+        if (cardinality > MAX_ARRAY_CARDINALITY) {
+            return this;
+        }
+        char[] values = new char[cardinality];
+        int[] index = new int[1];
+        forEach(0, value -> values[index[0]++] = (char) value);
+        return new RoaringArrayContainer(values, cardinality);
+    }
+}
@@ -0,0 +1,168 @@
+package com.dwarfeng.dutil.basic.bit;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.function.IntConsumer;
+
+/**
+ * 压缩位图的容器。
+ *
+ * <p>
+ * 容器保存压缩位图中高 16 位相同的所有整数的低 16 位，根据数据的分布使用不同的存储方式：
+ * <ul>
+ * <li>{@link RoaringArrayContainer}：有序的 <code>char</code> 数组，适用于稀疏的数据。</li>
+ * <li>{@link RoaringBitmapContainer}：长度为 65536 位的位图，适用于稠密的数据。</li>
+ * <li>{@link RoaringRunContainer}：有序的连续区间，适用于包含大段连续整数的数据。</li>
+ * </ul>
+ *
+ * <p>
+ * 修改与运算方法返回运算之后的容器，容器的类型可能因此而改变，调用者应当使用返回的容器替换原有的容器。<br>
+ * 运算方法不会修改参与运算的任何容器。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+abstract class RoaringContainer {
+
+    /**
+     * 数组容器的最大基数，超过该值的数组容器会被转换为位图容器。
+     */
+    static final int MAX_ARRAY_CARDINALITY = 4096;
+
+    /**
+     * 容器中的值的数量上限。
+     */
+    static final int MAX_VALUE_COUNT = 65536;
+
+    static final byte TYPE_ARRAY = 0;
+    static final byte TYPE_BITMAP = 1;
+    static final byte TYPE_RUN = 2;
+
+    /**
+     * 向容器中添加值。
+     *
+     * @param x 值的低 16 位。
+     * @return 添加之后的容器。
+     */
+    abstract RoaringContainer add(char x);
+
+    /**
+     * 从容器中移除值。
+     *
+     * @param x 值的低 16 位。
+     * @return 移除之后的容器。
+     */
+    abstract RoaringContainer remove(char x);
+
+    /**
+     * 返回容器中是否包含值。
+     *
+     * @param x 值的低 16 位。
+     * @return 容器中是否包含值。
+     */
+    abstract boolean contains(char x);
+
+    /**
+     * 返回容器的基数。
+     *
+     * @return 容器的基数。
+     */
+    abstract int getCardinality();
+
+    /**
+     * 返回容器与另一个容器的并集。
+     *
+     * @param other 另一个容器。
+     * @return 并集。
+     */
+    abstract RoaringContainer or(RoaringContainer other);
+
+    /**
+     * 返回容器与另一个容器的交集。
+     *
+     * @param other 另一个容器。
+     * @return 交集，可能为空容器。
+     */
+    abstract RoaringContainer and(RoaringContainer other);
+
+    /**
+     * 返回容器中大于等于指定值的最小值。
+     *
+     * @param from 指定的值，范围 0 至 65535。
+     * @return 大于等于指定值的最小值，不存在时返回 -1。
+     */
+    abstract int nextValue(int from);
+
+    /**
+     * 按照从小到大的顺序对容器中的每个值执行指定的操作。
+     *
+     * @param high   值的高 16 位，已经左移到对应的位置。
+     * @param action 指定的操作。
+     */
+    abstract void forEach(int high, IntConsumer action);
+
+    /**
+     * 返回与该容器的值相同，序列化占用空间最小的容器。
+     *
+     * @return 占用空间最小的容器，可能是该容器本身。
+     */
+    abstract RoaringContainer runOptimize();
+
+    /**
+     * 返回该容器的深拷贝。
+     *
+     * @return 该容器的深拷贝。
+     */
+    abstract RoaringContainer copy();
+
+    /**
+     * 返回容器的类型。
+     *
+     * @return 容器的类型。
+     */
+    abstract byte getType();
+
+    /**
+     * 返回容器序列化之后的字节数，不包括类型。
+     *
+     * @return 容器序列化之后的字节数。
+     */
+    abstract int serializedSizeInBytes();
+
+    /**
+     * 将容器的内容写入数据输出。
+     *
+     * @param out 数据输出。
+     * @throws IOException 写入时发生的 IO 异常。
+     */
+    abstract void write(DataOutput out) throws IOException;
+
+    /**
+     * 从数据输入中读取指定类型的容器。
+     *
+     * @param type 容器的类型。
+     * @param in   数据输入。
+     * @return 读取的容器。
+     * @throws IOException 读取时发生的 IO 异常，或者数据的格式不正确。
+     */
+    static RoaringContainer read(byte type, DataInput in) throws IOException {
+        switch (type) {
+            case TYPE_ARRAY:
+                return RoaringArrayContainer.read(in);
+            case TYPE_BITMAP:
+                return RoaringBitmapContainer.read(in);
+            case TYPE_RUN:
+                return RoaringRunContainer.read(in);
+            default:
+                throw formatException();
+        }
+    }
+
+    static IOException formatException() {
+        return new IOException(DwarfUtil.getExceptionString(ExceptionStringKey.ROARINGBITMAP_4));
+    }
+}
@@ -0,0 +1,287 @@
+package com.dwarfeng.dutil.basic.bit;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * 压缩位图的区间容器。
+ *
+ * <p>
+ * 值以有序且互不相邻的闭区间保存，每个区间由起点与长度减一两个 <code>char</code> 表示。<br>
+ * 区间容器之间的并集与交集直接在区间上计算；单个值的修改以及与其它类型容器的运算会先将区间容器转换为数组容器或位图容器，
+ * 之后可以通过 {@link #runOptimize()} 重新压缩。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+final class RoaringRunContainer extends RoaringContainer {
+
+    private final char[] runs;
+    private final int runCount;
+    private final int cardinality;
+
+    RoaringRunContainer(char[] runs, int runCount) {
+        this.runs = runs;
+        this.runCount = runCount;
+        int sum = 0;
+        for (int i = 0; i < runCount; i++) {
+            sum += length(i) + 1;
+        }
+        this.cardinality = sum;
+    }
+
+    static int serializedSizeInBytes(int runCount) {
+        return Integer.BYTES + runCount * 2 * Character.BYTES;
+    }
+
+    @Override
+    RoaringContainer add(char x) {
+        return contains(x) ? this : toEfficientContainer().add(x);
+    }
+
+    @Override
+    RoaringContainer remove(char x) {
+        return contains(x) ? toEfficientContainer().remove(x) : this;
+    }
+
+    @Override
+    boolean contains(char x) {
+        int index = floorRun(x);
+        return index >= 0 && x <= end(index);
+    }
+
+    @Override
+    int getCardinality() {
+        return cardinality;
+    }
+
+    @Override
+    RoaringContainer or(RoaringContainer other) {
+        if (!(other instanceof RoaringRunContainer)) {
+            return toEfficientContainer().or(other);
+        }
+        RoaringRunContainer that = (RoaringRunContainer) other;
+        RunBuilder builder = new RunBuilder(runCount + that.runCount);
+        int i = 0;
+        int j = 0;
+        while (i < runCount || j < that.runCount) {
+            if (j >= that.runCount || (i < runCount && start(i) <= that.start(j))) {
+                builder.append(start(i), end(i));
+                i++;
+            } else {
+                builder.append(that.start(j), that.end(j));
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    RoaringContainer and(RoaringContainer other) {
+        if (other instanceof RoaringArrayContainer) {
+            return other.and(this);
+        }
+        if (other instanceof RoaringBitmapContainer) {
+            return toBitmapContainer().and(other);
+        }
+        RoaringRunContainer that = (RoaringRunContainer) other;
+        RunBuilder builder = new RunBuilder(runCount + that.runCount);
+        int i = 0;
+        int j = 0;
+        while (i < runCount && j < that.runCount) {
+            int start = Math.max(start(i), that.start(j));
+            int end = Math.min(end(i), that.end(j));
+            if (start <= end) {
+                builder.append(start, end);
+            }
+            if (end(i) < that.end(j)) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    int nextValue(int from) {
+        int index = floorRun(from);
+        if (index >= 0 && from <= end(index)) {
+            return from;
+        }
+        return index + 1 < runCount ? start(index + 1) : -1;
+    }
+
+    @Override
+    void forEach(int high, IntConsumer action) {
+        for (int i = 0; i < runCount; i++) {
+            for (int value = start(i); value <= end(i); value++) {
+                action.accept(high | value);
+            }
+        }
+    }
+
+    @Override
+    RoaringContainer runOptimize() {
+        int valueSize = cardinality <= MAX_ARRAY_CARDINALITY ?
+                Integer.BYTES + cardinality * Character.BYTES : MAX_VALUE_COUNT / Byte.SIZE;
+        return serializedSizeInBytes() <= valueSize ? this : toEfficientContainer();
+    }
+
+    @Override
+    RoaringContainer copy() {
+        return new RoaringRunContainer(Arrays.copyOf(runs, runCount * 2), runCount);
+    }
+
+    @Override
+    byte getType() {
+        return TYPE_RUN;
+    }
+
+    @Override
+    int serializedSizeInBytes() {
+        return serializedSizeInBytes(runCount);
+    }
+
+    @Override
+    void write(DataOutput out) throws IOException {
+        out.writeInt(runCount);
+        for (int i = 0; i < runCount * 2; i++) {
+            out.writeChar(runs[i]);
+        }
+    }
+
+    static RoaringRunContainer read(DataInput in) throws IOException {
+        int runCount = in.readInt();
+        if (runCount <= 0 || runCount > MAX_VALUE_COUNT / 2) {
+            throw formatException();
+        }
+        char[] runs = new char[runCount * 2];
+        int previousEnd = -2;
+        for (int i = 0; i < runCount; i++) {
+            runs[i * 2] = in.readChar();
+            runs[i * 2 + 1] = in.readChar();
+            int start = runs[i * 2];
+            int end = start + runs[i * 2 + 1];
+            // 区间必须有序、互不相邻，且不超出容器的范围。
+            if (start <= previousEnd + 1 || end >= MAX_VALUE_COUNT) {
+                throw formatException();
+            }
+            previousEnd = end;
+        }
+        return new RoaringRunContainer(runs, runCount);
+    }
+
+    /**
+     * 对每个区间执行指定的操作。
+     *
+     * @param action 接收区间起点与终点的操作，终点包含在区间内。
+     */
+    void forEachRun(RunConsumer action) {
+        for (int i = 0; i < runCount; i++) {
+            action.accept(start(i), end(i));
+        }
+    }
+
+    private int start(int index) {
+        return runs[index * 2];
+    }
+
+    private int length(int index) {
+        return runs[index * 2 + 1];
+    }
+
+    private int end(int index) {
+        return start(index) + length(index);
+    }
+
+    /**
+     * 返回起点小于等于指定值的最后一个区间的序号，不存在时返回 -1。
+     */
+    private int floorRun(int x) {
+        int low = 0;
+        int high = runCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (start(middle) <= x) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    private RoaringBitmapContainer toBitmapContainer() {
+        RoaringBitmapContainer bitmap = new RoaringBitmapContainer();
+        forEachRun(bitmap::addRange);
+        return bitmap;
+    }
+
+    private RoaringContainer toEfficientContainer() {
+        if (cardinality > MAX_ARRAY_CARDINALITY) {
+            return toBitmapContainer();
+        }
+        char[] values = new char[Math.max(cardinality, 1)];
+        int[] index = new int[1];
+        forEach(0, value -> values[index[0]++] = (char) value);
+        return new RoaringArrayContainer(values, cardinality);
+    }
+
+    /**
+     * 区间的操作。
+     */
+    @FunctionalInterface
+    interface RunConsumer {
+
+        void accept(int start, int end);
+    }
+
+    /**
+     * 按照起点的顺序追加区间，相邻或重叠的区间会被合并。
+     */
+    private static final class RunBuilder {
+
+        private char[] runs;
+        private int runCount = 0;
+        private int currentStart = -1;
+        private int currentEnd = -1;
+
+        RunBuilder(int capacity) {
+            this.runs = new char[Math.max(capacity, 1) * 2];
+        }
+
+        void append(int start, int end) {
+            if (currentStart >= 0 && start <= currentEnd + 1) {
+                currentEnd = Math.max(currentEnd, end);
+                return;
+            }
+            flushCurrent();
+            currentStart = start;
+            currentEnd = end;
+        }
+
+        RoaringContainer build() {
+            flushCurrent();
+            if (runCount == 0) {
+                return new RoaringArrayContainer();
+            }
+            return new RoaringRunContainer(runs, runCount);
+        }
+
+        private void flushCurrent() {
+            if (currentStart < 0) {
+                return;
+            }
+            if (runCount * 2 == runs.length) {
+                runs = Arrays.copyOf(runs, runs.length * 2);
+            }
+            runs[runCount * 2] = (char) currentStart;
+            runs[runCount * 2 + 1] = (char) (currentEnd - currentStart);
+            runCount++;
+        }
+    }
+}
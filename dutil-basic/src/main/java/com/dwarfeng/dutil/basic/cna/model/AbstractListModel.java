@@ -3,11 +3,12 @@ package com.dwarfeng.dutil.basic.cna.model;
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
 import com.dwarfeng.dutil.basic.cna.model.obs.ListObserver;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 /**
  * 抽象列表模型。
@@ -28,11 +29,16 @@ public abstract class AbstractListModel<E> implements ListModel<E> {
      */
     protected final Set<ListObserver<E>> observers;
 
+    /**
+     * 观察器通知的分发器，为 <code>null</code> 时在修改方法中同步地通知观察器。
+     */
+    private volatile ModelEventDispatcher dispatcher = null;
+
     /**
      * 生成一个默认的抽象列表模型。
      */
     public AbstractListModel() {
-        this(Collections.newSetFromMap(new WeakHashMap<>()));
+        this(new ObserverRegistry<>());
     }
 
     /**
@@ -66,23 +72,57 @@ public abstract class AbstractListModel<E> implements ListModel<E> {
         observers.clear();
     }
 
+    /**
+     * 返回该模型的事件分发器。
+     *
+     * @return 该模型的事件分发器，为 <code>null</code> 表示在修改方法中同步地通知观察器。
+     * @since 0.4.3.a-beta
+     */
+    public ModelEventDispatcher getEventDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * 设置该模型的事件分发器。
+     *
+     * <p>
+     * 设置分发器之后，修改方法只将事件放入分发器的队列，由分发器在其执行器中按顺序通知观察器，
+     * 因此观察器的执行速度不会影响修改方法的执行速度。此时观察器集合会在执行器的线程中被遍历，
+     * 观察器集合应当是线程安全的，默认的 {@link com.dwarfeng.dutil.basic.prog.ObserverRegistry} 满足该要求。
+     *
+     * @param dispatcher 事件分发器，为 <code>null</code> 表示在修改方法中同步地通知观察器。
+     * @since 0.4.3.a-beta
+     */
+    public void setEventDispatcher(ModelEventDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
     /**
      * 通知观察器该模型在指定的位置添加了指定的元素。
      *
      * @param index   指定的位置。
      * @param element 指定的的元素。
      */
+    protected void fireAdded(int index, E element) {
+        ModelEventDispatcher dispatcher = this.dispatcher;
+        if (Objects.isNull(dispatcher)) {
+            notifyAdded(index, element);
+        } else {
+            dispatcher.dispatch(() -> notifyAdded(index, element));
+        }
+    }
+
     // 由于早期开发未使用日志框架，故保留 printStackTrace 方法，忽略相关警告。
     @SuppressWarnings("CallToPrintStackTrace")
-    protected void fireAdded(int index, E element) {
-        for (ListObserver<E> observer : observers) {
+    private void notifyAdded(int index, E element) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireAdded(index, element);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -91,19 +131,86 @@ public abstract class AbstractListModel<E> implements ListModel<E> {
      * @param index   指定的位置。
      * @param element 被移除的元素。
      */
+    protected void fireRemoved(int index, E element) {
+        ModelEventDispatcher dispatcher = this.dispatcher;
+        if (Objects.isNull(dispatcher)) {
+            notifyRemoved(index, element);
+        } else {
+            dispatcher.dispatch(() -> notifyRemoved(index, element));
+        }
+    }
+
     // 由于早期开发未使用日志框架，故保留 printStackTrace 方法，忽略相关警告。
     @SuppressWarnings("CallToPrintStackTrace")
-    protected void fireRemoved(int index, E element) {
-        for (ListObserver<E> observer : observers) {
+    private void notifyRemoved(int index, E element) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireRemoved(index, element);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
+        });
+    }
+
+    /**
+     * 通知观察器该模型从指定的位置开始连续地添加了指定的元素。
+     *
+     * @param from     第一个元素的位置。
+     * @param elements 添加的元素，不可修改。
+     * @since 0.4.3.a-beta
+     */
+    protected void fireAddedRange(int from, List<E> elements) {
+        ModelEventDispatcher dispatcher = this.dispatcher;
+        if (Objects.isNull(dispatcher)) {
+            notifyAddedRange(from, elements);
+        } else {
+            dispatcher.dispatch(() -> notifyAddedRange(from, elements));
+        }
+    }
+
+    // 由于早期开发未使用日志框架，故保留 printStackTrace 方法，忽略相关警告。
+    @SuppressWarnings("CallToPrintStackTrace")
+    private void notifyAddedRange(int from, List<E> elements) {
+        observers.forEach(observer -> {
+            if (Objects.nonNull(observer))
+                try {
+                    observer.fireAddedRange(from, elements);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+        });
+    }
+
+    /**
+     * 通知观察器该模型从指定的位置开始连续地移除了指定的元素。
+     *
+     * @param from     第一个元素被移除前的位置。
+     * @param elements 移除的元素，不可修改。
+     * @since 0.4.3.a-beta
+     */
+    protected void fireRemovedRange(int from, List<E> elements) {
+        ModelEventDispatcher dispatcher = this.dispatcher;
+        if (Objects.isNull(dispatcher)) {
+            notifyRemovedRange(from, elements);
+        } else {
+            dispatcher.dispatch(() -> notifyRemovedRange(from, elements));
         }
     }
 
+    // 由于早期开发未使用日志框架，故保留 printStackTrace 方法，忽略相关警告。
+    @SuppressWarnings("CallToPrintStackTrace")
+    private void notifyRemovedRange(int from, List<E> elements) {
+        observers.forEach(observer -> {
+            if (Objects.nonNull(observer))
+                try {
+                    observer.fireRemovedRange(from, elements);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+        });
+    }
+
     /**
      * 通知观察器该模型指定位置处的元素发生了改变。
      *
@@ -111,32 +218,50 @@ public abstract class AbstractListModel<E> implements ListModel<E> {
      * @param oldElement 改变前的旧元素。
      * @param newElement 改变后的新元素。
      */
+    protected void fireChanged(int index, E oldElement, E newElement) {
+        ModelEventDispatcher dispatcher = this.dispatcher;
+        if (Objects.isNull(dispatcher)) {
+            notifyChanged(index, oldElement, newElement);
+        } else {
+            dispatcher.dispatchChanged(this, index, oldElement, newElement, (o, n) -> notifyChanged(index, o, n));
+        }
+    }
+
     // 由于早期开发未使用日志框架，故保留 printStackTrace 方法，忽略相关警告。
     @SuppressWarnings("CallToPrintStackTrace")
-    protected void fireChanged(int index, E oldElement, E newElement) {
-        for (ListObserver<E> observer : observers) {
+    private void notifyChanged(int index, E oldElement, E newElement) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireChanged(index, oldElement, newElement);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
      * 通知观察器该模型移除了所有的元素。
      */
+    protected void fireCleared() {
+        ModelEventDispatcher dispatcher = this.dispatcher;
+        if (Objects.isNull(dispatcher)) {
+            notifyCleared();
+        } else {
+            dispatcher.dispatch(this::notifyCleared);
+        }
+    }
+
     // 由于早期开发未使用日志框架，故保留 printStackTrace 方法，忽略相关警告。
     @SuppressWarnings("CallToPrintStackTrace")
-    protected void fireCleared() {
-        for (ListObserver<E> observer : observers) {
+    private void notifyCleared() {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireCleared();
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 }
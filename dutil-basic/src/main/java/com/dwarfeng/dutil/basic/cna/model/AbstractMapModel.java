@@ -3,11 +3,11 @@ package com.dwarfeng.dutil.basic.cna.model;
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
 import com.dwarfeng.dutil.basic.cna.model.obs.MapObserver;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
 
 import java.util.Collections;
 import java.util.Objects;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 /**
  * 抽象映射模型。
@@ -28,11 +28,16 @@ public abstract class AbstractMapModel<K, V> implements MapModel<K, V> {
      */
     protected final Set<MapObserver<K, V>> observers;
 
+    /**
+     * 观察器通知的分发器，为 <code>null</code> 时在修改方法中同步地通知观察器。
+     */
+    private volatile ModelEventDispatcher dispatcher = null;
+
     /**
      * 生成一个默认的抽象映射模型。
      */
     public AbstractMapModel() {
-        this(Collections.newSetFromMap(new WeakHashMap<>()));
+        this(new ObserverRegistry<>());
     }
 
     /**
@@ -78,23 +83,57 @@ public abstract class AbstractMapModel<K, V> implements MapModel<K, V> {
         observers.clear();
     }
 
+    /**
+     * 返回该模型的事件分发器。
+     *
+     * @return 该模型的事件分发器，为 <code>null</code> 表示在修改方法中同步地通知观察器。
+     * @since 0.4.3.a-beta
+     */
+    public ModelEventDispatcher getEventDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * 设置该模型的事件分发器。
+     *
+     * <p>
+     * 设置分发器之后，修改方法只将事件放入分发器的队列，由分发器在其执行器中按顺序通知观察器，
+     * 因此观察器的执行速度不会影响修改方法的执行速度。此时观察器集合会在执行器的线程中被遍历，
+     * 观察器集合应当是线程安全的，默认的 {@link com.dwarfeng.dutil.basic.prog.ObserverRegistry} 满足该要求。
+     *
+     * @param dispatcher 事件分发器，为 <code>null</code> 表示在修改方法中同步地通知观察器。
+     * @since 0.4.3.a-beta
+     */
+    public void setEventDispatcher(ModelEventDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
     /**
      * 通知观察器该模型中指定的键-值对被添加。
      *
      * @param key   指定的键。
      * @param value 指定的值。
      */
+    protected void firePut(K key, V value) {
+        ModelEventDispatcher dispatcher = this.dispatcher;
+        if (Objects.isNull(dispatcher)) {
+            notifyPut(key, value);
+        } else {
+            dispatcher.dispatch(() -> notifyPut(key, value));
+        }
+    }
+
     // 由于早期开发未使用日志框架，故保留 printStackTrace 方法，忽略相关警告。
     @SuppressWarnings("CallToPrintStackTrace")
-    protected void firePut(K key, V value) {
-        for (MapObserver<K, V> observer : observers) {
+    private void notifyPut(K key, V value) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.firePut(key, value);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -103,17 +142,26 @@ public abstract class AbstractMapModel<K, V> implements MapModel<K, V> {
      * @param key   指定的键。
      * @param value 键对应的值。
      */
+    protected void fireRemoved(K key, V value) {
+        ModelEventDispatcher dispatcher = this.dispatcher;
+        if (Objects.isNull(dispatcher)) {
+            notifyRemoved(key, value);
+        } else {
+            dispatcher.dispatch(() -> notifyRemoved(key, value));
+        }
+    }
+
     // 由于早期开发未使用日志框架，故保留 printStackTrace 方法，忽略相关警告。
     @SuppressWarnings("CallToPrintStackTrace")
-    protected void fireRemoved(K key, V value) {
-        for (MapObserver<K, V> observer : observers) {
+    private void notifyRemoved(K key, V value) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireRemoved(key, value);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -124,27 +172,45 @@ public abstract class AbstractMapModel<K, V> implements MapModel<K, V> {
      * @param newValue 键对应的新值。
      */
     protected void fireChanged(K key, V oldValue, V newValue) {
-        for (MapObserver<K, V> observer : observers) {
+        ModelEventDispatcher dispatcher = this.dispatcher;
+        if (Objects.isNull(dispatcher)) {
+            notifyChanged(key, oldValue, newValue);
+        } else {
+            dispatcher.dispatchChanged(this, key, oldValue, newValue, (o, n) -> notifyChanged(key, o, n));
+        }
+    }
+
+    private void notifyChanged(K key, V oldValue, V newValue) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireChanged(key, oldValue, newValue);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
      * 通知该模型中的键-值对被清除。
      */
     protected void fireCleared() {
-        for (MapObserver<K, V> observer : observers) {
+        ModelEventDispatcher dispatcher = this.dispatcher;
+        if (Objects.isNull(dispatcher)) {
+            notifyCleared();
+        } else {
+            dispatcher.dispatch(this::notifyCleared);
+        }
+    }
+
+    private void notifyCleared() {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireCleared();
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 }
@@ -3,11 +3,11 @@ package com.dwarfeng.dutil.basic.cna.model;
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
 import com.dwarfeng.dutil.basic.cna.model.obs.ReferenceObserver;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
 
 import java.util.Collections;
 import java.util.Objects;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 /**
  * 抽象引用模型。
@@ -28,11 +28,16 @@ public abstract class AbstractReferenceModel<E> implements ReferenceModel<E> {
      */
     protected final Set<ReferenceObserver<E>> observers;
 
+    /**
+     * 观察器通知的分发器，为 <code>null</code> 时在修改方法中同步地通知观察器。
+     */
+    private volatile ModelEventDispatcher dispatcher = null;
+
     /**
      * 生成一个默认的抽象引用模型。
      */
     public AbstractReferenceModel() {
-        this(Collections.newSetFromMap(new WeakHashMap<>()));
+        this(new ObserverRegistry<>());
     }
 
     /**
@@ -78,36 +83,79 @@ public abstract class AbstractReferenceModel<E> implements ReferenceModel<E> {
         observers.clear();
     }
 
+    /**
+     * 返回该模型的事件分发器。
+     *
+     * @return 该模型的事件分发器，为 <code>null</code> 表示在修改方法中同步地通知观察器。
+     * @since 0.4.3.a-beta
+     */
+    public ModelEventDispatcher getEventDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * 设置该模型的事件分发器。
+     *
+     * <p>
+     * 设置分发器之后，修改方法只将事件放入分发器的队列，由分发器在其执行器中按顺序通知观察器，
+     * 因此观察器的执行速度不会影响修改方法的执行速度。此时观察器集合会在执行器的线程中被遍历，
+     * 观察器集合应当是线程安全的，默认的 {@link com.dwarfeng.dutil.basic.prog.ObserverRegistry} 满足该要求。
+     *
+     * @param dispatcher 事件分发器，为 <code>null</code> 表示在修改方法中同步地通知观察器。
+     * @since 0.4.3.a-beta
+     */
+    public void setEventDispatcher(ModelEventDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
     /**
      * 通知模型中的元素发生了改变。
      *
      * @param oldValue 旧的值。
      * @param newValue 新的值。
      */
+    protected void fireSet(E oldValue, E newValue) {
+        ModelEventDispatcher dispatcher = this.dispatcher;
+        if (Objects.isNull(dispatcher)) {
+            notifySet(oldValue, newValue);
+        } else {
+            dispatcher.dispatchChanged(this, null, oldValue, newValue, this::notifySet);
+        }
+    }
+
     // 由于早期开发未使用日志框架，故保留 printStackTrace 方法，忽略相关警告。
     @SuppressWarnings("CallToPrintStackTrace")
-    protected void fireSet(E oldValue, E newValue) {
-        for (ReferenceObserver<E> observer : observers) {
+    private void notifySet(E oldValue, E newValue) {
+        observers.forEach(observer -> {
             try {
                 observer.fireSet(oldValue, newValue);
             } catch (Exception e) {
                 e.printStackTrace();
             }
-        }
+        });
     }
 
     /**
      * 通知模型中的元素被清除。
      */
+    protected void fireCleared() {
+        ModelEventDispatcher dispatcher = this.dispatcher;
+        if (Objects.isNull(dispatcher)) {
+            notifyCleared();
+        } else {
+            dispatcher.dispatch(this::notifyCleared);
+        }
+    }
+
     // 由于早期开发未使用日志框架，故保留 printStackTrace 方法，忽略相关警告。
     @SuppressWarnings("CallToPrintStackTrace")
-    protected void fireCleared() {
-        for (ReferenceObserver<E> observer : observers) {
+    private void notifyCleared() {
+        observers.forEach(observer -> {
             try {
                 observer.fireCleared();
             } catch (Exception e) {
                 e.printStackTrace();
             }
-        }
+        });
     }
 }
@@ -0,0 +1,200 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.cna.model.obs.ReferenceObserver;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * 原子引用模型。
+ *
+ * <p>
+ * 使用 {@link AtomicReference} 保存元素的引用模型，读取与写入都不需要加锁，适合读取远多于写入的场景，
+ * 如在每次请求中都会被读取的可热替换的配置。
+ *
+ * <p>
+ * 与 {@link SyncReferenceModel} 一样，该模型可以直接在多个线程中使用；不同的是，该模型不提供外部同步用的锁，
+ * 需要“读取-修改-写入”的复合操作时，应使用 {@link #compareAndSet(Object, Object)}、{@link #getAndUpdate(UnaryOperator)}
+ * 或者 {@link #updateAndGet(UnaryOperator)} 方法。
+ *
+ * <p>
+ * 每一次成功的写入都会以写入时实际被替换的旧值与新值通知 {@link ReferenceObserver#fireSet(Object, Object)}。
+ * 观察器在写入完成之后、在执行写入的线程中被通知（或者交由模型的分发器通知），不同线程中的写入所产生的事件之间的顺序不作保证。
+ *
+ * <p>
+ * 该模型是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public class AtomicReferenceModel<E> extends AbstractReferenceModel<E> implements ReferenceModel<E> {
+
+    /**
+     * 引用模型中的元素。
+     */
+    protected final AtomicReference<E> reference;
+
+    /**
+     * 生成一个默认的原子引用模型。
+     */
+    public AtomicReferenceModel() {
+        this(null, new ObserverRegistry<>());
+    }
+
+    /**
+     * 生成一个具有指定初始值的原子引用模型。
+     *
+     * @param initialValue 指定的初始值。
+     */
+    public AtomicReferenceModel(E initialValue) {
+        this(initialValue, new ObserverRegistry<>());
+    }
+
+    /**
+     * 生成一个具有指定初始值，指定侦听器集合的原子引用模型。
+     *
+     * <p>
+     * 由于观察器可能在多个线程中被同时通知，侦听器集合应当是线程安全的，如 {@link ObserverRegistry}。
+     *
+     * @param initialValue 指定的初始值。
+     * @param observers    指定的侦听器集合。
+     * @throws NullPointerException observers 为 <code>null</code>。
+     */
+    public AtomicReferenceModel(E initialValue, Set<ReferenceObserver<E>> observers) {
+        super(observers);
+        this.reference = new AtomicReference<>(initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E get() {
+        return reference.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E set(E element) {
+        E oldValue = reference.getAndSet(element);
+        fireSet(oldValue, element);
+        return oldValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        reference.set(null);
+        fireCleared();
+    }
+
+    /**
+     * 如果模型中的元素与期望值相同（使用 <code>==</code> 比较），则将其原子地设置为新值。
+     *
+     * <p>
+     * 设置成功时以期望值与新值通知观察器。
+     *
+     * @param expect 期望值。
+     * @param update 新值。
+     * @return 是否设置成功。
+     */
+    public boolean compareAndSet(E expect, E update) {
+        if (reference.compareAndSet(expect, update)) {
+            fireSet(expect, update);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 使用指定的更新函数原子地更新模型中的元素，并返回更新之前的值。
+     *
+     * <p>
+     * 与 {@link AtomicReference#getAndUpdate(UnaryOperator)} 一样，更新函数在竞争时可能被多次调用，因此不应该有副作用。
+     * 更新成功后以被替换的旧值与新值通知观察器。
+     *
+     * @param updateFunction 更新函数。
+     * @return 更新之前的值。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     */
+    public E getAndUpdate(UnaryOperator<E> updateFunction) {
+        Objects.requireNonNull(updateFunction,
+                DwarfUtil.getExceptionString(ExceptionStringKey.ATOMICREFERENCEMODEL_0));
+        E oldValue;
+        E newValue;
+        do {
+            oldValue = reference.get();
+            newValue = updateFunction.apply(oldValue);
+        } while (!reference.compareAndSet(oldValue, newValue));
+        fireSet(oldValue, newValue);
+        return oldValue;
+    }
+
+    /**
+     * 使用指定的更新函数原子地更新模型中的元素，并返回更新之后的值。
+     *
+     * <p>
+     * 与 {@link AtomicReference#updateAndGet(UnaryOperator)} 一样，更新函数在竞争时可能被多次调用，因此不应该有副作用。
+     * 更新成功后以被替换的旧值与新值通知观察器。
+     *
+     * @param updateFunction 更新函数。
+     * @return 更新之后的值。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     */
+    public E updateAndGet(UnaryOperator<E> updateFunction) {
+        Objects.requireNonNull(updateFunction,
+                DwarfUtil.getExceptionString(ExceptionStringKey.ATOMICREFERENCEMODEL_0));
+        E oldValue;
+        E newValue;
+        do {
+            oldValue = reference.get();
+            newValue = updateFunction.apply(oldValue);
+        } while (!reference.compareAndSet(oldValue, newValue));
+        fireSet(oldValue, newValue);
+        return newValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        E value = reference.get();
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((value == null) ? 0 : value.hashCode());
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (!(obj instanceof AtomicReferenceModel))
+            return false;
+        AtomicReferenceModel<?> other = (AtomicReferenceModel<?>) obj;
+        return Objects.equals(reference.get(), other.reference.get());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "AtomicReferenceModel [value=" + reference.get() + "]";
+    }
+}
@@ -0,0 +1,262 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.cna.model.obs.SetObserver;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
+import com.dwarfeng.dutil.basic.prog.WithKey;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 并发键值集合模型。
+ *
+ * <p>
+ * 使用一个 {@link ConcurrentMap}（默认为 {@link ConcurrentHashMap}）处理集合元素的映射键值集合模型，
+ * 可以在多个线程中同时读写，无需外部加锁。
+ *
+ * <p>
+ * 添加元素时使用 {@link ConcurrentMap#putIfAbsent(Object, Object)}，多个线程同时添加同一个键的元素时，只有一个线程会成功，
+ * 也只会通知一次添加事件；移除元素时只有元素仍然在集合中时才会移除并通知观察器，不会误删其它线程放入的同键元素。
+ *
+ * <p>
+ * 该模型的迭代器是弱一致的，不会抛出 {@link ConcurrentModificationException}。
+ * 不同线程中的修改所产生的事件之间的顺序不作保证。
+ *
+ * <p>
+ * 该模型不允许 <code>null</code> 元素，也不允许键为 <code>null</code> 的元素。
+ * 由于该模型是线程安全的，基于映射键值集合模型的各类处理器可以改用该模型，以便在多个线程中使用。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public class ConcurrentKeySetModel<K, V extends WithKey<K>> extends MapKeySetModel<K, V> {
+
+    private final ConcurrentMap<K, V> concurrentMap;
+
+    /**
+     * 生成一个默认的并发键值集合模型。
+     */
+    public ConcurrentKeySetModel() {
+        this(new ConcurrentHashMap<>(), new ObserverRegistry<>());
+    }
+
+    /**
+     * 生成一个拥有指定的并发映射，指定的侦听器集合的并发键值集合模型。
+     *
+     * <p>
+     * 由于观察器可能在多个线程中被同时通知，侦听器集合应当是线程安全的，如 {@link ObserverRegistry}。
+     *
+     * @param map       指定的并发映射。
+     * @param observers 指定的侦听器集合。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     */
+    public ConcurrentKeySetModel(ConcurrentMap<K, V> map, Set<SetObserver<V>> observers) {
+        super(map, observers);
+        this.concurrentMap = map;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof WithKey<?>)) {
+            return false;
+        }
+        Object key = ((WithKey<?>) o).getKey();
+        return Objects.nonNull(key) && o.equals(concurrentMap.get(key));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        Objects.requireNonNull(c, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTKEYSETMODEL_0));
+        for (Object o : c) {
+            if (!contains(o)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new ConcurrentKeySetIterator();
+    }
+
+    /**
+     * 弱一致的迭代器，移除时只有元素仍然在集合中才会生效。
+     */
+    private class ConcurrentKeySetIterator implements Iterator<V> {
+
+        private final Iterator<V> delegateIterator = concurrentMap.values().iterator();
+        private V value = null;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return delegateIterator.hasNext();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public V next() {
+            value = delegateIterator.next();
+            return value;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            if (Objects.isNull(value)) {
+                throw new IllegalStateException();
+            }
+            ConcurrentKeySetModel.this.remove(value);
+            value = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException 入口参数为 <code>null</code>，或者其键为 <code>null</code>。
+     */
+    @Override
+    public boolean add(V e) {
+        Objects.requireNonNull(e, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTKEYSETMODEL_1));
+        if (Objects.isNull(concurrentMap.putIfAbsent(e.getKey(), e))) {
+            fireAdded(e);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof WithKey<?>)) {
+            return false;
+        }
+        Object key = ((WithKey<?>) o).getKey();
+        if (Objects.nonNull(key) && concurrentMap.remove(key, o)) {
+            // 如果能够在映射中移除对象 o，则 o 一定属于类型 V，故该转换是安全的。
+            @SuppressWarnings("unchecked")
+            V v = (V) o;
+            fireRemoved(v);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTKEYSETMODEL_0));
+        return batchRemove(c, true, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTKEYSETMODEL_0));
+        return batchRemove(c, false, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(K key) {
+        return Objects.isNull(key) ? null : concurrentMap.get(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return Objects.nonNull(key) && concurrentMap.containsKey(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsAllKey(Collection<?> c) {
+        Objects.requireNonNull(c, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTKEYSETMODEL_0));
+        for (Object key : c) {
+            if (!containsKey(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeKey(Object key) {
+        if (Objects.isNull(key)) {
+            return false;
+        }
+        V v = concurrentMap.remove(key);
+        if (Objects.nonNull(v)) {
+            fireRemoved(v);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeAllKey(Collection<?> c) {
+        Objects.requireNonNull(c, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTKEYSETMODEL_0));
+        return batchRemove(c, true, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean retainAllKey(Collection<?> c) {
+        Objects.requireNonNull(c, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTKEYSETMODEL_0));
+        return batchRemove(c, false, true);
+    }
+
+    private boolean batchRemove(Collection<?> c, boolean aFlag, boolean byKey) {
+        boolean result = false;
+
+        for (V element : concurrentMap.values()) {
+            K key = element.getKey();
+            if (c.contains(byKey ? key : element) == aFlag && concurrentMap.remove(key, element)) {
+                fireRemoved(element);
+                result = true;
+            }
+        }
+
+        return result;
+    }
+}
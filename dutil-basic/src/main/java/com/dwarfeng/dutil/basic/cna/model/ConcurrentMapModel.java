@@ -0,0 +1,698 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.cna.model.obs.MapObserver;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 并发映射模型。
+ *
+ * <p>
+ * 通过代理一个 {@link ConcurrentMap}（默认为 {@link ConcurrentHashMap}）实现的映射模型，可以在多个线程中同时读写，无需外部加锁。
+ *
+ * <p>
+ * 该模型实现了 {@link ConcurrentMap} 接口，{@link #putIfAbsent(Object, Object)}、{@link #replace(Object, Object, Object)}、
+ * {@link #compute(Object, BiFunction)} 等方法都是原子操作，并且根据操作实际造成的结果通知观察器：
+ * 新增键时通知 {@link MapObserver#firePut(Object, Object)}，替换值时通知 {@link MapObserver#fireChanged(Object, Object, Object)}，
+ * 移除键时通知 {@link MapObserver#fireRemoved(Object, Object)}，没有造成修改时不通知观察器。
+ *
+ * <p>
+ * 观察器在修改操作完成之后、在执行修改的线程中被通知（或者交由模型的分发器通知），
+ * 不同线程中的修改所产生的事件之间的顺序不作保证。
+ *
+ * <p>
+ * 该模型的键集合、值集合与入口集合的迭代器是弱一致的，不会抛出 {@link ConcurrentModificationException}；
+ * 通过这些视图以及迭代器进行的移除与设置同样是原子操作，并会通知观察器。
+ *
+ * <p>
+ * 与 {@link ConcurrentHashMap} 一样，该模型不允许 <code>null</code> 作为键或者值。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public class ConcurrentMapModel<K, V> extends AbstractMapModel<K, V> implements ConcurrentMap<K, V> {
+
+    /**
+     * 该映射模型的代理。
+     */
+    protected final ConcurrentMap<K, V> delegate;
+
+    /**
+     * 代理是否原子地执行映射函数。
+     *
+     * <p>
+     * {@link ConcurrentHashMap} 在持有锁时调用映射函数，结果一定被写入；
+     * 其它的代理（如 {@link java.util.concurrent.ConcurrentSkipListMap} 以及 {@link ConcurrentMap} 的默认实现）
+     * 在调用映射函数之后才尝试以比较并交换的方式写入，写入可能失败，之后键还可能被其它线程移除，
+     * 此时无法判断映射函数的结果是否被写入，因此对于这些代理，该模型自行以
+     * {@link #putIfAbsent(Object, Object)}、{@link #replace(Object, Object, Object)} 与 {@link #remove(Object, Object)}
+     * 实现计算方法，只在写入成功时通知观察器。
+     */
+    private final boolean atomicCompute;
+
+    /**
+     * 生成一个默认的并发映射模型。
+     */
+    public ConcurrentMapModel() {
+        this(new ConcurrentHashMap<>(), new ObserverRegistry<>());
+    }
+
+    /**
+     * 生成一个指定的代理，指定的观察器集合的并发映射模型。
+     *
+     * <p>
+     * 由于观察器可能在多个线程中被同时通知，观察器集合应当是线程安全的，如 {@link ObserverRegistry}。
+     *
+     * @param delegate  指定的代理并发映射。
+     * @param observers 指定的观察器集合。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     */
+    public ConcurrentMapModel(ConcurrentMap<K, V> delegate, Set<MapObserver<K, V>> observers) {
+        super(observers);
+        Objects.requireNonNull(delegate, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTMAPMODEL_0));
+        this.delegate = delegate;
+        this.atomicCompute = delegate instanceof ConcurrentHashMap;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return delegate.containsKey(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsValue(Object value) {
+        return delegate.containsValue(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(Object key) {
+        return delegate.get(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V put(K key, V value) {
+        V oldValue = delegate.put(key, value);
+        if (Objects.isNull(oldValue)) {
+            firePut(key, value);
+        } else {
+            fireChanged(key, oldValue, value);
+        }
+        return oldValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V remove(Object key) {
+        V value = delegate.remove(key);
+        if (Objects.nonNull(value)) {
+            // 如果代理中移除了 key 对应的值，则 key 一定属于 K，该转换是安全的。
+            @SuppressWarnings("unchecked")
+            K k = (K) key;
+            fireRemoved(k, value);
+        }
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        Objects.requireNonNull(m, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTMAPMODEL_1));
+        for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * 在清空的同时由其它线程放入的键值对可能会被保留。
+     */
+    @Override
+    public void clear() {
+        delegate.clear();
+        fireCleared();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        V oldValue = delegate.putIfAbsent(key, value);
+        if (Objects.isNull(oldValue)) {
+            firePut(key, value);
+        }
+        return oldValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(Object key, Object value) {
+        if (delegate.remove(key, value)) {
+            // 如果代理中移除了 key 与 value 的映射，则 key 一定属于 K，value 一定属于 V，该转换是安全的。
+            @SuppressWarnings("unchecked")
+            K k = (K) key;
+            @SuppressWarnings("unchecked")
+            V v = (V) value;
+            fireRemoved(k, v);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        if (delegate.replace(key, oldValue, newValue)) {
+            fireChanged(key, oldValue, newValue);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V replace(K key, V value) {
+        V oldValue = delegate.replace(key, value);
+        if (Objects.nonNull(oldValue)) {
+            fireChanged(key, oldValue, value);
+        }
+        return oldValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction,
+                DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTMAPMODEL_2));
+        if (!atomicCompute) {
+            V value = delegate.get(key);
+            if (Objects.nonNull(value)) {
+                return value;
+            }
+            V newValue = mappingFunction.apply(key);
+            if (Objects.isNull(newValue)) {
+                return null;
+            }
+            value = putIfAbsent(key, newValue);
+            return Objects.isNull(value) ? newValue : value;
+        }
+        Transition<V> transition = new Transition<>();
+        V value = delegate.computeIfAbsent(key, k -> {
+            V newValue = mappingFunction.apply(k);
+            transition.record(null, newValue);
+            return newValue;
+        });
+        fireTransition(key, transition);
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction,
+                DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTMAPMODEL_3));
+        if (!atomicCompute) {
+            V oldValue;
+            while (Objects.nonNull(oldValue = delegate.get(key))) {
+                V newValue = remappingFunction.apply(key, oldValue);
+                if (Objects.nonNull(newValue)) {
+                    if (replace(key, oldValue, newValue)) {
+                        return newValue;
+                    }
+                } else if (remove(key, oldValue)) {
+                    return null;
+                }
+            }
+            return null;
+        }
+        Transition<V> transition = new Transition<>();
+        V value = delegate.computeIfPresent(key, (k, oldValue) -> {
+            V newValue = remappingFunction.apply(k, oldValue);
+            transition.record(oldValue, newValue);
+            return newValue;
+        });
+        fireTransition(key, transition);
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction,
+                DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTMAPMODEL_3));
+        if (!atomicCompute) {
+            V oldValue = delegate.get(key);
+            for (; ; ) {
+                V newValue = remappingFunction.apply(key, oldValue);
+                if (Objects.isNull(newValue)) {
+                    if (Objects.isNull(oldValue) || remove(key, oldValue)) {
+                        return null;
+                    }
+                    oldValue = delegate.get(key);
+                } else if (Objects.isNull(oldValue)) {
+                    oldValue = putIfAbsent(key, newValue);
+                    if (Objects.isNull(oldValue)) {
+                        return newValue;
+                    }
+                } else if (replace(key, oldValue, newValue)) {
+                    return newValue;
+                } else {
+                    oldValue = delegate.get(key);
+                }
+            }
+        }
+        Transition<V> transition = new Transition<>();
+        V value = delegate.compute(key, (k, oldValue) -> {
+            V newValue = remappingFunction.apply(k, oldValue);
+            transition.record(oldValue, newValue);
+            return newValue;
+        });
+        fireTransition(key, transition);
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(value, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTMAPMODEL_5));
+        Objects.requireNonNull(remappingFunction,
+                DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTMAPMODEL_3));
+        return compute(key, (k, oldValue) -> Objects.isNull(oldValue) ? value
+                : remappingFunction.apply(oldValue, value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        Objects.requireNonNull(function, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTMAPMODEL_4));
+        for (K key : delegate.keySet()) {
+            computeIfPresent(key, (k, oldValue) -> Objects.requireNonNull(function.apply(k, oldValue)));
+        }
+    }
+
+    /**
+     * 根据原子操作中记录的值的变化通知观察器。
+     *
+     * @param key        操作的键。
+     * @param transition 值的变化。
+     */
+    private void fireTransition(K key, Transition<V> transition) {
+        if (!transition.applied) {
+            return;
+        }
+        V oldValue = transition.oldValue;
+        V newValue = transition.newValue;
+        if (Objects.isNull(oldValue)) {
+            if (Objects.nonNull(newValue)) {
+                firePut(key, newValue);
+            }
+        } else if (Objects.isNull(newValue)) {
+            fireRemoved(key, oldValue);
+        } else {
+            fireChanged(key, oldValue, newValue);
+        }
+    }
+
+    /**
+     * 原子操作中值的变化。
+     *
+     * <p>
+     * 只用于 {@link ConcurrentHashMap} 代理：其映射函数在持有锁时至多被调用一次，返回的结果一定会被写入。<br>
+     * 记录只在执行操作的线程中读写。
+     */
+    private static final class Transition<V> {
+
+        private boolean applied = false;
+        private V oldValue;
+        private V newValue;
+
+        void record(V oldValue, V newValue) {
+            this.applied = true;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<K> keySet() {
+        return new KeySet();
+    }
+
+    private class KeySet extends AbstractSet<K> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isEmpty() {
+            return delegate.isEmpty();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean contains(Object o) {
+            return delegate.containsKey(o);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Iterator<K> iterator() {
+            Iterator<Map.Entry<K, V>> iterator = new EntryIterator();
+            return new Iterator<K>() {
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public K next() {
+                    return iterator.next().getKey();
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                }
+            };
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean remove(Object o) {
+            return Objects.nonNull(ConcurrentMapModel.this.remove(o));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void clear() {
+            ConcurrentMapModel.this.clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<V> values() {
+        return new Values();
+    }
+
+    private class Values extends AbstractCollection<V> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isEmpty() {
+            return delegate.isEmpty();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean contains(Object o) {
+            return delegate.containsValue(o);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Iterator<V> iterator() {
+            Iterator<Map.Entry<K, V>> iterator = new EntryIterator();
+            return new Iterator<V>() {
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public V next() {
+                    return iterator.next().getValue();
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                }
+            };
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void clear() {
+            ConcurrentMapModel.this.clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isEmpty() {
+            return delegate.isEmpty();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry<?, ?>)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            Object value = delegate.get(entry.getKey());
+            return Objects.nonNull(value) && value.equals(entry.getValue());
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean remove(Object o) {
+            if (!(o instanceof Map.Entry<?, ?>)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return ConcurrentMapModel.this.remove(entry.getKey(), entry.getValue());
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void clear() {
+            ConcurrentMapModel.this.clear();
+        }
+    }
+
+    /**
+     * 弱一致的入口迭代器。
+     *
+     * <p>
+     * 迭代器的移除只会在键仍然映射到迭代时的值时生效，以免覆盖其它线程的修改。
+     */
+    private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+        private final Iterator<Map.Entry<K, V>> delegateIterator = delegate.entrySet().iterator();
+        private Map.Entry<K, V> lastReturned = null;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return delegateIterator.hasNext();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map.Entry<K, V> next() {
+            Map.Entry<K, V> entry = delegateIterator.next();
+            lastReturned = new ModelEntry(entry.getKey(), entry.getValue());
+            return lastReturned;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            if (Objects.isNull(lastReturned)) {
+                throw new IllegalStateException();
+            }
+            ConcurrentMapModel.this.remove(lastReturned.getKey(), lastReturned.getValue());
+            lastReturned = null;
+        }
+    }
+
+    private class ModelEntry extends AbstractMap.SimpleEntry<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        ModelEntry(K key, V value) {
+            super(key, value);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * 设置的值会写入模型中。
+         */
+        @Override
+        public V setValue(V value) {
+            Objects.requireNonNull(value, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTMAPMODEL_5));
+            V oldValue = super.setValue(value);
+            ConcurrentMapModel.this.put(getKey(), value);
+            return oldValue;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return delegate.hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    // 代理方法，忽略所有警告。
+    @SuppressWarnings("EqualsDoesntCheckParameterClass")
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        return delegate.equals(obj);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
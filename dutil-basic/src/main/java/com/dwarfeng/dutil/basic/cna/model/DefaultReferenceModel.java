@@ -1,10 +1,9 @@
 package com.dwarfeng.dutil.basic.cna.model;
 
 import com.dwarfeng.dutil.basic.cna.model.obs.ReferenceObserver;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
 
-import java.util.Collections;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 /**
  * 默认引用模型。
@@ -26,7 +25,7 @@ public class DefaultReferenceModel<E> extends AbstractReferenceModel<E> implemen
      * 生成一个默认的引用模型。
      */
     public DefaultReferenceModel() {
-        this(null, Collections.newSetFromMap(new WeakHashMap<>()));
+        this(null, new ObserverRegistry<>());
     }
 
     /**
@@ -35,7 +34,7 @@ public class DefaultReferenceModel<E> extends AbstractReferenceModel<E> implemen
      * @param initialValue 指定的初始值。
      */
     public DefaultReferenceModel(E initialValue) {
-        this(initialValue, Collections.newSetFromMap(new WeakHashMap<>()));
+        this(initialValue, new ObserverRegistry<>());
     }
 
     /**
@@ -3,6 +3,7 @@ package com.dwarfeng.dutil.basic.cna.model;
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
 import com.dwarfeng.dutil.basic.cna.model.obs.ListObserver;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
 
 import java.util.*;
 
@@ -26,7 +27,7 @@ public class DelegateListModel<E> extends AbstractListModel<E> {
      * 生成一个默认的代理列表模型。
      */
     public DelegateListModel() {
-        this(new ArrayList<>(), Collections.newSetFromMap(new WeakHashMap<>()));
+        this(new ArrayList<>(), new ObserverRegistry<>());
     }
 
     /**
@@ -182,12 +183,7 @@ public class DelegateListModel<E> extends AbstractListModel<E> {
     @Override
     public boolean addAll(Collection<? extends E> c) {
         Objects.requireNonNull(c, DwarfUtil.getExceptionString(ExceptionStringKey.DELEGATELISTMODEL_1));
-        boolean aFlag = false;
-        for (E e : c) {
-            add(e);
-            aFlag = true;
-        }
-        return aFlag;
+        return addAll(delegate.size(), c);
     }
 
     /**
@@ -197,12 +193,14 @@ public class DelegateListModel<E> extends AbstractListModel<E> {
     @Override
     public boolean addAll(int index, Collection<? extends E> c) {
         Objects.requireNonNull(c, DwarfUtil.getExceptionString(ExceptionStringKey.DELEGATELISTMODEL_1));
-        int size = delegate.size();
-        int i = 0;
-        for (E e : c) {
-            add(index + i++, e);
+        // 先复制一份，避免在将模型自身添加到模型中时，通知的元素随着代理一起变化。
+        List<E> elements = new ArrayList<>(c);
+        if (elements.isEmpty()) {
+            return false;
         }
-        return size != delegate.size();
+        delegate.addAll(index, elements);
+        fireAddedRange(index, Collections.unmodifiableList(elements));
+        return true;
     }
 
     /**
@@ -224,18 +222,42 @@ public class DelegateListModel<E> extends AbstractListModel<E> {
     }
 
     private boolean batchRemove(Collection<?> c, boolean aFlag) {
+        return batchRemoveRange(delegate, 0, c, aFlag);
+    }
+
+    /**
+     * 从指定的列表中批量移除元素，每一段连续移除的元素触发一次区间移除通知。
+     *
+     * @param list   指定的列表，可以是代理的子列表。
+     * @param offset 指定的列表的第一个元素在模型中的位置。
+     * @param c      参与判断的集合。
+     * @param aFlag  元素包含在集合中时是否移除。
+     * @return 是否移除了元素。
+     */
+    boolean batchRemoveRange(List<E> list, int offset, Collection<?> c, boolean aFlag) {
         boolean result = false;
+        int from = -1;
+        List<E> removed = new ArrayList<>();
 
-        for (ListIterator<E> i = delegate.listIterator(); i.hasNext(); ) {
+        for (ListIterator<E> i = list.listIterator(); i.hasNext(); ) {
             int index = i.nextIndex();
             E element = i.next();
 
             if (c.contains(element) == aFlag) {
                 i.remove();
-                fireRemoved(index, element);
+                if (removed.isEmpty()) {
+                    from = index + offset;
+                }
+                removed.add(element);
                 result = true;
+            } else if (!removed.isEmpty()) {
+                fireRemovedRange(from, Collections.unmodifiableList(removed));
+                removed = new ArrayList<>();
             }
         }
+        if (!removed.isEmpty()) {
+            fireRemovedRange(from, Collections.unmodifiableList(removed));
+        }
 
         return result;
     }
@@ -580,12 +602,7 @@ public class DelegateListModel<E> extends AbstractListModel<E> {
         @Override
         public boolean addAll(Collection<? extends E> c) {
             Objects.requireNonNull(c, DwarfUtil.getExceptionString(ExceptionStringKey.DELEGATELISTMODEL_1));
-            boolean aFlag = false;
-            for (E e : c) {
-                add(e);
-                aFlag = true;
-            }
-            return aFlag;
+            return addAll(subDelegate.size(), c);
         }
 
         /**
@@ -595,12 +612,13 @@ public class DelegateListModel<E> extends AbstractListModel<E> {
         @Override
         public boolean addAll(int index, Collection<? extends E> c) {
             Objects.requireNonNull(c, DwarfUtil.getExceptionString(ExceptionStringKey.DELEGATELISTMODEL_1));
-            int size = subDelegate.size();
-            int i = 0;
-            for (E e : c) {
-                add(index + i++, e);
+            List<E> elements = new ArrayList<>(c);
+            if (elements.isEmpty()) {
+                return false;
             }
-            return size != subDelegate.size();
+            subDelegate.addAll(index, elements);
+            fireAddedRange(index + offset, Collections.unmodifiableList(elements));
+            return true;
         }
 
         /**
@@ -622,20 +640,7 @@ public class DelegateListModel<E> extends AbstractListModel<E> {
         }
 
         private boolean batchRemove(Collection<?> c, boolean aFlag) {
-            boolean result = false;
-
-            for (ListIterator<E> i = subDelegate.listIterator(); i.hasNext(); ) {
-                int index = i.nextIndex();
-                E element = i.next();
-
-                if (c.contains(element) == aFlag) {
-                    i.remove();
-                    fireRemoved(index + offset, element);
-                    result = true;
-                }
-            }
-
-            return result;
+            return batchRemoveRange(subDelegate, offset, c, aFlag);
         }
 
         /**
@@ -643,9 +648,10 @@ public class DelegateListModel<E> extends AbstractListModel<E> {
          */
         @Override
         public void clear() {
-            int size = subDelegate.size();
-            for (int i = 0; i < size; i++) {
-                remove(0);
+            List<E> elements = new ArrayList<>(subDelegate);
+            subDelegate.clear();
+            if (!elements.isEmpty()) {
+                fireRemovedRange(offset, Collections.unmodifiableList(elements));
             }
         }
 
@@ -3,6 +3,7 @@ package com.dwarfeng.dutil.basic.cna.model;
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
 import com.dwarfeng.dutil.basic.cna.model.obs.MapObserver;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
 
 import java.util.*;
 
@@ -23,7 +24,7 @@ public class DelegateMapModel<K, V> extends AbstractMapModel<K, V> {
      * 生成一个默认的映射列表模型。
      */
     public DelegateMapModel() {
-        this(new HashMap<>(), Collections.newSetFromMap(new WeakHashMap<>()));
+        this(new HashMap<>(), new ObserverRegistry<>());
     }
 
     /**
@@ -3,6 +3,7 @@ package com.dwarfeng.dutil.basic.cna.model;
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
 import com.dwarfeng.dutil.basic.cna.model.obs.SetObserver;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
 
 import java.util.*;
 
@@ -26,7 +27,7 @@ public class DelegateSetModel<E> extends AbstractSetModel<E> {
      * 生成一个默认的代理集合模型。
      */
     public DelegateSetModel() {
-        this(new HashSet<>(), Collections.newSetFromMap(new WeakHashMap<>()));
+        this(new HashSet<>(), new ObserverRegistry<>());
     }
 
     /**
@@ -0,0 +1,325 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.cna.model.obs.ListObserver;
+import com.dwarfeng.dutil.basic.prog.WithKey;
+
+import java.util.*;
+
+/**
+ * 带索引的代理键值列表模型。
+ *
+ * <p>
+ * 在 {@link DelegateKeyListModel} 的基础上维护从键到元素数量、从键到首个序号以及从键到最后一个序号的散列索引，
+ * 使按键查询的方法不再需要遍历整个列表。
+ *
+ * <p>
+ * 所有索引都在修改时立即更新，{@link #containsKey(Object)}、{@link #get(Object)}、{@link #indexOfKey(Object)}
+ * 以及 {@link #lastIndexOfKey(Object)} 的时间复杂度始终为常数，并且这些读取方法不会修改模型的任何状态，
+ * 因此可以在读锁下被多个线程同时调用（如 {@link ModelUtil#syncKeyListModel(KeyListModel)} 返回的模型）。<br>
+ * 在列表中间插入或者移除元素时，位于其后的序号索引会被整体平移，代价与键的数量成正比；
+ * 被移除或者被替换的元素恰好是某个键的首个（或者最后一个）元素时，该键的序号需要在列表中向后（或者向前）查找。
+ * 在列表尾部追加或者移除元素时不需要平移。
+ *
+ * <p>
+ * 索引在通知观察器之前同步更新，模型的所有修改途径（包括迭代器、子列表以及 {@link #retainAllKey(Collection)}）
+ * 都会经过通知方法，因此索引始终与模型中的元素保持一致。<br>
+ * 如果直接修改代理，索引将不再与代理保持一致，此时需要调用 {@link #rebuildIndex()} 重建索引。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public class IndexedKeyListModel<K, V extends WithKey<K>> extends DelegateKeyListModel<K, V> {
+
+    /**
+     * 从键到元素数量的索引。
+     */
+    protected final Map<K, Integer> keyCounts = new HashMap<>();
+    /**
+     * 从键到首个序号的索引。
+     */
+    protected final Map<K, Integer> firstIndexes = new HashMap<>();
+    /**
+     * 从键到最后一个序号的索引。
+     */
+    protected final Map<K, Integer> lastIndexes = new HashMap<>();
+
+    /**
+     * 生成一个默认的带索引的代理键值列表模型。
+     */
+    public IndexedKeyListModel() {
+        super();
+    }
+
+    /**
+     * 生成一个具有指定的代理，指定的观察器列表的带索引的代理键值列表模型。
+     *
+     * @param delegate  指定的代理。
+     * @param observers 指定的观察器列表。
+     * @throws NullPointerException 入口参数为 null。
+     */
+    public IndexedKeyListModel(List<V> delegate, Set<ListObserver<V>> observers) {
+        super(delegate, observers);
+        rebuildIndex();
+    }
+
+    /**
+     * 根据代理中的元素重建索引。
+     *
+     * <p>
+     * 只有在绕过模型直接修改代理之后才需要调用该方法。
+     */
+    public void rebuildIndex() {
+        keyCounts.clear();
+        firstIndexes.clear();
+        lastIndexes.clear();
+        int index = 0;
+        for (V value : delegate) {
+            K key = keyOf(value);
+            keyCounts.merge(key, 1, Integer::sum);
+            firstIndexes.putIfAbsent(key, index);
+            lastIndexes.put(key, index);
+            index++;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(K key) {
+        int index = indexOfKey(key);
+        return index < 0 ? null : delegate.get(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return keyCounts.containsKey(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsAllKey(Collection<?> c) {
+        Objects.requireNonNull(c, DwarfUtil.getExceptionString(ExceptionStringKey.INDEXEDKEYLISTMODEL_0));
+        return keyCounts.keySet().containsAll(c);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("SuspiciousMethodCalls")
+    @Override
+    public int indexOfKey(Object o) {
+        Integer index = firstIndexes.get(o);
+        return Objects.isNull(index) ? -1 : index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("SuspiciousMethodCalls")
+    @Override
+    public int lastIndexOfKey(Object o) {
+        Integer index = lastIndexes.get(o);
+        return Objects.isNull(index) ? -1 : index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeKey(Object key) {
+        int index = indexOfKey(key);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void fireAdded(int index, V element) {
+        // 代理此时已经插入了元素，不在尾部插入时，原先位于插入位置及其之后的元素的序号都增加 1。
+        if (index < delegate.size() - 1) {
+            shiftIndexes(index, 1);
+        }
+        indexAdded(keyOf(element), index);
+        super.fireAdded(index, element);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void fireRemoved(int index, V element) {
+        K key = keyOf(element);
+        decreaseCount(key);
+        boolean first = isFirstIndex(key, index);
+        boolean last = isLastIndex(key, index);
+        // 代理此时已经移除了元素，不在尾部移除时，原先位于移除位置之后的元素的序号都减少 1。
+        if (index < delegate.size()) {
+            shiftIndexes(index + 1, -1);
+        }
+        indexRemoved(key, first, last, index, index - 1);
+        super.fireRemoved(index, element);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void fireAddedRange(int from, List<V> elements) {
+        int count = elements.size();
+        if (from < delegate.size() - count) {
+            shiftIndexes(from, count);
+        }
+        int index = from;
+        for (V element : elements) {
+            indexAdded(keyOf(element), index++);
+        }
+        super.fireAddedRange(from, elements);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void fireRemovedRange(int from, List<V> elements) {
+        int to = from + elements.size();
+        // 首个（或者最后一个）序号位于被移除区间内的键需要在平移之后重新查找，先记录下来。
+        Set<K> firstAffected = new HashSet<>();
+        Set<K> lastAffected = new HashSet<>();
+        for (V element : elements) {
+            K key = keyOf(element);
+            decreaseCount(key);
+            if (isWithin(firstIndexes.get(key), from, to)) {
+                firstAffected.add(key);
+            }
+            if (isWithin(lastIndexes.get(key), from, to)) {
+                lastAffected.add(key);
+            }
+        }
+        if (from < delegate.size()) {
+            shiftIndexes(to, from - to);
+        }
+        for (K key : firstAffected) {
+            indexRemoved(key, true, false, from, from - 1);
+        }
+        for (K key : lastAffected) {
+            indexRemoved(key, false, true, from, from - 1);
+        }
+        super.fireRemovedRange(from, elements);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void fireChanged(int index, V oldElement, V newElement) {
+        K oldKey = keyOf(oldElement);
+        K newKey = keyOf(newElement);
+        if (!Objects.equals(oldKey, newKey)) {
+            decreaseCount(oldKey);
+            indexRemoved(oldKey, isFirstIndex(oldKey, index), isLastIndex(oldKey, index), index + 1, index - 1);
+            indexAdded(newKey, index);
+        }
+        super.fireChanged(index, oldElement, newElement);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void fireCleared() {
+        keyCounts.clear();
+        firstIndexes.clear();
+        lastIndexes.clear();
+        super.fireCleared();
+    }
+
+    private void decreaseCount(K key) {
+        keyCounts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private boolean isFirstIndex(K key, int index) {
+        return Objects.equals(firstIndexes.get(key), index);
+    }
+
+    private boolean isLastIndex(K key, int index) {
+        return Objects.equals(lastIndexes.get(key), index);
+    }
+
+    private static boolean isWithin(Integer index, int from, int to) {
+        return Objects.nonNull(index) && index >= from && index < to;
+    }
+
+    private void shiftIndexes(int from, int delta) {
+        shiftIndexes(firstIndexes, from, delta);
+        shiftIndexes(lastIndexes, from, delta);
+    }
+
+    private static <K> void shiftIndexes(Map<K, Integer> indexes, int from, int delta) {
+        for (Map.Entry<K, Integer> entry : indexes.entrySet()) {
+            int index = entry.getValue();
+            if (index >= from) {
+                entry.setValue(index + delta);
+            }
+        }
+    }
+
+    private void indexAdded(K key, int index) {
+        keyCounts.merge(key, 1, Integer::sum);
+        firstIndexes.merge(key, index, Math::min);
+        lastIndexes.merge(key, index, Math::max);
+    }
+
+    /**
+     * 在键的元素数量减少之后更新该键的序号索引。
+     *
+     * @param key        被移除的键。
+     * @param first      被移除的元素是否是该键的首个元素。
+     * @param last       被移除的元素是否是该键的最后一个元素。
+     * @param firstFrom  需要重新查找首个序号时，向后查找的起始位置。
+     * @param lastFrom   需要重新查找最后一个序号时，向前查找的起始位置。
+     */
+    private void indexRemoved(K key, boolean first, boolean last, int firstFrom, int lastFrom) {
+        if (!keyCounts.containsKey(key)) {
+            firstIndexes.remove(key);
+            lastIndexes.remove(key);
+            return;
+        }
+        if (first) {
+            ListIterator<V> iterator = delegate.listIterator(firstFrom);
+            while (iterator.hasNext()) {
+                int index = iterator.nextIndex();
+                if (Objects.equals(key, keyOf(iterator.next()))) {
+                    firstIndexes.put(key, index);
+                    break;
+                }
+            }
+        }
+        if (last) {
+            ListIterator<V> iterator = delegate.listIterator(lastFrom + 1);
+            while (iterator.hasPrevious()) {
+                int index = iterator.previousIndex();
+                if (Objects.equals(key, keyOf(iterator.previous()))) {
+                    lastIndexes.put(key, index);
+                    break;
+                }
+            }
+        }
+    }
+
+    private K keyOf(V value) {
+        return value == null ? null : value.getKey();
+    }
+}
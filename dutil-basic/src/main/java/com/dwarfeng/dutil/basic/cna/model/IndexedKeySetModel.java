@@ -0,0 +1,146 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.cna.model.obs.SetObserver;
+import com.dwarfeng.dutil.basic.prog.WithKey;
+
+import java.util.*;
+
+/**
+ * 带索引的代理键值集合模型。
+ *
+ * <p>
+ * 在 {@link DelegateKeySetModel} 的基础上维护一个从键到元素的散列索引，
+ * 使 {@link #get(Object)}、{@link #containsKey(Object)}、{@link #removeKey(Object)} 以及 {@link #add(WithKey)}
+ * 的时间复杂度由线性降低为常数。
+ *
+ * <p>
+ * 索引在通知观察器之前同步更新，模型的所有修改途径（包括迭代器的移除以及 {@link #retainAllKey(Collection)}）
+ * 都会经过通知方法，因此索引始终与模型中的元素保持一致。<br>
+ * 如果直接修改代理，索引将不再与代理保持一致，此时需要调用 {@link #rebuildIndex()} 重建索引。
+ *
+ * <p>
+ * 与键值集合模型的约定一致，代理中不同元素的键应当互不相同。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public class IndexedKeySetModel<K, V extends WithKey<K>> extends DelegateKeySetModel<K, V> {
+
+    /**
+     * 从键到元素的索引。
+     */
+    protected final Map<K, V> index = new HashMap<>();
+
+    /**
+     * 生成一个默认的带索引的代理键值集合模型。
+     */
+    public IndexedKeySetModel() {
+        super();
+    }
+
+    /**
+     * 生成一个具有指定的代理，指定的观察器集合的带索引的代理键值集合模型。
+     *
+     * @param delegate  指定的代理。
+     * @param observers 指定的观察器集合。
+     * @throws NullPointerException 入口参数为 null。
+     */
+    public IndexedKeySetModel(Set<V> delegate, Set<SetObserver<V>> observers) {
+        super(delegate, observers);
+        rebuildIndex();
+    }
+
+    /**
+     * 根据代理中的元素重建索引。
+     *
+     * <p>
+     * 只有在绕过模型直接修改代理之后才需要调用该方法。
+     */
+    public void rebuildIndex() {
+        index.clear();
+        for (V value : delegate) {
+            index.putIfAbsent(keyOf(value), value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(K key) {
+        return index.get(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsAllKey(Collection<?> c) {
+        Objects.requireNonNull(c, DwarfUtil.getExceptionString(ExceptionStringKey.INDEXEDKEYSETMODEL_0));
+        return index.keySet().containsAll(c);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("SuspiciousMethodCalls")
+    @Override
+    public boolean removeKey(Object key) {
+        if (!index.containsKey(key)) {
+            return false;
+        }
+        return remove(index.get(key));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(V e) {
+        if (index.containsKey(keyOf(e))) {
+            return false;
+        }
+        return super.add(e);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void fireAdded(V element) {
+        index.putIfAbsent(keyOf(element), element);
+        super.fireAdded(element);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void fireRemoved(V element) {
+        index.remove(keyOf(element), element);
+        super.fireRemoved(element);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void fireCleared() {
+        index.clear();
+        super.fireCleared();
+    }
+
+    private K keyOf(V value) {
+        return value == null ? null : value.getKey();
+    }
+}
@@ -3,6 +3,7 @@ package com.dwarfeng.dutil.basic.cna.model;
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
 import com.dwarfeng.dutil.basic.cna.model.obs.SetObserver;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
 import com.dwarfeng.dutil.basic.prog.WithKey;
 
 import java.util.*;
@@ -27,7 +28,7 @@ public class MapKeySetModel<K, V extends WithKey<K>> extends AbstractSetModel<V>
      * 生成一个默认的映射键值集合模型。
      */
     public MapKeySetModel() {
-        this(new HashMap<>(), Collections.newSetFromMap(new WeakHashMap<>()));
+        this(new HashMap<>(), new ObserverRegistry<>());
     }
 
     /**
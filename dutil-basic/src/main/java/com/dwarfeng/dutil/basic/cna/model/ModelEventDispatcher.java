@@ -0,0 +1,232 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+/**
+ * 模型事件分发器。
+ *
+ * <p>
+ * 用于异步地通知模型的观察器，通过 {@link AbstractListModel#setEventDispatcher(ModelEventDispatcher)} 等方法启用。<br>
+ * 模型的修改方法只将事件放入分发器的队列中，分发器在指定的执行器中按照事件产生的顺序依次通知观察器。
+ * 同一时刻至多只有一个通知任务在执行器中运行，因此即使执行器是多线程的，事件也不会乱序。
+ *
+ * <p>
+ * 分发器可以选择合并改变事件：如果队列末尾尚未通知的事件是同一个模型中同一个位置（或键）的改变事件，
+ * 新的改变事件不会入队，而是与之合并为一个从最早的旧值到最新的新值的改变事件。
+ * 引用模型只有一个位置，连续的设置事件同样会被合并。
+ *
+ * <p>
+ * 多个模型可以共用一个分发器，此时这些模型的事件按照产生的顺序统一排队。
+ *
+ * <p>
+ * 通知观察器时抛出的异常会被打印，不影响之后的事件；抛出的错误会被重新抛出，交给执行器处理，
+ * 队列中剩余的事件在新的通知任务中继续通知。
+ *
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public class ModelEventDispatcher {
+
+    private final Executor executor;
+    private final boolean coalesceChanged;
+
+    private final Object lock = new Object();
+    private final Deque<Event> queue = new ArrayDeque<>();
+    private final Runnable drainTask = this::drain;
+    private boolean scheduled = false;
+
+    /**
+     * 生成一个在指定的执行器中通知观察器，且不合并改变事件的模型事件分发器。
+     *
+     * @param executor 指定的执行器。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     */
+    public ModelEventDispatcher(Executor executor) {
+        this(executor, false);
+    }
+
+    /**
+     * 生成一个在指定的执行器中通知观察器的模型事件分发器。
+     *
+     * @param executor        指定的执行器。
+     * @param coalesceChanged 是否合并连续的同一位置（或键）的改变事件。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     */
+    public ModelEventDispatcher(Executor executor, boolean coalesceChanged) {
+        Objects.requireNonNull(executor, DwarfUtil.getExceptionString(ExceptionStringKey.MODELEVENTDISPATCHER_0));
+        this.executor = executor;
+        this.coalesceChanged = coalesceChanged;
+    }
+
+    /**
+     * 返回通知观察器的执行器。
+     *
+     * @return 通知观察器的执行器。
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * 返回是否合并连续的同一位置（或键）的改变事件。
+     *
+     * @return 是否合并连续的同一位置（或键）的改变事件。
+     */
+    public boolean isCoalesceChanged() {
+        return coalesceChanged;
+    }
+
+    /**
+     * 返回队列中尚未通知的事件的数量。
+     *
+     * @return 队列中尚未通知的事件的数量。
+     */
+    public int getPendingCount() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * 将不可合并的事件放入队列。
+     *
+     * @param delivery 通知观察器的动作。
+     */
+    void dispatch(Runnable delivery) {
+        enqueue(new Event(delivery));
+    }
+
+    /**
+     * 将可合并的改变事件放入队列。
+     *
+     * @param source   产生事件的模型。
+     * @param key      改变的位置或键。
+     * @param oldValue 旧值。
+     * @param newValue 新值。
+     * @param delivery 以旧值与新值通知观察器的动作。
+     * @param <V>      值的类型。
+     */
+    <V> void dispatchChanged(Object source, Object key, V oldValue, V newValue, BiConsumer<V, V> delivery) {
+        enqueue(new ChangedEvent<>(source, key, oldValue, newValue, delivery));
+    }
+
+    private void enqueue(Event event) {
+        synchronized (lock) {
+            if (coalesceChanged && event instanceof ChangedEvent) {
+                Event last = queue.peekLast();
+                if (last instanceof ChangedEvent && ((ChangedEvent<?>) last).merge((ChangedEvent<?>) event)) {
+                    return;
+                }
+            }
+            queue.addLast(event);
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        try {
+            executor.execute(drainTask);
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                scheduled = false;
+            }
+            throw e;
+        }
+    }
+
+    // 由于早期开发未使用日志框架，故保留 printStackTrace 方法，忽略相关警告。
+    @SuppressWarnings("CallToPrintStackTrace")
+    private void drain() {
+        try {
+            for (; ; ) {
+                Event event;
+                synchronized (lock) {
+                    event = queue.pollFirst();
+                    if (Objects.isNull(event)) {
+                        scheduled = false;
+                        return;
+                    }
+                }
+                try {
+                    event.deliver();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        } catch (Error e) {
+            // 观察器抛出的错误交给执行器处理，队列中剩余的事件由新的通知任务继续通知，否则分发器将不再通知任何事件。
+            boolean reschedule;
+            synchronized (lock) {
+                reschedule = !queue.isEmpty();
+                scheduled = reschedule;
+            }
+            if (reschedule) {
+                try {
+                    executor.execute(drainTask);
+                } catch (RuntimeException ex) {
+                    synchronized (lock) {
+                        scheduled = false;
+                    }
+                    e.addSuppressed(ex);
+                }
+            }
+            throw e;
+        }
+    }
+
+    private static class Event {
+
+        private final Runnable delivery;
+
+        Event(Runnable delivery) {
+            this.delivery = delivery;
+        }
+
+        void deliver() {
+            delivery.run();
+        }
+    }
+
+    private static final class ChangedEvent<V> extends Event {
+
+        private final Object source;
+        private final Object key;
+        private final V oldValue;
+        private V newValue;
+        private final BiConsumer<V, V> delivery;
+
+        ChangedEvent(Object source, Object key, V oldValue, V newValue, BiConsumer<V, V> delivery) {
+            super(null);
+            this.source = source;
+            this.key = key;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+            this.delivery = delivery;
+        }
+
+        @SuppressWarnings("unchecked")
+        boolean merge(ChangedEvent<?> that) {
+            if (source != that.source || !Objects.equals(key, that.key)) {
+                return false;
+            }
+            // 同一个模型中同一个位置的值类型相同。
+            newValue = (V) that.newValue;
+            return true;
+        }
+
+        @Override
+        void deliver() {
+            delivery.accept(oldValue, newValue);
+        }
+    }
+}
@@ -12,8 +12,15 @@ import com.dwarfeng.dutil.basic.prog.ReadOnlyGenerator;
 import com.dwarfeng.dutil.basic.prog.WithKey;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
 
 /**
  * 有关模型的工具包。
@@ -596,13 +603,133 @@ public final class ModelUtil {
         return new SyncListModelImpl<>(listModel);
     }
 
+    /**
+     * 由指定的列表模型生成一个使用乐观读的线程安全的列表模型。
+     *
+     * <p>
+     * 与 {@link #syncListModel(ListModel)} 不同，该模型使用 {@link StampedLock} 同步，
+     * {@link ListModel#size()}、{@link ListModel#isEmpty()}、{@link ListModel#contains(Object)}、
+     * {@link ListModel#get(int)}、{@link ListModel#indexOf(Object)}、{@link ListModel#lastIndexOf(Object)}
+     * 等开销较小的读取方法首先尝试不加锁的乐观读，只有在读取期间发生了写入时才获取读锁重新读取，
+     * 因此在读多写少、读线程较多的场景中有更好的伸缩性。其余方法与 {@link #syncListModel(ListModel)} 的行为一致。
+     *
+     * <p>
+     * 乐观读期间不持有任何锁，被代理的模型可能正在被其它线程修改，因此被代理的模型必须满足以下要求：
+     * 读取方法不能修改模型自身的状态——以访问顺序排列的 {@link LinkedHashMap}、带有读取缓存的模型等会在读取时修改自身的状态，
+     * 多个线程同时在其中乐观读会破坏其内部结构（自身已经同步了读取的模型除外）；
+     * 读取方法在并发修改时应当能够正常返回或者抛出异常，而不能陷入死循环。<br>
+     * 以 {@link ArrayList}、{@link HashMap} 等非同步集合作为代理的模型满足上述要求；
+     * 无法确定被代理的模型是否满足上述要求时，应当使用 {@link #syncListModel(ListModel)}。
+     *
+     * <p>
+     * {@link SyncListModel#getLock()} 返回 {@link StampedLock#asReadWriteLock()} 视图。该锁是不可重入的：
+     * 持有写锁时调用模型的任何方法都会导致死锁；持有读锁时调用模型的方法，如果恰好有线程在等待写锁，同样可能导致死锁。
+     *
+     * @param listModel 指定的列表模型。
+     * @param <E>       列表模型的元素类型。
+     * @return 由指定的列表模型生成的线程安全的列表模型。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     * @since 0.4.3.a-beta
+     */
+    public static <E> SyncListModel<E> stampedSyncListModel(ListModel<E> listModel) {
+        Objects.requireNonNull(listModel, DwarfUtil.getExceptionString(ExceptionStringKey.MODELUTIL_0));
+        return new StampedSyncListModelImpl<>(listModel, new StampedLock());
+    }
+
+    private static final class StampedSyncListModelImpl<E> extends SyncListModelImpl<E> {
+
+        private final ListModel<E> delegate;
+        private final OptimisticReader reader;
+
+        public StampedSyncListModelImpl(ListModel<E> delegate, StampedLock lock) {
+            super(delegate, lock.asReadWriteLock());
+            this.delegate = delegate;
+            this.reader = new OptimisticReader(lock);
+        }
+
+        @Override
+        public int size() {
+            return reader.readInt(delegate::size);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return reader.readBoolean(delegate::isEmpty);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return reader.readBoolean(() -> delegate.contains(o));
+        }
+
+        @Override
+        public E get(int index) {
+            return reader.read(() -> delegate.get(index));
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return reader.readInt(() -> delegate.indexOf(o));
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return reader.readInt(() -> delegate.lastIndexOf(o));
+        }
+    }
+
+    /**
+     * 由指定的列表模型生成一个可以生成快照的线程安全的列表模型。
+     *
+     * <p>
+     * 该模型的行为与 {@link #syncListModel(ListModel)} 一致，另外提供 {@link SnapshotListModel#snapshot()} 方法，
+     * 用于在不持有锁的情况下遍历模型：快照在第一次获取时在读锁下复制，此后直到模型被修改之前，
+     * 所有线程获取的都是同一个快照；模型的写锁被获取时，快照即失效。
+     * 因此长时间的遍历（如导出或者界面刷新）不会阻塞写入，而写入的开销也只是在下一次获取快照时复制一次。
+     *
+     * <p>
+     * 直接修改被代理的模型而不获取该模型的写锁，将导致快照无法失效，因此被代理的模型不应该再被直接修改。
+     *
+     * @param listModel 指定的列表模型。
+     * @param <E>       列表模型的元素类型。
+     * @return 由指定的列表模型生成的可以生成快照的线程安全的列表模型。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     * @since 0.4.3.a-beta
+     */
+    public static <E> SnapshotListModel<E> snapshotListModel(ListModel<E> listModel) {
+        Objects.requireNonNull(listModel, DwarfUtil.getExceptionString(ExceptionStringKey.MODELUTIL_0));
+        return new SnapshotListModelImpl<>(listModel, new SnapshotLock());
+    }
+
+    private static final class SnapshotListModelImpl<E> extends SyncListModelImpl<E> implements SnapshotListModel<E> {
+
+        private final ListModel<E> delegate;
+        private final SnapshotLock lock;
+
+        public SnapshotListModelImpl(ListModel<E> delegate, SnapshotLock lock) {
+            super(delegate, lock);
+            this.delegate = delegate;
+            this.lock = lock;
+        }
+
+        @Override
+        public List<E> snapshot() {
+            return lock.snapshot(() -> Collections.unmodifiableList(new ArrayList<>(delegate)));
+        }
+    }
+
     private static class SyncListModelImpl<E> implements SyncListModel<E> {
 
         private final ListModel<E> delegate;
-        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final ReadWriteLock lock;
 
         public SyncListModelImpl(ListModel<E> delegate) {
+            this(delegate, new ReentrantReadWriteLock());
+        }
+
+        public SyncListModelImpl(ListModel<E> delegate, ReadWriteLock lock) {
             this.delegate = delegate;
+            this.lock = lock;
         }
 
         /**
@@ -1037,13 +1164,77 @@ public final class ModelUtil {
         return new SyncSetModelImpl<>(setModel);
     }
 
+    /**
+     * 由指定的集合模型生成一个使用乐观读的线程安全的集合模型。
+     *
+     * <p>
+     * 与 {@link #syncSetModel(SetModel)} 不同，该模型使用 {@link StampedLock} 同步，
+     * {@link SetModel#size()}、{@link SetModel#isEmpty()}、{@link SetModel#contains(Object)}
+     * 等开销较小的读取方法首先尝试不加锁的乐观读，只有在读取期间发生了写入时才获取读锁重新读取，
+     * 因此在读多写少、读线程较多的场景中有更好的伸缩性。其余方法与 {@link #syncSetModel(SetModel)} 的行为一致。
+     *
+     * <p>
+     * 乐观读期间不持有任何锁，被代理的模型可能正在被其它线程修改，因此被代理的模型必须满足以下要求：
+     * 读取方法不能修改模型自身的状态——以访问顺序排列的 {@link LinkedHashMap}、带有读取缓存的模型等会在读取时修改自身的状态，
+     * 多个线程同时在其中乐观读会破坏其内部结构（自身已经同步了读取的模型除外）；
+     * 读取方法在并发修改时应当能够正常返回或者抛出异常，而不能陷入死循环。<br>
+     * 以 {@link ArrayList}、{@link HashMap} 等非同步集合作为代理的模型满足上述要求；
+     * 无法确定被代理的模型是否满足上述要求时，应当使用 {@link #syncSetModel(SetModel)}。
+     *
+     * <p>
+     * {@link SyncSetModel#getLock()} 返回 {@link StampedLock#asReadWriteLock()} 视图。该锁是不可重入的：
+     * 持有写锁时调用模型的任何方法都会导致死锁；持有读锁时调用模型的方法，如果恰好有线程在等待写锁，同样可能导致死锁。
+     *
+     * @param setModel 指定的集合模型。
+     * @param <E>      集合模型的元素类型。
+     * @return 由指定的集合模型生成的线程安全的集合模型。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     * @since 0.4.3.a-beta
+     */
+    public static <E> SyncSetModel<E> stampedSyncSetModel(SetModel<E> setModel) {
+        Objects.requireNonNull(setModel, DwarfUtil.getExceptionString(ExceptionStringKey.MODELUTIL_1));
+        return new StampedSyncSetModelImpl<>(setModel, new StampedLock());
+    }
+
+    private static final class StampedSyncSetModelImpl<E> extends SyncSetModelImpl<E> {
+
+        private final SetModel<E> delegate;
+        private final OptimisticReader reader;
+
+        public StampedSyncSetModelImpl(SetModel<E> delegate, StampedLock lock) {
+            super(delegate, lock.asReadWriteLock());
+            this.delegate = delegate;
+            this.reader = new OptimisticReader(lock);
+        }
+
+        @Override
+        public int size() {
+            return reader.readInt(delegate::size);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return reader.readBoolean(delegate::isEmpty);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return reader.readBoolean(() -> delegate.contains(o));
+        }
+    }
+
     private static class SyncSetModelImpl<E> implements SyncSetModel<E> {
 
         private final SetModel<E> delegate;
-        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final ReadWriteLock lock;
 
         public SyncSetModelImpl(SetModel<E> delegate) {
+            this(delegate, new ReentrantReadWriteLock());
+        }
+
+        public SyncSetModelImpl(SetModel<E> delegate, ReadWriteLock lock) {
             this.delegate = delegate;
+            this.lock = lock;
         }
 
         /**
@@ -1709,13 +1900,131 @@ public final class ModelUtil {
         return new SyncMapModelImpl<>(mapModel);
     }
 
+    /**
+     * 由指定的映射模型生成一个使用乐观读的线程安全的映射模型。
+     *
+     * <p>
+     * 与 {@link #syncMapModel(MapModel)} 不同，该模型使用 {@link StampedLock} 同步，
+     * {@link MapModel#size()}、{@link MapModel#isEmpty()}、{@link MapModel#containsKey(Object)}、
+     * {@link MapModel#containsValue(Object)}、{@link MapModel#get(Object)}
+     * 等开销较小的读取方法首先尝试不加锁的乐观读，只有在读取期间发生了写入时才获取读锁重新读取，
+     * 因此在读多写少、读线程较多的场景中有更好的伸缩性。其余方法与 {@link #syncMapModel(MapModel)} 的行为一致。
+     *
+     * <p>
+     * 乐观读期间不持有任何锁，被代理的模型可能正在被其它线程修改，因此被代理的模型必须满足以下要求：
+     * 读取方法不能修改模型自身的状态——以访问顺序排列的 {@link LinkedHashMap}、带有读取缓存的模型等会在读取时修改自身的状态，
+     * 多个线程同时在其中乐观读会破坏其内部结构（自身已经同步了读取的模型除外）；
+     * 读取方法在并发修改时应当能够正常返回或者抛出异常，而不能陷入死循环。<br>
+     * 以 {@link ArrayList}、{@link HashMap} 等非同步集合作为代理的模型满足上述要求；
+     * 无法确定被代理的模型是否满足上述要求时，应当使用 {@link #syncMapModel(MapModel)}。
+     *
+     * <p>
+     * {@link SyncMapModel#getLock()} 返回 {@link StampedLock#asReadWriteLock()} 视图。该锁是不可重入的：
+     * 持有写锁时调用模型的任何方法都会导致死锁；持有读锁时调用模型的方法，如果恰好有线程在等待写锁，同样可能导致死锁。
+     *
+     * @param mapModel 指定的映射模型。
+     * @param <K>      映射模型的键的类型。
+     * @param <V>      映射的值的模型。
+     * @return 由指定的映射模型生成的线程安全的映射模型。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     * @since 0.4.3.a-beta
+     */
+    public static <K, V> SyncMapModel<K, V> stampedSyncMapModel(MapModel<K, V> mapModel) {
+        Objects.requireNonNull(mapModel, DwarfUtil.getExceptionString(ExceptionStringKey.MODELUTIL_2));
+        return new StampedSyncMapModelImpl<>(mapModel, new StampedLock());
+    }
+
+    private static final class StampedSyncMapModelImpl<K, V> extends SyncMapModelImpl<K, V> {
+
+        private final MapModel<K, V> delegate;
+        private final OptimisticReader reader;
+
+        public StampedSyncMapModelImpl(MapModel<K, V> delegate, StampedLock lock) {
+            super(delegate, lock.asReadWriteLock());
+            this.delegate = delegate;
+            this.reader = new OptimisticReader(lock);
+        }
+
+        @Override
+        public int size() {
+            return reader.readInt(delegate::size);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return reader.readBoolean(delegate::isEmpty);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return reader.readBoolean(() -> delegate.containsKey(key));
+        }
+
+        @Override
+        public boolean containsValue(Object value) {
+            return reader.readBoolean(() -> delegate.containsValue(value));
+        }
+
+        @Override
+        public V get(Object key) {
+            return reader.read(() -> delegate.get(key));
+        }
+    }
+
+    /**
+     * 由指定的映射模型生成一个可以生成快照的线程安全的映射模型。
+     *
+     * <p>
+     * 该模型的行为与 {@link #syncMapModel(MapModel)} 一致，另外提供 {@link SnapshotMapModel#snapshot()} 方法，
+     * 用于在不持有锁的情况下遍历模型：快照在第一次获取时在读锁下复制，此后直到模型被修改之前，
+     * 所有线程获取的都是同一个快照；模型的写锁被获取时，快照即失效。
+     * 因此长时间的遍历（如导出或者界面刷新）不会阻塞写入，而写入的开销也只是在下一次获取快照时复制一次。
+     *
+     * <p>
+     * 直接修改被代理的模型而不获取该模型的写锁，将导致快照无法失效，因此被代理的模型不应该再被直接修改。
+     *
+     * @param mapModel 指定的映射模型。
+     * @param <K>      映射模型的键的类型。
+     * @param <V>      映射的值的模型。
+     * @return 由指定的映射模型生成的可以生成快照的线程安全的映射模型。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     * @since 0.4.3.a-beta
+     */
+    public static <K, V> SnapshotMapModel<K, V> snapshotMapModel(MapModel<K, V> mapModel) {
+        Objects.requireNonNull(mapModel, DwarfUtil.getExceptionString(ExceptionStringKey.MODELUTIL_2));
+        return new SnapshotMapModelImpl<>(mapModel, new SnapshotLock());
+    }
+
+    private static final class SnapshotMapModelImpl<K, V> extends SyncMapModelImpl<K, V>
+            implements SnapshotMapModel<K, V> {
+
+        private final MapModel<K, V> delegate;
+        private final SnapshotLock lock;
+
+        public SnapshotMapModelImpl(MapModel<K, V> delegate, SnapshotLock lock) {
+            super(delegate, lock);
+            this.delegate = delegate;
+            this.lock = lock;
+        }
+
+        @Override
+        public Map<K, V> snapshot() {
+            return lock.snapshot(() -> Collections.unmodifiableMap(new LinkedHashMap<>(delegate)));
+        }
+    }
+
     private static class SyncMapModelImpl<K, V> implements SyncMapModel<K, V> {
 
         private final MapModel<K, V> delegate;
-        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final ReadWriteLock lock;
 
         public SyncMapModelImpl(MapModel<K, V> delegate) {
+            this(delegate, new ReentrantReadWriteLock());
+        }
+
+        public SyncMapModelImpl(MapModel<K, V> delegate, ReadWriteLock lock) {
             this.delegate = delegate;
+            this.lock = lock;
         }
 
         /**
@@ -2356,13 +2665,107 @@ public final class ModelUtil {
         return new SyncKeyListModelImpl<>(keyListModel);
     }
 
+    /**
+     * 由指定的键值列表模型生成一个使用乐观读的线程安全的键值列表模型。
+     *
+     * <p>
+     * 与 {@link #syncKeyListModel(KeyListModel)} 不同，该模型使用 {@link StampedLock} 同步，
+     * {@link KeyListModel#size()}、{@link KeyListModel#isEmpty()}、{@link KeyListModel#contains(Object)}、
+     * {@link KeyListModel#get(int)}、{@link KeyListModel#get(Object)}、{@link KeyListModel#containsKey(Object)}、
+     * {@link KeyListModel#indexOfKey(Object)}、{@link KeyListModel#lastIndexOfKey(Object)}
+     * 等开销较小的读取方法首先尝试不加锁的乐观读，只有在读取期间发生了写入时才获取读锁重新读取，
+     * 因此在读多写少、读线程较多的场景中有更好的伸缩性。其余方法与 {@link #syncKeyListModel(KeyListModel)} 的行为一致。
+     *
+     * <p>
+     * 乐观读期间不持有任何锁，被代理的模型可能正在被其它线程修改，因此被代理的模型必须满足以下要求：
+     * 读取方法不能修改模型自身的状态——以访问顺序排列的 {@link LinkedHashMap}、带有读取缓存的模型等会在读取时修改自身的状态，
+     * 多个线程同时在其中乐观读会破坏其内部结构（自身已经同步了读取的模型除外）；
+     * 读取方法在并发修改时应当能够正常返回或者抛出异常，而不能陷入死循环。<br>
+     * 以 {@link ArrayList}、{@link HashMap} 等非同步集合作为代理的模型满足上述要求；
+     * 无法确定被代理的模型是否满足上述要求时，应当使用 {@link #syncKeyListModel(KeyListModel)}。
+     *
+     * <p>
+     * {@link SyncKeyListModel#getLock()} 返回 {@link StampedLock#asReadWriteLock()} 视图。该锁是不可重入的：
+     * 持有写锁时调用模型的任何方法都会导致死锁；持有读锁时调用模型的方法，如果恰好有线程在等待写锁，同样可能导致死锁。
+     *
+     * @param keyListModel 指定的键值列表模型。
+     * @param <K>          键值列表模型的键的类型。
+     * @param <V>          键值列表的值的模型。
+     * @return 由指定的键值列表模型生成的线程安全的键值列表模型。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     * @since 0.4.3.a-beta
+     */
+    public static <K, V extends WithKey<K>> SyncKeyListModel<K, V> stampedSyncKeyListModel(
+            KeyListModel<K, V> keyListModel) {
+        Objects.requireNonNull(keyListModel, DwarfUtil.getExceptionString(ExceptionStringKey.MODELUTIL_3));
+        return new StampedSyncKeyListModelImpl<>(keyListModel, new StampedLock());
+    }
+
+    private static final class StampedSyncKeyListModelImpl<K, V extends WithKey<K>>
+            extends SyncKeyListModelImpl<K, V> {
+
+        private final KeyListModel<K, V> delegate;
+        private final OptimisticReader reader;
+
+        public StampedSyncKeyListModelImpl(KeyListModel<K, V> delegate, StampedLock lock) {
+            super(delegate, lock.asReadWriteLock());
+            this.delegate = delegate;
+            this.reader = new OptimisticReader(lock);
+        }
+
+        @Override
+        public int size() {
+            return reader.readInt(delegate::size);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return reader.readBoolean(delegate::isEmpty);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return reader.readBoolean(() -> delegate.contains(o));
+        }
+
+        @Override
+        public V get(int index) {
+            return reader.read(() -> delegate.get(index));
+        }
+
+        @Override
+        public V get(K key) {
+            return reader.read(() -> delegate.get(key));
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return reader.readBoolean(() -> delegate.containsKey(key));
+        }
+
+        @Override
+        public int indexOfKey(Object o) {
+            return reader.readInt(() -> delegate.indexOfKey(o));
+        }
+
+        @Override
+        public int lastIndexOfKey(Object o) {
+            return reader.readInt(() -> delegate.lastIndexOfKey(o));
+        }
+    }
+
     private static class SyncKeyListModelImpl<K, V extends WithKey<K>> implements SyncKeyListModel<K, V> {
 
         private final KeyListModel<K, V> delegate;
-        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final ReadWriteLock lock;
 
         public SyncKeyListModelImpl(KeyListModel<K, V> delegate) {
+            this(delegate, new ReentrantReadWriteLock());
+        }
+
+        public SyncKeyListModelImpl(KeyListModel<K, V> delegate, ReadWriteLock lock) {
             this.delegate = delegate;
+            this.lock = lock;
         }
 
         /**
@@ -3564,13 +3967,91 @@ public final class ModelUtil {
         return new SyncKeySetModelImpl<>(keySetModel);
     }
 
+    /**
+     * 由指定的键值集合模型生成一个使用乐观读的线程安全的键值集合模型。
+     *
+     * <p>
+     * 与 {@link #syncKeySetModel(KeySetModel)} 不同，该模型使用 {@link StampedLock} 同步，
+     * {@link KeySetModel#size()}、{@link KeySetModel#isEmpty()}、{@link KeySetModel#contains(Object)}、
+     * {@link KeySetModel#get(Object)}、{@link KeySetModel#containsKey(Object)}
+     * 等开销较小的读取方法首先尝试不加锁的乐观读，只有在读取期间发生了写入时才获取读锁重新读取，
+     * 因此在读多写少、读线程较多的场景中有更好的伸缩性。其余方法与 {@link #syncKeySetModel(KeySetModel)} 的行为一致。
+     *
+     * <p>
+     * 乐观读期间不持有任何锁，被代理的模型可能正在被其它线程修改，因此被代理的模型必须满足以下要求：
+     * 读取方法不能修改模型自身的状态——以访问顺序排列的 {@link LinkedHashMap}、带有读取缓存的模型等会在读取时修改自身的状态，
+     * 多个线程同时在其中乐观读会破坏其内部结构（自身已经同步了读取的模型除外）；
+     * 读取方法在并发修改时应当能够正常返回或者抛出异常，而不能陷入死循环。<br>
+     * 以 {@link ArrayList}、{@link HashMap} 等非同步集合作为代理的模型满足上述要求；
+     * 无法确定被代理的模型是否满足上述要求时，应当使用 {@link #syncKeySetModel(KeySetModel)}。
+     *
+     * <p>
+     * {@link SyncKeySetModel#getLock()} 返回 {@link StampedLock#asReadWriteLock()} 视图。该锁是不可重入的：
+     * 持有写锁时调用模型的任何方法都会导致死锁；持有读锁时调用模型的方法，如果恰好有线程在等待写锁，同样可能导致死锁。
+     *
+     * @param keySetModel 指定的键值集合模型。
+     * @param <K>         键值集合模型的键的类型。
+     * @param <V>         键值集合的值的模型。
+     * @return 由指定的键值集合模型生成的线程安全的键值集合模型。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     * @since 0.4.3.a-beta
+     */
+    public static <K, V extends WithKey<K>> SyncKeySetModel<K, V> stampedSyncKeySetModel(
+            KeySetModel<K, V> keySetModel) {
+        Objects.requireNonNull(keySetModel, DwarfUtil.getExceptionString(ExceptionStringKey.MODELUTIL_4));
+        return new StampedSyncKeySetModelImpl<>(keySetModel, new StampedLock());
+    }
+
+    private static final class StampedSyncKeySetModelImpl<K, V extends WithKey<K>>
+            extends SyncKeySetModelImpl<K, V> {
+
+        private final KeySetModel<K, V> delegate;
+        private final OptimisticReader reader;
+
+        public StampedSyncKeySetModelImpl(KeySetModel<K, V> delegate, StampedLock lock) {
+            super(delegate, lock.asReadWriteLock());
+            this.delegate = delegate;
+            this.reader = new OptimisticReader(lock);
+        }
+
+        @Override
+        public int size() {
+            return reader.readInt(delegate::size);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return reader.readBoolean(delegate::isEmpty);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return reader.readBoolean(() -> delegate.contains(o));
+        }
+
+        @Override
+        public V get(K key) {
+            return reader.read(() -> delegate.get(key));
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return reader.readBoolean(() -> delegate.containsKey(key));
+        }
+    }
+
     private static class SyncKeySetModelImpl<K, V extends WithKey<K>> implements SyncKeySetModel<K, V> {
 
         private final KeySetModel<K, V> delegate;
-        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final ReadWriteLock lock;
 
         public SyncKeySetModelImpl(KeySetModel<K, V> delegate) {
+            this(delegate, new ReentrantReadWriteLock());
+        }
+
+        public SyncKeySetModelImpl(KeySetModel<K, V> delegate, ReadWriteLock lock) {
             this.delegate = delegate;
+            this.lock = lock;
         }
 
         /**
@@ -4433,13 +4914,72 @@ public final class ModelUtil {
         return new SyncReferenceModelImpl<>(referenceModel);
     }
 
-    private static final class SyncReferenceModelImpl<E> implements SyncReferenceModel<E> {
+    /**
+     * 由指定的引用模型生成一个使用乐观读的线程安全的引用模型。
+     *
+     * <p>
+     * 与 {@link #syncReferenceModel(ReferenceModel)} 不同，该模型使用 {@link StampedLock} 同步，
+     * {@link ReferenceModel#get()}、{@link ReferenceModel#isEmpty()}
+     * 等开销较小的读取方法首先尝试不加锁的乐观读，只有在读取期间发生了写入时才获取读锁重新读取，
+     * 因此在读多写少、读线程较多的场景中有更好的伸缩性。其余方法与 {@link #syncReferenceModel(ReferenceModel)} 的行为一致。
+     *
+     * <p>
+     * 乐观读期间不持有任何锁，被代理的模型可能正在被其它线程修改，因此被代理的模型必须满足以下要求：
+     * 读取方法不能修改模型自身的状态——以访问顺序排列的 {@link LinkedHashMap}、带有读取缓存的模型等会在读取时修改自身的状态，
+     * 多个线程同时在其中乐观读会破坏其内部结构（自身已经同步了读取的模型除外）；
+     * 读取方法在并发修改时应当能够正常返回或者抛出异常，而不能陷入死循环。<br>
+     * 以 {@link ArrayList}、{@link HashMap} 等非同步集合作为代理的模型满足上述要求；
+     * 无法确定被代理的模型是否满足上述要求时，应当使用 {@link #syncReferenceModel(ReferenceModel)}。
+     *
+     * <p>
+     * {@link SyncReferenceModel#getLock()} 返回 {@link StampedLock#asReadWriteLock()} 视图。该锁是不可重入的：
+     * 持有写锁时调用模型的任何方法都会导致死锁；持有读锁时调用模型的方法，如果恰好有线程在等待写锁，同样可能导致死锁。
+     *
+     * @param referenceModel 指定的引用模型。
+     * @param <E>            引用模型的元素类型。
+     * @return 由指定的引用模型生成的线程安全的引用模型。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     * @since 0.4.3.a-beta
+     */
+    public static <E> SyncReferenceModel<E> stampedSyncReferenceModel(ReferenceModel<E> referenceModel) {
+        Objects.requireNonNull(referenceModel, DwarfUtil.getExceptionString(ExceptionStringKey.MODELUTIL_8));
+        return new StampedSyncReferenceModelImpl<>(referenceModel, new StampedLock());
+    }
+
+    private static final class StampedSyncReferenceModelImpl<E> extends SyncReferenceModelImpl<E> {
+
+        private final ReferenceModel<E> delegate;
+        private final OptimisticReader reader;
+
+        public StampedSyncReferenceModelImpl(ReferenceModel<E> delegate, StampedLock lock) {
+            super(delegate, lock.asReadWriteLock());
+            this.delegate = delegate;
+            this.reader = new OptimisticReader(lock);
+        }
+
+        @Override
+        public E get() {
+            return reader.read(delegate::get);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return reader.readBoolean(delegate::isEmpty);
+        }
+    }
+
+    private static class SyncReferenceModelImpl<E> implements SyncReferenceModel<E> {
 
         private final ReferenceModel<E> delegate;
-        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final ReadWriteLock lock;
 
         public SyncReferenceModelImpl(ReferenceModel<E> delegate) {
+            this(delegate, new ReentrantReadWriteLock());
+        }
+
+        public SyncReferenceModelImpl(ReferenceModel<E> delegate, ReadWriteLock lock) {
             this.delegate = delegate;
+            this.lock = lock;
         }
 
         /**
@@ -4808,6 +5348,180 @@ public final class ModelUtil {
 
     }
 
+    /**
+     * 缓存快照的读写锁。
+     *
+     * <p>
+     * 写锁被获取时清除缓存的快照；快照在读锁下生成，因此与写入互斥，缓存的快照总是与模型的某一时刻一致。
+     */
+    private static final class SnapshotLock implements ReadWriteLock {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Lock writeLock = new InvalidatingWriteLock();
+        private volatile Object snapshot = null;
+
+        @Override
+        public Lock readLock() {
+            return lock.readLock();
+        }
+
+        @Override
+        public Lock writeLock() {
+            return writeLock;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T snapshot(Supplier<T> copier) {
+            Object current = snapshot;
+            if (Objects.nonNull(current)) {
+                return (T) current;
+            }
+            lock.readLock().lock();
+            try {
+                current = snapshot;
+                if (Objects.isNull(current)) {
+                    current = copier.get();
+                    // 持有写锁的线程生成的快照可能在其释放写锁之前就已过时，故不缓存。
+                    if (!lock.isWriteLockedByCurrentThread()) {
+                        snapshot = current;
+                    }
+                }
+                return (T) current;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private final class InvalidatingWriteLock implements Lock {
+
+            private final Lock delegate = lock.writeLock();
+
+            @Override
+            public void lock() {
+                delegate.lock();
+                snapshot = null;
+            }
+
+            @Override
+            public void lockInterruptibly() throws InterruptedException {
+                delegate.lockInterruptibly();
+                snapshot = null;
+            }
+
+            @Override
+            public boolean tryLock() {
+                if (delegate.tryLock()) {
+                    snapshot = null;
+                    return true;
+                }
+                return false;
+            }
+
+            @Override
+            public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+                if (delegate.tryLock(time, unit)) {
+                    snapshot = null;
+                    return true;
+                }
+                return false;
+            }
+
+            @Override
+            public void unlock() {
+                delegate.unlock();
+            }
+
+            @Override
+            public Condition newCondition() {
+                return delegate.newCondition();
+            }
+        }
+    }
+
+    /**
+     * 乐观读取器。
+     *
+     * <p>
+     * 首先不加锁地读取，如果读取期间没有发生写入，则直接返回读取的结果；否则获取读锁重新读取。
+     * 乐观读取期间抛出的运行时异常或者错误（如读取到不一致的状态而引起的 {@link StackOverflowError}）
+     * 如果是由并发写入引起的，同样会获取读锁重新读取；读取期间没有发生写入时，异常或者错误被原样抛出。<br>
+     * 乐观读取期间不持有任何锁，读取的代码必须是纯读取的，不能修改任何共享的状态。
+     */
+    private static final class OptimisticReader {
+
+        private final StampedLock lock;
+
+        public OptimisticReader(StampedLock lock) {
+            this.lock = lock;
+        }
+
+        public <T> T read(Supplier<T> reader) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                try {
+                    T result = reader.get();
+                    if (lock.validate(stamp)) {
+                        return result;
+                    }
+                } catch (RuntimeException | Error e) {
+                    if (lock.validate(stamp)) {
+                        throw e;
+                    }
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return reader.get();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        public int readInt(IntSupplier reader) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                try {
+                    int result = reader.getAsInt();
+                    if (lock.validate(stamp)) {
+                        return result;
+                    }
+                } catch (RuntimeException | Error e) {
+                    if (lock.validate(stamp)) {
+                        throw e;
+                    }
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return reader.getAsInt();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        public boolean readBoolean(BooleanSupplier reader) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                try {
+                    boolean result = reader.getAsBoolean();
+                    if (lock.validate(stamp)) {
+                        return result;
+                    }
+                } catch (RuntimeException | Error e) {
+                    if (lock.validate(stamp)) {
+                        throw e;
+                    }
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return reader.getAsBoolean();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+
     private ModelUtil() {
         throw new IllegalStateException(DwarfUtil.getExceptionString(ExceptionStringKey.MODELUTIL_9));
     }
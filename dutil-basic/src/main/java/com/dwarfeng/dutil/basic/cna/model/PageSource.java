@@ -0,0 +1,38 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import java.util.List;
+
+/**
+ * 分页数据源。
+ *
+ * <p>
+ * 为 {@link PagedListModel} 按页提供数据，如数据库的查询结果、大型文件中的记录等。
+ *
+ * <p>
+ * 分页列表模型可能在多个线程中同时调用数据源的方法（如异步预取时），因此数据源应当是线程安全的。
+ *
+ * @param <E> 数据的类型。
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public interface PageSource<E> {
+
+    /**
+     * 获取数据源中数据的总数。
+     *
+     * @return 数据源中数据的总数。
+     */
+    int size();
+
+    /**
+     * 加载数据源中从指定位置开始的指定数量的数据。
+     *
+     * <p>
+     * 返回的列表的大小应当等于指定的数量；模型会复制返回的列表，因此数据源可以复用该列表。
+     *
+     * @param offset 开始的位置。
+     * @param length 数据的数量。
+     * @return 加载的数据。
+     */
+    List<E> load(int offset, int length);
+}
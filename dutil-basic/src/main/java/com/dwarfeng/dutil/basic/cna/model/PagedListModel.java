@@ -0,0 +1,682 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.cna.model.obs.ListObserver;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 分页列表模型。
+ *
+ * <p>
+ * 以 {@link PageSource} 为数据来源的只读列表模型。模型不会一次性加载全部数据，而是在读取某个位置时，
+ * 按照固定的页大小加载该位置所在的页，并将其放入最近最少使用（LRU）的页缓存中，缓存的页数超过上限时，最久未被访问的页被丢弃，
+ * 因此模型占用的内存只与正在访问的数据量有关，适用于数千万行的查询结果等大型数据集。
+ *
+ * <p>
+ * 如果指定了预取执行器，读取某一页时，模型会在执行器中异步地加载与其相邻的前后两页，顺序遍历时大多数读取都可以直接命中缓存。
+ *
+ * <p>
+ * 数据源中的数据发生变化时，数据源的持有者应当调用 {@link #sourceInserted(int, int)}、{@link #sourceRemoved(int, int)}、
+ * {@link #sourceUpdated(int, int)} 或者 {@link #sourceReset()} 方法，模型会丢弃受影响的页，并通知观察器。
+ * 由于被移除或者被改变的数据可能不在缓存中，通知观察器时这些位置的旧值为 <code>null</code>；
+ * 插入的数据以按需加载的列表的形式通知观察器，不会被一次性加载。
+ * 如果数据源已经缩小而模型尚未被通知，读取超出数据源范围的位置会抛出 {@link IndexOutOfBoundsException}。
+ *
+ * <p>
+ * 按需加载的列表只反映通知时的数据：数据源在此之后再次发生变化（即再次调用了上述方法）时，
+ * 读取该列表会抛出 {@link ConcurrentModificationException}，因此使用异步的事件分发器时，观察器可能无法读取过期通知中的数据。
+ * 观察器不应该完整地遍历该列表，{@link ListObserver#fireAddedRange(int, List)} 的默认实现会遍历整个区间，
+ * 对于重置等大范围的通知，这会依次加载数据源中的全部数据，因此观察器应当重写该方法，只读取需要的位置，或者只使用区间的位置与大小。
+ *
+ * <p>
+ * 该模型是只读的，所有修改方法都会抛出 {@link UnsupportedOperationException}。
+ * {@link #equals(Object)} 与 {@link #hashCode()} 遵循 {@link List} 的约定，会遍历全部数据，应当避免在大型数据集中调用。
+ *
+ * <p>
+ * 该模型是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public class PagedListModel<E> extends AbstractListModel<E> {
+
+    private final PageSource<E> source;
+    private final int pageSize;
+    private final int maxPages;
+    private final Executor prefetchExecutor;
+
+    private final Object lock = new Object();
+    private final Map<Integer, List<E>> pages;
+    private final Map<Integer, CompletableFuture<List<E>>> pendingPages = new HashMap<>();
+    private final List<E> view = new View();
+    private int size;
+    private long version = 0;
+
+    /**
+     * 生成一个具有指定数据源、指定页大小、指定最大缓存页数，不预取的分页列表模型。
+     *
+     * @param source   指定的数据源。
+     * @param pageSize 每一页的数据数量。
+     * @param maxPages 最多缓存的页数。
+     * @throws NullPointerException     入口参数为 <code>null</code>。
+     * @throws IllegalArgumentException 页大小或者最大缓存页数不为正数。
+     */
+    public PagedListModel(PageSource<E> source, int pageSize, int maxPages) {
+        this(source, pageSize, maxPages, null, new ObserverRegistry<>());
+    }
+
+    /**
+     * 生成一个具有指定数据源、指定页大小、指定最大缓存页数，使用指定的执行器预取相邻页的分页列表模型。
+     *
+     * @param source           指定的数据源。
+     * @param pageSize         每一页的数据数量。
+     * @param maxPages         最多缓存的页数。
+     * @param prefetchExecutor 预取相邻页的执行器，为 <code>null</code> 时不预取。
+     * @throws NullPointerException     数据源为 <code>null</code>。
+     * @throws IllegalArgumentException 页大小或者最大缓存页数不为正数。
+     */
+    public PagedListModel(PageSource<E> source, int pageSize, int maxPages, Executor prefetchExecutor) {
+        this(source, pageSize, maxPages, prefetchExecutor, new ObserverRegistry<>());
+    }
+
+    /**
+     * 生成一个具有指定数据源、指定页大小、指定最大缓存页数、指定预取执行器，指定侦听器集合的分页列表模型。
+     *
+     * @param source           指定的数据源。
+     * @param pageSize         每一页的数据数量。
+     * @param maxPages         最多缓存的页数。
+     * @param prefetchExecutor 预取相邻页的执行器，为 <code>null</code> 时不预取。
+     * @param observers        指定的侦听器集合。
+     * @throws NullPointerException     数据源或者侦听器集合为 <code>null</code>。
+     * @throws IllegalArgumentException 页大小或者最大缓存页数不为正数。
+     */
+    public PagedListModel(PageSource<E> source, int pageSize, int maxPages, Executor prefetchExecutor,
+                          Set<ListObserver<E>> observers) {
+        super(observers);
+        Objects.requireNonNull(source, DwarfUtil.getExceptionString(ExceptionStringKey.PAGEDLISTMODEL_0));
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.PAGEDLISTMODEL_1));
+        }
+        if (maxPages <= 0) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.PAGEDLISTMODEL_2));
+        }
+        this.source = source;
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.prefetchExecutor = prefetchExecutor;
+        this.pages = new LinkedHashMap<Integer, List<E>>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<E>> eldest) {
+                return size() > PagedListModel.this.maxPages;
+            }
+        };
+        this.size = source.size();
+    }
+
+    /**
+     * 获取模型的数据源。
+     *
+     * @return 模型的数据源。
+     */
+    public PageSource<E> getSource() {
+        return source;
+    }
+
+    /**
+     * 获取每一页的数据数量。
+     *
+     * @return 每一页的数据数量。
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * 获取最多缓存的页数。
+     *
+     * @return 最多缓存的页数。
+     */
+    public int getMaxPages() {
+        return maxPages;
+    }
+
+    /**
+     * 获取预取相邻页的执行器。
+     *
+     * @return 预取相邻页的执行器，为 <code>null</code> 时不预取。
+     */
+    public Executor getPrefetchExecutor() {
+        return prefetchExecutor;
+    }
+
+    /**
+     * 获取当前缓存的页数。
+     *
+     * @return 当前缓存的页数。
+     */
+    public int getCachedPageCount() {
+        synchronized (lock) {
+            return pages.size();
+        }
+    }
+
+    /**
+     * 通知模型数据源中从指定位置开始插入了指定数量的数据。
+     *
+     * <p>
+     * 插入的数据以按需加载的列表通知观察器，数据源再次发生变化后该列表过期，观察器不应该完整地遍历该列表。
+     *
+     * @param from  插入的位置。
+     * @param count 插入的数量。
+     * @throws IllegalArgumentException 指定的区间不合法。
+     */
+    public void sourceInserted(int from, int count) {
+        long rangeVersion;
+        synchronized (lock) {
+            checkRange(from, count, from > size);
+            invalidateFrom(from / pageSize);
+            size = source.size();
+            rangeVersion = version;
+        }
+        if (count > 0) {
+            fireAddedRange(from, new RangeView(from, count, rangeVersion));
+        }
+    }
+
+    /**
+     * 通知模型数据源中从指定位置开始的指定数量的数据被移除。
+     *
+     * @param from  移除的位置。
+     * @param count 移除的数量。
+     * @throws IllegalArgumentException 指定的区间不合法。
+     */
+    public void sourceRemoved(int from, int count) {
+        List<E> removed;
+        synchronized (lock) {
+            checkRange(from, count, from + (long) count > size);
+            removed = cachedElements(from, count);
+            invalidateFrom(from / pageSize);
+            size = source.size();
+        }
+        if (count > 0) {
+            fireRemovedRange(from, removed);
+        }
+    }
+
+    /**
+     * 通知模型数据源中从指定位置开始的指定数量的数据被改变。
+     *
+     * <p>
+     * 改变的数量不超过页大小时，模型先加载改变之后的数据，再依次通知每个位置的改变；
+     * 改变的数量超过页大小时，为了避免加载大量的数据并逐个通知，模型按照 {@link #sourceReset()} 的方式通知观察器。
+     * 如果加载时发现数据源已经缩小，同样按照 {@link #sourceReset()} 的方式通知观察器。
+     *
+     * @param from  改变的位置。
+     * @param count 改变的数量。
+     * @throws IllegalArgumentException 指定的区间不合法。
+     */
+    public void sourceUpdated(int from, int count) {
+        if (count > pageSize) {
+            synchronized (lock) {
+                checkRange(from, count, from + (long) count > size);
+            }
+            sourceReset();
+            return;
+        }
+
+        List<E> oldElements;
+        synchronized (lock) {
+            checkRange(from, count, from + (long) count > size);
+            oldElements = cachedElements(from, count);
+            if (count > 0) {
+                int lastPage = (from + count - 1) / pageSize;
+                for (int page = from / pageSize; page <= lastPage; page++) {
+                    pages.remove(page);
+                }
+                pendingPages.clear();
+                version++;
+            }
+        }
+        List<E> newElements = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                newElements.add(get(from + i));
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // 数据源在通知之前已经缩小，逐个通知的位置不再可靠。
+            sourceReset();
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            fireChanged(from + i, oldElements.get(i), newElements.get(i));
+        }
+    }
+
+    /**
+     * 通知模型数据源中的数据已经全部改变。
+     *
+     * <p>
+     * 模型会丢弃所有缓存的页，通知观察器模型被清空，然后以按需加载的列表通知观察器数据源中的全部数据被添加。
+     * 数据源再次发生变化后该列表过期；完整地遍历该列表会加载数据源中的全部数据，观察器应当避免这样做。
+     */
+    public void sourceReset() {
+        int newSize;
+        long rangeVersion;
+        synchronized (lock) {
+            invalidateFrom(0);
+            size = source.size();
+            newSize = size;
+            rangeVersion = version;
+        }
+        fireCleared();
+        if (newSize > 0) {
+            fireAddedRange(0, new RangeView(0, newSize, rangeVersion));
+        }
+    }
+
+    private void checkRange(int from, int count, boolean outOfBounds) {
+        if (from < 0 || count < 0 || outOfBounds) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.PAGEDLISTMODEL_3));
+        }
+    }
+
+    /**
+     * 丢弃指定页及其之后的所有页，调用时需要持有锁。
+     */
+    private void invalidateFrom(int firstPage) {
+        pages.keySet().removeIf(page -> page >= firstPage);
+        pendingPages.clear();
+        version++;
+    }
+
+    /**
+     * 获取指定区间中已经缓存的数据，未缓存的位置为 <code>null</code>，调用时需要持有锁。
+     */
+    private List<E> cachedElements(int from, int count) {
+        List<E> elements = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            List<E> page = pages.get(i / pageSize);
+            int offset = i % pageSize;
+            elements.add(Objects.nonNull(page) && offset < page.size() ? page.get(offset) : null);
+        }
+        return elements;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E get(int index) {
+        int page = index / pageSize;
+        int length;
+        long loadVersion;
+        CompletableFuture<List<E>> pending;
+        synchronized (lock) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            prefetch(page - 1);
+            prefetch(page + 1);
+            List<E> rows = pages.get(page);
+            if (Objects.nonNull(rows)) {
+                return elementOf(rows, index - page * pageSize);
+            }
+            length = Math.min(pageSize, size - page * pageSize);
+            loadVersion = version;
+            pending = pendingPages.get(page);
+        }
+
+        List<E> rows = null;
+        if (Objects.nonNull(pending)) {
+            try {
+                rows = pending.join();
+            } catch (CompletionException ignored) {
+                // 预取失败时同步地重新加载。
+            }
+        }
+        if (Objects.isNull(rows)) {
+            rows = loadPage(page, length);
+            synchronized (lock) {
+                if (version == loadVersion) {
+                    pages.put(page, rows);
+                }
+            }
+        }
+        return elementOf(rows, index - page * pageSize);
+    }
+
+    private E elementOf(List<E> rows, int offset) {
+        if (offset >= rows.size()) {
+            // 加载的页比预期的短，说明数据源在通知模型之前已经缩小。
+            throw new IndexOutOfBoundsException(DwarfUtil.getExceptionString(ExceptionStringKey.PAGEDLISTMODEL_4));
+        }
+        return rows.get(offset);
+    }
+
+    private List<E> loadPage(int page, int length) {
+        return new ArrayList<>(source.load(page * pageSize, length));
+    }
+
+    /**
+     * 在预取执行器中异步地加载指定的页，调用时需要持有锁。
+     */
+    private void prefetch(int page) {
+        if (Objects.isNull(prefetchExecutor) || page < 0 || page * (long) pageSize >= size
+                || pages.containsKey(page) || pendingPages.containsKey(page)) {
+            return;
+        }
+        int length = Math.min(pageSize, size - page * pageSize);
+        long loadVersion = version;
+        CompletableFuture<List<E>> future = new CompletableFuture<>();
+        pendingPages.put(page, future);
+        try {
+            prefetchExecutor.execute(() -> {
+                List<E> rows;
+                try {
+                    rows = loadPage(page, length);
+                } catch (RuntimeException e) {
+                    synchronized (lock) {
+                        pendingPages.remove(page, future);
+                    }
+                    future.completeExceptionally(e);
+                    return;
+                }
+                synchronized (lock) {
+                    pendingPages.remove(page, future);
+                    if (version == loadVersion) {
+                        pages.put(page, rows);
+                    }
+                }
+                future.complete(rows);
+            });
+        } catch (RejectedExecutionException e) {
+            pendingPages.remove(page);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object o) {
+        return view.contains(o);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return view.iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] toArray() {
+        return view.toArray();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return view.toArray(a);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(E e) {
+        throw new UnsupportedOperationException("add");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        return view.containsAll(c);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        throw new UnsupportedOperationException("addAll");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        throw new UnsupportedOperationException("addAll");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException("removeAll");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException("retainAll");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("clear");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E set(int index, E element) {
+        throw new UnsupportedOperationException("set");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(int index, E element) {
+        throw new UnsupportedOperationException("add");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E remove(int index) {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(Object o) {
+        return view.indexOf(o);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        return view.lastIndexOf(o);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListIterator<E> listIterator() {
+        return view.listIterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        return view.listIterator(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        return view.subList(fromIndex, toIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return view.hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    // 代理方法，忽略所有警告。
+    @SuppressWarnings("EqualsDoesntCheckParameterClass")
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        return view.equals(obj);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "PagedListModel [size=" + size() + ", pageSize=" + pageSize + ", maxPages=" + maxPages + "]";
+    }
+
+    /**
+     * 只读的列表视图，列表的非修改方法由 {@link AbstractList} 通过 {@link #get(int)} 实现。
+     */
+    private final class View extends AbstractList<E> {
+
+        @Override
+        public E get(int index) {
+            return PagedListModel.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return PagedListModel.this.size();
+        }
+    }
+
+    /**
+     * 通知观察器时使用的按需加载的区间视图。
+     *
+     * <p>
+     * 视图固定于通知时的版本，数据源再次发生变化后，读取视图会抛出 {@link ConcurrentModificationException}，
+     * 而不是返回变化之后的数据。
+     */
+    private final class RangeView extends AbstractList<E> {
+
+        private final int from;
+        private final int count;
+        private final long rangeVersion;
+
+        RangeView(int from, int count, long rangeVersion) {
+            this.from = from;
+            this.count = count;
+            this.rangeVersion = rangeVersion;
+        }
+
+        @Override
+        public E get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+            }
+            checkVersion();
+            E element;
+            try {
+                element = PagedListModel.this.get(from + index);
+            } catch (RuntimeException e) {
+                // 读取期间数据源发生变化时，越界等异常源于视图过期。
+                checkVersion();
+                throw e;
+            }
+            // 读取期间数据源可能发生变化，读取之后再次检查，版本只会增加，因此检查通过时读取到的是通知时的数据。
+            checkVersion();
+            return element;
+        }
+
+        private void checkVersion() {
+            synchronized (lock) {
+                if (version != rangeVersion) {
+                    throw new ConcurrentModificationException(
+                            DwarfUtil.getExceptionString(ExceptionStringKey.PAGEDLISTMODEL_5));
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import java.util.Map;
+
+/**
+ * 快照映射模型
+ *
+ * <p>
+ * 可以生成快照的同步映射模型。快照是模型在某一时刻的不可变的副本，遍历快照不需要持有模型的锁，
+ * 遍历期间其它线程可以继续修改模型，修改不会反映在已经生成的快照中。实例代码如下：
+ *
+ * <pre>
+ *
+ * static void export(SnapshotMapModel&lt;Object, Object&gt; model) {
+ * 	for (Map.Entry&lt;Object, Object&gt; entry : model.snapshot().entrySet()) {
+ * 		// Do Something
+ *    }
+ * }
+ * </pre>
+ *
+ * <p>
+ * 该模型是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public interface SnapshotMapModel<K, V> extends SyncMapModel<K, V> {
+
+    /**
+     * 获取模型当前状态的快照。
+     *
+     * <p>
+     * 模型在两次修改之间生成的快照是同一个对象，因此在读多写少的场景中，多次获取快照的开销很小。
+     * 快照的迭代顺序与获取快照时模型的迭代顺序一致。
+     *
+     * @return 模型当前状态的不可变的快照。
+     */
+    Map<K, V> snapshot();
+}
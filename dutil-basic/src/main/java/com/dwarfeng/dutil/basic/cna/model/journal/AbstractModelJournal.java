@@ -0,0 +1,610 @@
+package com.dwarfeng.dutil.basic.cna.model.journal;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.prog.ObserverSet;
+import com.dwarfeng.dutil.basic.threads.ExternalReadWriteThreadSafe;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.zip.CRC32;
+
+/**
+ * 抽象模型日志。
+ *
+ * <p>
+ * 模型日志作为观察器注册到模型中，将模型的每一次修改以紧凑的二进制记录追加到日志文件的末尾。
+ * 日志文件以一条快照记录开始，重放日志即可在另一个模型中重建被记录的模型的内容；
+ * 读取方记录上一次重放结束的位置，此后只需要重放新追加的记录，开销与修改的数量成正比。
+ *
+ * <p>
+ * 日志文件由文件头与若干条记录组成。文件头包括魔数、版本以及代数；每条记录由变长编码的长度、内容以及内容的 CRC32 校验值组成。
+ * 重放时遇到不完整或者校验失败的记录即停止，因此进程在写入过程中意外退出时，已经完整写入的记录仍然可以被重放。
+ *
+ * <p>
+ * 压缩日志时，以模型当前的内容生成一个只包含一条快照记录的新日志文件，原子地替换旧的日志文件，并将代数加一。
+ * 压缩以后旧的记录位置不再有效，增量重放时读取方应当同时指定上一次重放时的代数，
+ * 重放会与实际打开的日志文件的文件头比较代数，代数不一致时不应用任何记录，读取方此时应当从头重放。
+ * 压缩阈值大于 0 时，自上一次快照以来追加的记录数达到阈值后，日志会在观察器的通知中自动压缩，此时会读取模型；
+ * 对于持有不可重入的锁的模型（如 <code>ModelUtil.stampedSyncListModel</code> 生成的模型），在通知中读取模型会导致死锁，
+ * 因此不应该使用自动压缩。
+ *
+ * <p>
+ * 日志依赖于观察器的同步通知：如果模型使用了异步的事件分发器，快照可能领先于尚未通知的事件，重放的结果将不正确。
+ * 模型的观察器集合可能弱引用观察器，因此在日志关闭之前，调用者应当持有日志的引用。
+ *
+ * <p>
+ * 追加的记录先写入缓冲，缓冲写满、调用 {@link #flush()}、压缩或者关闭日志时才写入日志文件，
+ * 因此读取方在重放之前，写入方应当刷新日志；刷新只将数据交给操作系统，不保证数据已经写入存储设备。
+ *
+ * <p>
+ * 写入日志时发生的 IO 异常无法在观察器的通知中抛出，日志会记录第一个异常并停止写入，
+ * 该异常会在此后调用 {@link #flush()}、{@link #compact()} 或者 {@link #close()} 时抛出。
+ *
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public abstract class AbstractModelJournal implements Closeable, Flushable {
+
+    private static final int MAGIC = 0x444A4E4C;
+    private static final byte VERSION = 1;
+    private static final int HEADER_LENGTH = 4 + 1 + 8;
+
+    /**
+     * 日志文件的路径。
+     */
+    protected final Path path;
+
+    private final ObserverSet<?> model;
+    private final int compactThreshold;
+    private final Object lock = new Object();
+    private final RecordBuffer buffer = new RecordBuffer();
+    private final DataOutputStream payloadOut = new DataOutputStream(buffer);
+    private final CRC32 crc = new CRC32();
+
+    private OutputStream out = null;
+    private long generation = 0;
+    private long position = 0;
+    private int recordsSinceSnapshot = 0;
+    private IOException failure = null;
+
+    /**
+     * 生成一个记录指定模型，写入指定路径，具有指定压缩阈值的抽象模型日志。
+     *
+     * @param model            被记录的模型。
+     * @param path             日志文件的路径。
+     * @param compactThreshold 自动压缩的阈值，为 0 时不自动压缩。
+     * @throws NullPointerException     入口参数为 <code>null</code>。
+     * @throws IllegalArgumentException 压缩阈值为负数。
+     */
+    protected AbstractModelJournal(ObserverSet<?> model, Path path, int compactThreshold) {
+        Objects.requireNonNull(path, DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTMODELJOURNAL_0));
+        if (compactThreshold < 0) {
+            throw new IllegalArgumentException(
+                    DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTMODELJOURNAL_1));
+        }
+        this.model = model;
+        this.path = path;
+        this.compactThreshold = compactThreshold;
+    }
+
+    /**
+     * 获取日志文件的路径。
+     *
+     * @return 日志文件的路径。
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * 获取自动压缩的阈值。
+     *
+     * @return 自动压缩的阈值，为 0 时不自动压缩。
+     */
+    public int getCompactThreshold() {
+        return compactThreshold;
+    }
+
+    /**
+     * 获取日志文件当前的代数。
+     *
+     * @return 日志文件当前的代数。
+     */
+    public long getGeneration() {
+        synchronized (lock) {
+            return generation;
+        }
+    }
+
+    /**
+     * 获取日志文件当前的长度，即下一条记录的位置。
+     *
+     * <p>
+     * 长度包括缓冲中尚未写入日志文件的记录。
+     *
+     * @return 日志文件当前的长度。
+     */
+    public long getPosition() {
+        synchronized (lock) {
+            return position;
+        }
+    }
+
+    /**
+     * 返回日志是否已经打开。
+     *
+     * @return 日志是否已经打开。
+     */
+    public boolean isOpen() {
+        synchronized (lock) {
+            return Objects.nonNull(out);
+        }
+    }
+
+    /**
+     * 打开日志。
+     *
+     * <p>
+     * 以模型当前的内容生成一个只包含一条快照记录的日志文件（已经存在的日志文件会被替换，代数在其基础上加一），
+     * 并将日志注册为模型的观察器。重复调用该方法不会产生任何效果。
+     *
+     * @throws IOException IO异常。
+     */
+    public void open() throws IOException {
+        // 先注册观察器：快照之前的修改在日志打开前被忽略，但已经包含在快照中。
+        attach();
+        Lock readLock = modelReadLock();
+        try {
+            synchronized (lock) {
+                if (Objects.nonNull(out)) {
+                    return;
+                }
+                failure = null;
+                generation = existingGeneration();
+                rewrite();
+            }
+        } finally {
+            if (Objects.nonNull(readLock)) {
+                readLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 压缩日志。
+     *
+     * <p>
+     * 以模型当前的内容生成一个只包含一条快照记录的新日志文件，替换旧的日志文件，并将代数加一。
+     *
+     * @throws IOException           IO异常。
+     * @throws IllegalStateException 日志尚未打开或者已经关闭。
+     */
+    public void compact() throws IOException {
+        Lock readLock = modelReadLock();
+        try {
+            synchronized (lock) {
+                ensureWritable();
+                try {
+                    rewrite();
+                } catch (IOException e) {
+                    failure = e;
+                    throw e;
+                }
+            }
+        } finally {
+            if (Objects.nonNull(readLock)) {
+                readLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * 将缓冲中的记录写入日志文件，此后读取方可以重放这些记录。
+     *
+     * @throws IllegalStateException 日志尚未打开或者已经关闭。
+     */
+    @Override
+    public void flush() throws IOException {
+        synchronized (lock) {
+            ensureWritable();
+            out.flush();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * 关闭日志时，日志会从模型的观察器中移除。
+     */
+    @Override
+    public void close() throws IOException {
+        detach();
+        synchronized (lock) {
+            if (Objects.isNull(out)) {
+                return;
+            }
+            try {
+                out.close();
+            } finally {
+                out = null;
+            }
+            if (Objects.nonNull(failure)) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * 将日志注册为模型的观察器。
+     */
+    protected abstract void attach();
+
+    /**
+     * 将日志从模型的观察器中移除。
+     */
+    protected abstract void detach();
+
+    /**
+     * 将模型当前内容的快照记录写入指定的输出中。
+     *
+     * @param out 指定的输出。
+     * @throws IOException IO异常。
+     */
+    protected abstract void writeSnapshot(DataOutput out) throws IOException;
+
+    /**
+     * 追加一条记录。
+     *
+     * <p>
+     * 该方法在观察器的通知中调用。日志尚未打开、已经关闭或者已经发生 IO 异常时，记录会被忽略。
+     *
+     * @param writer 写入记录内容的动作。
+     */
+    protected final void append(RecordWriter writer) {
+        synchronized (lock) {
+            if (Objects.isNull(out) || Objects.nonNull(failure)) {
+                return;
+            }
+            try {
+                position += writeRecord(out, writer);
+                if (compactThreshold > 0 && ++recordsSinceSnapshot >= compactThreshold) {
+                    rewrite();
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+    }
+
+    private Lock modelReadLock() {
+        if (model instanceof ExternalReadWriteThreadSafe) {
+            Lock readLock = ((ExternalReadWriteThreadSafe) model).getLock().readLock();
+            readLock.lock();
+            return readLock;
+        }
+        return null;
+    }
+
+    private void ensureWritable() throws IOException {
+        if (Objects.isNull(out)) {
+            throw new IllegalStateException(DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTMODELJOURNAL_3));
+        }
+        if (Objects.nonNull(failure)) {
+            throw failure;
+        }
+    }
+
+    private long existingGeneration() {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try {
+            return readGeneration(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 以快照重写日志文件，调用时需要持有锁。
+     */
+    private void rewrite() throws IOException {
+        long nextGeneration = generation + 1;
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        long length;
+        try (OutputStream tempOut = new BufferedOutputStream(Files.newOutputStream(temp))) {
+            DataOutputStream header = new DataOutputStream(tempOut);
+            header.writeInt(MAGIC);
+            header.writeByte(VERSION);
+            header.writeLong(nextGeneration);
+            length = HEADER_LENGTH + writeRecord(tempOut, this::writeSnapshot);
+        }
+        if (Objects.nonNull(out)) {
+            OutputStream oldOut = out;
+            out = null;
+            oldOut.close();
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        out = new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.APPEND));
+        generation = nextGeneration;
+        position = length;
+        recordsSinceSnapshot = 0;
+    }
+
+    private int writeRecord(OutputStream target, RecordWriter writer) throws IOException {
+        buffer.reset();
+        writer.write(payloadOut);
+        payloadOut.flush();
+        int length = buffer.size();
+        crc.reset();
+        crc.update(buffer.array(), 0, length);
+        int crcValue = (int) crc.getValue();
+
+        int lengthSize = 0;
+        int value = length;
+        while ((value & ~0x7F) != 0) {
+            target.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+            lengthSize++;
+        }
+        target.write(value);
+        lengthSize++;
+        target.write(buffer.array(), 0, length);
+        target.write(crcValue >>> 24);
+        target.write(crcValue >>> 16);
+        target.write(crcValue >>> 8);
+        target.write(crcValue);
+        return lengthSize + length + 4;
+    }
+
+    /**
+     * 读取指定的日志文件的代数。
+     *
+     * @param path 日志文件的路径。
+     * @return 日志文件的代数。
+     * @throws IOException          IO异常，或者日志文件的格式不正确。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     */
+    public static long readGeneration(Path path) throws IOException {
+        Objects.requireNonNull(path, DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTMODELJOURNAL_0));
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            return readHeader(in);
+        }
+    }
+
+    private static long readHeader(DataInputStream in) throws IOException {
+        try {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException(DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTMODELJOURNAL_2));
+            }
+            return in.readLong();
+        } catch (EOFException e) {
+            throw new IOException(DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTMODELJOURNAL_2), e);
+        }
+    }
+
+    /**
+     * 从指定的位置开始重放日志文件中的记录。
+     *
+     * <p>
+     * 遇到不完整或者校验失败的记录时停止重放。
+     *
+     * @param path   日志文件的路径。
+     * @param offset 开始重放的位置，为 0 时从头重放，否则应当是之前的重放返回的位置。
+     * @param reader 读取并应用每条记录的动作。
+     * @return 最后一条被重放的记录之后的位置。
+     * @throws IOException              IO异常，或者日志文件的格式不正确。
+     * @throws IllegalArgumentException 指定的位置不是有效的记录位置。
+     */
+    protected static long replay(Path path, long offset, RecordReader reader) throws IOException {
+        return replay(path, offset, false, 0, reader);
+    }
+
+    /**
+     * 检查日志文件的代数，并从指定的位置开始重放日志文件中的记录。
+     *
+     * <p>
+     * 代数与实际打开的日志文件的文件头中的代数比较，因此即使日志在重放之前被压缩，也不会在新的日志文件中使用旧的记录位置。
+     * 代数不一致时不应用任何记录，返回 <code>-1</code>，调用者应当通过 {@link #readGeneration(Path)} 获取新的代数，
+     * 并以新的代数从头重放（从头重放时代数也可能再次变化，此时同样返回 <code>-1</code>）。
+     *
+     * <p>
+     * 遇到不完整或者校验失败的记录时停止重放。
+     *
+     * @param path               日志文件的路径。
+     * @param offset             开始重放的位置，为 0 时从头重放，否则应当是之前的重放返回的位置。
+     * @param expectedGeneration 期望的日志文件的代数。
+     * @param reader             读取并应用每条记录的动作。
+     * @return 最后一条被重放的记录之后的位置，代数不一致时返回 <code>-1</code>。
+     * @throws IOException              IO异常，或者日志文件的格式不正确。
+     * @throws IllegalArgumentException 指定的位置不是有效的记录位置。
+     */
+    protected static long replay(Path path, long offset, long expectedGeneration, RecordReader reader)
+            throws IOException {
+        return replay(path, offset, true, expectedGeneration, reader);
+    }
+
+    private static long replay(Path path, long offset, boolean checkGeneration, long expectedGeneration,
+                               RecordReader reader) throws IOException {
+        if (offset != 0 && offset < HEADER_LENGTH) {
+            throw new IllegalArgumentException(
+                    DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTMODELJOURNAL_4));
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            long generation = readHeader(in);
+            if (checkGeneration && generation != expectedGeneration) {
+                return -1;
+            }
+            long position = HEADER_LENGTH;
+            if (offset > position) {
+                long remaining = offset - position;
+                while (remaining > 0) {
+                    long skipped = in.skip(remaining);
+                    if (skipped <= 0) {
+                        throw new IllegalArgumentException(
+                                DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTMODELJOURNAL_4));
+                    }
+                    remaining -= skipped;
+                }
+                position = offset;
+            }
+
+            CRC32 crc = new CRC32();
+            for (; ; ) {
+                int length = 0;
+                int lengthSize = 0;
+                int shift = 0;
+                int b;
+                do {
+                    b = in.read();
+                    if (b < 0 || shift > 28) {
+                        return position;
+                    }
+                    length |= (b & 0x7F) << shift;
+                    shift += 7;
+                    lengthSize++;
+                } while ((b & 0x80) != 0);
+                if (length < 0) {
+                    return position;
+                }
+
+                byte[] payload = new byte[length];
+                int crcValue;
+                try {
+                    in.readFully(payload);
+                    crcValue = in.readInt();
+                } catch (EOFException e) {
+                    return position;
+                }
+                crc.reset();
+                crc.update(payload, 0, length);
+                if ((int) crc.getValue() != crcValue) {
+                    return position;
+                }
+
+                reader.read(new DataInputStream(new ByteArrayInputStream(payload)));
+                position += lengthSize + length + 4;
+            }
+        }
+    }
+
+    /**
+     * 以变长编码写入一个非负整数。
+     *
+     * @param out   指定的输出。
+     * @param value 非负整数。
+     * @throws IOException IO异常。
+     */
+    protected static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * 读取一个以变长编码写入的非负整数。
+     *
+     * @param in 指定的输入。
+     * @return 读取的非负整数。
+     * @throws IOException IO异常。
+     */
+    protected static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException(DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTMODELJOURNAL_2));
+    }
+
+    /**
+     * 写入一个可能为 <code>null</code> 的元素。
+     *
+     * @param out     指定的输出。
+     * @param codec   元素的编解码器。
+     * @param element 指定的元素。
+     * @param <E>     元素的类型。
+     * @throws IOException IO异常。
+     */
+    protected static <E> void writeElement(DataOutput out, ElementCodec<E> codec, E element) throws IOException {
+        if (Objects.isNull(element)) {
+            out.writeBoolean(false);
+        } else {
+            out.writeBoolean(true);
+            codec.write(out, element);
+        }
+    }
+
+    /**
+     * 读取一个可能为 <code>null</code> 的元素。
+     *
+     * @param in    指定的输入。
+     * @param codec 元素的编解码器。
+     * @param <E>   元素的类型。
+     * @return 读取的元素。
+     * @throws IOException IO异常。
+     */
+    protected static <E> E readElement(DataInput in, ElementCodec<E> codec) throws IOException {
+        return in.readBoolean() ? codec.read(in) : null;
+    }
+
+    /**
+     * 写入记录内容的动作。
+     */
+    @FunctionalInterface
+    protected interface RecordWriter {
+
+        /**
+         * 将记录的内容写入指定的输出中。
+         *
+         * @param out 指定的输出。
+         * @throws IOException IO异常。
+         */
+        void write(DataOutput out) throws IOException;
+    }
+
+    /**
+     * 读取并应用记录的动作。
+     */
+    @FunctionalInterface
+    protected interface RecordReader {
+
+        /**
+         * 从指定的输入中读取一条记录的内容并应用。
+         *
+         * @param in 指定的输入。
+         * @throws IOException IO异常。
+         */
+        void read(DataInput in) throws IOException;
+    }
+
+    private static final class RecordBuffer extends ByteArrayOutputStream {
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.dwarfeng.dutil.basic.cna.model.journal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * 元素编解码器。
+ *
+ * <p>
+ * 用于在模型日志中写入与读取元素。日志会自行记录元素是否为 <code>null</code>，因此编解码器不会收到 <code>null</code> 元素。
+ *
+ * @param <E> 元素的类型。
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public interface ElementCodec<E> {
+
+    /**
+     * 将指定的元素写入输出中。
+     *
+     * @param out     指定的输出。
+     * @param element 指定的元素，不为 <code>null</code>。
+     * @throws IOException IO异常。
+     */
+    void write(DataOutput out, E element) throws IOException;
+
+    /**
+     * 从指定的输入中读取一个元素。
+     *
+     * @param in 指定的输入。
+     * @return 读取的元素。
+     * @throws IOException IO异常。
+     */
+    E read(DataInput in) throws IOException;
+}
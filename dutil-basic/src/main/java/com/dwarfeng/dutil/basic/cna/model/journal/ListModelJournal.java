@@ -0,0 +1,289 @@
+package com.dwarfeng.dutil.basic.cna.model.journal;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.cna.model.ListModel;
+import com.dwarfeng.dutil.basic.cna.model.obs.ListObserver;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 列表模型日志。
+ *
+ * <p>
+ * 将列表模型的添加、移除、改变以及清空事件写入日志文件，区间事件会写成一条记录。
+ * 通过 {@link #replay(Path, ElementCodec, ListModel)} 可以在另一个列表模型中重建被记录的列表模型的内容。
+ *
+ * @param <E> 元素的类型。
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public class ListModelJournal<E> extends AbstractModelJournal implements ListObserver<E> {
+
+    private static final byte ADDED = 1;
+    private static final byte ADDED_RANGE = 2;
+    private static final byte REMOVED = 3;
+    private static final byte REMOVED_RANGE = 4;
+    private static final byte CHANGED = 5;
+    private static final byte CLEARED = 6;
+    private static final byte SNAPSHOT = 7;
+
+    private final ListModel<E> model;
+    private final ElementCodec<E> codec;
+
+    /**
+     * 生成一个记录指定列表模型，写入指定路径，使用指定编解码器，不自动压缩的列表模型日志。
+     *
+     * @param model 被记录的列表模型。
+     * @param path  日志文件的路径。
+     * @param codec 元素的编解码器。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     */
+    public ListModelJournal(ListModel<E> model, Path path, ElementCodec<E> codec) {
+        this(model, path, codec, 0);
+    }
+
+    /**
+     * 生成一个记录指定列表模型，写入指定路径，使用指定编解码器，具有指定压缩阈值的列表模型日志。
+     *
+     * @param model            被记录的列表模型。
+     * @param path             日志文件的路径。
+     * @param codec            元素的编解码器。
+     * @param compactThreshold 自动压缩的阈值，为 0 时不自动压缩。
+     * @throws NullPointerException     入口参数为 <code>null</code>。
+     * @throws IllegalArgumentException 压缩阈值为负数。
+     */
+    public ListModelJournal(ListModel<E> model, Path path, ElementCodec<E> codec, int compactThreshold) {
+        super(Objects.requireNonNull(model, DwarfUtil.getExceptionString(ExceptionStringKey.LISTMODELJOURNAL_0)),
+                path, compactThreshold);
+        Objects.requireNonNull(codec, DwarfUtil.getExceptionString(ExceptionStringKey.LISTMODELJOURNAL_1));
+        this.model = model;
+        this.codec = codec;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void attach() {
+        model.addObserver(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void detach() {
+        model.removeObserver(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void writeSnapshot(DataOutput out) throws IOException {
+        out.writeByte(SNAPSHOT);
+        writeVarInt(out, model.size());
+        for (E element : model) {
+            writeElement(out, codec, element);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fireAdded(int index, E element) {
+        append(out -> {
+            out.writeByte(ADDED);
+            writeVarInt(out, index);
+            writeElement(out, codec, element);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fireAddedRange(int from, List<E> elements) {
+        append(out -> {
+            out.writeByte(ADDED_RANGE);
+            writeVarInt(out, from);
+            writeVarInt(out, elements.size());
+            for (E element : elements) {
+                writeElement(out, codec, element);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fireRemoved(int index, E element) {
+        append(out -> {
+            out.writeByte(REMOVED);
+            writeVarInt(out, index);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fireRemovedRange(int from, List<E> elements) {
+        append(out -> {
+            out.writeByte(REMOVED_RANGE);
+            writeVarInt(out, from);
+            writeVarInt(out, elements.size());
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fireChanged(int index, E oldElement, E newElement) {
+        append(out -> {
+            out.writeByte(CHANGED);
+            writeVarInt(out, index);
+            writeElement(out, codec, newElement);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fireCleared() {
+        append(out -> out.writeByte(CLEARED));
+    }
+
+    /**
+     * 重放指定的日志文件中的全部记录，在指定的列表模型中重建被记录的列表模型的内容。
+     *
+     * <p>
+     * 日志文件以快照记录开始，重放快照记录时目标模型会先被清空。
+     *
+     * @param path   日志文件的路径。
+     * @param codec  元素的编解码器。
+     * @param target 目标列表模型。
+     * @param <E>    元素的类型。
+     * @return 最后一条被重放的记录之后的位置，可以用于此后的增量重放。
+     * @throws IOException          IO异常，或者日志文件的格式不正确。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     */
+    public static <E> long replay(Path path, ElementCodec<E> codec, ListModel<E> target) throws IOException {
+        return replay(path, codec, target, 0);
+    }
+
+    /**
+     * 从指定的位置开始重放指定的日志文件中的记录，将之后的修改应用到指定的列表模型中。
+     *
+     * <p>
+     * 指定的位置应当是之前的重放返回的位置，并且日志文件的代数在此期间没有变化，否则应当从头重放。
+     * 该方法不检查代数，日志可能被压缩时应当使用 {@link #replay(Path, ElementCodec, ListModel, long, long)}。
+     *
+     * @param path   日志文件的路径。
+     * @param codec  元素的编解码器。
+     * @param target 目标列表模型。
+     * @param offset 开始重放的位置，为 0 时从头重放。
+     * @param <E>    元素的类型。
+     * @return 最后一条被重放的记录之后的位置。
+     * @throws IOException              IO异常，或者日志文件的格式不正确。
+     * @throws NullPointerException     入口参数为 <code>null</code>。
+     * @throws IllegalArgumentException 指定的位置不是有效的记录位置。
+     */
+    public static <E> long replay(Path path, ElementCodec<E> codec, ListModel<E> target, long offset)
+            throws IOException {
+        Objects.requireNonNull(path, DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTMODELJOURNAL_0));
+        Objects.requireNonNull(codec, DwarfUtil.getExceptionString(ExceptionStringKey.LISTMODELJOURNAL_1));
+        Objects.requireNonNull(target, DwarfUtil.getExceptionString(ExceptionStringKey.LISTMODELJOURNAL_2));
+        return replay(path, offset, recordReader(codec, target));
+    }
+
+    /**
+     * 检查日志文件的代数，并从指定的位置开始重放指定的日志文件中的记录，将之后的修改应用到指定的列表模型中。
+     *
+     * <p>
+     * 代数与实际打开的日志文件的文件头中的代数比较，代数不一致（日志在此期间被压缩）时不应用任何记录，返回 <code>-1</code>，
+     * 此时调用者应当通过 {@link #readGeneration(Path)} 获取新的代数，并以新的代数从头重放。
+     *
+     * @param path               日志文件的路径。
+     * @param codec              元素的编解码器。
+     * @param target             目标列表模型。
+     * @param offset             开始重放的位置，为 0 时从头重放。
+     * @param expectedGeneration 期望的日志文件的代数。
+     * @param <E>                元素的类型。
+     * @return 最后一条被重放的记录之后的位置，代数不一致时返回 <code>-1</code>。
+     * @throws IOException              IO异常，或者日志文件的格式不正确。
+     * @throws NullPointerException     入口参数为 <code>null</code>。
+     * @throws IllegalArgumentException 指定的位置不是有效的记录位置。
+     */
+    public static <E> long replay(Path path, ElementCodec<E> codec, ListModel<E> target, long offset,
+                                  long expectedGeneration) throws IOException {
+        Objects.requireNonNull(path, DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTMODELJOURNAL_0));
+        Objects.requireNonNull(codec, DwarfUtil.getExceptionString(ExceptionStringKey.LISTMODELJOURNAL_1));
+        Objects.requireNonNull(target, DwarfUtil.getExceptionString(ExceptionStringKey.LISTMODELJOURNAL_2));
+        return replay(path, offset, expectedGeneration, recordReader(codec, target));
+    }
+
+    private static <E> RecordReader recordReader(ElementCodec<E> codec, ListModel<E> target) {
+        return in -> {
+            byte type = in.readByte();
+            switch (type) {
+                case ADDED: {
+                    int index = readVarInt(in);
+                    target.add(index, readElement(in, codec));
+                    break;
+                }
+                case ADDED_RANGE: {
+                    int from = readVarInt(in);
+                    target.addAll(from, readElements(in, codec));
+                    break;
+                }
+                case REMOVED:
+                    target.remove(readVarInt(in));
+                    break;
+                case REMOVED_RANGE: {
+                    int from = readVarInt(in);
+                    int count = readVarInt(in);
+                    target.subList(from, from + count).clear();
+                    break;
+                }
+                case CHANGED: {
+                    int index = readVarInt(in);
+                    target.set(index, readElement(in, codec));
+                    break;
+                }
+                case CLEARED:
+                    target.clear();
+                    break;
+                case SNAPSHOT: {
+                    List<E> elements = readElements(in, codec);
+                    target.clear();
+                    target.addAll(elements);
+                    break;
+                }
+                default:
+                    throw new IOException(
+                            DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTMODELJOURNAL_2));
+            }
+        };
+    }
+
+    private static <E> List<E> readElements(DataInput in, ElementCodec<E> codec) throws IOException {
+        int count = readVarInt(in);
+        List<E> elements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            elements.add(readElement(in, codec));
+        }
+        return elements;
+    }
+}
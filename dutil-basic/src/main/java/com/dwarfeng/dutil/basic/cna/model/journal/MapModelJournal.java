@@ -0,0 +1,257 @@
+package com.dwarfeng.dutil.basic.cna.model.journal;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.cna.model.MapModel;
+import com.dwarfeng.dutil.basic.cna.model.obs.MapObserver;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 映射模型日志。
+ *
+ * <p>
+ * 将映射模型的放入、改变、移除以及清空事件写入日志文件，放入与改变事件都记录为键的最新值。
+ * 通过 {@link #replay(Path, ElementCodec, ElementCodec, MapModel)} 可以在另一个映射模型中重建被记录的映射模型的内容。
+ *
+ * @param <K> 键的类型。
+ * @param <V> 值的类型。
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public class MapModelJournal<K, V> extends AbstractModelJournal implements MapObserver<K, V> {
+
+    private static final byte PUT = 1;
+    private static final byte REMOVED = 2;
+    private static final byte CLEARED = 3;
+    private static final byte SNAPSHOT = 4;
+
+    private final MapModel<K, V> model;
+    private final ElementCodec<K> keyCodec;
+    private final ElementCodec<V> valueCodec;
+
+    /**
+     * 生成一个记录指定映射模型，写入指定路径，使用指定编解码器，不自动压缩的映射模型日志。
+     *
+     * @param model      被记录的映射模型。
+     * @param path       日志文件的路径。
+     * @param keyCodec   键的编解码器。
+     * @param valueCodec 值的编解码器。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     */
+    public MapModelJournal(MapModel<K, V> model, Path path, ElementCodec<K> keyCodec, ElementCodec<V> valueCodec) {
+        this(model, path, keyCodec, valueCodec, 0);
+    }
+
+    /**
+     * 生成一个记录指定映射模型，写入指定路径，使用指定编解码器，具有指定压缩阈值的映射模型日志。
+     *
+     * @param model            被记录的映射模型。
+     * @param path             日志文件的路径。
+     * @param keyCodec         键的编解码器。
+     * @param valueCodec       值的编解码器。
+     * @param compactThreshold 自动压缩的阈值，为 0 时不自动压缩。
+     * @throws NullPointerException     入口参数为 <code>null</code>。
+     * @throws IllegalArgumentException 压缩阈值为负数。
+     */
+    public MapModelJournal(MapModel<K, V> model, Path path, ElementCodec<K> keyCodec, ElementCodec<V> valueCodec,
+                           int compactThreshold) {
+        super(Objects.requireNonNull(model, DwarfUtil.getExceptionString(ExceptionStringKey.MAPMODELJOURNAL_0)),
+                path, compactThreshold);
+        Objects.requireNonNull(keyCodec, DwarfUtil.getExceptionString(ExceptionStringKey.MAPMODELJOURNAL_1));
+        Objects.requireNonNull(valueCodec, DwarfUtil.getExceptionString(ExceptionStringKey.MAPMODELJOURNAL_2));
+        this.model = model;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void attach() {
+        model.addObserver(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void detach() {
+        model.removeObserver(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void writeSnapshot(DataOutput out) throws IOException {
+        out.writeByte(SNAPSHOT);
+        writeVarInt(out, model.size());
+        for (Map.Entry<K, V> entry : model.entrySet()) {
+            writeElement(out, keyCodec, entry.getKey());
+            writeElement(out, valueCodec, entry.getValue());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void firePut(K key, V value) {
+        appendPut(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fireChanged(K key, V oldValue, V newValue) {
+        appendPut(key, newValue);
+    }
+
+    private void appendPut(K key, V value) {
+        append(out -> {
+            out.writeByte(PUT);
+            writeElement(out, keyCodec, key);
+            writeElement(out, valueCodec, value);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fireRemoved(K key, V value) {
+        append(out -> {
+            out.writeByte(REMOVED);
+            writeElement(out, keyCodec, key);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fireCleared() {
+        append(out -> out.writeByte(CLEARED));
+    }
+
+    /**
+     * 重放指定的日志文件中的全部记录，在指定的映射模型中重建被记录的映射模型的内容。
+     *
+     * <p>
+     * 日志文件以快照记录开始，重放快照记录时目标模型会先被清空。
+     *
+     * @param path       日志文件的路径。
+     * @param keyCodec   键的编解码器。
+     * @param valueCodec 值的编解码器。
+     * @param target     目标映射模型。
+     * @param <K>        键的类型。
+     * @param <V>        值的类型。
+     * @return 最后一条被重放的记录之后的位置，可以用于此后的增量重放。
+     * @throws IOException          IO异常，或者日志文件的格式不正确。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     */
+    public static <K, V> long replay(Path path, ElementCodec<K> keyCodec, ElementCodec<V> valueCodec,
+                                     MapModel<K, V> target) throws IOException {
+        return replay(path, keyCodec, valueCodec, target, 0);
+    }
+
+    /**
+     * 从指定的位置开始重放指定的日志文件中的记录，将之后的修改应用到指定的映射模型中。
+     *
+     * <p>
+     * 指定的位置应当是之前的重放返回的位置，并且日志文件的代数在此期间没有变化，否则应当从头重放。
+     * 该方法不检查代数，日志可能被压缩时应当使用 {@link #replay(Path, ElementCodec, ElementCodec, MapModel, long, long)}。
+     *
+     * @param path       日志文件的路径。
+     * @param keyCodec   键的编解码器。
+     * @param valueCodec 值的编解码器。
+     * @param target     目标映射模型。
+     * @param offset     开始重放的位置，为 0 时从头重放。
+     * @param <K>        键的类型。
+     * @param <V>        值的类型。
+     * @return 最后一条被重放的记录之后的位置。
+     * @throws IOException              IO异常，或者日志文件的格式不正确。
+     * @throws NullPointerException     入口参数为 <code>null</code>。
+     * @throws IllegalArgumentException 指定的位置不是有效的记录位置。
+     */
+    public static <K, V> long replay(Path path, ElementCodec<K> keyCodec, ElementCodec<V> valueCodec,
+                                     MapModel<K, V> target, long offset) throws IOException {
+        Objects.requireNonNull(path, DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTMODELJOURNAL_0));
+        Objects.requireNonNull(keyCodec, DwarfUtil.getExceptionString(ExceptionStringKey.MAPMODELJOURNAL_1));
+        Objects.requireNonNull(valueCodec, DwarfUtil.getExceptionString(ExceptionStringKey.MAPMODELJOURNAL_2));
+        Objects.requireNonNull(target, DwarfUtil.getExceptionString(ExceptionStringKey.MAPMODELJOURNAL_3));
+        return replay(path, offset, recordReader(keyCodec, valueCodec, target));
+    }
+
+    /**
+     * 检查日志文件的代数，并从指定的位置开始重放指定的日志文件中的记录，将之后的修改应用到指定的映射模型中。
+     *
+     * <p>
+     * 代数与实际打开的日志文件的文件头中的代数比较，代数不一致（日志在此期间被压缩）时不应用任何记录，返回 <code>-1</code>，
+     * 此时调用者应当通过 {@link #readGeneration(Path)} 获取新的代数，并以新的代数从头重放。
+     *
+     * @param path               日志文件的路径。
+     * @param keyCodec           键的编解码器。
+     * @param valueCodec         值的编解码器。
+     * @param target             目标映射模型。
+     * @param offset             开始重放的位置，为 0 时从头重放。
+     * @param expectedGeneration 期望的日志文件的代数。
+     * @param <K>                键的类型。
+     * @param <V>                值的类型。
+     * @return 最后一条被重放的记录之后的位置，代数不一致时返回 <code>-1</code>。
+     * @throws IOException              IO异常，或者日志文件的格式不正确。
+     * @throws NullPointerException     入口参数为 <code>null</code>。
+     * @throws IllegalArgumentException 指定的位置不是有效的记录位置。
+     */
+    public static <K, V> long replay(Path path, ElementCodec<K> keyCodec, ElementCodec<V> valueCodec,
+                                     MapModel<K, V> target, long offset, long expectedGeneration)
+            throws IOException {
+        Objects.requireNonNull(path, DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTMODELJOURNAL_0));
+        Objects.requireNonNull(keyCodec, DwarfUtil.getExceptionString(ExceptionStringKey.MAPMODELJOURNAL_1));
+        Objects.requireNonNull(valueCodec, DwarfUtil.getExceptionString(ExceptionStringKey.MAPMODELJOURNAL_2));
+        Objects.requireNonNull(target, DwarfUtil.getExceptionString(ExceptionStringKey.MAPMODELJOURNAL_3));
+        return replay(path, offset, expectedGeneration, recordReader(keyCodec, valueCodec, target));
+    }
+
+    private static <K, V> RecordReader recordReader(ElementCodec<K> keyCodec, ElementCodec<V> valueCodec,
+                                                    MapModel<K, V> target) {
+        return in -> {
+            byte type = in.readByte();
+            switch (type) {
+                case PUT: {
+                    K key = readElement(in, keyCodec);
+                    target.put(key, readElement(in, valueCodec));
+                    break;
+                }
+                case REMOVED:
+                    target.remove(readElement(in, keyCodec));
+                    break;
+                case CLEARED:
+                    target.clear();
+                    break;
+                case SNAPSHOT: {
+                    int count = readVarInt(in);
+                    Map<K, V> entries = new LinkedHashMap<>();
+                    for (int i = 0; i < count; i++) {
+                        K key = readElement(in, keyCodec);
+                        entries.put(key, readElement(in, valueCodec));
+                    }
+                    target.clear();
+                    target.putAll(entries);
+                    break;
+                }
+                default:
+                    throw new IOException(
+                            DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTMODELJOURNAL_2));
+            }
+        };
+    }
+}
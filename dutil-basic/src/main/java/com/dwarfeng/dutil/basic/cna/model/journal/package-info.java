@@ -0,0 +1,10 @@
+/**
+ * 模型的日志。
+ *
+ * <p>
+ * 该包用于将模型的修改以紧凑的二进制格式追加到日志文件中，并可以通过重放日志在其它模型（如其它进程中的模型）中重建内容。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+package com.dwarfeng.dutil.basic.cna.model.journal;
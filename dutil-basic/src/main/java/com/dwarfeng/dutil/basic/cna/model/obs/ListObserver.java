@@ -3,6 +3,8 @@ package com.dwarfeng.dutil.basic.cna.model.obs;
 import com.dwarfeng.dutil.basic.cna.model.ListModel;
 import com.dwarfeng.dutil.basic.prog.Observer;
 
+import java.util.List;
+
 /**
  * 列表模型观察器。
  *
@@ -44,4 +46,42 @@ public interface ListObserver<E> extends Observer {
      * 会触发该通知而不是一条条地触发 {@link #fireRemoved(int, Object)}。
      */
     void fireCleared();
+
+    /**
+     * 通知模型从指定的位置开始连续地增加了指定的元素。
+     *
+     * <p>
+     * 该方法为了提高批量操作的效率而定义的，模型在批量添加元素时会触发该通知，
+     * 而不是一条条地触发 {@link #fireAdded(int, Object)}。<br>
+     * 默认实现依次对每个元素调用 {@link #fireAdded(int, Object)}，观察器可以重写该方法，一次性地处理整个区间。
+     *
+     * @param from     第一个元素的位置。
+     * @param elements 增加的元素，按照在模型中的顺序排列，不可修改。
+     * @since 0.4.3.a-beta
+     */
+    default void fireAddedRange(int from, List<E> elements) {
+        int index = from;
+        for (E element : elements) {
+            fireAdded(index++, element);
+        }
+    }
+
+    /**
+     * 通知模型从指定的位置开始连续地移除了指定的元素。
+     *
+     * <p>
+     * 该方法为了提高批量操作的效率而定义的，模型在批量移除连续的元素时会触发该通知，
+     * 而不是一条条地触发 {@link #fireRemoved(int, Object)}。<br>
+     * 默认实现依次对每个元素调用 {@link #fireRemoved(int, Object)}，由于每移除一个元素后续的元素都会前移，
+     * 因此每次通知的位置都是 <code>from</code>。观察器可以重写该方法，一次性地处理整个区间。
+     *
+     * @param from     第一个元素被移除前的位置。
+     * @param elements 移除的元素，按照移除前在模型中的顺序排列，不可修改。
+     * @since 0.4.3.a-beta
+     */
+    default void fireRemovedRange(int from, List<E> elements) {
+        for (E element : elements) {
+            fireRemoved(from, element);
+        }
+    }
 }
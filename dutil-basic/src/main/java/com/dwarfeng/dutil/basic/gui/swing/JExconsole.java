@@ -4,7 +4,7 @@ import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
 import com.dwarfeng.dutil.basic.ImageKey;
 import com.dwarfeng.dutil.basic.LabelStringKey;
-import com.dwarfeng.dutil.basic.num.NumberUtil;
+import com.dwarfeng.dutil.basic.io.StringOutputStream;
 import com.dwarfeng.dutil.basic.threads.NumberedThreadFactory;
 
 import javax.swing.*;
@@ -12,10 +12,12 @@ import javax.swing.border.EmptyBorder;
 import javax.swing.text.BadLocationException;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.Charset;
 import java.util.*;
 import java.util.List;
 import java.util.Queue;
@@ -595,27 +597,22 @@ public class JExconsole extends JPanel {
 
     private final class InnerOutputStream extends OutputStream {
 
-        private byte[] bs = new byte[1024];
-        private int pos = 0;
+        // 解码器会保留跨越两次写入的不完整字符，解码出的文本直接交给渲染队列，不在内存中累积。
+        private final StringOutputStream decoder = new StringOutputStream(Charset.defaultCharset(), false,
+                StringOutputStream.DEFAULT_WINDOW_SIZE, this::render);
 
         /**
          * {@inheritDoc}
          */
         @Override
-        public void write(int b) {
+        public void write(int b) throws IOException {
             if (disposeFlag.get()) {
                 throw new IllegalStateException(DwarfUtil.getExceptionString(ExceptionStringKey.JEXCONSOLE_0));
             }
 
             outputLock.lock();
             try {
-                if (pos == bs.length) {
-                    byte[] dejavu = bs;
-                    bs = new byte[bs.length << 1];
-                    System.arraycopy(dejavu, 0, bs, 0, dejavu.length);
-                }
-
-                bs[pos++] = NumberUtil.cutIntToByte(b);
+                decoder.write(b);
             } finally {
                 outputLock.unlock();
             }
@@ -625,31 +622,33 @@ public class JExconsole extends JPanel {
          * {@inheritDoc}
          */
         @Override
-        public void flush() {
+        public void write(byte[] b, int off, int len) throws IOException {
             if (disposeFlag.get()) {
                 throw new IllegalStateException(DwarfUtil.getExceptionString(ExceptionStringKey.JEXCONSOLE_0));
             }
 
-            String str = null;
-
             outputLock.lock();
             try {
-                str = new String(Arrays.copyOfRange(bs, 0, pos));
-                pos = 0;
-                bs = new byte[1024];
+                decoder.write(b, off, len);
             } finally {
                 outputLock.unlock();
             }
+        }
 
-            if (Objects.isNull(str))
-                return;
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void flush() throws IOException {
+            if (disposeFlag.get()) {
+                throw new IllegalStateException(DwarfUtil.getExceptionString(ExceptionStringKey.JEXCONSOLE_0));
+            }
 
-            renderLock.lock();
+            outputLock.lock();
             try {
-                string2Render.offer(str);
-                renderCondition.signalAll();
+                decoder.flush();
             } finally {
-                renderLock.unlock();
+                outputLock.unlock();
             }
         }
 
@@ -660,6 +659,18 @@ public class JExconsole extends JPanel {
         public void close() {
             // Do nothing
         }
+
+        private void render(CharSequence text) {
+            String str = text.toString();
+
+            renderLock.lock();
+            try {
+                string2Render.offer(str);
+                renderCondition.signalAll();
+            } finally {
+                renderLock.unlock();
+            }
+        }
     }
 
     private class InnerPopupMenu extends JPopupMenu {
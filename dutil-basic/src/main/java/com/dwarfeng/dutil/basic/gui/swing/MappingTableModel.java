@@ -532,6 +532,9 @@ public class MappingTableModel<E> extends AbstractTableModel implements TableMod
 
     private boolean batchRemove(Collection<?> c, boolean aFlag) {
         boolean result = false;
+        // 连续移除的元素合并为一次区间通知，from 为当前区间的起始位置，count 为区间的长度。
+        int from = 0;
+        int count = 0;
 
         for (ListIterator<E> i = delegate.listIterator(); i.hasNext(); ) {
             int index = i.nextIndex();
@@ -539,10 +542,18 @@ public class MappingTableModel<E> extends AbstractTableModel implements TableMod
 
             if (c.contains(element) == aFlag) {
                 i.remove();
-                fireTableRowsDeleted(index, index);
+                if (count++ == 0) {
+                    from = index;
+                }
                 result = true;
+            } else if (count > 0) {
+                fireTableRowsDeleted(from, from + count - 1);
+                count = 0;
             }
         }
+        if (count > 0) {
+            fireTableRowsDeleted(from, from + count - 1);
+        }
 
         return result;
     }
@@ -826,6 +837,9 @@ public class MappingTableModel<E> extends AbstractTableModel implements TableMod
 
         private boolean batchRemove(Collection<?> c, boolean aFlag) {
             boolean result = false;
+            // 连续移除的元素合并为一次区间通知，from 为当前区间的起始位置，count 为区间的长度。
+            int from = 0;
+            int count = 0;
 
             for (ListIterator<E> i = subDelegate.listIterator(); i.hasNext(); ) {
                 int index = i.nextIndex();
@@ -833,10 +847,18 @@ public class MappingTableModel<E> extends AbstractTableModel implements TableMod
 
                 if (c.contains(element) == aFlag) {
                     i.remove();
-                    fireTableRowsDeleted(index + offset, index + offset);
+                    if (count++ == 0) {
+                        from = index + offset;
+                    }
                     result = true;
+                } else if (count > 0) {
+                    fireTableRowsDeleted(from, from + count - 1);
+                    count = 0;
                 }
             }
+            if (count > 0) {
+                fireTableRowsDeleted(from, from + count - 1);
+            }
 
             return result;
         }
@@ -844,8 +866,9 @@ public class MappingTableModel<E> extends AbstractTableModel implements TableMod
         @Override
         public void clear() {
             int size = subDelegate.size();
-            for (int i = 0; i < size; i++) {
-                remove(0);
+            subDelegate.clear();
+            if (size > 0) {
+                fireTableRowsDeleted(offset, offset + size - 1);
             }
         }
 
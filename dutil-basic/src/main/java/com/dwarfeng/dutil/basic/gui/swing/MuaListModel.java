@@ -239,6 +239,9 @@ public class MuaListModel<E> extends AbstractListModel<E> implements List<E> {
     @SuppressWarnings("DuplicatedCode")
     private boolean batchRemove(Collection<?> c, boolean aFlag) {
         boolean result = false;
+        // 连续移除的元素合并为一次区间通知，from 为当前区间的起始位置，count 为区间的长度。
+        int from = 0;
+        int count = 0;
 
         for (ListIterator<E> i = delegate.listIterator(); i.hasNext(); ) {
             int index = i.nextIndex();
@@ -246,10 +249,18 @@ public class MuaListModel<E> extends AbstractListModel<E> implements List<E> {
 
             if (c.contains(element) == aFlag) {
                 i.remove();
-                fireIntervalRemoved(this, index, index);
+                if (count++ == 0) {
+                    from = index;
+                }
                 result = true;
+            } else if (count > 0) {
+                fireIntervalRemoved(this, from, from + count - 1);
+                count = 0;
             }
         }
+        if (count > 0) {
+            fireIntervalRemoved(this, from, from + count - 1);
+        }
 
         return result;
     }
@@ -638,6 +649,9 @@ public class MuaListModel<E> extends AbstractListModel<E> implements List<E> {
         @SuppressWarnings("DuplicatedCode")
         private boolean batchRemove(Collection<?> c, boolean aFlag) {
             boolean result = false;
+            // 连续移除的元素合并为一次区间通知，from 为当前区间的起始位置，count 为区间的长度。
+            int from = 0;
+            int count = 0;
 
             for (ListIterator<E> i = subDelegate.listIterator(); i.hasNext(); ) {
                 int index = i.nextIndex();
@@ -645,10 +659,18 @@ public class MuaListModel<E> extends AbstractListModel<E> implements List<E> {
 
                 if (c.contains(element) == aFlag) {
                     i.remove();
-                    fireIntervalRemoved(this, index + offset, index + offset);
+                    if (count++ == 0) {
+                        from = index + offset;
+                    }
                     result = true;
+                } else if (count > 0) {
+                    fireIntervalRemoved(this, from, from + count - 1);
+                    count = 0;
                 }
             }
+            if (count > 0) {
+                fireIntervalRemoved(this, from, from + count - 1);
+            }
 
             return result;
         }
@@ -659,8 +681,9 @@ public class MuaListModel<E> extends AbstractListModel<E> implements List<E> {
         @Override
         public void clear() {
             int size = subDelegate.size();
-            for (int i = 0; i < size; i++) {
-                remove(0);
+            subDelegate.clear();
+            if (size > 0) {
+                fireIntervalRemoved(this, offset, offset + size - 1);
             }
         }
 
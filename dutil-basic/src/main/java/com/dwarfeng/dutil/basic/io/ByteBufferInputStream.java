@@ -51,6 +51,18 @@ public class ByteBufferInputStream extends InputStream {
         }
     }
 
+    /**
+     * 获取该输入流读取的 ByteBuffer。
+     *
+     * <p>
+     * 该方法供 {@link IOUtil} 直接传递缓冲中的数据使用。
+     *
+     * @return 该输入流读取的 ByteBuffer。
+     */
+    ByteBuffer getByteBuffer() {
+        return byteBuffer;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -58,7 +70,7 @@ public class ByteBufferInputStream extends InputStream {
     public int read() {
         if (byteBuffer.remaining() == 0)
             return -1;
-        return byteBuffer.get();
+        return byteBuffer.get() & 0xFF;
     }
 
     /**
@@ -3,12 +3,20 @@ package com.dwarfeng.dutil.basic.io;
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
 import com.dwarfeng.dutil.basic.str.StringUtil;
+import com.dwarfeng.dutil.basic.threads.NumberedThreadFactory;
 
 import java.io.PrintStream;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.StringTokenizer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 控制台输出工具
@@ -17,14 +25,37 @@ import java.util.StringTokenizer;
  * 该方法可以在控制台中输出带有时间格式的信息，相当于使用 System.out 输出出当前的时间后，在调用 System.out 输出信息。<br>
  * 该类不能被继承。
  *
+ * <p>
+ * 默认情况下，输出在调用线程中同步进行。通过 {@link #setAsync(boolean)} 可以开启异步输出模式：
+ * 文本依然在调用线程中格式化（因此时间前缀是调用时的时间），但是会被放入有界的队列中，
+ * 由一个守护线程批量地输出到 System.out，调用线程不再等待控制台的 IO。<br>
+ * 队列已满时的行为由 {@link #setOverflowPolicy(OverflowPolicy)} 决定；
+ * 调用 {@link #flush()} 可以等待之前提交的文本全部输出。<br>
+ * 输出线程已经停止（异步输出模式被关闭或者切换，或者输出线程异常终止）时提交的文本会在调用线程中同步输出，不会丢失。
+ *
  * @author DwArFeng
  * @see PrintStream#println()
  * @since 0.0.2-beta
  */
 public final class CT {
 
-    private static final String FULL_DATE_FORMAT = "[yyyy-MM-dd HH:mm:ss,SSS]";
-    private static final String HALF_DATE_FORMAT = "[HH:mm:ss,SSS]";
+    private static final DateTimeFormatter FULL_DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("'['yyyy-MM-dd HH:mm:ss,SSS']'");
+    private static final DateTimeFormatter HALF_DATE_FORMATTER = DateTimeFormatter.ofPattern("'['HH:mm:ss,SSS']'");
+
+    /**
+     * 异步输出模式下队列的默认容量。
+     *
+     * @since 0.4.3.a-beta
+     */
+    public static final int DEFAULT_ASYNC_CAPACITY = 8192;
+
+    /**
+     * 异步输出模式下每一批输出的最大文本数量。
+     */
+    private static final int MAX_BATCH_SIZE = 256;
+
+    private static final ThreadFactory THREAD_FACTORY = new NumberedThreadFactory("CT", true, Thread.NORM_PRIORITY);
 
     /**
      * 输出工具的输出形式。
@@ -85,8 +116,31 @@ public final class CT {
         TYPE_3
     }
 
+    /**
+     * 异步输出模式下队列已满时的处理策略。
+     *
+     * @author DwArFeng
+     * @since 0.4.3.a-beta
+     */
+    public enum OverflowPolicy {
+        /**
+         * 丢弃新的文本，调用线程不等待。
+         *
+         * <p>
+         * 被丢弃的文本数量可以通过 {@link CT#getDroppedCount()} 获取。
+         */
+        DROP,
+        /**
+         * 调用线程等待，直到队列中有空余的位置。
+         */
+        BLOCK
+    }
+
     private static OutputType outputType = OutputType.HALF_DATE;
     private static MultiLineType mutiLineType = MultiLineType.TYPE_2;
+    private static volatile OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private static volatile AsyncWriter asyncWriter = null;
+    private static final AtomicLong droppedCount = new AtomicLong();
 
     /**
      * 返回输出类型。
@@ -126,6 +180,113 @@ public final class CT {
         CT.mutiLineType = mutiLineType;
     }
 
+    /**
+     * 返回是否处于异步输出模式。
+     *
+     * @return 是否处于异步输出模式。
+     * @since 0.4.3.a-beta
+     */
+    public static boolean isAsync() {
+        return Objects.nonNull(asyncWriter);
+    }
+
+    /**
+     * 设置是否使用异步输出模式。
+     *
+     * <p>
+     * 开启时，队列的容量为 {@link #DEFAULT_ASYNC_CAPACITY}；关闭时，会首先等待队列中的文本全部输出。
+     *
+     * @param async 是否使用异步输出模式。
+     * @since 0.4.3.a-beta
+     */
+    public static void setAsync(boolean async) {
+        setAsync(async, DEFAULT_ASYNC_CAPACITY);
+    }
+
+    /**
+     * 设置是否使用异步输出模式，并指定队列的容量。
+     *
+     * <p>
+     * 开启时，如果已经处于异步输出模式，并且队列的容量不同，则会等待原队列中的文本全部输出后使用新的队列；
+     * 关闭时，会首先等待队列中的文本全部输出。
+     *
+     * @param async    是否使用异步输出模式。
+     * @param capacity 队列的容量，只在开启异步输出模式时有效。
+     * @throws IllegalArgumentException 开启异步输出模式时，入口参数 capacity 不为正数。
+     * @since 0.4.3.a-beta
+     */
+    public static synchronized void setAsync(boolean async, int capacity) {
+        AsyncWriter writer = asyncWriter;
+        if (async) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.CT_4));
+            }
+            if (Objects.nonNull(writer) && writer.capacity == capacity && !writer.dead) {
+                return;
+            }
+            AsyncWriter newWriter = new AsyncWriter(capacity);
+            THREAD_FACTORY.newThread(newWriter).start();
+            asyncWriter = newWriter;
+        } else {
+            asyncWriter = null;
+        }
+        // 原先的输出线程在队列清空之后退出，期间仍然持有原先引用的调用线程提交的文本也会被输出，
+        // 在原先的输出线程退役之后才提交的文本则在调用线程中同步输出。
+        if (Objects.nonNull(writer)) {
+            writer.retire();
+            writer.awaitWritten(writer.submitted.get());
+        }
+    }
+
+    /**
+     * 返回异步输出模式下队列已满时的处理策略。
+     *
+     * @return 队列已满时的处理策略。
+     * @since 0.4.3.a-beta
+     */
+    public static OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * 设置异步输出模式下队列已满时的处理策略。
+     *
+     * @param overflowPolicy 队列已满时的处理策略。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     * @since 0.4.3.a-beta
+     */
+    public static void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        Objects.requireNonNull(overflowPolicy, DwarfUtil.getExceptionString(ExceptionStringKey.CT_3));
+        CT.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * 返回异步输出模式下，由于队列已满而被丢弃的文本的数量。
+     *
+     * @return 被丢弃的文本的数量。
+     * @since 0.4.3.a-beta
+     */
+    public static long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * 刷新输出。
+     *
+     * <p>
+     * 异步输出模式下，该方法会等待调用之前提交的文本全部输出；之后刷新 System.out。
+     *
+     * @throws IllegalStateException 异步输出线程已经异常终止，之前提交的文本可能没有被输出。
+     * @since 0.4.3.a-beta
+     */
+    public static void flush() {
+        AsyncWriter writer = asyncWriter;
+        if (Objects.nonNull(writer) && !writer.awaitWritten(writer.submitted.get())) {
+            throw new IllegalStateException(DwarfUtil.getExceptionString(ExceptionStringKey.CT_5));
+        }
+        System.out.flush();
+    }
+
     /**
      * 返回将要输出在控制台中的文本，但是不将其输出在控制台上。
      *
@@ -143,8 +304,7 @@ public final class CT {
      * @return 打印在控制台中的文本回显。
      */
     public static String trace(String s) {
-        System.out.println(toString(s));
-        return toString(s);
+        return print(toString(s));
     }
 
     /**
@@ -164,8 +324,7 @@ public final class CT {
      * @return 打印在控制台中的文本回显。
      */
     public static String trace(boolean b) {
-        System.out.println(toString(b));
-        return toString(b);
+        return print(toString(b));
     }
 
     /**
@@ -185,8 +344,7 @@ public final class CT {
      * @return 打印在控制台中的文本回显。
      */
     public static String trace(int i) {
-        System.out.println(toString(i));
-        return toString(i);
+        return print(toString(i));
     }
 
     /**
@@ -206,8 +364,7 @@ public final class CT {
      * @return 打印在控制台中的文本回显。
      */
     public static String trace(float f) {
-        System.out.println(toString(f));
-        return toString(f);
+        return print(toString(f));
     }
 
     /**
@@ -227,8 +384,7 @@ public final class CT {
      * @return 打印在控制台中的文本回显。
      */
     public static String trace(double d) {
-        System.out.println(toString(d));
-        return toString(d);
+        return print(toString(d));
     }
 
     /**
@@ -248,8 +404,7 @@ public final class CT {
      * @return 打印在控制台中的文本回显。
      */
     public static String trace(long l) {
-        System.out.println(toString(l));
-        return toString(l);
+        return print(toString(l));
     }
 
     /**
@@ -269,8 +424,7 @@ public final class CT {
      * @return 打印在控制台中的文本回显。
      */
     public static String trace(char c) {
-        System.out.println(toString(c));
-        return toString(c);
+        return print(toString(c));
     }
 
     /**
@@ -293,8 +447,15 @@ public final class CT {
      * @return 打印在控制台中的文本回显。
      */
     public static String trace(Object o) {
-        System.out.println(toString(o));
-        return toString(o);
+        return print(toString(o));
+    }
+
+    private static String print(String string) {
+        AsyncWriter writer = asyncWriter;
+        if (Objects.isNull(writer) || !writer.submit(string)) {
+            System.out.println(string);
+        }
+        return string;
     }
 
     /**
@@ -336,15 +497,11 @@ public final class CT {
      * 输出年月日时分秒或者时分秒格式的系统时间
      */
     private static String getTimePrefix() {
-        SimpleDateFormat formatter;
-
         switch (outputType) {
             case FULL_DATE:
-                formatter = new SimpleDateFormat(FULL_DATE_FORMAT);
-                return formatter.format(new Date());
+                return FULL_DATE_FORMATTER.format(LocalDateTime.now());
             case HALF_DATE:
-                formatter = new SimpleDateFormat(HALF_DATE_FORMAT);
-                return formatter.format(new Date());
+                return HALF_DATE_FORMATTER.format(LocalDateTime.now());
             default:
                 return "";
         }
@@ -402,6 +559,168 @@ public final class CT {
         return sb.toString();
     }
 
+    /**
+     * 异步输出线程。
+     */
+    private static final class AsyncWriter implements Runnable {
+
+        private final int capacity;
+        private final BlockingQueue<String> queue;
+        private final AtomicLong submitted = new AtomicLong();
+        private final Object lock = new Object();
+
+        // 已经输出（或者被丢弃、转为同步输出）的文本的数量，由 lock 保护。
+        private long written = 0;
+        private volatile boolean retired = false;
+        private volatile boolean dead = false;
+
+        public AsyncWriter(int capacity) {
+            this.capacity = capacity;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * 提交文本。
+         *
+         * <p>
+         * 先增加提交计数再检查退役标记：输出线程只有在退役之后、已输出的数量追上提交计数时才会退出，
+         * 因此检查时没有看到退役标记的文本一定会被输出线程输出；看到退役标记的文本则由调用线程同步输出。
+         *
+         * @param string 提交的文本。
+         * @return 文本是否由输出线程处理，为 <code>false</code> 时调用线程应当同步输出该文本。
+         */
+        public boolean submit(String string) {
+            submitted.incrementAndGet();
+            if (retired || dead) {
+                markWritten(1);
+                return false;
+            }
+            boolean accepted;
+            if (overflowPolicy == OverflowPolicy.BLOCK) {
+                try {
+                    // 分段等待，以免输出线程异常终止之后永远阻塞。
+                    while (!queue.offer(string, 100, TimeUnit.MILLISECONDS)) {
+                        if (dead) {
+                            markWritten(1);
+                            return false;
+                        }
+                    }
+                    accepted = true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    accepted = false;
+                }
+            } else {
+                accepted = queue.offer(string);
+            }
+            if (!accepted) {
+                droppedCount.incrementAndGet();
+                markWritten(1);
+            }
+            return true;
+        }
+
+        public void retire() {
+            retired = true;
+        }
+
+        /**
+         * 等待已输出的文本数量达到指定的值。
+         *
+         * @param target 指定的值。
+         * @return 是否等到了指定的值，输出线程异常终止时返回 <code>false</code>。
+         */
+        public boolean awaitWritten(long target) {
+            boolean interrupted = false;
+            try {
+                synchronized (lock) {
+                    while (written < target) {
+                        if (dead) {
+                            return false;
+                        }
+                        try {
+                            lock.wait();
+                        } catch (InterruptedException e) {
+                            interrupted = true;
+                        }
+                    }
+                    return true;
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void markWritten(int count) {
+            synchronized (lock) {
+                written += count;
+                lock.notifyAll();
+            }
+        }
+
+        private boolean isDone() {
+            synchronized (lock) {
+                return written >= submitted.get();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                runLoop();
+            } catch (Throwable e) {
+                // 输出线程异常终止，此后提交的文本由调用线程同步输出，等待输出的线程不再等待。
+                synchronized (lock) {
+                    dead = true;
+                    lock.notifyAll();
+                }
+                throw e;
+            }
+        }
+
+        // 由于早期开发未使用日志框架，故保留 printStackTrace 方法，忽略相关警告。
+        @SuppressWarnings("CallToPrintStackTrace")
+        private void runLoop() {
+            List<String> batch = new ArrayList<>();
+            StringBuilder sb = new StringBuilder();
+            String lineSeparator = System.lineSeparator();
+            while (true) {
+                String first;
+                try {
+                    first = queue.poll(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    first = null;
+                }
+                if (Objects.isNull(first)) {
+                    if (retired && queue.isEmpty() && isDone()) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+                for (String string : batch) {
+                    sb.append(string).append(lineSeparator);
+                }
+                try {
+                    PrintStream out = System.out;
+                    out.print(sb);
+                    out.flush();
+                } catch (RuntimeException e) {
+                    // 单次输出失败不应使输出线程终止。
+                    e.printStackTrace();
+                }
+                // 抛出错误时不计入已输出的数量，输出线程随即终止，等待输出的线程会得知输出失败。
+                markWritten(batch.size());
+                batch.clear();
+                sb.setLength(0);
+            }
+        }
+    }
+
     // 不可见的构造器方法。
     private CT() {
     }
@@ -0,0 +1,287 @@
+package com.dwarfeng.dutil.basic.io;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 分块 ByteBuffer 缓冲输出流。
+ *
+ * <p>
+ * 与 {@link ByteBufferOutputStream} 不同，该输出流的容量可以增长：
+ * 数据被写入一系列固定大小的块中，当前的块写满后，输出流会链接一个新的块，而不是开辟更大的缓冲并复制已有的数据。<br>
+ * 写入的数据可以通过 {@link #writeTo(GatheringByteChannel)} 以聚集写的方式一次性写入通道，
+ * 也可以通过 {@link #toByteBuffers()} 以块序列的形式获取，均不需要将数据合并到一个数组中。
+ *
+ * <p>
+ * 块可以使用堆内存，也可以使用直接内存。调用 {@link #reset()} 时，块被保留在该输出流自己的块池中，供该输出流之后的写入复用，
+ * 块不会在不同的输出流之间共享，因此一个输出流的重置与写入不会影响其它输出流返回的缓冲。<br>
+ * 注意：{@link #close()} 方法不会释放任何块，写入的数据在输出流关闭后依然可以访问。
+ *
+ * <p>
+ * 该输出流不是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public class ChunkedByteBufferOutputStream extends OutputStream {
+
+    /**
+     * 默认的块大小。
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 16384;
+
+    private final int chunkSize;
+    private final boolean direct;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private final Deque<ByteBuffer> freeChunks = new ArrayDeque<>();
+
+    private ByteBuffer current = null;
+    private long size = 0;
+
+    /**
+     * 生成一个使用默认块大小以及堆内存的分块 ByteBuffer 缓冲输出流。
+     */
+    public ChunkedByteBufferOutputStream() {
+        this(DEFAULT_CHUNK_SIZE, false);
+    }
+
+    /**
+     * 生成一个具有指定块大小，使用堆内存的分块 ByteBuffer 缓冲输出流。
+     *
+     * @param chunkSize 指定的块大小。
+     * @throws IllegalArgumentException 块大小不为正数。
+     */
+    public ChunkedByteBufferOutputStream(int chunkSize) {
+        this(chunkSize, false);
+    }
+
+    /**
+     * 生成一个具有指定块大小的分块 ByteBuffer 缓冲输出流。
+     *
+     * @param chunkSize 指定的块大小。
+     * @param direct    是否使用直接内存。
+     * @throws IllegalArgumentException 块大小不为正数。
+     */
+    public ChunkedByteBufferOutputStream(int chunkSize, boolean direct) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(
+                    DwarfUtil.getExceptionString(ExceptionStringKey.CHUNKEDBYTEBUFFEROUTPUTSTREAM_0));
+        }
+
+        this.chunkSize = chunkSize;
+        this.direct = direct;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(int b) {
+        ensureCurrent().put((byte) b);
+        size++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(byte[] b, int off, int len) {
+        Objects.requireNonNull(b, DwarfUtil.getExceptionString(ExceptionStringKey.CHUNKEDBYTEBUFFEROUTPUTSTREAM_3));
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            ByteBuffer chunk = ensureCurrent();
+            int length = Math.min(len, chunk.remaining());
+            chunk.put(b, off, length);
+            off += length;
+            len -= length;
+            size += length;
+        }
+    }
+
+    /**
+     * 将指定的缓冲中剩余的数据写入该输出流。
+     *
+     * <p>
+     * 写入完成后，指定缓冲的位置等于其界限。
+     *
+     * @param src 指定的缓冲。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     */
+    public void write(ByteBuffer src) {
+        Objects.requireNonNull(src, DwarfUtil.getExceptionString(ExceptionStringKey.CHUNKEDBYTEBUFFEROUTPUTSTREAM_4));
+        while (src.hasRemaining()) {
+            ByteBuffer chunk = ensureCurrent();
+            int length = Math.min(src.remaining(), chunk.remaining());
+            ByteBuffer slice = src.duplicate();
+            slice.limit(slice.position() + length);
+            chunk.put(slice);
+            src.position(src.position() + length);
+            size += length;
+        }
+    }
+
+    /**
+     * 返回该输出流中已经写入的字节数。
+     *
+     * @return 该输出流中已经写入的字节数。
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * 返回该输出流中的块大小。
+     *
+     * @return 该输出流中的块大小。
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * 返回该输出流是否使用直接内存。
+     *
+     * @return 该输出流是否使用直接内存。
+     */
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * 以块序列的形式返回该输出流中已经写入的数据。
+     *
+     * <p>
+     * 返回的每个缓冲都是对应块的只读视图，其位置为 0，界限为块中数据的长度，修改返回的缓冲的位置与界限不会影响该输出流。<br>
+     * 返回的缓冲与该输出流共享数据，在调用 {@link #reset()} 之后，块会被该输出流之后的写入复用，返回的缓冲中的数据不再有效。
+     *
+     * @return 该输出流中已经写入的数据的块序列。
+     */
+    public ByteBuffer[] toByteBuffers() {
+        ByteBuffer[] buffers = new ByteBuffer[chunks.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            ByteBuffer buffer = chunks.get(i).asReadOnlyBuffer();
+            buffer.flip();
+            buffers[i] = buffer;
+        }
+        return buffers;
+    }
+
+    /**
+     * 以数组的形式返回该输出流中已经写入的数据。
+     *
+     * @return 该输出流中已经写入的数据。
+     * @throws OutOfMemoryError 写入的数据超过了数组的最大长度。
+     */
+    public byte[] toByteArray() {
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError();
+        }
+        byte[] bytes = new byte[(int) size];
+        int offset = 0;
+        for (ByteBuffer buffer : toByteBuffers()) {
+            int length = buffer.remaining();
+            buffer.get(bytes, offset, length);
+            offset += length;
+        }
+        return bytes;
+    }
+
+    /**
+     * 将该输出流中已经写入的数据以聚集写的方式写入指定的通道。
+     *
+     * <p>
+     * 该方法会一直写入，直到所有的数据都被写入通道为止，因此指定的通道应当处于阻塞模式。<br>
+     * 写入不会改变该输出流中的数据，该方法可以被多次调用。
+     *
+     * @param channel 指定的通道。
+     * @return 写入通道的字节数。
+     * @throws IOException          通道写入时发生的 IO 异常。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     */
+    public long writeTo(GatheringByteChannel channel) throws IOException {
+        Objects.requireNonNull(channel,
+                DwarfUtil.getExceptionString(ExceptionStringKey.CHUNKEDBYTEBUFFEROUTPUTSTREAM_1));
+
+        ByteBuffer[] buffers = toByteBuffers();
+        int offset = 0;
+        long total = 0;
+        while (offset < buffers.length) {
+            total += channel.write(buffers, offset, buffers.length - offset);
+            while (offset < buffers.length && !buffers[offset].hasRemaining()) {
+                offset++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 将该输出流中已经写入的数据写入指定的输出流。
+     *
+     * <p>
+     * 写入不会改变该输出流中的数据，该方法可以被多次调用。
+     *
+     * @param out 指定的输出流。
+     * @throws IOException          输出流写入时发生的 IO 异常。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        Objects.requireNonNull(out, DwarfUtil.getExceptionString(ExceptionStringKey.CHUNKEDBYTEBUFFEROUTPUTSTREAM_2));
+
+        for (ByteBuffer buffer : toByteBuffers()) {
+            IOUtil.trans(new ByteBufferInputStream(buffer, false), out);
+        }
+    }
+
+    /**
+     * 清空该输出流中的数据，并将所有的块归还到该输出流的块池中。
+     *
+     * <p>
+     * 调用该方法之后，之前通过 {@link #toByteBuffers()} 获取的缓冲中的数据不再有效。<br>
+     * 该输出流在调用该方法之后依然可以继续使用，之后的写入会复用归还的块。
+     */
+    public void reset() {
+        freeChunks.addAll(chunks);
+        chunks.clear();
+        current = null;
+        size = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * 该方法不会释放任何块，写入的数据在输出流关闭后依然可以访问。
+     */
+    @Override
+    public void close() {
+    }
+
+    private ByteBuffer ensureCurrent() {
+        if (Objects.isNull(current) || !current.hasRemaining()) {
+            current = acquireChunk();
+            chunks.add(current);
+        }
+        return current;
+    }
+
+    private ByteBuffer acquireChunk() {
+        ByteBuffer chunk = freeChunks.pollFirst();
+        if (Objects.nonNull(chunk)) {
+            chunk.clear();
+            return chunk;
+        }
+        return direct ? ByteBuffer.allocateDirect(chunkSize) : ByteBuffer.allocate(chunkSize);
+    }
+}
@@ -6,15 +6,23 @@ import com.dwarfeng.dutil.basic.ExceptionStringKey;
 import java.io.*;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * 实现文件操作的类。
  *
  * <p>
- * 实现的文件操作目前为复制。
+ * 实现的文件操作目前为复制、删除、创建与列举。
  *
  * @author DwArFeng
  * @since 0.0.2-beta
@@ -29,6 +37,27 @@ public final class FileUtil {
      */
     private static final int FILE_COPY_BUFFER_SIZE = 2097152;
 
+    /**
+     * 文件复制时缓冲池中保留的缓冲的最大数量。
+     */
+    private static final int FILE_COPY_BUFFER_POOL_LIMIT = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 文件复制时使用的直接缓冲池。
+     *
+     * <p>
+     * 只有在操作系统不支持零拷贝传输时才会使用缓冲，缓冲在使用后归还到池中，避免反复开辟直接内存。
+     */
+    private static final Queue<ByteBuffer> FILE_COPY_BUFFER_POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger FILE_COPY_BUFFER_POOL_COUNT = new AtomicInteger();
+
+    /**
+     * 分块复制文件时默认的块大小。
+     *
+     * @since 0.4.3.a-beta
+     */
+    public static final long DEFAULT_FILE_COPY_CHUNK_SIZE = 64L * 1024 * 1024;
+
     /**
      * 将一个文件复制到另一个文件。
      *
@@ -57,33 +86,231 @@ public final class FileUtil {
 
         // 如果 target 不存在，则创建 target 以及其目录（有必要的话）。
         createFileIfNotExists(target);
-        // 定义缓冲大小。
-        int bufferSize = FILE_COPY_BUFFER_SIZE;
-        int length;
-        // 创建输入输出流。
-        FileInputStream in = new FileInputStream(source);
-        FileOutputStream out = new FileOutputStream(target);
-        // 获取通道。
-        FileChannel inFileChannel = in.getChannel();
-        FileChannel outFileChannel = out.getChannel();
-        // 定义字节缓冲。
-        ByteBuffer buffer;
-        while (true) {
-            // 判断完成。
-            if (inFileChannel.position() == inFileChannel.size()) {
-                in.close();
-                out.close();
-                inFileChannel.close();
-                outFileChannel.close();
-                return;
+        try (
+                FileChannel inChannel = FileChannel.open(source.toPath(), StandardOpenOption.READ);
+                FileChannel outChannel = FileChannel.open(
+                        target.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING
+                )
+        ) {
+            transfer(inChannel, outChannel, 0, inChannel.size());
+        }
+    }
+
+    /**
+     * 将一个文件分块并行地复制到另一个文件，每一块的大小为 {@link #DEFAULT_FILE_COPY_CHUNK_SIZE}。
+     *
+     * @param source          需要复制的源文件。
+     * @param target          需要复制到的目标文件。
+     * @param executorService 执行分块复制的执行器。
+     * @throws IOException          复制过程中 IO 发生异常时抛出的异常。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     * @see #fileCopy(File, File, ExecutorService, long)
+     * @since 0.4.3.a-beta
+     */
+    public static void fileCopy(File source, File target, ExecutorService executorService) throws IOException {
+        fileCopy(source, target, executorService, DEFAULT_FILE_COPY_CHUNK_SIZE);
+    }
+
+    /**
+     * 将一个文件分块并行地复制到另一个文件。
+     *
+     * <p>
+     * 源文件会被划分为大小为 <code>chunkSize</code> 的若干块，每一块作为一个任务提交到指定的执行器中，
+     * 由各自的通道在对应的位置上进行复制。该方法会阻塞，直到所有的块复制完成。<br>
+     * 如果源文件的大小不超过一块，则直接在调用线程中复制。
+     *
+     * <p>
+     * 注意：不要在指定的执行器的线程中调用该方法，否则在执行器的线程数有限时可能发生死锁。
+     *
+     * @param source          需要复制的源文件。
+     * @param target          需要复制到的目标文件。
+     * @param executorService 执行分块复制的执行器。
+     * @param chunkSize       每一块的字节数。
+     * @throws IOException              复制过程中 IO 发生异常时抛出的异常。
+     * @throws NullPointerException     入口参数为 <code>null</code>。
+     * @throws IllegalArgumentException 每一块的字节数不为正数。
+     * @since 0.4.3.a-beta
+     */
+    public static void fileCopy(File source, File target, ExecutorService executorService, long chunkSize)
+            throws IOException {
+        Objects.requireNonNull(source, DwarfUtil.getExceptionString(ExceptionStringKey.FILEUTIL_1));
+        Objects.requireNonNull(target, DwarfUtil.getExceptionString(ExceptionStringKey.FILEUTIL_2));
+        Objects.requireNonNull(executorService, DwarfUtil.getExceptionString(ExceptionStringKey.FILEUTIL_4));
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.FILEUTIL_5));
+        }
+
+        long size = source.length();
+        if (size <= chunkSize) {
+            fileCopy(source, target);
+            return;
+        }
+
+        createFileIfNotExists(target);
+        try (
+                FileChannel inChannel = FileChannel.open(source.toPath(), StandardOpenOption.READ);
+                RandomAccessFile targetFile = new RandomAccessFile(target, "rw")
+        ) {
+            // 预先设置目标文件的大小，各个块在各自的位置上写入。
+            targetFile.setLength(size);
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (long position = 0; position < size; position += chunkSize) {
+                final long chunkPosition = position;
+                final long chunkLength = Math.min(chunkSize, size - position);
+                futures.add(executorService.submit(() -> {
+                    try (FileChannel outChannel = FileChannel.open(target.toPath(), StandardOpenOption.WRITE)) {
+                        outChannel.position(chunkPosition);
+                        transfer(inChannel, outChannel, chunkPosition, chunkLength);
+                    }
+                    return null;
+                }));
             }
-            // 开辟字节缓冲。
-            length = (int) (inFileChannel.size() - inFileChannel.position() < bufferSize ? inFileChannel.size() - inFileChannel.position() : bufferSize);
-            buffer = ByteBuffer.allocateDirect(length);
-            // 复制数据。
-            inFileChannel.read(buffer);
-            buffer.flip();
-            int ignored = outFileChannel.write(buffer);
+            awaitAll(futures);
+        }
+    }
+
+    /**
+     * 将一个文件夹（包括文件夹中的所有文件、子文件夹、子文件夹中的文件等等）复制到另一个文件夹中。
+     *
+     * <p>
+     * 目录结构在调用线程中依次创建，文件的复制作为任务提交到指定的执行器中并发执行。
+     * 该方法会阻塞，直到所有的文件复制完成。<br>
+     * 如果源文件是标准文件，则该方法等同于 {@link #fileCopy(File, File)}。
+     *
+     * <p>
+     * 注意：不要在指定的执行器的线程中调用该方法，否则在执行器的线程数有限时可能发生死锁。
+     *
+     * @param source          需要复制的源文件夹。
+     * @param target          需要复制到的目标文件夹。
+     * @param executorService 执行文件复制的执行器。
+     * @throws IOException          复制过程中 IO 发生异常时抛出的异常。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     * @since 0.4.3.a-beta
+     */
+    public static void copyTree(File source, File target, ExecutorService executorService) throws IOException {
+        Objects.requireNonNull(source, DwarfUtil.getExceptionString(ExceptionStringKey.FILEUTIL_1));
+        Objects.requireNonNull(target, DwarfUtil.getExceptionString(ExceptionStringKey.FILEUTIL_2));
+        Objects.requireNonNull(executorService, DwarfUtil.getExceptionString(ExceptionStringKey.FILEUTIL_4));
+
+        if (!source.isDirectory()) {
+            fileCopy(source, target);
+            return;
+        }
+
+        Path sourcePath = source.toPath();
+        Path targetPath = target.toPath();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            Files.walkFileTree(sourcePath, new SimpleFileVisitor<Path>() {
+
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    Files.createDirectories(targetPath.resolve(sourcePath.relativize(dir)));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    File targetFile = targetPath.resolve(sourcePath.relativize(file)).toFile();
+                    futures.add(executorService.submit(() -> {
+                        fileCopy(file.toFile(), targetFile);
+                        return null;
+                    }));
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } finally {
+            // 即使遍历失败，也要等待已经提交的复制任务结束。
+            awaitAll(futures);
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) throws IOException {
+        IOException exception = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exception = mergeException(exception, new InterruptedIOException());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                exception = mergeException(exception,
+                        cause instanceof IOException ? (IOException) cause : new IOException(cause));
+            }
+        }
+        if (Objects.nonNull(exception)) {
+            throw exception;
+        }
+    }
+
+    private static IOException mergeException(IOException exception, IOException newException) {
+        if (Objects.isNull(exception)) {
+            return newException;
+        }
+        exception.addSuppressed(newException);
+        return exception;
+    }
+
+    /**
+     * 将源通道中指定位置开始的数据复制到目标通道的当前位置。
+     *
+     * <p>
+     * 优先使用 {@link FileChannel#transferTo(long, long, WritableByteChannel)} 进行零拷贝传输；
+     * 如果操作系统不支持零拷贝（<code>transferTo</code> 无法传输任何数据），则借用缓冲池中的直接缓冲进行复制。
+     */
+    private static void transfer(FileChannel in, FileChannel out, long position, long count) throws IOException {
+        long end = position + count;
+        while (position < end) {
+            long transferred = in.transferTo(position, end - position, out);
+            if (transferred <= 0) {
+                break;
+            }
+            position += transferred;
+        }
+        if (position >= end) {
+            return;
+        }
+
+        ByteBuffer buffer = borrowBuffer();
+        try {
+            while (position < end) {
+                buffer.clear();
+                if (end - position < buffer.capacity()) {
+                    buffer.limit((int) (end - position));
+                }
+                int read = in.read(buffer, position);
+                if (read < 0) {
+                    // 源文件在复制期间被截断。
+                    break;
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                position += read;
+            }
+        } finally {
+            returnBuffer(buffer);
+        }
+    }
+
+    private static ByteBuffer borrowBuffer() {
+        ByteBuffer buffer = FILE_COPY_BUFFER_POOL.poll();
+        if (Objects.isNull(buffer)) {
+            return ByteBuffer.allocateDirect(FILE_COPY_BUFFER_SIZE);
+        }
+        FILE_COPY_BUFFER_POOL_COUNT.decrementAndGet();
+        return buffer;
+    }
+
+    private static void returnBuffer(ByteBuffer buffer) {
+        // 池中缓冲的数量有上限，多余的缓冲交由垃圾回收器释放。
+        if (FILE_COPY_BUFFER_POOL_COUNT.incrementAndGet() <= FILE_COPY_BUFFER_POOL_LIMIT) {
+            FILE_COPY_BUFFER_POOL.offer(buffer);
+        } else {
+            FILE_COPY_BUFFER_POOL_COUNT.decrementAndGet();
         }
     }
 
@@ -120,6 +347,62 @@ public final class FileUtil {
         return file.delete();
     }
 
+    /**
+     * 使用指定的 {@link ForkJoinPool} 并行删除文件/文件夹。
+     *
+     * <p>
+     * 如果目标文件是标准文件的话，则删除该文件。<br>
+     * 如果目标文件是文件夹的话，该方法首先通过 {@link #walk(File)} 并行删除文件夹中的所有标准文件，
+     * 再按照深度从深到浅的顺序依次删除所有的子文件夹，最后删除文件夹自身。
+     *
+     * <p>
+     * 与 {@link #deleteFile(File)} 不同，该方法在某个文件删除失败时不会立即停止，而是会尽可能多地删除文件，
+     * 最后通过返回值报告删除是否完全成功。
+     *
+     * @param file         目标文件或文件夹。
+     * @param forkJoinPool 执行删除的线程池。
+     * @return 文件或文件夹是否删除。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     * @since 0.4.3.a-beta
+     */
+    public static boolean deleteFile(File file, ForkJoinPool forkJoinPool) {
+        Objects.requireNonNull(file, DwarfUtil.getExceptionString(ExceptionStringKey.FILEUTIL_0));
+        Objects.requireNonNull(forkJoinPool, DwarfUtil.getExceptionString(ExceptionStringKey.FILEUTIL_6));
+
+        if (!Files.isDirectory(file.toPath(), LinkOption.NOFOLLOW_LINKS)) {
+            return file.delete();
+        }
+
+        AtomicBoolean success = new AtomicBoolean(true);
+        List<Path> directories;
+        try (Stream<Path> stream = walk(file)) {
+            // 在指定的线程池中执行终端操作，并行流的子任务会被派发到该线程池中。
+            directories = forkJoinPool.submit(() -> stream.parallel().filter(path -> {
+                if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                    return true;
+                }
+                if (!path.toFile().delete()) {
+                    success.set(false);
+                }
+                return false;
+            }).collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        }
+
+        // 子文件夹一定比父文件夹更深，按照深度降序删除即可保证删除时文件夹为空。
+        directories.sort(Comparator.comparingInt(Path::getNameCount).reversed());
+        for (Path directory : directories) {
+            if (!directory.toFile().delete()) {
+                success.set(false);
+            }
+        }
+        return success.get();
+    }
+
     /**
      * 如果指定的文件不存在，则尝试新建文件的方法。
      *
@@ -144,13 +427,14 @@ public final class FileUtil {
         // 如果父目录不存在，则创建父目录。
         if (Objects.nonNull(parentFile) && !parentFile.exists()) {
             boolean flag = parentFile.mkdirs();
-            if (!flag) {
+            // 父目录可能在此期间被其它线程创建，此时同样视为成功。
+            if (!flag && !parentFile.isDirectory()) {
                 throw new IllegalStateException("flag should be true");
             }
         }
         // 创建文件。
         boolean flag = file.createNewFile();
-        if (!flag) {
+        if (!flag && !file.exists()) {
             throw new IllegalStateException("flag should be true");
         }
     }
@@ -233,6 +517,281 @@ public final class FileUtil {
         }
     }
 
+    /**
+     * 惰性地遍历一个文件夹中的所有文件，包括子文件夹下的文件。
+     *
+     * <p>
+     * 与 {@link #listAllFile(File)} 不同，该方法不会一次性地将所有文件读入数组，而是在流被消费时逐个目录地读取，
+     * 内存中只保留尚未遍历的文件夹。<br>
+     * 返回的流支持并行处理，并行时尚未遍历的文件夹以及已经读出的目录条目会被拆分给不同的线程，
+     * 拆分时被读出的目录条目也会保留在内存中。
+     *
+     * <p>
+     * 如果指定的文件不是文件夹，则流中只包含自己。<br>
+     * 遍历不会跟随符号链接，流中元素的顺序是不确定的。
+     *
+     * <p>
+     * 返回的流持有打开的目录，应当在 try-with-resources 语句中使用，以保证目录被及时关闭。<br>
+     * 遍历时发生的 IO 异常会被包装为 {@link UncheckedIOException} 抛出。
+     *
+     * @param file 指定的文件。
+     * @return 指定的文件下的所有文件构成的流。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     * @since 0.4.3.a-beta
+     */
+    public static Stream<Path> walk(File file) {
+        return walk(file, null);
+    }
+
+    /**
+     * 惰性地遍历一个文件夹中的所有符合过滤器的文件，包括子文件夹下的文件。
+     *
+     * <p>
+     * 与 {@link #listAllFile(File, FileFilter)} 不同，过滤器在遍历时即被应用：
+     * 不被过滤器接受的文件夹不会出现在流中，也不会被进入，其中的文件均不会被读取。
+     *
+     * <p>
+     * 其余的行为与 {@link #walk(File)} 相同。
+     *
+     * @param file   指定的文件。
+     * @param filter 指定的过滤器，如果为 <code>null</code>，则接受所有文件。
+     * @return 指定的文件下的所有符合要求的文件构成的流。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     * @since 0.4.3.a-beta
+     */
+    public static Stream<Path> walk(File file, FileFilter filter) {
+        Objects.requireNonNull(file, DwarfUtil.getExceptionString(ExceptionStringKey.FILEUTIL_0));
+
+        WalkContext context = new WalkContext(filter);
+        return StreamSupport.stream(new WalkSpliterator(context, file.toPath()), false).onClose(context::close);
+    }
+
+    /**
+     * 遍历的共享上下文。
+     *
+     * <p>
+     * 拆分出的所有遍历器共享同一个上下文，流关闭时由上下文关闭所有仍然打开的目录。
+     */
+    private static final class WalkContext {
+
+        private final FileFilter filter;
+        private final Set<DirectoryStream<Path>> openStreams = ConcurrentHashMap.newKeySet();
+
+        public WalkContext(FileFilter filter) {
+            this.filter = filter;
+        }
+
+        public boolean accept(Path path) {
+            return Objects.isNull(filter) || filter.accept(path.toFile());
+        }
+
+        public DirectoryStream<Path> open(Path directory) {
+            try {
+                DirectoryStream<Path> stream = Files.newDirectoryStream(directory);
+                openStreams.add(stream);
+                return stream;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public void close(DirectoryStream<Path> stream) {
+            openStreams.remove(stream);
+            try {
+                stream.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public void close() {
+            IOException exception = null;
+            for (DirectoryStream<Path> stream : openStreams) {
+                try {
+                    stream.close();
+                } catch (IOException e) {
+                    exception = mergeException(exception, e);
+                }
+            }
+            openStreams.clear();
+            if (Objects.nonNull(exception)) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+    }
+
+    /**
+     * 遍历文件夹的可拆分遍历器。
+     *
+     * <p>
+     * 遍历器每次只打开一个目录，目录中被接受的子文件夹压入待遍历的栈中；
+     * 拆分时，栈底（通常也是较浅、子树较大的）一半文件夹交给新的遍历器。<br>
+     * 待遍历的文件夹不足以拆分时（如遍历刚开始时），遍历器会读出当前目录（或者下一个待遍历的文件夹）中剩余的全部条目，
+     * 并将其中的一半交给新的遍历器，从而保证并行流在开始时即可拆分。
+     */
+    private static final class WalkSpliterator implements Spliterator<Path> {
+
+        private final WalkContext context;
+        private final Deque<Path> pendingEntries = new ArrayDeque<>();
+        private final Deque<Path> pendingDirectories = new ArrayDeque<>();
+
+        private Path root;
+        private boolean rootExpanded = false;
+        private DirectoryStream<Path> currentStream = null;
+        private Iterator<Path> currentIterator = null;
+
+        public WalkSpliterator(WalkContext context, Path root) {
+            this.context = context;
+            this.root = root;
+        }
+
+        private WalkSpliterator(WalkContext context, Collection<Path> entries, Collection<Path> directories) {
+            this.context = context;
+            this.root = null;
+            this.pendingEntries.addAll(entries);
+            this.pendingDirectories.addAll(directories);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Path> action) {
+            if (Objects.nonNull(root)) {
+                Path path = root;
+                root = null;
+                // 已经展开的根目录在展开时已被接受，其子文件也已经读出，直接交给动作即可。
+                if (rootExpanded) {
+                    action.accept(path);
+                    return true;
+                }
+                if (offer(path, action)) {
+                    return true;
+                }
+            }
+            while (true) {
+                if (!pendingEntries.isEmpty()) {
+                    if (offer(pendingEntries.pollFirst(), action)) {
+                        return true;
+                    }
+                    continue;
+                }
+                if (Objects.nonNull(currentIterator)) {
+                    Path path;
+                    try {
+                        if (!currentIterator.hasNext()) {
+                            closeCurrent();
+                            continue;
+                        }
+                        path = currentIterator.next();
+                    } catch (DirectoryIteratorException e) {
+                        closeCurrent();
+                        throw new UncheckedIOException(e.getCause());
+                    }
+                    if (offer(path, action)) {
+                        return true;
+                    }
+                    continue;
+                }
+                Path directory = pendingDirectories.pollFirst();
+                if (Objects.isNull(directory)) {
+                    return false;
+                }
+                currentStream = context.open(directory);
+                currentIterator = currentStream.iterator();
+            }
+        }
+
+        private boolean offer(Path path, Consumer<? super Path> action) {
+            if (!context.accept(path)) {
+                return false;
+            }
+            if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                pendingDirectories.offerFirst(path);
+            }
+            action.accept(path);
+            return true;
+        }
+
+        private void closeCurrent() {
+            DirectoryStream<Path> stream = currentStream;
+            currentStream = null;
+            currentIterator = null;
+            context.close(stream);
+        }
+
+        private void expandRoot() {
+            if (!context.accept(root)) {
+                root = null;
+                return;
+            }
+            if (Files.isDirectory(root, LinkOption.NOFOLLOW_LINKS)) {
+                rootExpanded = true;
+                currentStream = context.open(root);
+                currentIterator = currentStream.iterator();
+                drainCurrent();
+            }
+        }
+
+        private void expandDirectory() {
+            if (Objects.isNull(currentIterator)) {
+                Path directory = pendingDirectories.pollFirst();
+                if (Objects.isNull(directory)) {
+                    return;
+                }
+                currentStream = context.open(directory);
+                currentIterator = currentStream.iterator();
+            }
+            drainCurrent();
+        }
+
+        private void drainCurrent() {
+            try {
+                while (currentIterator.hasNext()) {
+                    pendingEntries.offerLast(currentIterator.next());
+                }
+            } catch (DirectoryIteratorException e) {
+                throw new UncheckedIOException(e.getCause());
+            } finally {
+                closeCurrent();
+            }
+        }
+
+        @Override
+        public Spliterator<Path> trySplit() {
+            if (Objects.nonNull(root) && !rootExpanded) {
+                expandRoot();
+            }
+            // 当前目录尚未遍历完时，栈中的一个文件夹也可以被拆分出去。
+            int directoryCount = Objects.nonNull(currentIterator)
+                    ? (pendingDirectories.size() + 1) / 2 : pendingDirectories.size() / 2;
+            if (directoryCount <= 0 && pendingEntries.size() < 2) {
+                expandDirectory();
+                directoryCount = pendingDirectories.size() / 2;
+            }
+            int entryCount = pendingEntries.size() / 2;
+            if (directoryCount + entryCount <= 0) {
+                return null;
+            }
+            List<Path> entries = new ArrayList<>(entryCount);
+            for (int i = 0; i < entryCount; i++) {
+                entries.add(pendingEntries.pollLast());
+            }
+            List<Path> directories = new ArrayList<>(directoryCount);
+            for (int i = 0; i < directoryCount; i++) {
+                directories.add(pendingDirectories.pollLast());
+            }
+            return new WalkSpliterator(context, entries, directories);
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return DISTINCT | NONNULL;
+        }
+    }
+
     private FileUtil() {
         throw new IllegalStateException(DwarfUtil.getExceptionString(ExceptionStringKey.FILEUTIL_3));
     }
@@ -3,9 +3,10 @@ package com.dwarfeng.dutil.basic.io;
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
 
 /**
  * 与 IO 接口有关的一些功能。
@@ -15,6 +16,31 @@ import java.io.OutputStream;
  */
 public final class IOUtil {
 
+    /**
+     * 数据传送时默认的缓冲大小。
+     *
+     * @since 0.4.3.a-beta
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * 自适应数据传送时缓冲的最小大小。
+     */
+    private static final int MIN_BUFFER_SIZE = 512;
+
+    /**
+     * 自适应数据传送时缓冲的最大大小，同时也是每个线程缓存的缓冲的最大大小。
+     */
+    private static final int MAX_BUFFER_SIZE = 262144;
+
+    /**
+     * 每个线程缓存的缓冲。
+     *
+     * <p>
+     * 缓冲在使用时从线程中取出，使用完毕后再放回，因此嵌套的数据传送不会使用同一个缓冲。
+     */
+    private static final ThreadLocal<byte[]> BUFFER_CACHE = new ThreadLocal<>();
+
     /**
      * 数据传送方法。
      *
@@ -22,19 +48,140 @@ public final class IOUtil {
      * 将一个输入流中的所有数据传递给一个输出流。<br>
      * 注意：该方法不会主动关闭 <code>in</code> 或者 <code>out</code>，需要调用额外的关闭方法关闭指定的输入流和输出流。
      *
+     * <p>
+     * 该方法根据输入流的 {@link InputStream#available()} 自动决定缓冲的大小，其余行为与
+     * {@link #trans(InputStream, OutputStream, int)} 相同。
+     *
+     * @param in  指定的输入流。
+     * @param out 指定的输出流。
+     * @throws IOException 当数据无法读取或数据无法写入时抛出的异常。
+     * @since 0.4.3.a-beta
+     */
+    public static void trans(InputStream in, OutputStream out) throws IOException {
+        trans(in, out, 0);
+    }
+
+    /**
+     * 数据传送方法。
+     *
+     * <p>
+     * 将一个输入流中的所有数据传递给一个输出流。<br>
+     * 注意：该方法不会主动关闭 <code>in</code> 或者 <code>out</code>，需要调用额外的关闭方法关闭指定的输入流和输出流。
+     *
+     * <p>
+     * 对于以下的情形，数据不经过缓冲直接传递：
+     * <ul>
+     * <li>从 {@link FileInputStream} 传递到 {@link FileOutputStream}，使用 {@link FileChannel#transferTo(long, long,
+     * java.nio.channels.WritableByteChannel)} 传递；输入流不可定位（如管道、FIFO）时使用缓冲传递。</li>
+     * <li>从 {@link ByteBufferInputStream} 传递，直接写出其中的 {@link ByteBuffer}。</li>
+     * </ul>
+     * 其它的情形使用缓冲传递，缓冲优先从当前线程缓存的缓冲中获取，避免每次调用都开辟新的数组。
+     *
      * @param in         指定的输入流。
      * @param out        指定的输出流。
-     * @param bufferSize 指定的缓冲的大小。
+     * @param bufferSize 指定的缓冲的大小，小于等于 0 时根据输入流的 {@link InputStream#available()} 自动决定。
      * @throws IOException 当数据无法读取或数据无法写入时抛出的异常。
      */
     public static void trans(InputStream in, OutputStream out, int bufferSize) throws IOException {
         if (in == null || out == null) {
             throw new NullPointerException("InputStream or OutputStream can't be null");
         }
-        byte[] buffer = new byte[bufferSize];
-        int i;
-        while ((i = in.read(buffer, 0, buffer.length)) >= 0) {
-            out.write(buffer, 0, i);
+
+        // 只对确切的类型使用快速路径，子类可能重写了读写的行为。
+        if (in.getClass() == ByteBufferInputStream.class) {
+            transByteBuffer(((ByteBufferInputStream) in).getByteBuffer(), out);
+            return;
+        }
+        if (in.getClass() == FileInputStream.class && out.getClass() == FileOutputStream.class) {
+            transFileChannel(((FileInputStream) in).getChannel(), ((FileOutputStream) out).getChannel());
+            // 传递期间文件可能增长，剩余的数据交给缓冲传递。
+        }
+
+        byte[] buffer = borrowBuffer(bufferSize > 0 ? bufferSize : adaptiveBufferSize(in));
+        try {
+            int i;
+            while ((i = in.read(buffer, 0, buffer.length)) >= 0) {
+                out.write(buffer, 0, i);
+            }
+        } finally {
+            returnBuffer(buffer);
+        }
+    }
+
+    private static void transFileChannel(FileChannel in, FileChannel out) throws IOException {
+        long position;
+        long size;
+        try {
+            position = in.position();
+            size = in.size();
+        } catch (IOException e) {
+            // 管道、FIFO 等不可定位的文件不支持获取位置与大小，数据全部交给缓冲传递。
+            return;
+        }
+        while (position < size) {
+            long count = in.transferTo(position, size - position, out);
+            if (count <= 0) {
+                break;
+            }
+            position += count;
+        }
+        // transferTo 不会改变通道的位置，需要手动更新，使输入流的状态与读取了数据后一致。
+        in.position(position);
+    }
+
+    private static void transByteBuffer(ByteBuffer byteBuffer, OutputStream out) throws IOException {
+        if (out.getClass() == FileOutputStream.class) {
+            FileChannel channel = ((FileOutputStream) out).getChannel();
+            while (byteBuffer.hasRemaining()) {
+                channel.write(byteBuffer);
+            }
+            return;
+        }
+        if (byteBuffer.hasArray()) {
+            int position = byteBuffer.position();
+            int remaining = byteBuffer.remaining();
+            out.write(byteBuffer.array(), byteBuffer.arrayOffset() + position, remaining);
+            byteBuffer.position(position + remaining);
+            return;
+        }
+        byte[] buffer = borrowBuffer(Math.min(Math.max(byteBuffer.remaining(), MIN_BUFFER_SIZE), MAX_BUFFER_SIZE));
+        try {
+            while (byteBuffer.hasRemaining()) {
+                int length = Math.min(buffer.length, byteBuffer.remaining());
+                byteBuffer.get(buffer, 0, length);
+                out.write(buffer, 0, length);
+            }
+        } finally {
+            returnBuffer(buffer);
+        }
+    }
+
+    private static int adaptiveBufferSize(InputStream in) throws IOException {
+        int available = in.available();
+        if (available <= 0) {
+            return DEFAULT_BUFFER_SIZE;
+        }
+        // 多出的一个字节使得流结束的标志可以在读完所有数据之后的一次读取中获得。
+        long size = (long) available + 1;
+        return (int) Math.min(Math.max(size, MIN_BUFFER_SIZE), MAX_BUFFER_SIZE);
+    }
+
+    private static byte[] borrowBuffer(int size) {
+        byte[] buffer = BUFFER_CACHE.get();
+        if (Objects.nonNull(buffer) && buffer.length >= size) {
+            BUFFER_CACHE.remove();
+            return buffer;
+        }
+        return new byte[size];
+    }
+
+    private static void returnBuffer(byte[] buffer) {
+        if (buffer.length > MAX_BUFFER_SIZE) {
+            return;
+        }
+        byte[] cached = BUFFER_CACHE.get();
+        if (Objects.isNull(cached) || cached.length < buffer.length) {
+            BUFFER_CACHE.set(buffer);
         }
     }
 
@@ -0,0 +1,313 @@
+package com.dwarfeng.dutil.basic.io;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * 插件索引。
+ *
+ * <p>
+ * 该类由 {@link PluginLoader} 内部使用，负责扫描 jar 包中的类文件头，并将扫描的结果持久化到索引文件中。
+ *
+ * <p>
+ * 类文件头的扫描只读取类文件开头的常量池、类名、父类名以及接口名，不会加载或者初始化任何类。<br>
+ * 索引以 jar 包的散列值为键，散列值根据 jar 包中央目录中每个条目的名称、大小以及 CRC 校验值计算，
+ * 计算时不需要解压任何条目；散列值不变的 jar 包在下一次扫描时直接使用索引中的结果。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+final class PluginIndex {
+
+    private static final int INDEX_MAGIC = 0x44504958;
+    private static final int INDEX_VERSION = 1;
+
+    private static final int CLASS_MAGIC = 0xCAFEBABE;
+
+    private final File indexFile;
+    private final Map<String, List<ClassHeader>> entries = new HashMap<>();
+
+    /**
+     * 新实例。
+     *
+     * @param indexFile 索引文件，为 <code>null</code> 时不使用索引文件。
+     */
+    PluginIndex(File indexFile) {
+        this.indexFile = indexFile;
+
+        if (Objects.nonNull(indexFile) && indexFile.isFile()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+                readIndex(in);
+            } catch (IOException e) {
+                // 索引文件损坏时当作空索引处理，所有的 jar 包都会被重新扫描。
+                entries.clear();
+            }
+        }
+    }
+
+    /**
+     * 获取指定散列值对应的 jar 包的扫描结果。
+     *
+     * @param hash jar 包的散列值。
+     * @return 扫描结果，索引中不存在时返回 <code>null</code>。
+     */
+    synchronized List<ClassHeader> get(String hash) {
+        return entries.get(hash);
+    }
+
+    /**
+     * 保存 jar 包的扫描结果，并将索引写入索引文件。
+     *
+     * <p>
+     * 索引中只保留指定的扫描结果，不再存在的 jar 包的扫描结果会被移除。
+     *
+     * @param results jar 包的散列值与扫描结果组成的映射。
+     * @throws IOException 写入索引文件时发生的 IO 异常。
+     */
+    synchronized void save(Map<String, List<ClassHeader>> results) throws IOException {
+        boolean changed = !entries.equals(results);
+        entries.clear();
+        entries.putAll(results);
+
+        if (Objects.isNull(indexFile) || !changed) {
+            return;
+        }
+        File parentFile = indexFile.getAbsoluteFile().getParentFile();
+        if (Objects.nonNull(parentFile) && !parentFile.mkdirs() && !parentFile.isDirectory()) {
+            throw new IOException("unable to create directory " + parentFile);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile)))) {
+            writeIndex(out);
+        }
+    }
+
+    private void readIndex(DataInputStream in) throws IOException {
+        if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) {
+            throw new IOException("unknown index format");
+        }
+        int jarCount = in.readInt();
+        for (int i = 0; i < jarCount; i++) {
+            String hash = in.readUTF();
+            int classCount = in.readInt();
+            List<ClassHeader> headers = new ArrayList<>(classCount);
+            for (int j = 0; j < classCount; j++) {
+                String name = in.readUTF();
+                String superName = in.readBoolean() ? in.readUTF() : null;
+                String[] interfaceNames = new String[in.readUnsignedShort()];
+                for (int k = 0; k < interfaceNames.length; k++) {
+                    interfaceNames[k] = in.readUTF();
+                }
+                headers.add(new ClassHeader(name, superName, interfaceNames));
+            }
+            entries.put(hash, headers);
+        }
+    }
+
+    private void writeIndex(DataOutputStream out) throws IOException {
+        out.writeInt(INDEX_MAGIC);
+        out.writeInt(INDEX_VERSION);
+        out.writeInt(entries.size());
+        for (Map.Entry<String, List<ClassHeader>> entry : entries.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (ClassHeader header : entry.getValue()) {
+                out.writeUTF(header.name);
+                out.writeBoolean(Objects.nonNull(header.superName));
+                if (Objects.nonNull(header.superName)) {
+                    out.writeUTF(header.superName);
+                }
+                out.writeShort(header.interfaceNames.length);
+                for (String interfaceName : header.interfaceNames) {
+                    out.writeUTF(interfaceName);
+                }
+            }
+        }
+    }
+
+    /**
+     * 计算 jar 包的散列值。
+     *
+     * @param jarFile jar 包。
+     * @return jar 包的散列值。
+     */
+    static String hash(JarFile jarFile) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            // 每个 Java 平台的实现都必须支持 SHA-1。
+            throw new IllegalStateException(e);
+        }
+        Enumeration<JarEntry> je = jarFile.entries();
+        while (je.hasMoreElements()) {
+            JarEntry entry = je.nextElement();
+            digest.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+            digest.update(longToBytes(entry.getSize()));
+            digest.update(longToBytes(entry.getCrc()));
+        }
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    private static byte[] longToBytes(long l) {
+        byte[] bytes = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            bytes[i] = (byte) l;
+            l >>= 8;
+        }
+        return bytes;
+    }
+
+    /**
+     * 扫描 jar 包中所有类文件的文件头。
+     *
+     * @param jarFile jar 包。
+     * @return 扫描结果。
+     */
+    static List<ClassHeader> scan(JarFile jarFile) {
+        List<ClassHeader> headers = new ArrayList<>();
+        Enumeration<JarEntry> je = jarFile.entries();
+        while (je.hasMoreElements()) {
+            JarEntry entry = je.nextElement();
+            if (entry.isDirectory() || !entry.getName().endsWith(".class")) {
+                continue;
+            }
+            try (InputStream in = jarFile.getInputStream(entry)) {
+                ClassHeader header = readHeader(new DataInputStream(new BufferedInputStream(in)));
+                if (Objects.nonNull(header)) {
+                    headers.add(header);
+                }
+            } catch (IOException | RuntimeException e) {
+                CT.trace("Exception occured while reading class header : " + entry.getName());
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * 读取类文件的文件头。
+     *
+     * @param in 类文件的输入流。
+     * @return 类文件的文件头，如果类文件是模块描述或者格式不正确，则返回 <code>null</code>。
+     * @throws IOException 读取时发生的 IO 异常。
+     */
+    static ClassHeader readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != CLASS_MAGIC) {
+            return null;
+        }
+        // 次版本号与主版本号。
+        in.readInt();
+
+        int constantPoolCount = in.readUnsignedShort();
+        String[] utf8s = new String[constantPoolCount];
+        int[] classIndexes = new int[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8s[i] = in.readUTF();
+                    break;
+                case 7: // Class
+                    classIndexes[i] = in.readUnsignedShort();
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    skipFully(in, 2);
+                    break;
+                case 15: // MethodHandle
+                    skipFully(in, 3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    skipFully(in, 4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    skipFully(in, 8);
+                    // 长整型与双精度浮点型占用两个常量池位置。
+                    i++;
+                    break;
+                default:
+                    throw new IOException("unknown constant pool tag " + tag);
+            }
+        }
+
+        int accessFlags = in.readUnsignedShort();
+        // ACC_MODULE。
+        if ((accessFlags & 0x8000) != 0) {
+            return null;
+        }
+        String name = className(utf8s, classIndexes, in.readUnsignedShort());
+        int superIndex = in.readUnsignedShort();
+        String superName = superIndex == 0 ? null : className(utf8s, classIndexes, superIndex);
+        String[] interfaceNames = new String[in.readUnsignedShort()];
+        for (int i = 0; i < interfaceNames.length; i++) {
+            interfaceNames[i] = className(utf8s, classIndexes, in.readUnsignedShort());
+        }
+        return new ClassHeader(name, superName, interfaceNames);
+    }
+
+    private static String className(String[] utf8s, int[] classIndexes, int index) throws IOException {
+        if (index <= 0 || index >= classIndexes.length || Objects.isNull(utf8s[classIndexes[index]])) {
+            throw new IOException("illegal class index " + index);
+        }
+        return utf8s[classIndexes[index]].replace('/', '.');
+    }
+
+    private static void skipFully(DataInputStream in, int n) throws IOException {
+        if (in.skipBytes(n) != n) {
+            throw new EOFException();
+        }
+    }
+
+    /**
+     * 类文件头。
+     *
+     * @author DwArFeng
+     * @since 0.4.3.a-beta
+     */
+    static final class ClassHeader {
+
+        final String name;
+        final String superName;
+        final String[] interfaceNames;
+
+        ClassHeader(String name, String superName, String[] interfaceNames) {
+            this.name = name;
+            this.superName = superName;
+            this.interfaceNames = interfaceNames;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ClassHeader that = (ClassHeader) o;
+            return name.equals(that.name) && Objects.equals(superName, that.superName) &&
+                    Arrays.equals(interfaceNames, that.interfaceNames);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Objects.hash(name, superName);
+            result = 31 * result + Arrays.hashCode(interfaceNames);
+            return result;
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.dwarfeng.dutil.basic.io;
 
+import com.dwarfeng.dutil.basic.threads.NumberedThreadFactory;
+
 import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -18,6 +21,14 @@ import java.util.jar.JarFile;
  * 要想关闭的话请调用{@link PluginLoader#close()} 法，该类被关闭以后，如果继续生成加载的类的实例的话
  * 则可能出现找不到资源的情况。因此，在确保不会有新的实例生成以后，再关闭此类。
  *
+ * <p>
+ * 通过 {@link #PluginLoader(File, File, int)} 构造的插件读取类工作在扫描模式下：
+ * <ul>
+ * <li>第一次读取插件时，并行地扫描所有 jar 包中类文件的文件头（类名、父类名与接口名），扫描的结果在之后的读取中复用。</li>
+ * <li>读取插件时，首先根据文件头判断类是否是指定类型的子类，只有符合要求的类才会被加载。</li>
+ * <li>如果指定了索引文件，扫描的结果会以 jar 包的散列值为键保存在索引文件中，之后的扫描会跳过没有变化的 jar 包。</li>
+ * </ul>
+ *
  * @author DwArFeng
  * @since 0.0.2-beta
  */
@@ -28,8 +39,17 @@ public class PluginLoader<T> {
     private final URLClassLoader loader;
     private final File dirFile;
     private final File[] jarFiles;
+    private final boolean scanMode;
+    private final File indexFile;
+    private final int parallelism;
     private boolean isClose;
 
+    private Map<String, PluginIndex.ClassHeader> classHeaders = null;
+
+    private static final ThreadFactory THREAD_FACTORY = new NumberedThreadFactory(
+            "PluginLoader", true, Thread.NORM_PRIORITY
+    );
+
     /**
      * 生成一个指向默认路径的插件读取类。
      * <br>默认的读取位置是同目录下的<code>plugins</code>文件夹。
@@ -53,9 +73,28 @@ public class PluginLoader<T> {
      * @param dirFile 指定的文件。
      */
     public PluginLoader(File dirFile) {
+        this(dirFile, false, null, 1);
+    }
+
+    /**
+     * 生成一个指向指定文件决定的目录，工作在扫描模式下的插件读取类。
+     *
+     * @param dirFile     指定的文件。
+     * @param indexFile   保存扫描结果的索引文件，为 <code>null</code> 时不使用索引文件。
+     * @param parallelism 扫描 jar 包的并行度，小于等于 1 时在调用线程中依次扫描。
+     * @since 0.4.3.a-beta
+     */
+    public PluginLoader(File dirFile, File indexFile, int parallelism) {
+        this(dirFile, true, indexFile, parallelism);
+    }
+
+    private PluginLoader(File dirFile, boolean scanMode, File indexFile, int parallelism) {
         // dirFile 不能为 null
         if (dirFile == null) throw new NullPointerException("Dir file can't be null");
         this.dirFile = dirFile;
+        this.scanMode = scanMode;
+        this.indexFile = indexFile;
+        this.parallelism = parallelism;
         File[] tempJarFiles = getDirFile().listFiles(new FileExtensionNameFiliter(".jar"));
         // 搜索目录所有后缀名为.jar 的文件并考虑 null 的特殊情况。
         jarFiles = tempJarFiles == null ? new File[0] : tempJarFiles;
@@ -108,6 +147,9 @@ public class PluginLoader<T> {
     @SuppressWarnings("unchecked")
     public <U extends T> Collection<Class<U>> loadPluginClass(Class<U> clas) throws IOException {
         if (isClose) throw new IOException("PluginLoader already closed");
+        if (scanMode) {
+            return scanPluginClass(clas);
+        }
         Collection<Class<U>> classCollection = new HashSet<>();
         bk0:
         for (File jarFile : jarFiles) {
@@ -151,6 +193,137 @@ public class PluginLoader<T> {
         return classCollection;
     }
 
+    @SuppressWarnings("unchecked")
+    private <U extends T> Collection<Class<U>> scanPluginClass(Class<U> clas) {
+        Map<String, PluginIndex.ClassHeader> headers = getClassHeaders();
+        Map<String, Boolean> assignableCache = new HashMap<>();
+        Collection<Class<U>> classCollection = new HashSet<>();
+        for (String name : headers.keySet()) {
+            if (!isAssignable(name, clas, headers, assignableCache)) {
+                continue;
+            }
+            // 只有根据文件头判断为指定类型子类的类才会被加载。
+            try {
+                Class<?> c = loader.loadClass(name);
+                if (clas.isAssignableFrom(c)) classCollection.add((Class<U>) c);
+            } catch (ClassNotFoundException | LinkageError e) {
+                CT.trace("Exception occured while loading class : " + name);
+            }
+        }
+        return classCollection;
+    }
+
+    private boolean isAssignable(
+            String name, Class<?> clas, Map<String, PluginIndex.ClassHeader> headers, Map<String, Boolean> cache) {
+        Boolean cached = cache.get(name);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        // 先放入 false，防止格式错误的类文件中的循环继承导致无限递归。
+        cache.put(name, false);
+
+        boolean result;
+        PluginIndex.ClassHeader header = headers.get(name);
+        if (name.equals(clas.getName())) {
+            result = true;
+        } else if (Objects.isNull(header)) {
+            // 不在插件中的类（通常是插件依赖的库或者 JDK 中的类）直接加载后判断，不初始化。
+            try {
+                result = clas.isAssignableFrom(Class.forName(name, false, loader));
+            } catch (ClassNotFoundException | LinkageError e) {
+                result = false;
+            }
+        } else {
+            result = Objects.nonNull(header.superName) && isAssignable(header.superName, clas, headers, cache);
+            for (int i = 0; !result && i < header.interfaceNames.length; i++) {
+                result = isAssignable(header.interfaceNames[i], clas, headers, cache);
+            }
+        }
+        cache.put(name, result);
+        return result;
+    }
+
+    private synchronized Map<String, PluginIndex.ClassHeader> getClassHeaders() {
+        if (Objects.nonNull(classHeaders)) {
+            return classHeaders;
+        }
+
+        PluginIndex index = new PluginIndex(indexFile);
+        List<Callable<Map.Entry<String, List<PluginIndex.ClassHeader>>>> tasks = new ArrayList<>();
+        for (File jarFile : jarFiles) {
+            tasks.add(() -> scanJar(jarFile, index));
+        }
+
+        List<Map.Entry<String, List<PluginIndex.ClassHeader>>> results = new ArrayList<>();
+        boolean interrupted = false;
+        if (parallelism <= 1 || tasks.size() <= 1) {
+            for (Callable<Map.Entry<String, List<PluginIndex.ClassHeader>>> task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (Exception e) {
+                    results.add(null);
+                }
+            }
+        } else {
+            ExecutorService executorService = Executors.newFixedThreadPool(Math.min(parallelism, tasks.size()),
+                    THREAD_FACTORY);
+            try {
+                for (Future<Map.Entry<String, List<PluginIndex.ClassHeader>>> future :
+                        executorService.invokeAll(tasks)) {
+                    try {
+                        results.add(future.get());
+                    } catch (ExecutionException e) {
+                        results.add(null);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupted = true;
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+
+        Map<String, List<PluginIndex.ClassHeader>> indexEntries = new HashMap<>();
+        Map<String, PluginIndex.ClassHeader> headers = new LinkedHashMap<>();
+        for (Map.Entry<String, List<PluginIndex.ClassHeader>> result : results) {
+            if (Objects.isNull(result)) {
+                continue;
+            }
+            indexEntries.put(result.getKey(), result.getValue());
+            for (PluginIndex.ClassHeader header : result.getValue()) {
+                headers.putIfAbsent(header.name, header);
+            }
+        }
+        // 扫描被中断时结果不完整，既不保存索引，也不缓存结果。
+        if (interrupted) {
+            return headers;
+        }
+        try {
+            index.save(indexEntries);
+        } catch (IOException e) {
+            CT.trace("Exception occured while saving plugin index : " + indexFile);
+        }
+
+        classHeaders = headers;
+        return headers;
+    }
+
+    private static Map.Entry<String, List<PluginIndex.ClassHeader>> scanJar(File jarFile, PluginIndex index) {
+        // 出现异常直接放弃整个 jar 包。
+        try (JarFile jf = new JarFile(jarFile)) {
+            String hash = PluginIndex.hash(jf);
+            List<PluginIndex.ClassHeader> headers = index.get(hash);
+            if (Objects.isNull(headers)) {
+                headers = PluginIndex.scan(jf);
+            }
+            return new AbstractMap.SimpleImmutableEntry<>(hash, headers);
+        } catch (IOException e) {
+            CT.trace("Exception occured while getting entries : " + jarFile.getName());
+            return null;
+        }
+    }
+
     /**
      * 读取间接继承指定类的子类，并将其实例化。
      *
@@ -5,7 +5,13 @@ import com.dwarfeng.dutil.basic.ExceptionStringKey;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -14,13 +20,51 @@ import java.util.Objects;
  * <p>
  * 该输入流从指定的字符串中读入数据。
  *
+ * <p>
+ * 该输入流有两种模式：
+ * <ul>
+ * <li>使用长度不超过 {@link #STREAMING_THRESHOLD} 的 {@link String} 构造的输入流在构造时一次性地将字符串编码为字节数组。</li>
+ * <li>使用 {@link CharSequence} 构造的输入流，以及使用长度超过 {@link #STREAMING_THRESHOLD} 的 {@link String}
+ * 构造的输入流为流式模式，在读取时才通过 {@link CharsetEncoder} 逐段地将字符序列编码到一个较小的、重复使用的缓冲中，
+ * 不会在内存中同时保存完整的字节数据，适用于较大的字符串，或是 {@link StringBuilder} 等不希望调用 <code>toString()</code> 的字符序列。</li>
+ * </ul>
+ * 两种模式都支持 {@link #mark(int)}、{@link #reset()} 与 {@link #skip(long)}。
+ * 流式模式下，标记之后读取的数据会被保存在标记缓冲中，直到读取的数据超过标记的限制为止。
+ *
+ * <p>
+ * 流式模式下，字符序列在读取期间不应被修改。
+ * 受保护的字段 {@link #bytes}、{@link #pos}、{@link #markPos} 与 {@link #markLimit} 只在非流式模式下有效，
+ * 流式模式下 {@link #bytes} 为 <code>null</code>，访问这些字段的子类应当先通过 {@link #isStreaming()} 检查模式。
+ *
  * @author DwArFeng
  * @since 0.0.2-beta
  */
 public class StringInputStream extends InputStream {
 
     /**
-     * 保存文本的数组。
+     * 流式模式下默认的编码缓冲大小。
+     *
+     * @since 0.4.3.a-beta
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * 使用 {@link String} 构造时进入流式模式的长度阈值，字符串的长度超过该值时，输入流为流式模式。
+     *
+     * @since 0.4.3.a-beta
+     */
+    public static final int STREAMING_THRESHOLD = 65536;
+
+    /**
+     * 流式模式下编码缓冲的最小大小，保证任意字符集的任意字符都能够被编码到缓冲中。
+     */
+    private static final int MIN_BUFFER_SIZE = 64;
+
+    /**
+     * 保存文本的数组，流式模式下为 <code>null</code>。
+     *
+     * <p>
+     * 长度超过 {@link #STREAMING_THRESHOLD} 的字符串构造的输入流同样为流式模式，该字段为 <code>null</code>。
      */
     protected final byte[] bytes;
     /**
@@ -36,6 +80,35 @@ public class StringInputStream extends InputStream {
      */
     protected int markLimit;
 
+    /**
+     * 流式模式下的编码器，非流式模式下为 <code>null</code>。
+     */
+    private final CharsetEncoder encoder;
+    /**
+     * 流式模式下尚未编码的字符。
+     */
+    private final CharBuffer charBuffer;
+    /**
+     * 流式模式下已经编码但尚未读取的字节。
+     */
+    private final ByteBuffer byteBuffer;
+    /**
+     * 流式模式下编码器是否已经刷新完毕。
+     */
+    private boolean encodeFinished = false;
+    /**
+     * 流式模式下标记之后读取过的数据。
+     */
+    private byte[] markBuffer = null;
+    /**
+     * 流式模式下标记缓冲中有效数据的长度。
+     */
+    private int markCount = 0;
+    /**
+     * 流式模式下当前读取位置在标记缓冲中的位置，小于 <code>markCount</code> 时，数据从标记缓冲中读取。
+     */
+    private int markCursor = 0;
+
     /**
      * 构造一个基于指定字符串的字符串输入流。
      *
@@ -49,15 +122,79 @@ public class StringInputStream extends InputStream {
     /**
      * 构造一个基于指定字符串的，使用指定字符集的字符串输入流。
      *
+     * <p>
+     * 字符串的长度超过 {@link #STREAMING_THRESHOLD} 时，输入流为流式模式，使用默认的编码缓冲大小。
+     *
      * @param string  指定的字符串。
      * @param charset 指定的字符集。
      * @throws NullPointerException 入口参数 <code>string</code>为 <code>null</code>。
      * @throws NullPointerException 入口参数 <code>charset</code> 为 <code>null</code>。
      */
     public StringInputStream(String string, Charset charset) {
-        Objects.requireNonNull(string, DwarfUtil.getExceptionString(ExceptionStringKey.STRINGINPUTSTREAM_0));
+        this(Objects.requireNonNull(string, DwarfUtil.getExceptionString(ExceptionStringKey.STRINGINPUTSTREAM_0)),
+                charset, DEFAULT_BUFFER_SIZE, string.length() > STREAMING_THRESHOLD);
+    }
+
+    /**
+     * 构造一个基于指定字符序列的，使用指定字符集的流式字符串输入流。
+     *
+     * @param sequence 指定的字符序列。
+     * @param charset  指定的字符集。
+     * @throws NullPointerException 入口参数 <code>sequence</code>为 <code>null</code>。
+     * @throws NullPointerException 入口参数 <code>charset</code> 为 <code>null</code>。
+     * @since 0.4.3.a-beta
+     */
+    public StringInputStream(CharSequence sequence, Charset charset) {
+        this(sequence, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 构造一个基于指定字符序列的，使用指定字符集以及指定编码缓冲大小的流式字符串输入流。
+     *
+     * <p>
+     * 与 {@link String#getBytes(Charset)} 一致，无法编码的字符会被替换为字符集的默认替换字节。
+     *
+     * @param sequence   指定的字符序列。
+     * @param charset    指定的字符集。
+     * @param bufferSize 编码缓冲的大小，过小的值会被调整为能够容纳任意字符的最小值。
+     * @throws NullPointerException     入口参数 <code>sequence</code>为 <code>null</code>。
+     * @throws NullPointerException     入口参数 <code>charset</code> 为 <code>null</code>。
+     * @throws IllegalArgumentException 入口参数 <code>bufferSize</code> 不为正数。
+     * @since 0.4.3.a-beta
+     */
+    public StringInputStream(CharSequence sequence, Charset charset, int bufferSize) {
+        this(Objects.requireNonNull(sequence, DwarfUtil.getExceptionString(ExceptionStringKey.STRINGINPUTSTREAM_5)),
+                charset, bufferSize, true);
+    }
+
+    private StringInputStream(CharSequence sequence, Charset charset, int bufferSize, boolean streaming) {
         Objects.requireNonNull(charset, DwarfUtil.getExceptionString(ExceptionStringKey.STRINGINPUTSTREAM_1));
-        this.bytes = string.getBytes(charset);
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.STRINGINPUTSTREAM_6));
+        }
+        if (!streaming) {
+            this.bytes = sequence.toString().getBytes(charset);
+            this.encoder = null;
+            this.charBuffer = null;
+            this.byteBuffer = null;
+            return;
+        }
+        this.bytes = null;
+        this.encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.charBuffer = CharBuffer.wrap(sequence);
+        this.byteBuffer = ByteBuffer.allocate(Math.max(bufferSize, MIN_BUFFER_SIZE));
+        this.byteBuffer.flip();
+    }
+
+    /**
+     * 返回该输入流是否为流式模式。
+     *
+     * @return 该输入流是否为流式模式。
+     * @since 0.4.3.a-beta
+     */
+    public boolean isStreaming() {
+        return Objects.nonNull(encoder);
     }
 
     /**
@@ -65,7 +202,14 @@ public class StringInputStream extends InputStream {
      */
     @Override
     public int available() {
-        return bytes.length;
+        if (isStreaming()) {
+            if (markCursor < markCount) {
+                return markCount - markCursor + byteBuffer.remaining();
+            }
+            fill();
+            return byteBuffer.remaining();
+        }
+        return bytes.length - pos;
     }
 
     /**
@@ -73,6 +217,10 @@ public class StringInputStream extends InputStream {
      */
     @Override
     public synchronized void mark(int readlimit) {
+        if (isStreaming()) {
+            streamingMark(readlimit);
+            return;
+        }
         markPos = pos;
         markLimit = readlimit < 0 ? bytes.length - pos : readlimit;
     }
@@ -90,10 +238,24 @@ public class StringInputStream extends InputStream {
      */
     @Override
     public int read() {
+        if (isStreaming()) {
+            if (markCursor < markCount) {
+                return markBuffer[markCursor++] & 0xFF;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            byte data = byteBuffer.get();
+            if (prepareRecord(1)) {
+                markBuffer[markCount++] = data;
+                markCursor = markCount;
+            }
+            return data & 0xFF;
+        }
         if (pos >= bytes.length) {
             return -1;
         }
-        int data = bytes[pos++];
+        int data = bytes[pos++] & 0xFF;
 
         if ((markPos > 0) && (pos > markPos + markLimit)) {
             // 如果读取之后，读取位置超过了标记的限制，则清空标记。
@@ -110,6 +272,13 @@ public class StringInputStream extends InputStream {
     public int read(byte[] b) {
         Objects.requireNonNull(b, DwarfUtil.getExceptionString(ExceptionStringKey.STRINGINPUTSTREAM_3));
 
+        if (isStreaming()) {
+            return streamingRead(b, 0, b.length);
+        }
+        if (b.length > 0 && pos >= bytes.length) {
+            return -1;
+        }
+
         int length = b.length + pos > bytes.length ? bytes.length - pos : b.length;
         System.arraycopy(bytes, pos, b, 0, length);
 
@@ -134,6 +303,13 @@ public class StringInputStream extends InputStream {
             throw new IndexOutOfBoundsException(DwarfUtil.getExceptionString(ExceptionStringKey.STRINGINPUTSTREAM_4));
         }
 
+        if (isStreaming()) {
+            return streamingRead(b, off, len);
+        }
+        if (len > 0 && pos >= bytes.length) {
+            return -1;
+        }
+
         int length = len + pos > bytes.length ? bytes.length - pos : len;
         System.arraycopy(bytes, pos, b, off, length);
 
@@ -152,6 +328,13 @@ public class StringInputStream extends InputStream {
      */
     @Override
     public synchronized void reset() throws IOException {
+        if (isStreaming()) {
+            if (Objects.isNull(markBuffer)) {
+                throw new IOException(DwarfUtil.getExceptionString(ExceptionStringKey.STRINGINPUTSTREAM_2));
+            }
+            markCursor = 0;
+            return;
+        }
         if (markPos < 0) {
             throw new IOException(DwarfUtil.getExceptionString(ExceptionStringKey.STRINGINPUTSTREAM_2));
         }
@@ -168,6 +351,10 @@ public class StringInputStream extends InputStream {
         if (n <= 0)
             return 0;
 
+        if (isStreaming()) {
+            return streamingSkip(n);
+        }
+
         // 定义常用的参考数据。
         long tp = pos + n;
         long tm = markPos + markLimit;
@@ -187,4 +374,130 @@ public class StringInputStream extends InputStream {
             return n;
         }
     }
+
+    private void streamingMark(int readlimit) {
+        if (readlimit < 0) {
+            readlimit = 0;
+        }
+        if (Objects.nonNull(markBuffer) && markCursor < markCount) {
+            // 在重放标记缓冲的过程中重新标记，尚未重放的数据保留在新的标记缓冲的开头。
+            int remaining = markCount - markCursor;
+            byte[] buffer = new byte[Math.max(remaining, Math.min(readlimit, DEFAULT_BUFFER_SIZE))];
+            System.arraycopy(markBuffer, markCursor, buffer, 0, remaining);
+            markBuffer = buffer;
+            markCount = remaining;
+        } else {
+            markBuffer = new byte[Math.min(readlimit, DEFAULT_BUFFER_SIZE)];
+            markCount = 0;
+        }
+        markCursor = 0;
+        markLimit = Math.max(readlimit, markCount);
+    }
+
+    private int streamingRead(byte[] b, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+
+        int total = 0;
+        // 首先重放标记缓冲中的数据。
+        if (markCursor < markCount) {
+            int length = Math.min(len, markCount - markCursor);
+            System.arraycopy(markBuffer, markCursor, b, off, length);
+            markCursor += length;
+            total += length;
+        }
+        // 然后读取新编码的数据。
+        while (total < len && fill()) {
+            int length = Math.min(len - total, byteBuffer.remaining());
+            byteBuffer.get(b, off + total, length);
+            record(b, off + total, length);
+            total += length;
+        }
+        return total == 0 ? -1 : total;
+    }
+
+    private long streamingSkip(long n) {
+        long skipped = 0;
+        if (markCursor < markCount) {
+            int length = (int) Math.min(n, markCount - markCursor);
+            markCursor += length;
+            skipped += length;
+        }
+        if (Objects.isNull(markBuffer)) {
+            // 没有标记时，直接丢弃编码缓冲中的数据。
+            while (skipped < n && fill()) {
+                int length = (int) Math.min(n - skipped, byteBuffer.remaining());
+                byteBuffer.position(byteBuffer.position() + length);
+                skipped += length;
+            }
+            return skipped;
+        }
+        // 有标记时，跳过的数据需要记录在标记缓冲中。
+        byte[] buffer = new byte[(int) Math.min(n - skipped, DEFAULT_BUFFER_SIZE)];
+        while (skipped < n) {
+            int length = streamingRead(buffer, 0, (int) Math.min(n - skipped, buffer.length));
+            if (length < 0) {
+                break;
+            }
+            skipped += length;
+        }
+        return skipped;
+    }
+
+    private void record(byte[] b, int off, int len) {
+        if (!prepareRecord(len)) {
+            return;
+        }
+        System.arraycopy(b, off, markBuffer, markCount, len);
+        markCount += len;
+        markCursor = markCount;
+    }
+
+    /**
+     * 为即将记录的数据准备标记缓冲的空间。
+     *
+     * @return 数据是否需要记录在标记缓冲中。
+     */
+    private boolean prepareRecord(int len) {
+        if (Objects.isNull(markBuffer)) {
+            return false;
+        }
+        if ((long) markCount + len > markLimit) {
+            // 读取的数据超过了标记的限制，清除标记。
+            markBuffer = null;
+            markCount = 0;
+            markCursor = 0;
+            return false;
+        }
+        if (markCount + len > markBuffer.length) {
+            int capacity = (int) Math.min(Math.max((long) markBuffer.length * 2, markCount + len), markLimit);
+            markBuffer = Arrays.copyOf(markBuffer, capacity);
+        }
+        return true;
+    }
+
+    private boolean fill() {
+        while (!byteBuffer.hasRemaining()) {
+            if (encodeFinished) {
+                return false;
+            }
+            byteBuffer.clear();
+            CoderResult result;
+            if (charBuffer.hasRemaining()) {
+                result = encoder.encode(charBuffer, byteBuffer, true);
+            } else {
+                result = encoder.flush(byteBuffer);
+                if (result.isUnderflow()) {
+                    encodeFinished = true;
+                }
+            }
+            byteBuffer.flip();
+            // 编码器被设置为替换错误的输入，因此结果只可能是上溢或者下溢。
+            if (result.isError()) {
+                throw new IllegalStateException("result should not be error");
+            }
+        }
+        return true;
+    }
 }
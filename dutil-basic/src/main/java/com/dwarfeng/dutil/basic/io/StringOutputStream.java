@@ -9,8 +9,8 @@ import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.*;
-import java.util.Arrays;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * 字符串构造输出流。
@@ -18,6 +18,20 @@ import java.util.Objects;
  * <p>
  * 该输出流将输出的数据存储到字符串构造器中。
  *
+ * <p>
+ * 写入的字节首先被存放在固定大小的解码窗口中，窗口写满或输出流被刷新时，窗口中的字节被
+ * {@link CharsetDecoder} 解码为字符；跨越两次写入的多字节字符的不完整部分会保留在窗口中，等待后续的字节。<br>
+ * 解码后的字符在刷新之前暂存，刷新时被追加到字符串构造器中。
+ *
+ * <p>
+ * 如果在构造时指定了接收器，解码出的文本不会保存在字符串构造器中，而是在解码之后立即交给接收器，
+ * 该输出流只保留解码窗口大小的数据，适用于控制台、界面等只需要接收文本，而不需要保存全部输出的场合。
+ *
+ * <p>
+ * 默认情况下，无法解码的字节被替换为字符集的替换字符（如 <code>U+FFFD</code>），写入与刷新不会因为数据的内容而失败；
+ * 如果在构造时指定了严格解码，遇到无法解码的字节时，写入或刷新会抛出 {@link IOException}，这些字节被跳过，
+ * 之后的数据依然可以被解码。
+ *
  * @author DwArFeng
  * @since 0.0.2-beta
  */
@@ -32,6 +46,18 @@ public class StringOutputStream extends OutputStream {
      */
     protected static final float DEFAULT_LOAD_FACTOR = 1.5f;
 
+    /**
+     * 输出流默认的解码窗口大小。
+     *
+     * @since 0.4.3.a-beta
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 8192;
+
+    /**
+     * 解码窗口的最小大小，保证任意字符集的不完整字符都能够被保留在窗口中。
+     */
+    private static final int MIN_WINDOW_SIZE = 64;
+
     /**
      * 指定的字符集合。
      */
@@ -42,8 +68,17 @@ public class StringOutputStream extends OutputStream {
     protected final boolean autoFlush;
     /**
      * 输出流缓存的增长因子。
+     *
+     * <p>
+     * 解码窗口的大小是固定的，该字段不再影响输出流的行为，仅为兼容而保留。
      */
     protected final float loadFactor;
+    /**
+     * 该输出流是否严格解码。
+     *
+     * @since 0.4.3.a-beta
+     */
+    protected final boolean strictDecoding;
 
     /**
      * 字符串构造器
@@ -56,9 +91,24 @@ public class StringOutputStream extends OutputStream {
     private final CharsetDecoder decoder;
 
     /**
-     * 输出流的字节数据。
+     * 输出流的解码窗口，处于写入状态。
      */
-    private ByteBuffer byteBuffer;
+    private final ByteBuffer byteBuffer;
+
+    /**
+     * 解码的字符输出缓冲。
+     */
+    private final CharBuffer charBuffer;
+
+    /**
+     * 解码之后尚未刷新的字符。
+     */
+    private final StringBuilder pending = new StringBuilder();
+
+    /**
+     * 文本的接收器，为 <code>null</code> 时文本保存在字符串构造器中。
+     */
+    private final Consumer<? super CharSequence> sink;
 
     /**
      * 生成一个默认的字符串构造输出流。
@@ -85,14 +135,15 @@ public class StringOutputStream extends OutputStream {
      * @throws NullPointerException 入口参数为 <code>null</code>。
      */
     public StringOutputStream(Charset charset, boolean autoFlush) {
-        this(charset, false, DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+        this(charset, autoFlush, DEFAULT_WINDOW_SIZE, DEFAULT_LOAD_FACTOR);
     }
 
     /**
      * 生成一个指定字符集，指定是否自动输出，指定字节缓存初始大小和指定读取因子的输出流。
      *
      * <p>
-     * 如果指定的字节缓存初始大小小于 0，则缓存大小将设置为 0；如果指定的读取因子小于 1，则读取因子将设置成 1。
+     * 指定的字节缓存初始大小将作为解码窗口的大小，过小的值会被调整为能够容纳任意不完整字符的最小值；
+     * 如果指定的读取因子小于 1，则读取因子将设置成默认值。
      *
      * @param charset         指定的字符集合。
      * @param autoFlush       是否自动刷新。
@@ -102,15 +153,86 @@ public class StringOutputStream extends OutputStream {
      */
     public StringOutputStream(Charset charset, boolean autoFlush, int initialCapacity, float loadFactor)
             throws NullPointerException {
+        this(charset, autoFlush, initialCapacity, loadFactor, false, null);
+    }
+
+    /**
+     * 生成一个指定字符集，指定是否自动输出，指定解码窗口大小，指定是否严格解码的输出流。
+     *
+     * @param charset        指定的字符集合。
+     * @param autoFlush      是否自动刷新。
+     * @param windowSize     指定的解码窗口大小，过小的值会被调整为能够容纳任意不完整字符的最小值。
+     * @param strictDecoding 是否严格解码，严格解码时遇到无法解码的字节会抛出 {@link IOException}，否则替换为替换字符。
+     * @throws NullPointerException 指定的入口参数为 <code> null </code>。
+     * @since 0.4.3.a-beta
+     */
+    public StringOutputStream(Charset charset, boolean autoFlush, int windowSize, boolean strictDecoding) {
+        this(charset, autoFlush, windowSize, DEFAULT_LOAD_FACTOR, strictDecoding, null);
+    }
+
+    /**
+     * 生成一个指定字符集，将文本交给指定接收器的输出流。
+     *
+     * @param charset 指定的字符集合。
+     * @param sink    指定的接收器。
+     * @throws NullPointerException 指定的入口参数为 <code> null </code>。
+     * @since 0.4.3.a-beta
+     */
+    public StringOutputStream(Charset charset, Consumer<? super CharSequence> sink) {
+        this(charset, false, DEFAULT_WINDOW_SIZE, sink);
+    }
+
+    /**
+     * 生成一个指定字符集，指定是否自动输出，指定解码窗口大小，将文本交给指定接收器的输出流。
+     *
+     * <p>
+     * 解码出的文本在解码窗口写满或输出流被刷新时交给接收器，接收器在写入或刷新输出流的线程中被调用。<br>
+     * 接收器接收到的字符序列是输出流内部缓冲的视图，只在回调期间有效，如需保留，请复制其内容。
+     *
+     * @param charset    指定的字符集合。
+     * @param autoFlush  是否自动刷新。
+     * @param windowSize 指定的解码窗口大小，过小的值会被调整为能够容纳任意不完整字符的最小值。
+     * @param sink       指定的接收器。
+     * @throws NullPointerException 指定的入口参数为 <code> null </code>。
+     * @since 0.4.3.a-beta
+     */
+    public StringOutputStream(Charset charset, boolean autoFlush, int windowSize, Consumer<? super CharSequence> sink) {
+        this(charset, autoFlush, windowSize, false, sink);
+    }
+
+    /**
+     * 生成一个指定字符集，指定是否自动输出，指定解码窗口大小，指定是否严格解码，将文本交给指定接收器的输出流。
+     *
+     * @param charset        指定的字符集合。
+     * @param autoFlush      是否自动刷新。
+     * @param windowSize     指定的解码窗口大小，过小的值会被调整为能够容纳任意不完整字符的最小值。
+     * @param strictDecoding 是否严格解码，严格解码时遇到无法解码的字节会抛出 {@link IOException}，否则替换为替换字符。
+     * @param sink           指定的接收器。
+     * @throws NullPointerException 指定的入口参数为 <code> null </code>。
+     * @see #StringOutputStream(Charset, boolean, int, Consumer)
+     * @since 0.4.3.a-beta
+     */
+    public StringOutputStream(Charset charset, boolean autoFlush, int windowSize, boolean strictDecoding,
+                              Consumer<? super CharSequence> sink) {
+        this(charset, autoFlush, windowSize, DEFAULT_LOAD_FACTOR, strictDecoding,
+                Objects.requireNonNull(sink, DwarfUtil.getExceptionString(ExceptionStringKey.STRINGOUTPUTSTREAM_2)));
+    }
+
+    private StringOutputStream(Charset charset, boolean autoFlush, int windowSize, float loadFactor,
+                               boolean strictDecoding, Consumer<? super CharSequence> sink) {
         Objects.requireNonNull(charset, DwarfUtil.getExceptionString(ExceptionStringKey.STRINGOUTPUTSTREAM_0));
 
         this.charset = charset;
         this.autoFlush = autoFlush;
         this.loadFactor = loadFactor < 1 ? DEFAULT_LOAD_FACTOR : loadFactor;
+        this.strictDecoding = strictDecoding;
+        this.sink = sink;
 
-        this.decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPORT);
+        CodingErrorAction action = strictDecoding ? CodingErrorAction.REPORT : CodingErrorAction.REPLACE;
+        this.decoder = charset.newDecoder().onMalformedInput(action).onUnmappableCharacter(action);
 
-        this.byteBuffer = ByteBuffer.allocate(Math.max(initialCapacity, 0));
+        this.byteBuffer = ByteBuffer.allocate(Math.max(windowSize, MIN_WINDOW_SIZE));
+        this.charBuffer = CharBuffer.allocate((int) Math.ceil(byteBuffer.capacity() * decoder.maxCharsPerByte()));
     }
 
     /**
@@ -134,7 +256,8 @@ public class StringOutputStream extends OutputStream {
      * 将该输出流接收到的数据以字符串的形式返回。
      *
      * <p>
-     * 返回的字符串将包含之前所有被 flush 的数据，但不包括没有被 flush 的数据。
+     * 返回的字符串将包含之前所有被 flush 的数据，但不包括没有被 flush 的数据。<br>
+     * 如果该输出流指定了接收器，数据不会保存在字符串构造器中，该方法返回空字符串。
      *
      * @return 接收到的数据转化成的字符串。
      */
@@ -156,8 +279,18 @@ public class StringOutputStream extends OutputStream {
      */
     @Override
     public void write(byte[] b, int off, int len) throws IOException {
-        ensureRemaining(len);
-        byteBuffer.put(b, off, len);
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            if (!byteBuffer.hasRemaining()) {
+                decode(false);
+            }
+            int length = Math.min(len, byteBuffer.remaining());
+            byteBuffer.put(b, off, length);
+            off += length;
+            len -= length;
+        }
         mayAutoFlushNotEndOfInput();
     }
 
@@ -166,7 +299,9 @@ public class StringOutputStream extends OutputStream {
      */
     @Override
     public void write(int b) throws IOException {
-        ensureRemaining(1);
+        if (!byteBuffer.hasRemaining()) {
+            decode(false);
+        }
         byteBuffer.put(NumberUtil.cutIntToByte(b));
         mayAutoFlushNotEndOfInput();
     }
@@ -177,59 +312,65 @@ public class StringOutputStream extends OutputStream {
         }
     }
 
-    private void ensureRemaining(int requiredRemaining) {
-        int capacityGrow = requiredRemaining - byteBuffer.remaining();
+    private void flushData(boolean endOfInput) throws IOException {
+        decode(endOfInput);
 
-        if (capacityGrow > 0) {
-            byteBuffer.flip();
-            ByteBuffer tempByteBuffer = ByteBuffer
-                    .allocate((int) ((byteBuffer.capacity() + capacityGrow) * loadFactor));
-            tempByteBuffer.put(byteBuffer);
-            byteBuffer = tempByteBuffer;
+        // 将尚未刷新的字符输入到文本构造器中。
+        if (pending.length() > 0) {
+            stringBuilder.append(pending);
+            pending.setLength(0);
         }
     }
 
-    private void flushData(boolean endOfInput) throws IOException {
-        // 翻转字节缓冲，准备读取。
+    private void decode(boolean endOfInput) throws IOException {
+        // 翻转解码窗口，准备读取。
         byteBuffer.flip();
 
-        // 根据解码器定义的每个字符的平均字节来分配字符缓冲。
-        int n = (int) (byteBuffer.remaining() * decoder.averageCharsPerByte());
-        CharBuffer charBuffer = CharBuffer.allocate(n);
-
-        // 解码循环。
-        for (; ; ) {
-            CoderResult cr = decoder.decode(byteBuffer, charBuffer, endOfInput);
-
-            if (cr.isUnderflow() && endOfInput)
-                cr = decoder.flush(charBuffer);
-
-            // 如果字符缓冲没有被填满，则退出解码循环。
-            if (cr.isUnderflow())
-                break;
-            // 如果字符缓冲被填满了，则扩大字符缓冲的容量，继续解析剩下的字节数据。
-            if (cr.isOverflow()) {
-                n = 2 * n + 1; // 加 1 是为了保证 n 为 0 的时候还能继续扩大容量。
-                CharBuffer tempCharBuffer = CharBuffer.allocate(n);
-                charBuffer.flip();
-                tempCharBuffer.put(charBuffer);
-                charBuffer = tempCharBuffer;
-                continue;
+        try {
+            // 解码循环，字符缓冲的大小足以容纳整个窗口解码的结果，上溢只会在刷新解码器时出现。
+            for (; ; ) {
+                CoderResult cr = decoder.decode(byteBuffer, charBuffer, endOfInput);
+                drainChars();
+                if (cr.isOverflow()) {
+                    continue;
+                }
+                if (cr.isUnderflow()) {
+                    break;
+                }
+                // 跳过无法解码的字节，保证之后的数据依然能够被解码。
+                byteBuffer.position(byteBuffer.position() + cr.length());
+                try {
+                    cr.throwException();
+                } catch (CharacterCodingException e) {
+                    throw new IOException(DwarfUtil.getExceptionString(ExceptionStringKey.STRINGOUTPUTSTREAM_1), e);
+                }
             }
-            try {
-                cr.throwException();
-            } catch (CharacterCodingException e) {
-                throw new IOException(e);
+
+            if (endOfInput) {
+                for (; ; ) {
+                    CoderResult cr = decoder.flush(charBuffer);
+                    drainChars();
+                    if (cr.isUnderflow()) {
+                        break;
+                    }
+                }
+                decoder.reset();
             }
+        } finally {
+            // 解码之后窗口中余下的不完整字符移动到窗口的开头，等待后续的字节。
+            byteBuffer.compact();
         }
+    }
 
-        // 将字符缓冲中的字符输入到文本构造器中。
+    private void drainChars() {
         charBuffer.flip();
-        stringBuilder.append(Arrays.copyOfRange(charBuffer.array(), charBuffer.position(), charBuffer.limit()));
-
-        // 将解析之后字节缓冲中余下的数据重新输入到字节数据中。
-        ByteBuffer tempByteBuffer = ByteBuffer.allocate(byteBuffer.capacity());
-        tempByteBuffer.put(byteBuffer);
-        byteBuffer = tempByteBuffer;
+        if (charBuffer.hasRemaining()) {
+            if (Objects.isNull(sink)) {
+                pending.append(charBuffer);
+            } else {
+                sink.accept(charBuffer);
+            }
+        }
+        charBuffer.clear();
     }
 }
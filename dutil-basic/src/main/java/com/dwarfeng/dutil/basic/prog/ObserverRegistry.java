@@ -0,0 +1,306 @@
+package com.dwarfeng.dutil.basic.prog;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 观察器注册表。
+ *
+ * <p>
+ * 用于存放观察器的写时复制集合，可以作为各抽象模型、抽象任务、抽象计时器以及抽象后台中观察器集合的实现。<br>
+ * 观察器保存在一个数组中，每次修改都会生成一个新的数组，遍历时直接使用遍历开始时的数组，
+ * 因此在通知观察器的过程中添加或移除观察器是安全的，通知过程也不会受到并发修改的影响。
+ *
+ * <p>
+ * 注册表可以弱引用或者强引用其中的观察器。弱引用的注册表与 <code>Collections.newSetFromMap(new WeakHashMap&lt;&gt;())</code>
+ * 的行为一致：当外部的所有强引用消失以后，观察器会在垃圾回收器运行的时候自行消失。
+ * 失效的引用不会立即从数组中移除，而是在下一次修改注册表或者遍历时遇到失效的引用时一并清除。
+ *
+ * <p>
+ * 观察器之间使用 {@link Object#equals(Object)} 判断是否相同。<br>
+ * 注册表不会存放 <code>null</code>：与以往使用的 <code>WeakHashMap</code> 集合一样，添加 <code>null</code> 不会抛出异常，
+ * 但是 <code>null</code> 会被忽略，{@link #add(Observer)} 返回 <code>false</code>，通知时也不会遍历到 <code>null</code>。
+ *
+ * <p>
+ * 该注册表是线程安全的，修改操作之间互斥，读取操作不需要加锁。
+ * 注册表的修改需要复制整个数组，因此适用于观察器较少、通知远多于注册的场景。
+ *
+ * @param <T> 观察器的类型。
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public class ObserverRegistry<T extends Observer> extends AbstractSet<T> {
+
+    private static final Object[] EMPTY_ENTRIES = new Object[0];
+
+    private final boolean weak;
+    private final Object lock = new Object();
+
+    /**
+     * 观察器数组，弱引用时数组中的元素为 {@link WeakReference}，否则为观察器本身。
+     */
+    private volatile Object[] entries = EMPTY_ENTRIES;
+
+    /**
+     * 生成一个弱引用观察器的注册表。
+     */
+    public ObserverRegistry() {
+        this(true);
+    }
+
+    /**
+     * 生成一个指定引用方式的注册表。
+     *
+     * @param weak 是否弱引用其中的观察器。
+     */
+    public ObserverRegistry(boolean weak) {
+        this.weak = weak;
+    }
+
+    /**
+     * 返回该注册表是否弱引用其中的观察器。
+     *
+     * @return 该注册表是否弱引用其中的观察器。
+     */
+    public boolean isWeak() {
+        return weak;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * 入口参数为 <code>null</code> 时，注册表不会发生变化，该方法返回 <code>false</code>。
+     */
+    @Override
+    public boolean add(T observer) {
+        if (Objects.isNull(observer)) {
+            return false;
+        }
+        synchronized (lock) {
+            Object[] current = liveEntries();
+            if (indexOf(current, observer) >= 0) {
+                entries = current;
+                return false;
+            }
+            Object[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = weak ? new WeakReference<>(observer) : observer;
+            entries = next;
+            return true;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (Objects.isNull(o)) {
+            return false;
+        }
+        synchronized (lock) {
+            Object[] current = liveEntries();
+            int index = indexOf(current, o);
+            if (index < 0) {
+                entries = current;
+                return false;
+            }
+            Object[] next = new Object[current.length - 1];
+            System.arraycopy(current, 0, next, 0, index);
+            System.arraycopy(current, index + 1, next, index, next.length - index);
+            entries = next;
+            return true;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object o) {
+        return Objects.nonNull(o) && indexOf(entries, o) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        synchronized (lock) {
+            entries = EMPTY_ENTRIES;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * 弱引用的注册表中，已经被回收的观察器不计入大小。
+     */
+    @Override
+    public int size() {
+        Object[] snapshot = entries;
+        int size = 0;
+        for (Object entry : snapshot) {
+            if (Objects.nonNull(observerOf(entry))) {
+                size++;
+            }
+        }
+        if (size < snapshot.length) {
+            expungeStaleEntries();
+        }
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        for (Object entry : entries) {
+            if (Objects.nonNull(observerOf(entry))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * 迭代器遍历的是调用该方法时注册表的快照，遍历期间对注册表的修改不会反映在迭代器中，也不会引起
+     * {@link ConcurrentModificationException}。迭代器的 {@link Iterator#remove()} 方法会从注册表中移除相应的观察器。
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new SnapshotIterator(entries);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * 该方法直接遍历调用时注册表的快照，不会生成迭代器，适合在通知观察器时使用。
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        Objects.requireNonNull(action, DwarfUtil.getExceptionString(ExceptionStringKey.OBSERVERREGISTRY_0));
+        boolean staleFound = false;
+        for (Object entry : entries) {
+            T observer = observerOf(entry);
+            if (Objects.isNull(observer)) {
+                staleFound = true;
+            } else {
+                action.accept(observer);
+            }
+        }
+        if (staleFound) {
+            expungeStaleEntries();
+        }
+    }
+
+    /**
+     * 清除注册表中已经被回收的观察器。
+     *
+     * <p>
+     * 注册表会在修改以及遍历时自动清除失效的引用，一般不需要调用该方法。
+     */
+    public void expungeStaleEntries() {
+        if (!weak) {
+            return;
+        }
+        synchronized (lock) {
+            entries = liveEntries();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T observerOf(Object entry) {
+        return weak ? ((WeakReference<T>) entry).get() : (T) entry;
+    }
+
+    private int indexOf(Object[] entries, Object o) {
+        for (int i = 0; i < entries.length; i++) {
+            if (o.equals(observerOf(entries[i]))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 返回清除了失效引用的观察器数组，调用时需要持有锁。
+     */
+    private Object[] liveEntries() {
+        Object[] current = entries;
+        if (!weak) {
+            return current;
+        }
+        int live = 0;
+        for (Object entry : current) {
+            if (Objects.nonNull(observerOf(entry))) {
+                live++;
+            }
+        }
+        if (live == current.length) {
+            return current;
+        }
+        Object[] result = new Object[live];
+        int index = 0;
+        for (Object entry : current) {
+            if (Objects.nonNull(observerOf(entry)) && index < live) {
+                result[index++] = entry;
+            }
+        }
+        return index == live ? result : Arrays.copyOf(result, index);
+    }
+
+    private final class SnapshotIterator implements Iterator<T> {
+
+        private final Object[] snapshot;
+        private int cursor = 0;
+        private T next;
+        private T lastRet;
+
+        SnapshotIterator(Object[] snapshot) {
+            this.snapshot = snapshot;
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while (cursor < snapshot.length && Objects.isNull(next)) {
+                next = observerOf(snapshot[cursor++]);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return Objects.nonNull(next);
+        }
+
+        @Override
+        public T next() {
+            if (Objects.isNull(next)) {
+                throw new NoSuchElementException();
+            }
+            lastRet = next;
+            advance();
+            return lastRet;
+        }
+
+        @Override
+        public void remove() {
+            if (Objects.isNull(lastRet)) {
+                throw new IllegalStateException();
+            }
+            ObserverRegistry.this.remove(lastRet);
+            lastRet = null;
+        }
+    }
+}
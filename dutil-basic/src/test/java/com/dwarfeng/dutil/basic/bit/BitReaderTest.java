@@ -0,0 +1,109 @@
+package com.dwarfeng.dutil.basic.bit;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BitReaderTest {
+
+    @Test
+    public void testReadBits() throws IOException {
+        byte[] data = randomBytes(100);
+        BitReader reader = new BitReader(data);
+        Random random = new Random(1);
+        int offset = 0;
+        while (offset < data.length * 8) {
+            int bitLength = Math.min(1 + random.nextInt(64), data.length * 8 - offset);
+            assertEquals(BitUtil.getBitsAsLong(data, offset, bitLength), reader.readBitsAsLong(bitLength));
+            offset += bitLength;
+            assertEquals(offset, reader.getBitPosition());
+        }
+        assertFalse(reader.hasRemaining());
+    }
+
+    @Test
+    public void testReadBitsFromBuffer() throws IOException {
+        byte[] data = randomBytes(20);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        buffer.position(3);
+        BitReader reader = new BitReader(buffer);
+        assertEquals(BitUtil.getBitsAsInt(data, 24, 5), reader.readBitsAsInt(5));
+        assertEquals(BitUtil.getBit(data, 29), reader.readBit());
+        assertEquals(BitUtil.getBitsAsLong(data, 30, 64), reader.readBitsAsLong(64));
+        // 读取不会改变指定缓冲的位置。
+        assertEquals(3, buffer.position());
+    }
+
+    @Test
+    public void testReadBitsBulk() throws IOException {
+        byte[] data = randomBytes(64);
+        for (int bitLength = 1; bitLength <= 32; bitLength++) {
+            int[] values = new int[data.length * 8 / bitLength];
+            new BitReader(data).readBits(values, bitLength);
+            for (int i = 0; i < values.length; i++) {
+                assertEquals(BitUtil.getBitsAsInt(data, i * bitLength, bitLength), values[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testReadBitsFromChannel() throws IOException {
+        byte[] data = randomBytes(10_000);
+        try (BitReader reader = new BitReader(Channels.newChannel(new ByteArrayInputStream(data)), 7)) {
+            int offset = 0;
+            while (offset + 61 <= data.length * 8) {
+                assertEquals(BitUtil.getBitsAsLong(data, offset, 61), reader.readBitsAsLong(61));
+                offset += 61;
+            }
+            reader.skipBits(data.length * 8 - offset - 3);
+            assertEquals(BitUtil.getBitsAsInt(data, data.length * 8 - 3, 3), reader.readBitsAsInt(3));
+            assertFalse(reader.hasRemaining());
+        }
+    }
+
+    @Test
+    public void testAlignToByte() throws IOException {
+        byte[] data = new byte[]{(byte) 0xFF, 0x12, 0x34};
+        BitReader reader = new BitReader(data);
+        reader.readBitsAsInt(3);
+        reader.alignToByte();
+        assertEquals(0x1234, reader.readBitsAsInt(16));
+    }
+
+    @Test
+    public void testEndOfData() throws IOException {
+        BitReader reader = new BitReader(new byte[9]);
+        reader.readBitsAsInt(10);
+        try {
+            reader.readBitsAsLong(63);
+            fail();
+        } catch (EOFException e) {
+            // 读取失败时不应消耗剩余的位。
+            assertEquals(10, reader.getBitPosition());
+        }
+        assertEquals(0, reader.readBitsAsLong(62));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalBitLength() throws IOException {
+        new BitReader(new byte[1]).readBitsAsInt(33);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDataNull() {
+        new BitReader((byte[]) null);
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
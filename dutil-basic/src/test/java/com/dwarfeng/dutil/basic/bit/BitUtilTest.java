@@ -5,6 +5,7 @@ import org.junit.Test;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -566,4 +567,118 @@ public class BitUtilTest {
     }
 
     // endregion
+
+    // region wordAtATime
+
+    @Test
+    public void testCopyBits_randomAgainstReference() {
+        Random random = new Random(37);
+        for (int round = 0; round < 2000; round++) {
+            byte[] source = randomBytes(random, 1 + random.nextInt(40));
+            byte[] dest = randomBytes(random, 1 + random.nextInt(40));
+            int bitLength = random.nextInt(Math.min(source.length, dest.length) * 8 + 1);
+            int sourceStartBit = random.nextInt(source.length * 8 - bitLength + 1);
+            int destStartBit = random.nextInt(dest.length * 8 - bitLength + 1);
+
+            byte[] expected = dest.clone();
+            referenceCopyBits(source.clone(), sourceStartBit, expected, destStartBit, bitLength);
+            BitUtil.copyBits(source, sourceStartBit, dest, destStartBit, bitLength);
+            assertArrayEquals(expected, dest);
+        }
+    }
+
+    @Test
+    public void testCopyBits_randomSameArrayOverlap() {
+        Random random = new Random(38);
+        for (int round = 0; round < 2000; round++) {
+            byte[] data = randomBytes(random, 1 + random.nextInt(40));
+            int bitLength = random.nextInt(data.length * 8 + 1);
+            int sourceStartBit = random.nextInt(data.length * 8 - bitLength + 1);
+            int destStartBit = random.nextInt(data.length * 8 - bitLength + 1);
+
+            byte[] expected = data.clone();
+            referenceCopyBits(data.clone(), sourceStartBit, expected, destStartBit, bitLength);
+            BitUtil.copyBits(data, sourceStartBit, data, destStartBit, bitLength);
+            assertArrayEquals(expected, data);
+        }
+    }
+
+    @Test
+    public void testGetSetBits_randomAgainstReference() {
+        Random random = new Random(39);
+        for (int round = 0; round < 2000; round++) {
+            byte[] data = randomBytes(random, 9 + random.nextInt(8));
+            int bitLength = 1 + random.nextInt(64);
+            int bitOffset = random.nextInt(data.length * 8 - bitLength + 1);
+
+            long expected = 0;
+            for (int i = 0; i < bitLength; i++) {
+                expected = (expected << 1) | BitUtil.getBit(data, bitOffset + i);
+            }
+            assertEquals(expected, BitUtil.getBitsAsLong(data, bitOffset, bitLength));
+            if (bitLength <= 32) {
+                assertEquals((int) expected, BitUtil.getBitsAsInt(data, bitOffset, bitLength));
+            }
+
+            long value = random.nextLong();
+            byte[] written = data.clone();
+            BitUtil.setBitsFromLong(written, bitOffset, value, bitLength);
+            for (int i = 0; i < data.length * 8; i++) {
+                int expectedBit = i >= bitOffset && i < bitOffset + bitLength ?
+                        (int) ((value >>> (bitLength - 1 - (i - bitOffset))) & 1) : BitUtil.getBit(data, i);
+                assertEquals(expectedBit, BitUtil.getBit(written, i));
+            }
+        }
+    }
+
+    @Test
+    public void testCountSetBits_randomAgainstReference() {
+        Random random = new Random(40);
+        for (int round = 0; round < 500; round++) {
+            byte[] data = randomBytes(random, 1 + random.nextInt(40));
+            int bitLength = random.nextInt(data.length * 8 + 1);
+            int bitOffset = random.nextInt(data.length * 8 - bitLength + 1);
+
+            int expected = 0;
+            for (int i = 0; i < bitLength; i++) {
+                expected += BitUtil.getBit(data, bitOffset + i);
+            }
+            assertEquals(expected, BitUtil.countSetBits(data, bitOffset, bitLength));
+        }
+    }
+
+    @Test
+    public void testBitwise_randomAgainstReference() {
+        Random random = new Random(41);
+        for (int length = 0; length < 40; length++) {
+            byte[] a = randomBytes(random, length);
+            byte[] b = randomBytes(random, length);
+            byte[] and = new byte[length];
+            byte[] or = new byte[length];
+            byte[] xor = new byte[length];
+            BitUtil.and(a, b, and);
+            BitUtil.or(a, b, or);
+            BitUtil.xor(a, b, xor);
+            for (int i = 0; i < length; i++) {
+                assertEquals((byte) (a[i] & b[i]), and[i]);
+                assertEquals((byte) (a[i] | b[i]), or[i]);
+                assertEquals((byte) (a[i] ^ b[i]), xor[i]);
+            }
+        }
+    }
+
+    private static void referenceCopyBits(byte[] source, int sourceStartBit, byte[] dest, int destStartBit,
+                                          int bitLength) {
+        for (int i = 0; i < bitLength; i++) {
+            BitUtil.setBit(dest, destStartBit + i, BitUtil.getBit(source, sourceStartBit + i) == 1);
+        }
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    // endregion
 }
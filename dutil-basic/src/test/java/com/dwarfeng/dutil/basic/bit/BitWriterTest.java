@@ -0,0 +1,104 @@
+package com.dwarfeng.dutil.basic.bit;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BitWriterTest {
+
+    @Test
+    public void testWriteBits() throws IOException {
+        byte[] expected = new byte[100];
+        byte[] data = new byte[100];
+        BitWriter writer = new BitWriter(data);
+        Random random = new Random(1);
+        int offset = 0;
+        while (offset < data.length * 8) {
+            int bitLength = Math.min(1 + random.nextInt(64), data.length * 8 - offset);
+            long value = random.nextLong();
+            BitUtil.setBitsFromLong(expected, offset, value, bitLength);
+            writer.writeBits(value, bitLength);
+            offset += bitLength;
+            assertEquals(offset, writer.getBitPosition());
+        }
+        writer.flush();
+        assertArrayEquals(expected, data);
+    }
+
+    @Test
+    public void testFlushPartialByte() throws IOException {
+        byte[] data = new byte[2];
+        BitWriter writer = new BitWriter(data);
+        writer.writeBits(0b101, 3);
+        writer.flush();
+        assertEquals((byte) 0b1010_0000, data[0]);
+        // 刷新之后继续写入的位填充同一个字节。
+        writer.writeBits(0b11111, 5);
+        writer.writeBit(true);
+        writer.flush();
+        assertEquals((byte) 0b1011_1111, data[0]);
+        assertEquals((byte) 0b1000_0000, data[1]);
+    }
+
+    @Test
+    public void testWriteBitsBulk() throws IOException {
+        Random random = new Random(2);
+        for (int bitLength = 1; bitLength <= 32; bitLength++) {
+            int[] values = new int[100];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt();
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(400);
+            BitWriter writer = new BitWriter(buffer);
+            writer.writeBits(values, bitLength);
+            writer.flush();
+
+            int[] read = new int[values.length];
+            new BitReader(buffer).readBits(read, bitLength);
+            long mask = (1L << bitLength) - 1;
+            for (int i = 0; i < values.length; i++) {
+                assertEquals(values[i] & mask, read[i] & 0xFFFFFFFFL);
+            }
+        }
+    }
+
+    @Test
+    public void testWriteBitsToChannel() throws IOException {
+        Random random = new Random(3);
+        long[] values = new long[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BitWriter writer = new BitWriter(Channels.newChannel(out), 5)) {
+            for (long value : values) {
+                writer.writeBits(value, 61);
+            }
+            writer.writeBits(1, 1);
+        }
+        byte[] bytes = out.toByteArray();
+        assertEquals((values.length * 61 + 1 + 7) / 8, bytes.length);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i] & ((1L << 61) - 1), BitUtil.getBitsAsLong(bytes, i * 61, 61));
+        }
+        assertEquals(1, BitUtil.getBit(bytes, values.length * 61));
+    }
+
+    @Test(expected = IOException.class)
+    public void testOverflow() throws IOException {
+        BitWriter writer = new BitWriter(new byte[1]);
+        writer.writeBits(0, 9);
+        writer.flush();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalBitLength() throws IOException {
+        new BitWriter(new byte[1]).writeBits(0L, 65);
+    }
+}
@@ -0,0 +1,49 @@
+package com.dwarfeng.dutil.basic.bit;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PackedIntArrayTest {
+
+    @Test
+    public void testGetSet() {
+        Random random = new Random(41);
+        for (int bitWidth = 1; bitWidth <= 32; bitWidth++) {
+            PackedIntArray array = new PackedIntArray(300, bitWidth);
+            int mask = bitWidth == 32 ? -1 : (1 << bitWidth) - 1;
+            int[] expected = new int[array.length()];
+            for (int i = 0; i < expected.length; i++) {
+                int value = random.nextInt();
+                expected[i] = value & mask;
+                array.set(i, value);
+            }
+            int[] dst = new int[expected.length];
+            array.get(0, dst, 0, dst.length);
+            assertArrayEquals(expected, dst);
+            assertEquals(expected[17], array.get(17));
+        }
+    }
+
+    @Test
+    public void testBulkSetDirect() {
+        PackedIntArray array = new PackedIntArray(100, 3, true);
+        int[] src = new int[]{1, 2, 3, 4, 5, 6, 7};
+        array.set(93, src, 0, src.length);
+        assertEquals(7, array.get(99));
+        assertEquals(0, array.get(92));
+        assertTrue(array.isDirect());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalBitWidth() {
+        new PackedIntArray(10, 33);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDstNull() {
+        new PackedIntArray(10, 3).get(0, null, 0, 1);
+    }
+}
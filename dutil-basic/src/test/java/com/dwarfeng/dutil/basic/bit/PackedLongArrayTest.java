@@ -0,0 +1,79 @@
+package com.dwarfeng.dutil.basic.bit;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PackedLongArrayTest {
+
+    @Test
+    public void testGetSet() {
+        Random random = new Random(39);
+        for (boolean direct : new boolean[]{false, true}) {
+            for (int bitWidth = 1; bitWidth <= 64; bitWidth++) {
+                PackedLongArray array = new PackedLongArray(200, bitWidth, direct);
+                assertEquals(direct, array.isDirect());
+                long mask = bitWidth == 64 ? -1L : (1L << bitWidth) - 1;
+                long[] expected = new long[array.length()];
+                for (int i = 0; i < expected.length; i++) {
+                    long value = random.nextLong();
+                    expected[i] = value & mask;
+                    array.set(i, value);
+                }
+                for (int i = 0; i < expected.length; i++) {
+                    assertEquals(expected[i], array.get(i));
+                }
+                // 覆盖写入时不应影响相邻的元素。
+                array.set(100, 0);
+                assertEquals(expected[99], array.get(99));
+                assertEquals(0, array.get(100));
+                assertEquals(expected[101], array.get(101));
+            }
+        }
+    }
+
+    @Test
+    public void testBulkGetSet() {
+        Random random = new Random(40);
+        PackedLongArray array = new PackedLongArray(1000, 37);
+        long[] src = new long[500];
+        for (int i = 0; i < src.length; i++) {
+            src[i] = random.nextLong() & ((1L << 37) - 1);
+        }
+        array.set(250, src, 0, src.length);
+
+        long[] dst = new long[502];
+        array.get(249, dst, 0, dst.length);
+        assertEquals(0, dst[0]);
+        for (int i = 0; i < src.length; i++) {
+            assertEquals(src[i], dst[i + 1]);
+        }
+        assertEquals(0, dst[501]);
+
+        array.clear();
+        array.get(249, dst, 0, dst.length);
+        assertArrayEquals(new long[dst.length], dst);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBounds() {
+        new PackedLongArray(10, 3).get(10);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRangeOutOfBounds() {
+        new PackedLongArray(10, 3).get(5, new long[10], 0, 6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalBitWidth() {
+        new PackedLongArray(10, 65);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityTooLarge() {
+        new PackedLongArray(Integer.MAX_VALUE, 64, true);
+    }
+}
@@ -0,0 +1,184 @@
+package com.dwarfeng.dutil.basic.bit;
+
+import org.junit.Test;
+
+import java.io.*;
+import java.util.BitSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RoaringBitmapTest {
+
+    @Test
+    public void testAddRemoveContains() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        assertTrue(bitmap.isEmpty());
+        assertTrue(bitmap.add(5));
+        assertFalse(bitmap.add(5));
+        assertTrue(bitmap.add(-1));
+        assertTrue(bitmap.add(70_000));
+        assertTrue(bitmap.contains(5));
+        assertTrue(bitmap.contains(-1));
+        assertFalse(bitmap.contains(6));
+        assertEquals(3, bitmap.getCardinality());
+        // 整数按照无符号的顺序排列。
+        assertArrayEquals(new int[]{5, 70_000, -1}, bitmap.toArray());
+
+        assertTrue(bitmap.remove(70_000));
+        assertFalse(bitmap.remove(70_000));
+        assertEquals(2, bitmap.getCardinality());
+        assertEquals("{5, 4294967295}", bitmap.toString());
+    }
+
+    @Test
+    public void testDenseContainer() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < 10_000; i++) {
+            bitmap.add(i * 3);
+        }
+        assertEquals(10_000, bitmap.getCardinality());
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(bitmap.remove(i * 3));
+        }
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    public void testRandomAgainstBitSet() throws IOException {
+        Random random = new Random(40);
+        for (int round = 0; round < 20; round++) {
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            RoaringBitmap a = randomBitmap(random, expectedA);
+            RoaringBitmap b = randomBitmap(random, expectedB);
+            if (round % 2 == 0) {
+                a.runOptimize();
+            }
+            if (round % 3 == 0) {
+                b.runOptimize();
+            }
+
+            BitSet expectedOr = (BitSet) expectedA.clone();
+            expectedOr.or(expectedB);
+            assertContent(expectedOr, RoaringBitmap.or(a, b));
+
+            BitSet expectedAnd = (BitSet) expectedA.clone();
+            expectedAnd.and(expectedB);
+            assertContent(expectedAnd, RoaringBitmap.and(a, b));
+
+            // 运算不应修改参与运算的位图。
+            assertContent(expectedA, a);
+            assertContent(expectedB, b);
+
+            assertEquals(a, deserialize(serialize(a)));
+            assertEquals(b, deserialize(serialize(b)));
+
+            a.or(b);
+            assertContent(expectedOr, a);
+            a.and(b);
+            assertContent(expectedB, a);
+        }
+    }
+
+    @Test
+    public void testRunOptimize() throws IOException {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 100; i < 60_000; i++) {
+            bitmap.add(i);
+        }
+        long sizeBefore = bitmap.serializedSizeInBytes();
+        RoaringBitmap copy = RoaringBitmap.or(bitmap, new RoaringBitmap());
+        assertTrue(bitmap.runOptimize());
+        assertTrue(bitmap.serializedSizeInBytes() < sizeBefore);
+        assertEquals(copy, bitmap);
+        assertEquals(copy.hashCode(), bitmap.hashCode());
+
+        byte[] bytes = serialize(bitmap);
+        assertEquals(bitmap.serializedSizeInBytes(), bytes.length);
+        assertEquals(copy, deserialize(bytes));
+
+        // 区间容器中的单个修改。
+        assertTrue(bitmap.remove(30_000));
+        assertFalse(bitmap.contains(30_000));
+        assertEquals(59_899, bitmap.getCardinality());
+        assertTrue(bitmap.add(30_000));
+        assertEquals(copy, bitmap);
+    }
+
+    @Test
+    public void testIterator() {
+        RoaringBitmap bitmap = RoaringBitmap.of(3, 1, 65_535, 65_536, 1 << 20);
+        PrimitiveIterator.OfInt iterator = bitmap.iterator();
+        int[] expected = new int[]{1, 3, 65_535, 65_536, 1 << 20};
+        for (int value : expected) {
+            assertTrue(iterator.hasNext());
+            assertEquals(value, iterator.nextInt());
+        }
+        assertFalse(iterator.hasNext());
+        assertEquals(5, bitmap.stream().count());
+    }
+
+    @Test(expected = IOException.class)
+    public void testDeserializeIllegalFormat() throws IOException {
+        deserialize(new byte[]{1, 2, 3, 4, 0, 0, 0, 0});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOrNull() {
+        RoaringBitmap.or(new RoaringBitmap(), null);
+    }
+
+    private static RoaringBitmap randomBitmap(Random random, BitSet expected) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        // 稀疏的整数、稠密的整数以及连续的区间。
+        for (int i = 0; i < 2000; i++) {
+            int value = random.nextInt(1 << 22);
+            bitmap.add(value);
+            expected.set(value);
+        }
+        int denseBase = random.nextInt(8) << 16;
+        for (int i = 0; i < 20_000; i++) {
+            int value = denseBase + random.nextInt(1 << 16);
+            bitmap.add(value);
+            expected.set(value);
+        }
+        int runBase = random.nextInt(1 << 21);
+        for (int i = 0; i < 100; i++) {
+            int start = runBase + random.nextInt(1 << 18);
+            int length = random.nextInt(2000);
+            for (int value = start; value < start + length; value++) {
+                bitmap.add(value);
+                expected.set(value);
+            }
+        }
+        return bitmap;
+    }
+
+    private static void assertContent(BitSet expected, RoaringBitmap actual) {
+        assertEquals(expected.cardinality(), actual.getCardinality());
+        assertArrayEquals(expected.stream().toArray(), actual.toArray());
+        int[] fromIterator = new int[expected.cardinality()];
+        PrimitiveIterator.OfInt iterator = actual.iterator();
+        for (int i = 0; i < fromIterator.length; i++) {
+            fromIterator[i] = iterator.nextInt();
+        }
+        assertFalse(iterator.hasNext());
+        assertArrayEquals(expected.stream().toArray(), fromIterator);
+    }
+
+    private static byte[] serialize(RoaringBitmap bitmap) throws IOException {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(byteOut)) {
+            bitmap.serialize(out);
+        }
+        return byteOut.toByteArray();
+    }
+
+    private static RoaringBitmap deserialize(byte[] bytes) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return RoaringBitmap.deserialize(in);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import com.dwarfeng.dutil.basic.cna.model.obs.ReferenceAdapter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class AtomicReferenceModelTest {
+
+    private AtomicReferenceModel<String> model;
+    private TestReferenceObserver<String> obv;
+
+    @Before
+    public void setUp() {
+        model = new AtomicReferenceModel<>("A");
+        obv = new TestReferenceObserver<>();
+        model.addObserver(obv);
+    }
+
+    @Test
+    public void testSetAndClear() {
+        assertEquals("A", model.set("B"));
+        assertEquals("B", model.get());
+        assertEquals("A", obv.getOldValue());
+        assertEquals("B", obv.getNewValue());
+        model.clear();
+        assertTrue(model.isEmpty());
+        assertTrue(obv.isClearFlag());
+    }
+
+    @Test
+    public void testCompareAndSet() {
+        assertFalse(model.compareAndSet("X", "B"));
+        assertNull(obv.getNewValue());
+        assertTrue(model.compareAndSet(model.get(), "B"));
+        assertEquals("A", obv.getOldValue());
+        assertEquals("B", obv.getNewValue());
+    }
+
+    @Test
+    public void testUpdate() {
+        assertEquals("A", model.getAndUpdate(s -> s + "B"));
+        assertEquals("A", obv.getOldValue());
+        assertEquals("AB", obv.getNewValue());
+        assertEquals("ABC", model.updateAndGet(s -> s + "C"));
+        assertEquals("AB", obv.getOldValue());
+        assertEquals("ABC", obv.getNewValue());
+    }
+
+    @Test
+    public void testConcurrentUpdate() throws InterruptedException {
+        AtomicReferenceModel<Integer> counter = new AtomicReferenceModel<>(0);
+        AtomicLong delta = new AtomicLong();
+        ReferenceAdapter<Integer> observer = new ReferenceAdapter<Integer>() {
+            @Override
+            public void fireSet(Integer oldValue, Integer newValue) {
+                delta.addAndGet(newValue - oldValue);
+            }
+        };
+        counter.addObserver(observer);
+
+        int threads = 8;
+        int times = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < times; i++) {
+                        counter.getAndUpdate(v -> v + 1);
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(threads * times, counter.get().intValue());
+        assertEquals(threads * times, delta.get());
+        // 观察器集合弱引用观察器，此处保持观察器的强引用直至断言结束。
+        assertTrue(counter.removeObserver(observer));
+    }
+}
@@ -0,0 +1,82 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentKeySetModelTest {
+
+    private ConcurrentKeySetModel<String, TestWithKey> model;
+    private TestSetObserver<TestWithKey> obv;
+
+    @Before
+    public void setUp() {
+        model = new ConcurrentKeySetModel<>();
+        obv = new TestSetObserver<>();
+        model.add(TestWithKey.ELE_1);
+        model.add(TestWithKey.ELE_2);
+        model.add(TestWithKey.ELE_3);
+        model.add(TestWithKey.ELE_4);
+        model.add(TestWithKey.ELE_5);
+        model.addObserver(obv);
+    }
+
+    @Test
+    public void testContains() {
+        assertTrue(model.contains(TestWithKey.ELE_1));
+        assertFalse(model.contains(TestWithKey.FAIL_ELE));
+        assertFalse(model.contains(null));
+        assertTrue(model.containsAll(Arrays.asList(TestWithKey.ELE_1, TestWithKey.ELE_5)));
+        assertTrue(model.containsKey("A"));
+        assertFalse(model.containsKey(null));
+        assertFalse(model.containsAllKey(Arrays.asList("A", null)));
+        assertEquals(TestWithKey.ELE_2, model.get("B"));
+        assertNull(model.get(null));
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        assertFalse(model.add(TestWithKey.FAIL_ELE));
+        assertTrue(model.add(TestWithKey.ELE_6));
+        assertEquals(Collections.singletonList(TestWithKey.ELE_6), obv.addedList);
+
+        assertFalse(model.remove(TestWithKey.FAIL_ELE));
+        assertTrue(model.contains(TestWithKey.ELE_1));
+        assertTrue(model.remove(TestWithKey.ELE_1));
+        assertFalse(model.removeKey("A"));
+        assertTrue(model.removeKey("B"));
+        assertEquals(Arrays.asList(TestWithKey.ELE_1, TestWithKey.ELE_2), obv.removedList);
+    }
+
+    @Test
+    public void testBatchRemove() {
+        assertTrue(model.removeAll(Arrays.asList(TestWithKey.ELE_1, TestWithKey.FAIL_ELE)));
+        assertTrue(model.removeAllKey(Collections.singleton("B")));
+        assertTrue(model.retainAllKey(Arrays.asList("C", "D")));
+        assertTrue(model.retainAll(Collections.singleton(TestWithKey.ELE_3)));
+        assertEquals(1, model.size());
+        assertTrue(model.contains(TestWithKey.ELE_3));
+        assertEquals(4, obv.removedList.size());
+    }
+
+    @Test
+    public void testIterator() {
+        Iterator<TestWithKey> i = model.iterator();
+        TestWithKey element = i.next();
+        model.add(TestWithKey.ELE_6);
+        i.remove();
+        assertFalse(model.contains(element));
+        assertEquals(element, obv.removedList.get(0));
+        int count = 0;
+        while (i.hasNext()) {
+            i.next();
+            count++;
+        }
+        assertTrue(count >= 4);
+    }
+}
@@ -0,0 +1,226 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import com.dwarfeng.dutil.basic.cna.model.obs.MapAdapter;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentMapModelTest {
+
+    private ConcurrentMapModel<String, String> model;
+    private TestMapObserver obv;
+
+    @Before
+    public void setUp() {
+        model = new ConcurrentMapModel<>();
+        obv = new TestMapObserver();
+        model.put("1", "A");
+        model.put("2", "B");
+        model.put("3", "C");
+        model.addObserver(obv);
+    }
+
+    @Test
+    public void testPutAndRemove() {
+        assertEquals("A", model.put("1", "a"));
+        assertNull(model.put("4", "D"));
+        assertEquals("1", obv.changedKeyList.get(0));
+        assertEquals("A", obv.changedOldValueList.get(0));
+        assertEquals("a", obv.changedNewValueList.get(0));
+        assertEquals("4", obv.putKeyList.get(0));
+        assertEquals("D", obv.putValueList.get(0));
+
+        assertNull(model.remove("5"));
+        assertEquals("D", model.remove("4"));
+        assertEquals(1, obv.removeKeyList.size());
+        assertEquals("D", obv.removeValueList.get(0));
+    }
+
+    @Test
+    public void testAtomicOperations() {
+        assertEquals("A", model.putIfAbsent("1", "X"));
+        assertNull(model.putIfAbsent("4", "D"));
+        assertEquals(1, obv.putKeyList.size());
+        assertFalse(model.replace("1", "X", "Y"));
+        assertTrue(model.replace("1", "A", "a"));
+        assertNull(model.replace("5", "E"));
+        assertEquals("B", model.replace("2", "b"));
+        assertEquals(2, obv.changedKeyList.size());
+        assertFalse(model.remove("3", "X"));
+        assertTrue(model.remove("3", "C"));
+        assertEquals(1, obv.removeKeyList.size());
+        assertEquals("C", obv.removeValueList.get(0));
+    }
+
+    @Test
+    public void testCompute() {
+        assertEquals("A", model.computeIfAbsent("1", k -> "X"));
+        assertEquals("D", model.computeIfAbsent("4", k -> "D"));
+        assertEquals("4", obv.putKeyList.get(0));
+        assertNull(model.computeIfPresent("5", (k, v) -> "X"));
+        assertEquals("AA", model.computeIfPresent("1", (k, v) -> v + v));
+        assertEquals("A", obv.changedOldValueList.get(0));
+        assertEquals("AA", obv.changedNewValueList.get(0));
+        assertNull(model.compute("2", (k, v) -> null));
+        assertEquals("2", obv.removeKeyList.get(0));
+        assertEquals("B", obv.removeValueList.get(0));
+        assertEquals("E", model.compute("5", (k, v) -> "E"));
+        assertEquals("5", obv.putKeyList.get(1));
+        assertEquals("CC", model.merge("3", "C", String::concat));
+        assertEquals("CC", obv.changedNewValueList.get(1));
+        assertNull(model.compute("6", (k, v) -> null));
+        assertEquals(2, obv.putKeyList.size());
+        assertEquals(2, obv.changedKeyList.size());
+        assertEquals(1, obv.removeKeyList.size());
+
+        model.replaceAll((k, v) -> v.toLowerCase());
+        assertEquals("aa", model.get("1"));
+        assertEquals(6, obv.changedKeyList.size());
+    }
+
+    @Test
+    public void testComputeIfAbsentLostRace() {
+        ConcurrentMapModel<String, String> model = new ConcurrentMapModel<>(new ConcurrentSkipListMap<>(),
+                new ObserverRegistry<>());
+        TestMapObserver obv = new TestMapObserver();
+        model.addObserver(obv);
+        // 在映射函数中模拟另一个线程抢先放入了值，映射函数的结果不会被写入。
+        assertEquals("X", model.computeIfAbsent("k", k -> {
+            model.putIfAbsent(k, "X");
+            return "Y";
+        }));
+        assertEquals("X", model.get("k"));
+        assertEquals(Collections.singletonList("k"), obv.putKeyList);
+        assertEquals(Collections.singletonList("X"), obv.putValueList);
+
+        assertEquals("Z", model.computeIfAbsent("l", k -> "Z"));
+        assertEquals(Arrays.asList("X", "Z"), obv.putValueList);
+    }
+
+    @Test
+    public void testComputeLostRace() {
+        // 第一次比较并交换时模拟另一个线程抢先移除了键。
+        AtomicInteger failures = new AtomicInteger(2);
+        ConcurrentSkipListMap<String, String> delegate = new ConcurrentSkipListMap<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public boolean replace(String key, String oldValue, String newValue) {
+                if (failures.getAndDecrement() > 0) {
+                    super.remove(key);
+                    return false;
+                }
+                return super.replace(key, oldValue, newValue);
+            }
+
+            @Override
+            public boolean remove(Object key, Object value) {
+                if (failures.getAndDecrement() > 0) {
+                    super.remove(key);
+                    return false;
+                }
+                return super.remove(key, value);
+            }
+        };
+        ConcurrentMapModel<String, String> model = new ConcurrentMapModel<>(delegate, new ObserverRegistry<>());
+        TestMapObserver obv = new TestMapObserver();
+        model.addObserver(obv);
+
+        delegate.put("a", "1");
+        assertNull(model.computeIfPresent("a", (k, v) -> "2"));
+        assertTrue(model.isEmpty());
+        delegate.put("b", "1");
+        assertNull(model.computeIfPresent("b", (k, v) -> null));
+        assertTrue(model.isEmpty());
+        assertTrue(obv.changedKeyList.isEmpty());
+        assertTrue(obv.removeKeyList.isEmpty());
+
+        delegate.put("c", "1");
+        assertEquals("2", model.compute("c", (k, v) -> "2"));
+        assertEquals(Collections.singletonList("c"), obv.changedKeyList);
+        assertEquals(Collections.singletonList("2"), obv.changedNewValueList);
+        assertNull(model.compute("c", (k, v) -> null));
+        assertEquals(Collections.singletonList("2"), obv.removeValueList);
+        assertTrue(obv.putKeyList.isEmpty());
+    }
+
+    @Test
+    public void testViews() {
+        Iterator<Map.Entry<String, String>> i = model.entrySet().iterator();
+        Map.Entry<String, String> entry = i.next();
+        String key = entry.getKey();
+        String value = entry.getValue();
+        assertEquals(value, entry.setValue("Z"));
+        assertEquals("Z", model.get(key));
+        assertEquals(key, obv.changedKeyList.get(0));
+        i.remove();
+        assertFalse(model.containsKey(key));
+        assertEquals("Z", obv.removeValueList.get(0));
+
+        assertTrue(model.keySet().remove(model.keySet().iterator().next()));
+        Iterator<String> values = model.values().iterator();
+        values.next();
+        values.remove();
+        assertTrue(model.isEmpty());
+        assertEquals(3, obv.removeKeyList.size());
+    }
+
+    @Test
+    public void testConcurrentPutIfAbsent() throws InterruptedException {
+        ConcurrentMapModel<String, String> concurrentModel = new ConcurrentMapModel<>();
+        AtomicInteger putCount = new AtomicInteger();
+        MapAdapter<String, String> observer = new MapAdapter<String, String>() {
+            @Override
+            public void firePut(String key, String value) {
+                putCount.incrementAndGet();
+            }
+        };
+        concurrentModel.addObserver(observer);
+
+        int threads = 8;
+        int keys = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < threads; t++) {
+                String name = String.valueOf(t);
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int k = 0; k < keys; k++) {
+                        concurrentModel.putIfAbsent(String.valueOf(k), name);
+                        concurrentModel.compute("counter", (key, v) -> v == null ? "1"
+                                : String.valueOf(Integer.parseInt(v) + 1));
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(keys + 1, concurrentModel.size());
+        assertEquals(keys + 1, putCount.get());
+        assertEquals(String.valueOf(threads * keys), concurrentModel.get("counter"));
+        // 观察器集合弱引用观察器，此处保持观察器的强引用直至断言结束。
+        assertTrue(concurrentModel.removeObserver(observer));
+    }
+}
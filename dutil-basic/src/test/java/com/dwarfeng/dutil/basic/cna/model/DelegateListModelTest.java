@@ -1,5 +1,6 @@
 package com.dwarfeng.dutil.basic.cna.model;
 
+import com.dwarfeng.dutil.basic.cna.model.obs.ListAdapter;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -277,4 +278,38 @@ public class DelegateListModelTest {
         model.removeObserver(obv);
         assertEquals(0, model.getObservers().size());
     }
+
+    @Test
+    public void testRangeEvents() {
+        List<String> ranges = new ArrayList<>();
+        model.addObserver(new ListAdapter<String>() {
+
+            @Override
+            public void fireAddedRange(int from, List<String> elements) {
+                ranges.add("+" + from + elements);
+            }
+
+            @Override
+            public void fireRemovedRange(int from, List<String> elements) {
+                ranges.add("-" + from + elements);
+            }
+        });
+
+        assertTrue(model.addAll(Arrays.asList("4", "5")));
+        assertTrue(model.addAll(1, Arrays.asList("a", "b")));
+        assertFalse(model.addAll(Collections.emptyList()));
+        assertEquals(Arrays.asList("0", "a", "b", "1", "2", "3", "4", "5"), model);
+        assertTrue(model.removeAll(Arrays.asList("a", "b", "2", "3", "5")));
+        assertTrue(model.retainAll(Collections.singletonList("1")));
+        model.addAll(Arrays.asList("6", "7", "8"));
+        model.subList(1, 3).clear();
+        assertEquals(Arrays.asList("1", "8"), model);
+        assertEquals(Arrays.asList("+4[4, 5]", "+1[a, b]", "-1[a, b]", "-2[2, 3]", "-3[5]", "-0[0]", "-1[4]",
+                "+1[6, 7, 8]", "-1[6, 7]"), ranges);
+
+        // 默认实现按元素依次通知。
+        assertEquals(Arrays.asList(4, 5, 1, 2, 1, 2, 3), obv.addedIndexes);
+        assertEquals(Arrays.asList(1, 1, 2, 2, 3, 0, 1, 1, 1), obv.removeIndexes);
+        assertEquals(Arrays.asList("a", "b", "2", "3", "5", "0", "4", "6", "7"), obv.removeElements);
+    }
 }
@@ -0,0 +1,246 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class IndexedKeyListModelTest {
+
+    private static final TestWithKey[] ELEMENTS = {
+            TestWithKey.ELE_1, TestWithKey.ELE_2, TestWithKey.ELE_3, TestWithKey.ELE_4,
+            TestWithKey.ELE_5, TestWithKey.ELE_6, TestWithKey.FAIL_ELE,
+    };
+    private static final List<String> KEYS = Arrays.asList("A", "B", "C", "D", "E", "F", "X");
+
+    private final IndexedKeyListModel<String, TestWithKey> model = new IndexedKeyListModel<>();
+    private final TestListObserver<TestWithKey> obv = new TestListObserver<>();
+
+    @Before
+    public void setUp() {
+        model.clearObserver();
+        model.clear();
+        model.add(TestWithKey.ELE_1);
+        model.add(TestWithKey.ELE_2);
+        model.add(TestWithKey.ELE_3);
+        model.add(TestWithKey.ELE_4);
+        model.add(TestWithKey.ELE_5);
+        obv.reset();
+        model.addObserver(obv);
+    }
+
+    @Test
+    public void testGet() {
+        assertEquals(TestWithKey.ELE_1, model.get("A"));
+        assertEquals(TestWithKey.ELE_5, model.get("E"));
+        assertNull(model.get("X"));
+        model.add(0, TestWithKey.FAIL_ELE);
+        assertEquals(TestWithKey.FAIL_ELE, model.get("A"));
+    }
+
+    @Test
+    public void testIndexOfKey() {
+        assertTrue(model.add(TestWithKey.ELE_1));
+        assertEquals(0, model.indexOfKey("A"));
+        assertEquals(5, model.lastIndexOfKey("A"));
+        assertEquals(4, model.indexOfKey("E"));
+        assertEquals(-1, model.indexOfKey("X"));
+        model.remove(0);
+        assertEquals(4, model.indexOfKey("A"));
+        assertEquals(0, model.indexOfKey("B"));
+    }
+
+    @Test
+    public void testRemoveKey() {
+        assertFalse(model.removeKey("X"));
+        assertTrue(model.removeKey("C"));
+        assertFalse(model.containsKey("C"));
+        assertEquals(3, model.indexOfKey("E"));
+        assertEquals(Integer.valueOf(2), obv.removeIndexes.get(0));
+        assertEquals(TestWithKey.ELE_3, obv.removeElements.get(0));
+    }
+
+    @Test
+    public void testMutationPaths() {
+        Iterator<TestWithKey> iterator = model.iterator();
+        iterator.next();
+        iterator.remove();
+        assertFalse(model.containsKey("A"));
+
+        ListIterator<TestWithKey> listIterator = model.listIterator();
+        listIterator.next();
+        listIterator.set(TestWithKey.ELE_6);
+        listIterator.add(TestWithKey.ELE_7);
+        assertFalse(model.containsKey("B"));
+        assertEquals(0, model.indexOfKey("F"));
+        assertEquals(1, model.indexOfKey("G"));
+
+        model.subList(1, 3).clear();
+        assertFalse(model.containsKey("G"));
+        assertFalse(model.containsKey("C"));
+        assertEquals(1, model.indexOfKey("D"));
+
+        assertTrue(model.retainAllKey(Collections.singleton("E")));
+        assertFalse(model.containsKey("D"));
+        assertEquals(0, model.indexOfKey("E"));
+        assertTrue(model.containsAllKey(Collections.singleton("E")));
+        assertEquals(1, model.size());
+    }
+
+    @Test
+    public void testInitialDelegate() {
+        IndexedKeyListModel<String, TestWithKey> model = new IndexedKeyListModel<>(
+                new ArrayList<>(Arrays.asList(TestWithKey.ELE_1, TestWithKey.ELE_2, TestWithKey.FAIL_ELE)),
+                Collections.newSetFromMap(new WeakHashMap<>()));
+        assertEquals(0, model.indexOfKey("A"));
+        assertEquals(2, model.lastIndexOfKey("A"));
+        assertEquals(TestWithKey.ELE_2, model.get("B"));
+    }
+
+    @Test
+    public void testRandomAgainstDelegate() {
+        Random random = new Random(41);
+        IndexedKeyListModel<String, TestWithKey> indexed = new IndexedKeyListModel<>();
+        DelegateKeyListModel<String, TestWithKey> reference = new DelegateKeyListModel<>();
+        for (int round = 0; round < 2000; round++) {
+            TestWithKey element = ELEMENTS[random.nextInt(ELEMENTS.length)];
+            String key = KEYS.get(random.nextInt(KEYS.size()));
+            switch (random.nextInt(10)) {
+                case 0:
+                case 1:
+                    indexed.add(element);
+                    reference.add(element);
+                    break;
+                case 2:
+                    int addIndex = random.nextInt(reference.size() + 1);
+                    indexed.add(addIndex, element);
+                    reference.add(addIndex, element);
+                    break;
+                case 3:
+                    if (!reference.isEmpty()) {
+                        int setIndex = random.nextInt(reference.size());
+                        indexed.set(setIndex, element);
+                        reference.set(setIndex, element);
+                    }
+                    break;
+                case 4:
+                    assertEquals(reference.removeKey(key), indexed.removeKey(key));
+                    break;
+                case 5:
+                    if (!reference.isEmpty()) {
+                        indexed.remove(reference.size() - 1);
+                        reference.remove(reference.size() - 1);
+                    }
+                    break;
+                case 6:
+                    List<String> keys = KEYS.subList(0, random.nextInt(KEYS.size()));
+                    assertEquals(reference.removeAllKey(keys), indexed.removeAllKey(keys));
+                    break;
+                case 7:
+                    List<TestWithKey> elements = Arrays.asList(element, ELEMENTS[random.nextInt(ELEMENTS.length)]);
+                    int addAllIndex = random.nextBoolean() ? reference.size() : random.nextInt(reference.size() + 1);
+                    indexed.addAll(addAllIndex, elements);
+                    reference.addAll(addAllIndex, elements);
+                    break;
+                case 8:
+                    List<TestWithKey> removes = Arrays.asList(element, ELEMENTS[random.nextInt(ELEMENTS.length)]);
+                    assertEquals(reference.removeAll(removes), indexed.removeAll(removes));
+                    break;
+                default:
+                    if (random.nextBoolean() && !reference.isEmpty()) {
+                        int from = random.nextInt(reference.size());
+                        int to = from + random.nextInt(reference.size() - from + 1);
+                        indexed.subList(from, to).clear();
+                        reference.subList(from, to).clear();
+                    } else if (random.nextInt(10) == 0) {
+                        indexed.clear();
+                        reference.clear();
+                    }
+                    break;
+            }
+            assertEquals(reference, indexed);
+            for (String k : KEYS) {
+                assertEquals(reference.containsKey(k), indexed.containsKey(k));
+                assertEquals(reference.indexOfKey(k), indexed.indexOfKey(k));
+                assertEquals(reference.lastIndexOfKey(k), indexed.lastIndexOfKey(k));
+                assertEquals(reference.get(k), indexed.get(k));
+            }
+        }
+    }
+
+    @Test
+    public void testLookupDoesNotScan() {
+        AtomicInteger scans = new AtomicInteger();
+        List<TestWithKey> delegate = new ArrayList<TestWithKey>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public Iterator<TestWithKey> iterator() {
+                scans.incrementAndGet();
+                return super.iterator();
+            }
+
+            @Override
+            public ListIterator<TestWithKey> listIterator(int index) {
+                scans.incrementAndGet();
+                return super.listIterator(index);
+            }
+        };
+        IndexedKeyListModel<String, TestWithKey> model = new IndexedKeyListModel<>(delegate, new HashSet<>());
+        model.add(TestWithKey.ELE_1);
+        model.add(TestWithKey.ELE_2);
+        model.add(0, TestWithKey.ELE_3);
+        model.remove(1);
+        model.set(0, TestWithKey.ELE_4);
+
+        scans.set(0);
+        assertEquals(0, model.indexOfKey("D"));
+        assertEquals(1, model.lastIndexOfKey("B"));
+        assertEquals(TestWithKey.ELE_2, model.get("B"));
+        assertEquals(-1, model.indexOfKey("A"));
+        assertEquals(0, scans.get());
+    }
+
+    @Test
+    public void testConcurrentReads() throws InterruptedException {
+        SyncKeyListModel<String, TestWithKey> sync = ModelUtil.syncKeyListModel(model);
+        for (int i = 0; i < 2000; i++) {
+            sync.add(ELEMENTS[i % ELEMENTS.length]);
+        }
+        AtomicInteger failures = new AtomicInteger();
+        for (int round = 0; round < 100; round++) {
+            // 头部插入会使所有序号发生变化，此后的并发读取不应修改模型的状态。
+            sync.add(0, ELEMENTS[round % ELEMENTS.length]);
+            TestWithKey first = sync.get(0);
+            CountDownLatch latch = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        latch.await();
+                        for (int j = 0; j < 50; j++) {
+                            if (sync.indexOfKey(first.getKey()) != 0 || sync.lastIndexOfKey("X") < -1
+                                    || !Objects.equals(first, sync.get(first.getKey()))) {
+                                failures.incrementAndGet();
+                            }
+                        }
+                    } catch (RuntimeException | InterruptedException e) {
+                        failures.incrementAndGet();
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            latch.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+        assertEquals(0, failures.get());
+    }
+}
@@ -0,0 +1,92 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class IndexedKeySetModelTest {
+
+    private final IndexedKeySetModel<String, TestWithKey> model = new IndexedKeySetModel<>(new LinkedHashSet<>(),
+            Collections.newSetFromMap(new WeakHashMap<>()));
+    private final TestSetObserver<TestWithKey> obv = new TestSetObserver<>();
+
+    @Before
+    public void setUp() {
+        model.clearObserver();
+        model.clear();
+        obv.reset();
+        model.add(TestWithKey.ELE_1);
+        model.add(TestWithKey.ELE_2);
+        model.add(TestWithKey.ELE_3);
+        model.add(TestWithKey.ELE_4);
+        model.add(TestWithKey.ELE_5);
+        model.addObserver(obv);
+    }
+
+    @Test
+    public void testGet() {
+        assertEquals(TestWithKey.ELE_1, model.get("A"));
+        assertEquals(TestWithKey.ELE_5, model.get("E"));
+        assertNull(model.get("F"));
+    }
+
+    @Test
+    public void testContainsAllKey() {
+        assertTrue(model.containsAllKey(Arrays.asList("A", "B", "C", "D", "E")));
+        assertFalse(model.containsAllKey(Arrays.asList("A", "B", "C", "D", "E", "F")));
+    }
+
+    @Test
+    public void testAdd() {
+        assertFalse(model.add(TestWithKey.FAIL_ELE));
+        assertTrue(model.add(TestWithKey.ELE_6));
+        assertEquals(TestWithKey.ELE_6, model.get("F"));
+        assertEquals(TestWithKey.ELE_6, obv.addedList.get(0));
+    }
+
+    @Test
+    public void testRemoveKey() {
+        assertFalse(model.removeKey("F"));
+        assertTrue(model.removeKey("B"));
+        assertFalse(model.containsKey("B"));
+        assertEquals(4, model.size());
+        assertEquals(TestWithKey.ELE_2, obv.removedList.get(0));
+    }
+
+    @Test
+    public void testMutationPaths() {
+        Iterator<TestWithKey> iterator = model.iterator();
+        iterator.next();
+        iterator.remove();
+        assertFalse(model.containsKey("A"));
+        assertTrue(model.add(TestWithKey.FAIL_ELE));
+        assertEquals(TestWithKey.FAIL_ELE, model.get("A"));
+
+        assertTrue(model.remove(TestWithKey.ELE_2));
+        assertFalse(model.containsKey("B"));
+
+        assertTrue(model.retainAllKey(Arrays.asList("A", "C")));
+        assertFalse(model.containsKey("D"));
+        assertFalse(model.containsKey("E"));
+        assertTrue(model.containsAllKey(Arrays.asList("A", "C")));
+
+        assertTrue(model.removeAll(Collections.singleton(TestWithKey.ELE_3)));
+        assertFalse(model.containsKey("C"));
+
+        model.clear();
+        assertFalse(model.containsKey("A"));
+        assertTrue(model.add(TestWithKey.ELE_1));
+    }
+
+    @Test
+    public void testInitialDelegate() {
+        IndexedKeySetModel<String, TestWithKey> model = new IndexedKeySetModel<>(
+                new HashSet<>(Arrays.asList(TestWithKey.ELE_1, TestWithKey.ELE_2)),
+                Collections.newSetFromMap(new WeakHashMap<>()));
+        assertEquals(TestWithKey.ELE_2, model.get("B"));
+        assertFalse(model.add(TestWithKey.FAIL_ELE));
+    }
+}
@@ -0,0 +1,192 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import com.dwarfeng.dutil.basic.cna.model.obs.MapAdapter;
+import com.dwarfeng.dutil.basic.cna.model.obs.ReferenceAdapter;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ModelEventDispatcherTest {
+
+    private static final class ManualExecutor implements Executor {
+
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.poll().run();
+            }
+        }
+    }
+
+    @Test
+    public void testOrderedDelivery() {
+        ManualExecutor executor = new ManualExecutor();
+        DelegateListModel<String> model = new DelegateListModel<>();
+        TestListObserver<String> obv = new TestListObserver<>();
+        model.addObserver(obv);
+        model.setEventDispatcher(new ModelEventDispatcher(executor));
+
+        model.add("0");
+        model.add("1");
+        model.set(0, "a");
+        model.set(0, "b");
+        model.remove(1);
+        assertTrue(obv.addedIndexes.isEmpty());
+        assertEquals(5, model.getEventDispatcher().getPendingCount());
+        assertEquals(1, executor.tasks.size());
+
+        executor.runAll();
+        assertEquals(Arrays.asList("0", "1"), obv.addedElements);
+        assertEquals(Arrays.asList("0", "a"), obv.changedOldElements);
+        assertEquals(Arrays.asList("a", "b"), obv.changedNewElements);
+        assertEquals(Collections.singletonList("1"), obv.removeElements);
+        assertEquals(0, model.getEventDispatcher().getPendingCount());
+    }
+
+    @Test
+    public void testObserverError() {
+        ManualExecutor executor = new ManualExecutor();
+        DelegateListModel<String> model = new DelegateListModel<>();
+        TestListObserver<String> obv = new TestListObserver<String>() {
+
+            @Override
+            public void fireAdded(int index, String element) {
+                if ("error".equals(element)) {
+                    throw new StackOverflowError();
+                }
+                super.fireAdded(index, element);
+            }
+        };
+        model.addObserver(obv);
+        model.setEventDispatcher(new ModelEventDispatcher(executor));
+
+        model.add("error");
+        model.add("1");
+        try {
+            executor.runAll();
+            fail();
+        } catch (StackOverflowError ignored) {
+        }
+        // 观察器抛出错误之后，剩余的事件以及之后的事件依然会被通知。
+        executor.runAll();
+        assertEquals(Collections.singletonList("1"), obv.addedElements);
+        model.add("2");
+        executor.runAll();
+        assertEquals(Arrays.asList("1", "2"), obv.addedElements);
+        assertEquals(0, model.getEventDispatcher().getPendingCount());
+    }
+
+    @Test
+    public void testCoalesceChanged() {
+        ManualExecutor executor = new ManualExecutor();
+        DelegateListModel<String> model = new DelegateListModel<>(new ArrayList<>(Arrays.asList("0", "1")),
+                Collections.newSetFromMap(new WeakHashMap<>()));
+        TestListObserver<String> obv = new TestListObserver<>();
+        model.addObserver(obv);
+        model.setEventDispatcher(new ModelEventDispatcher(executor, true));
+
+        model.set(0, "a");
+        model.set(0, "b");
+        model.set(0, "c");
+        model.set(1, "x");
+        model.set(0, "d");
+        model.add("2");
+        model.set(0, "e");
+        executor.runAll();
+        assertEquals(Arrays.asList(0, 1, 0, 0), obv.changedIndexes);
+        assertEquals(Arrays.asList("0", "1", "c", "d"), obv.changedOldElements);
+        assertEquals(Arrays.asList("c", "x", "d", "e"), obv.changedNewElements);
+        assertEquals(Collections.singletonList("2"), obv.addedElements);
+    }
+
+    @Test
+    public void testCoalesceMapAndReference() {
+        ManualExecutor executor = new ManualExecutor();
+        ModelEventDispatcher dispatcher = new ModelEventDispatcher(executor, true);
+
+        DelegateMapModel<String, Integer> mapModel = new DelegateMapModel<>();
+        mapModel.put("a", 1);
+        List<String> mapEvents = new ArrayList<>();
+        MapAdapter<String, Integer> mapObserver = new MapAdapter<String, Integer>() {
+
+            @Override
+            public void fireChanged(String key, Integer oldValue, Integer newValue) {
+                mapEvents.add(key + oldValue + newValue);
+            }
+        };
+        mapModel.addObserver(mapObserver);
+        mapModel.setEventDispatcher(dispatcher);
+
+        DefaultReferenceModel<Integer> referenceModel = new DefaultReferenceModel<>(0);
+        List<String> referenceEvents = new ArrayList<>();
+        ReferenceAdapter<Integer> referenceObserver = new ReferenceAdapter<Integer>() {
+
+            @Override
+            public void fireSet(Integer oldValue, Integer newValue) {
+                referenceEvents.add(oldValue + "->" + newValue);
+            }
+        };
+        referenceModel.addObserver(referenceObserver);
+        referenceModel.setEventDispatcher(dispatcher);
+
+        mapModel.put("a", 2);
+        mapModel.put("a", 3);
+        referenceModel.set(1);
+        referenceModel.set(2);
+        mapModel.put("a", 4);
+        executor.runAll();
+        assertEquals(Arrays.asList("a13", "a34"), mapEvents);
+        assertEquals(Collections.singletonList("0->2"), referenceEvents);
+    }
+
+    @Test
+    public void testSlowObserverDoesNotBlockWriter() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch delivered = new CountDownLatch(1000);
+            List<Integer> indexes = Collections.synchronizedList(new ArrayList<>());
+            DelegateListModel<Integer> model = new DelegateListModel<>();
+            TestListObserver<Integer> obv = new TestListObserver<Integer>() {
+
+                @Override
+                public void fireAdded(int index, Integer element) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    indexes.add(index);
+                    delivered.countDown();
+                }
+            };
+            model.addObserver(obv);
+            model.setEventDispatcher(new ModelEventDispatcher(executor));
+
+            for (int i = 0; i < 1000; i++) {
+                model.add(i);
+            }
+            assertEquals(1000, model.size());
+            release.countDown();
+            assertTrue(delivered.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(Integer.valueOf(i), indexes.get(i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
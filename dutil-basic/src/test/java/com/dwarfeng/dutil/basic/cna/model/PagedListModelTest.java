@@ -0,0 +1,231 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import com.dwarfeng.dutil.basic.cna.model.obs.ListAdapter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class PagedListModelTest {
+
+    private final List<Integer> data = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger loads = new AtomicInteger();
+    private final PageSource<Integer> source = new PageSource<Integer>() {
+
+        @Override
+        public int size() {
+            return data.size();
+        }
+
+        @Override
+        public List<Integer> load(int offset, int length) {
+            loads.incrementAndGet();
+            synchronized (data) {
+                return new ArrayList<>(data.subList(offset, offset + length));
+            }
+        }
+    };
+
+    @Before
+    public void setUp() {
+        data.clear();
+        for (int i = 0; i < 1000; i++) {
+            data.add(i);
+        }
+        loads.set(0);
+    }
+
+    @Test
+    public void testPaging() {
+        PagedListModel<Integer> model = new PagedListModel<>(source, 100, 3);
+        assertEquals(1000, model.size());
+        assertEquals(0, loads.get());
+
+        assertEquals(Integer.valueOf(5), model.get(5));
+        assertEquals(Integer.valueOf(99), model.get(99));
+        assertEquals(1, loads.get());
+        assertEquals(Integer.valueOf(999), model.get(999));
+        assertEquals(2, loads.get());
+
+        model.get(100);
+        model.get(200);
+        assertEquals(3, model.getCachedPageCount());
+        model.get(999);
+        assertEquals(4, loads.get());
+        model.get(5);
+        assertEquals(5, loads.get());
+
+        assertEquals(data, model);
+        assertEquals(3, model.getCachedPageCount());
+        assertEquals(500, model.indexOf(500));
+        assertEquals(Arrays.asList(10, 11), model.subList(10, 12));
+
+        try {
+            model.get(1000);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {
+        }
+        try {
+            model.add(1);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+    }
+
+    @Test
+    public void testPrefetch() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            PagedListModel<Integer> model = new PagedListModel<>(source, 100, 4, executor);
+            assertEquals(Integer.valueOf(250), model.get(250));
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertEquals(3, model.getCachedPageCount());
+            int loaded = loads.get();
+            assertEquals(Integer.valueOf(150), model.get(150));
+            assertEquals(Integer.valueOf(350), model.get(350));
+            assertEquals(loaded, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSourceChanges() {
+        PagedListModel<Integer> model = new PagedListModel<>(source, 100, 10);
+        TestListObserver<Integer> obv = new TestListObserver<>();
+        model.addObserver(obv);
+        model.get(0);
+        model.get(500);
+
+        data.addAll(300, Arrays.asList(-1, -2));
+        model.sourceInserted(300, 2);
+        assertEquals(1002, model.size());
+        assertEquals(Arrays.asList(300, 301), obv.addedIndexes);
+        assertEquals(Arrays.asList(-1, -2), obv.addedElements);
+        assertEquals(Integer.valueOf(498), model.get(500));
+
+        data.subList(0, 3).clear();
+        model.sourceRemoved(0, 3);
+        assertEquals(999, model.size());
+        assertEquals(Arrays.asList(0, 1, 2), obv.removeElements);
+        assertEquals(data, model);
+
+        data.set(10, -10);
+        model.sourceUpdated(10, 1);
+        assertEquals(Integer.valueOf(10), obv.changedIndexes.get(0));
+        assertEquals(Integer.valueOf(13), obv.changedOldElements.get(0));
+        assertEquals(Integer.valueOf(-10), obv.changedNewElements.get(0));
+        assertEquals(Integer.valueOf(-10), model.get(10));
+
+        data.clear();
+        data.add(7);
+        model.sourceReset();
+        assertTrue(obv.clearedCount > 0);
+        assertEquals(Collections.singletonList(7), model);
+
+        try {
+            model.sourceRemoved(0, 2);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void testResetWithListAdapter() {
+        PagedListModel<Integer> model = new PagedListModel<>(source, 100, 3);
+        List<Integer> added = new ArrayList<>();
+        AtomicInteger delivered = new AtomicInteger();
+        ListAdapter<Integer> obv = new ListAdapter<Integer>() {
+
+            @Override
+            public void fireAdded(int index, Integer element) {
+                assertEquals(added.size(), index);
+                added.add(element);
+                delivered.incrementAndGet();
+            }
+
+            @Override
+            public void fireCleared() {
+                added.clear();
+            }
+        };
+        model.addObserver(obv);
+
+        // 默认的区间通知会遍历整个区间，依次加载全部的页。
+        model.sourceReset();
+        assertEquals(data, added);
+        assertEquals(10, loads.get());
+
+        // 使用异步的分发器时，过期的区间视图不会返回变化之后的数据。
+        delivered.set(0);
+        Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        model.setEventDispatcher(new ModelEventDispatcher(tasks::add));
+        data.subList(500, 1000).clear();
+        model.sourceReset();
+        data.subList(0, 250).clear();
+        model.sourceReset();
+
+        PrintStream stderr = System.err;
+        System.setErr(new PrintStream(new ByteArrayOutputStream()));
+        try {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        } finally {
+            System.setErr(stderr);
+        }
+        assertEquals(data, added);
+        assertEquals(250, delivered.get());
+    }
+
+    @Test
+    public void testSourceUpdated() {
+        PagedListModel<Integer> model = new PagedListModel<>(source, 100, 3);
+        TestListObserver<Integer> obv = new TestListObserver<>();
+        List<Integer> rangeSizes = new ArrayList<>();
+        ListAdapter<Integer> adapter = new ListAdapter<Integer>() {
+
+            @Override
+            public void fireAddedRange(int from, List<Integer> elements) {
+                rangeSizes.add(elements.size());
+            }
+        };
+        model.addObserver(adapter);
+
+        // 大范围的改变按照重置的方式通知，不会逐个加载数据。
+        model.sourceUpdated(0, 1000);
+        assertEquals(Collections.singletonList(1000), rangeSizes);
+        assertEquals(0, loads.get());
+
+        model.removeObserver(adapter);
+        model.addObserver(obv);
+        data.set(5, -5);
+        model.sourceUpdated(5, 1);
+        assertEquals(Collections.singletonList(5), obv.changedIndexes);
+        assertEquals(Collections.singletonList(-5), obv.changedNewElements);
+
+        // 数据源在通知之前已经缩小时，按照重置的方式通知，而不是通知一部分改变。
+        model.get(990);
+        data.subList(950, 1000).clear();
+        model.sourceUpdated(990, 5);
+        assertEquals(1, obv.changedIndexes.size());
+        assertEquals(1, obv.clearedCount);
+        assertEquals(950, model.size());
+        assertEquals(data, obv.addedElements);
+    }
+}
@@ -0,0 +1,91 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class SnapshotModelTest {
+
+    @Test
+    public void testListModel() {
+        SnapshotListModel<String> model = ModelUtil.snapshotListModel(new DelegateListModel<>());
+        model.addAll(Arrays.asList("0", "1", "2"));
+
+        List<String> snapshot = model.snapshot();
+        assertEquals(Arrays.asList("0", "1", "2"), snapshot);
+        assertSame(snapshot, model.snapshot());
+
+        model.add("3");
+        model.remove("0");
+        assertEquals(Arrays.asList("0", "1", "2"), snapshot);
+        assertEquals(Arrays.asList("1", "2", "3"), model.snapshot());
+        assertNotSame(snapshot, model.snapshot());
+
+        Iterator<String> i = model.iterator();
+        model.getLock().writeLock().lock();
+        try {
+            i.next();
+            i.remove();
+        } finally {
+            model.getLock().writeLock().unlock();
+        }
+        assertEquals(Arrays.asList("2", "3"), model.snapshot());
+
+        try {
+            model.snapshot().add("4");
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+    }
+
+    @Test
+    public void testMapModel() {
+        SnapshotMapModel<String, Integer> model = ModelUtil.snapshotMapModel(new DelegateMapModel<>());
+        model.put("a", 1);
+        model.put("b", 2);
+
+        Map<String, Integer> snapshot = model.snapshot();
+        assertSame(snapshot, model.snapshot());
+        model.put("a", 3);
+        model.remove("b");
+        assertEquals(Integer.valueOf(1), snapshot.get("a"));
+        assertEquals(2, snapshot.size());
+        assertEquals(Collections.singletonMap("a", 3), model.snapshot());
+    }
+
+    @Test
+    public void testIterateWhileWriting() throws InterruptedException {
+        SnapshotListModel<Integer> model = ModelUtil.snapshotListModel(new DelegateListModel<>());
+        for (int i = 0; i < 100; i++) {
+            model.add(i);
+        }
+        List<Integer> snapshot = model.snapshot();
+        CountDownLatch written = new CountDownLatch(1);
+
+        Iterator<Integer> iterator = snapshot.iterator();
+        iterator.next();
+        Thread writer = new Thread(() -> {
+            model.add(100);
+            model.remove(0);
+            written.countDown();
+        });
+        writer.start();
+        assertTrue(written.await(10, TimeUnit.SECONDS));
+
+        int count = 1;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        assertEquals(100, count);
+        assertEquals(Integer.valueOf(100), model.snapshot().get(99));
+    }
+}
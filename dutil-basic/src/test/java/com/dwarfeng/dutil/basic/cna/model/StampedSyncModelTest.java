@@ -0,0 +1,123 @@
+package com.dwarfeng.dutil.basic.cna.model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class StampedSyncModelTest {
+
+    @Test
+    public void testListModel() {
+        SyncListModel<String> model = ModelUtil.stampedSyncListModel(new DelegateListModel<>());
+        TestListObserver<String> obv = new TestListObserver<>();
+        model.addObserver(obv);
+        assertTrue(model.isEmpty());
+        model.add("0");
+        model.add("1");
+        assertEquals(2, model.size());
+        assertEquals("1", model.get(1));
+        assertTrue(model.contains("0"));
+        assertEquals(1, model.indexOf("1"));
+        assertEquals(Integer.valueOf(1), obv.addedIndexes.get(1));
+
+        model.getLock().readLock().lock();
+        try {
+            List<String> copy = new ArrayList<>(model);
+            assertEquals(2, copy.size());
+        } finally {
+            model.getLock().readLock().unlock();
+        }
+    }
+
+    @Test
+    public void testKeyModels() {
+        SyncKeyListModel<String, TestWithKey> keyListModel = ModelUtil.stampedSyncKeyListModel(
+                new DelegateKeyListModel<>());
+        keyListModel.add(TestWithKey.ELE_1);
+        keyListModel.add(TestWithKey.ELE_2);
+        assertEquals(TestWithKey.ELE_2, keyListModel.get("B"));
+        assertEquals(1, keyListModel.indexOfKey("B"));
+        assertTrue(keyListModel.containsKey("A"));
+
+        SyncKeySetModel<String, TestWithKey> keySetModel = ModelUtil.stampedSyncKeySetModel(
+                new DelegateKeySetModel<>());
+        keySetModel.add(TestWithKey.ELE_1);
+        assertFalse(keySetModel.add(TestWithKey.FAIL_ELE));
+        assertEquals(TestWithKey.ELE_1, keySetModel.get("A"));
+        assertTrue(keySetModel.containsKey("A"));
+
+        SyncMapModel<String, Integer> mapModel = ModelUtil.stampedSyncMapModel(new DelegateMapModel<>());
+        mapModel.put("a", 1);
+        assertEquals(Integer.valueOf(1), mapModel.get("a"));
+        assertTrue(mapModel.containsValue(1));
+
+        SyncReferenceModel<String> referenceModel = ModelUtil.stampedSyncReferenceModel(
+                new DefaultReferenceModel<>());
+        assertTrue(referenceModel.isEmpty());
+        referenceModel.set("a");
+        assertEquals("a", referenceModel.get());
+    }
+
+    @Test
+    public void testConcurrentReaders() throws InterruptedException {
+        SyncSetModel<Integer> model = ModelUtil.stampedSyncSetModel(new DelegateSetModel<>());
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    while (running.get()) {
+                        // 写线程总是成对地添加与移除 0 与 1，因此模型的大小只能是 0、1 或 2。
+                        int size = model.size();
+                        assertTrue(size >= 0 && size <= 2);
+                        model.contains(0);
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+        for (int i = 0; i < 20000; i++) {
+            model.add(0);
+            model.add(1);
+            model.remove(0);
+            model.remove(1);
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(failure.get());
+        assertTrue(model.isEmpty());
+    }
+
+    @Test
+    public void testErrorDuringInvalidatedRead() {
+        AtomicReference<SyncReferenceModel<String>> holder = new AtomicReference<>();
+        AtomicBoolean first = new AtomicBoolean(true);
+        SyncReferenceModel<String> model = ModelUtil.stampedSyncReferenceModel(new DefaultReferenceModel<String>() {
+
+            @Override
+            public String get() {
+                // 第一次乐观读时模拟并发写入，并抛出读取到不一致的状态而引起的错误，读取应当在读锁下重试。
+                if (first.getAndSet(false)) {
+                    holder.get().set("b");
+                    throw new StackOverflowError();
+                }
+                return super.get();
+            }
+        });
+        holder.set(model);
+        model.set("a");
+        assertEquals("b", model.get());
+    }
+}
@@ -0,0 +1,228 @@
+package com.dwarfeng.dutil.basic.cna.model.journal;
+
+import com.dwarfeng.dutil.basic.cna.model.DelegateListModel;
+import com.dwarfeng.dutil.basic.cna.model.DelegateMapModel;
+import com.dwarfeng.dutil.basic.cna.model.ListModel;
+import com.dwarfeng.dutil.basic.cna.model.MapModel;
+import com.dwarfeng.dutil.basic.cna.model.ModelUtil;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class ModelJournalTest {
+
+    private static final ElementCodec<String> STRING_CODEC = new ElementCodec<String>() {
+
+        @Override
+        public void write(DataOutput out, String element) throws IOException {
+            out.writeUTF(element);
+        }
+
+        @Override
+        public String read(DataInput in) throws IOException {
+            return in.readUTF();
+        }
+    };
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testListJournal() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("list.journal");
+        ListModel<String> model = new DelegateListModel<>();
+        model.add("initial");
+
+        ListModelJournal<String> journal = new ListModelJournal<>(model, path, STRING_CODEC);
+        journal.open();
+        model.add("0");
+        model.addAll(Arrays.asList("1", "2", "3", null, "5"));
+        model.add(0, "first");
+        model.set(2, "changed");
+        model.remove(1);
+        model.removeAll(Arrays.asList("2", "3"));
+
+        // 刷新之前记录只在缓冲中，读取方只能看到打开日志时的快照。
+        ListModel<String> replica = new DelegateListModel<>();
+        ListModelJournal.replay(path, STRING_CODEC, replica);
+        assertEquals(Collections.singletonList("initial"), replica);
+
+        journal.flush();
+        long position = ListModelJournal.replay(path, STRING_CODEC, replica);
+        assertEquals(model, replica);
+        assertEquals(journal.getPosition(), position);
+
+        model.subList(1, 3).clear();
+        model.add("6");
+        model.set(0, null);
+        journal.flush();
+        position = ListModelJournal.replay(path, STRING_CODEC, replica, position);
+        assertEquals(model, replica);
+        assertEquals(journal.getPosition(), position);
+
+        model.clear();
+        model.add("7");
+        journal.close();
+        model.add("8");
+        ListModelJournal.replay(path, STRING_CODEC, replica, position);
+        assertEquals(model.subList(0, 1), replica);
+        assertFalse(journal.isOpen());
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("compact.journal");
+        ListModel<String> model = ModelUtil.syncListModel(new DelegateListModel<>());
+
+        ListModelJournal<String> journal = new ListModelJournal<>(model, path, STRING_CODEC, 3);
+        journal.open();
+        long generation = journal.getGeneration();
+        assertEquals(generation, AbstractModelJournal.readGeneration(path));
+        for (int i = 0; i < 10; i++) {
+            model.add(String.valueOf(i));
+        }
+        assertEquals(generation + 3, journal.getGeneration());
+        assertEquals(journal.getGeneration(), AbstractModelJournal.readGeneration(path));
+
+        ListModel<String> replica = new DelegateListModel<>();
+        journal.flush();
+        ListModelJournal.replay(path, STRING_CODEC, replica);
+        assertEquals(model, replica);
+
+        journal.compact();
+        assertEquals(generation + 4, AbstractModelJournal.readGeneration(path));
+        replica.clear();
+        ListModelJournal.replay(path, STRING_CODEC, replica);
+        assertEquals(model, replica);
+        journal.close();
+
+        ListModelJournal<String> reopened = new ListModelJournal<>(model, path, STRING_CODEC);
+        reopened.open();
+        assertEquals(generation + 5, reopened.getGeneration());
+        reopened.close();
+    }
+
+    @Test
+    public void testGenerationCheckedReplay() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("generation.journal");
+        ListModel<String> model = new DelegateListModel<>();
+
+        ListModelJournal<String> journal = new ListModelJournal<>(model, path, STRING_CODEC);
+        journal.open();
+        model.add("0");
+        model.add("1");
+
+        ListModel<String> replica = new DelegateListModel<>();
+        journal.flush();
+        long generation = AbstractModelJournal.readGeneration(path);
+        long position = ListModelJournal.replay(path, STRING_CODEC, replica, 0, generation);
+        assertEquals(model, replica);
+
+        model.add("2");
+        journal.flush();
+        position = ListModelJournal.replay(path, STRING_CODEC, replica, position, generation);
+        assertEquals(model, replica);
+
+        // 压缩以后旧的位置指向新的日志文件中的其它内容，代数检查失败时不应用任何记录。
+        model.remove(0);
+        journal.compact();
+        model.add("3");
+        assertEquals(-1, ListModelJournal.replay(path, STRING_CODEC, replica, position, generation));
+        assertEquals(Arrays.asList("0", "1", "2"), replica);
+
+        journal.flush();
+        generation = AbstractModelJournal.readGeneration(path);
+        position = ListModelJournal.replay(path, STRING_CODEC, replica, 0, generation);
+        assertEquals(model, replica);
+        assertEquals(journal.getPosition(), position);
+        journal.close();
+
+        MapModel<String, String> mapModel = new DelegateMapModel<>();
+        Path mapPath = folder.getRoot().toPath().resolve("generation-map.journal");
+        MapModelJournal<String, String> mapJournal =
+                new MapModelJournal<>(mapModel, mapPath, STRING_CODEC, STRING_CODEC);
+        mapJournal.open();
+        mapModel.put("a", "1");
+        MapModel<String, String> mapReplica = new DelegateMapModel<>();
+        mapJournal.flush();
+        long mapGeneration = mapJournal.getGeneration();
+        long mapPosition = MapModelJournal.replay(mapPath, STRING_CODEC, STRING_CODEC, mapReplica, 0, mapGeneration);
+        assertEquals(mapModel, mapReplica);
+        mapJournal.compact();
+        mapModel.put("b", "2");
+        assertEquals(-1,
+                MapModelJournal.replay(mapPath, STRING_CODEC, STRING_CODEC, mapReplica, mapPosition, mapGeneration));
+        assertEquals(1, mapReplica.size());
+        mapJournal.close();
+    }
+
+    @Test
+    public void testMapJournal() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("map.journal");
+        MapModel<String, String> model = new DelegateMapModel<>();
+        model.put("a", "1");
+
+        MapModelJournal<String, String> journal = new MapModelJournal<>(model, path, STRING_CODEC, STRING_CODEC);
+        journal.open();
+        model.put("b", "2");
+        model.put("a", "3");
+        model.put("c", null);
+        model.remove("b");
+
+        MapModel<String, String> replica = new DelegateMapModel<>();
+        journal.flush();
+        long position = MapModelJournal.replay(path, STRING_CODEC, STRING_CODEC, replica);
+        assertEquals(model, replica);
+
+        model.clear();
+        model.put("d", "4");
+        journal.flush();
+        MapModelJournal.replay(path, STRING_CODEC, STRING_CODEC, replica, position);
+        assertEquals(model, replica);
+        journal.close();
+    }
+
+    @Test
+    public void testTornTail() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("torn.journal");
+        ListModel<String> model = new DelegateListModel<>();
+
+        ListModelJournal<String> journal = new ListModelJournal<>(model, path, STRING_CODEC);
+        journal.open();
+        model.add("0");
+        model.add("1");
+        long complete = journal.getPosition();
+        model.add("2");
+        journal.close();
+
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 2));
+        ListModel<String> replica = new DelegateListModel<>();
+        assertEquals(complete, ListModelJournal.replay(path, STRING_CODEC, replica));
+        assertEquals(model.subList(0, 2), replica);
+
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(path, bytes, StandardOpenOption.TRUNCATE_EXISTING);
+        replica.clear();
+        assertEquals(complete, ListModelJournal.replay(path, STRING_CODEC, replica));
+        assertEquals(model.subList(0, 2), replica);
+
+        Files.write(path, new byte[]{1, 2, 3});
+        try {
+            ListModelJournal.replay(path, STRING_CODEC, replica);
+            fail();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -259,6 +259,10 @@ public class MappingTableModelTest {
         assertTrue(tableModel.removeAll(Arrays.asList(EMPLOYEE_DWARFENG, EMPLOYEE_RAE, EMPLOYEE_NEWBIE)));
         assertEquals(1, tableModel.size());
         assertTrue(tableModel.contains(EMPLOYEE_BOSS));
+        assertEquals(1, tableModelListener.eventList.size());
+        assertEquals(TableModelEvent.DELETE, tableModelListener.eventList.get(0).getType());
+        assertEquals(0, tableModelListener.eventList.get(0).getFirstRow());
+        assertEquals(1, tableModelListener.eventList.get(0).getLastRow());
     }
 
     @Test
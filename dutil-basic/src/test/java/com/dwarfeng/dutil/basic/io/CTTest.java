@@ -2,13 +2,17 @@ package com.dwarfeng.dutil.basic.io;
 
 import com.dwarfeng.dutil.basic.io.CT.MultiLineType;
 import com.dwarfeng.dutil.basic.io.CT.OutputType;
+import com.dwarfeng.dutil.basic.io.CT.OverflowPolicy;
 import org.junit.After;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 public class CTTest {
 
@@ -16,6 +20,8 @@ public class CTTest {
     public void tearDown() {
         CT.setOutputType(OutputType.FULL_DATE);
         CT.setMutiLineType(MultiLineType.TYPE_2);
+        CT.setAsync(false);
+        CT.setOverflowPolicy(OverflowPolicy.BLOCK);
     }
 
     @Test
@@ -68,4 +74,133 @@ public class CTTest {
         CT.setMutiLineType(MultiLineType.TYPE_2);
         assertEquals(MultiLineType.TYPE_2, CT.getMultiLineType());
     }
+
+    @Test
+    public void testAsync() {
+        PrintStream stdout = System.out;
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bout, true));
+        try {
+            CT.setOutputType(OutputType.NO_DATE);
+            CT.setAsync(true, 4);
+            assertTrue(CT.isAsync());
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                assertEquals(Integer.toString(i), CT.trace(i));
+                expected.append(i).append(System.lineSeparator());
+            }
+            CT.flush();
+            assertEquals(expected.toString(), bout.toString());
+            CT.setAsync(false);
+            assertFalse(CT.isAsync());
+        } finally {
+            System.setOut(stdout);
+        }
+    }
+
+    @Test
+    public void testAsyncDrop() throws InterruptedException {
+        PrintStream stdout = System.out;
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // 第一次写入时阻塞输出线程，使队列被填满。
+        System.setOut(new PrintStream(new OutputStream() {
+
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                }
+                bout.write(b, off, len);
+            }
+        }, true));
+        try {
+            CT.setOutputType(OutputType.NO_DATE);
+            CT.setOverflowPolicy(OverflowPolicy.DROP);
+            CT.setAsync(true, 1);
+            long dropped = CT.getDroppedCount();
+            CT.trace("a");
+            writing.await();
+            CT.trace("b");
+            CT.trace("c");
+            assertEquals(dropped + 1, CT.getDroppedCount());
+            release.countDown();
+            CT.flush();
+            String lineSeparator = System.lineSeparator();
+            assertEquals("a" + lineSeparator + "b" + lineSeparator, bout.toString());
+        } finally {
+            release.countDown();
+            CT.setAsync(false);
+            System.setOut(stdout);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testAsyncWriterFailure() {
+        PrintStream stdout = System.out;
+        PrintStream stderr = System.err;
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        System.setOut(new PrintStream(new OutputStream() {
+
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                Throwable throwable = failure.get();
+                if (throwable instanceof RuntimeException) {
+                    throw (RuntimeException) throwable;
+                }
+                if (throwable instanceof Error) {
+                    throw (Error) throwable;
+                }
+                bout.write(b, off, len);
+            }
+        }, true));
+        // 输出线程打印的异常堆栈不影响测试，将其屏蔽。
+        System.setErr(new PrintStream(new ByteArrayOutputStream()));
+        try {
+            CT.setOutputType(OutputType.NO_DATE);
+            CT.setAsync(true, 4);
+
+            // 输出时抛出运行时异常不会使输出线程终止，刷新不会永远等待。
+            failure.set(new IllegalStateException());
+            CT.trace("a");
+            CT.flush();
+
+            // 输出线程因为错误而终止之后，刷新失败，此后的文本在调用线程中同步输出。
+            failure.set(new AssertionError());
+            CT.trace("b");
+            try {
+                CT.flush();
+                fail();
+            } catch (IllegalStateException ignored) {
+            }
+            failure.set(null);
+            CT.trace("c");
+            assertEquals("c" + System.lineSeparator(), bout.toString());
+
+            // 重新开启异步输出模式时，已经终止的输出线程被替换。
+            CT.setAsync(true, 4);
+            CT.trace("d");
+            CT.flush();
+            assertEquals("c" + System.lineSeparator() + "d" + System.lineSeparator(), bout.toString());
+        } finally {
+            CT.setAsync(false);
+            System.setOut(stdout);
+            System.setErr(stderr);
+        }
+    }
 }
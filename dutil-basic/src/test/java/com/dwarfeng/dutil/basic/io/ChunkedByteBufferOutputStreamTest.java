@@ -0,0 +1,114 @@
+package com.dwarfeng.dutil.basic.io;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ChunkedByteBufferOutputStreamTest {
+
+    private static final File ROOT = new File("test/");
+
+    @After
+    public void tearDown() {
+        FileUtil.deleteFile(ROOT);
+    }
+
+    @Test
+    public void testWrite() {
+        byte[] content = randomBytes(1000);
+        for (boolean direct : new boolean[]{false, true}) {
+            ChunkedByteBufferOutputStream out = new ChunkedByteBufferOutputStream(64, direct);
+            out.write(-1);
+            out.write(content, 0, 500);
+            out.write(ByteBuffer.wrap(content, 500, 500));
+            assertEquals(1001, out.size());
+
+            byte[] bytes = out.toByteArray();
+            assertEquals((byte) -1, bytes[0]);
+            for (int i = 0; i < content.length; i++) {
+                assertEquals(content[i], bytes[i + 1]);
+            }
+
+            ByteBuffer[] buffers = out.toByteBuffers();
+            assertEquals(16, buffers.length);
+            assertEquals(64, buffers[0].remaining());
+            assertEquals(41, buffers[15].remaining());
+            assertTrue(buffers[0].isReadOnly());
+        }
+    }
+
+    @Test
+    public void testWriteTo() throws IOException {
+        byte[] content = randomBytes(100_000);
+        ChunkedByteBufferOutputStream out = new ChunkedByteBufferOutputStream(1000, true);
+        out.write(content, 0, content.length);
+
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        out.writeTo(byteOut);
+        assertArrayEquals(content, byteOut.toByteArray());
+
+        File target = new File(ROOT, "chunked.bin");
+        FileUtil.createFileIfNotExists(target);
+        try (FileChannel channel = FileChannel.open(target.toPath(), StandardOpenOption.WRITE)) {
+            assertEquals(content.length, out.writeTo(channel));
+        }
+        assertArrayEquals(content, Files.readAllBytes(target.toPath()));
+    }
+
+    @Test
+    public void testReset() {
+        ChunkedByteBufferOutputStream out = new ChunkedByteBufferOutputStream();
+        out.write(randomBytes(50_000), 0, 50_000);
+        out.reset();
+        assertEquals(0, out.size());
+        assertEquals(0, out.toByteBuffers().length);
+
+        // 复用池中的块时，旧的数据不应残留。
+        out.write(1);
+        assertArrayEquals(new byte[]{1}, out.toByteArray());
+        out.reset();
+    }
+
+    @Test
+    public void testResetDoesNotShareChunks() {
+        byte[] content = randomBytes(50_000);
+        ChunkedByteBufferOutputStream out = new ChunkedByteBufferOutputStream();
+        out.write(content, 0, content.length);
+        ByteBuffer[] buffers = out.toByteBuffers();
+        out.reset();
+
+        // 一个输出流重置之后，其它输出流的写入不会修改该输出流之前返回的缓冲。
+        ChunkedByteBufferOutputStream other = new ChunkedByteBufferOutputStream();
+        byte[] otherContent = new byte[50_000];
+        other.write(otherContent, 0, otherContent.length);
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        for (ByteBuffer buffer : buffers) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            byteOut.write(bytes, 0, bytes.length);
+        }
+        assertArrayEquals(content, byteOut.toByteArray());
+        other.reset();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalChunkSize() {
+        new ChunkedByteBufferOutputStream(0);
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
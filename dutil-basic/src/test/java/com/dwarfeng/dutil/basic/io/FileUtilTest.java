@@ -0,0 +1,176 @@
+package com.dwarfeng.dutil.basic.io;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class FileUtilTest {
+
+    private static final File ROOT = new File("test/");
+
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() {
+        executorService = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+        FileUtil.deleteFile(ROOT);
+    }
+
+    @Test
+    public void testFileCopy() throws IOException {
+        byte[] content = randomBytes(100_000);
+        File source = new File(ROOT, "source.bin");
+        File target = new File(ROOT, "sub/target.bin");
+        FileUtil.createFileIfNotExists(source);
+        Files.write(source.toPath(), content);
+
+        FileUtil.fileCopy(source, target);
+        assertArrayEquals(content, Files.readAllBytes(target.toPath()));
+
+        // 目标文件更长时，复制后应被截断。
+        Files.write(target.toPath(), randomBytes(200_000));
+        FileUtil.fileCopy(source, target);
+        assertArrayEquals(content, Files.readAllBytes(target.toPath()));
+    }
+
+    @Test
+    public void testChunkedFileCopy() throws IOException {
+        byte[] content = randomBytes(100_003);
+        File source = new File(ROOT, "source.bin");
+        File target = new File(ROOT, "target.bin");
+        FileUtil.createFileIfNotExists(source);
+        Files.write(source.toPath(), content);
+        FileUtil.createFileIfNotExists(target);
+        Files.write(target.toPath(), randomBytes(200_000));
+
+        FileUtil.fileCopy(source, target, executorService, 4096);
+        assertArrayEquals(content, Files.readAllBytes(target.toPath()));
+    }
+
+    @Test
+    public void testCopyTree() throws IOException {
+        File source = new File(ROOT, "source");
+        File target = new File(ROOT, "target");
+        byte[] a = randomBytes(1000);
+        byte[] b = randomBytes(2000);
+        FileUtil.createFileIfNotExists(new File(source, "a.bin"));
+        FileUtil.createFileIfNotExists(new File(source, "dir/b.bin"));
+        FileUtil.createDirIfNotExists(new File(source, "empty"));
+        Files.write(new File(source, "a.bin").toPath(), a);
+        Files.write(new File(source, "dir/b.bin").toPath(), b);
+
+        FileUtil.copyTree(source, target, executorService);
+        assertArrayEquals(a, Files.readAllBytes(new File(target, "a.bin").toPath()));
+        assertArrayEquals(b, Files.readAllBytes(new File(target, "dir/b.bin").toPath()));
+        assertTrue(new File(target, "empty").isDirectory());
+    }
+
+    @Test
+    public void testWalk() throws IOException {
+        File dir = new File(ROOT, "walk");
+        createTree(dir);
+
+        try (Stream<Path> stream = FileUtil.walk(dir)) {
+            Set<Path> paths = stream.collect(Collectors.toSet());
+            assertEquals(FileUtil.listAllFile(dir).length, paths.size());
+            assertTrue(paths.contains(new File(dir, "skip/c.bin").toPath()));
+        }
+        try (Stream<Path> stream = FileUtil.walk(dir)) {
+            assertEquals(FileUtil.listAllFile(dir).length, stream.parallel().count());
+        }
+        // 被过滤器拒绝的文件夹不会被进入。
+        try (Stream<Path> stream = FileUtil.walk(dir, file -> !file.getName().equals("skip"))) {
+            Set<Path> paths = stream.collect(Collectors.toSet());
+            assertFalse(paths.contains(new File(dir, "skip").toPath()));
+            assertFalse(paths.contains(new File(dir, "skip/c.bin").toPath()));
+            assertTrue(paths.contains(new File(dir, "sub/d2/b.bin").toPath()));
+        }
+        File single = new File(dir, "a.bin");
+        try (Stream<Path> stream = FileUtil.walk(single)) {
+            assertEquals(1, stream.count());
+        }
+    }
+
+    @Test
+    public void testDeleteFileParallel() throws IOException {
+        File dir = new File(ROOT, "delete");
+        createTree(dir);
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            assertTrue(FileUtil.deleteFile(dir, forkJoinPool));
+            assertFalse(dir.exists());
+        } finally {
+            forkJoinPool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWalkSplit() throws IOException {
+        File dir = new File(ROOT, "wide");
+        for (int i = 0; i < 20; i++) {
+            for (int j = 0; j < 10; j++) {
+                FileUtil.createFileIfNotExists(new File(dir, "d" + i + "/f" + j + ".bin"));
+            }
+        }
+        try (Stream<Path> stream = FileUtil.walk(dir)) {
+            // 尚未打开任何目录时就可以拆分，拆分出的两部分各自包含完整的子树，互不重叠。
+            Spliterator<Path> second = stream.spliterator();
+            Spliterator<Path> first = second.trySplit();
+            assertNotNull(first);
+            Set<Path> firstPaths = new HashSet<>();
+            Set<Path> secondPaths = new HashSet<>();
+            first.forEachRemaining(firstPaths::add);
+            second.forEachRemaining(secondPaths::add);
+            assertFalse(firstPaths.isEmpty());
+            assertFalse(secondPaths.isEmpty());
+            assertEquals(1 + 20 + 20 * 10, firstPaths.size() + secondPaths.size());
+
+            Set<Path> all = new HashSet<>(firstPaths);
+            all.addAll(secondPaths);
+            assertEquals(1 + 20 + 20 * 10, all.size());
+            for (int i = 0; i < 20; i++) {
+                Path subDir = new File(dir, "d" + i).toPath();
+                Set<Path> owner = firstPaths.contains(subDir) ? firstPaths : secondPaths;
+                for (int j = 0; j < 10; j++) {
+                    assertTrue(owner.contains(subDir.resolve("f" + j + ".bin")));
+                }
+            }
+        }
+    }
+
+    private static void createTree(File dir) throws IOException {
+        FileUtil.createFileIfNotExists(new File(dir, "a.bin"));
+        FileUtil.createDirIfNotExists(new File(dir, "empty"));
+        FileUtil.createFileIfNotExists(new File(dir, "skip/c.bin"));
+        for (int i = 0; i < 8; i++) {
+            FileUtil.createFileIfNotExists(new File(dir, "sub/d" + i + "/b.bin"));
+        }
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
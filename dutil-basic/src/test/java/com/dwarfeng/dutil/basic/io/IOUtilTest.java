@@ -0,0 +1,137 @@
+package com.dwarfeng.dutil.basic.io;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IOUtilTest {
+
+    private static final File ROOT = new File("test/");
+
+    @After
+    public void tearDown() {
+        FileUtil.deleteFile(ROOT);
+    }
+
+    @Test
+    public void testTrans() throws IOException {
+        for (int length : new int[]{0, 1, 100, 8193, 300_000}) {
+            byte[] content = randomBytes(length);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            IOUtil.trans(new ByteArrayInputStream(content), out);
+            assertArrayEquals(content, out.toByteArray());
+
+            out = new ByteArrayOutputStream();
+            IOUtil.trans(new ByteArrayInputStream(content), out, 16);
+            assertArrayEquals(content, out.toByteArray());
+        }
+    }
+
+    @Test
+    public void testTransNested() throws IOException {
+        byte[] content = randomBytes(20_000);
+        ByteArrayOutputStream inner = new ByteArrayOutputStream();
+        // 输出流在写入时再次调用传送方法，两次传送不应共用同一个缓冲。
+        OutputStream out = new OutputStream() {
+
+            @Override
+            public void write(int b) {
+                inner.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                IOUtil.trans(new ByteArrayInputStream(b, off, len), inner);
+            }
+        };
+        IOUtil.trans(new ByteArrayInputStream(content), out);
+        assertArrayEquals(content, inner.toByteArray());
+    }
+
+    @Test
+    public void testTransByteBuffer() throws IOException {
+        byte[] content = randomBytes(10_000);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBufferInputStream in = new ByteBufferInputStream(ByteBuffer.wrap(content), false);
+        assertEquals(10, in.skip(10));
+        IOUtil.trans(in, out);
+        assertEquals(-1, in.read());
+        assertArrayEquals(Arrays.copyOfRange(content, 10, content.length), out.toByteArray());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(content.length);
+        direct.put(content).flip();
+        out = new ByteArrayOutputStream();
+        IOUtil.trans(new ByteBufferInputStream(direct, false), out);
+        assertArrayEquals(content, out.toByteArray());
+
+        File target = new File(ROOT, "buffer.bin");
+        FileUtil.createFileIfNotExists(target);
+        try (OutputStream fileOut = new FileOutputStream(target)) {
+            IOUtil.trans(new ByteBufferInputStream(ByteBuffer.wrap(content)), fileOut);
+        }
+        assertArrayEquals(content, Files.readAllBytes(target.toPath()));
+    }
+
+    @Test
+    public void testTransFile() throws IOException {
+        byte[] content = randomBytes(100_000);
+        File source = new File(ROOT, "source.bin");
+        File target = new File(ROOT, "target.bin");
+        FileUtil.createFileIfNotExists(source);
+        FileUtil.createFileIfNotExists(target);
+        Files.write(source.toPath(), content);
+
+        try (InputStream in = new FileInputStream(source); OutputStream out = new FileOutputStream(target)) {
+            assertEquals(100, in.skip(100));
+            IOUtil.trans(in, out);
+            assertEquals(-1, in.read());
+        }
+        assertArrayEquals(Arrays.copyOfRange(content, 100, content.length),
+                Files.readAllBytes(target.toPath()));
+    }
+
+    @Test(timeout = 10000)
+    public void testTransFifo() throws Exception {
+        File fifo = new File(ROOT, "source.fifo");
+        File target = new File(ROOT, "target.bin");
+        FileUtil.createDirIfNotExists(ROOT);
+        FileUtil.createFileIfNotExists(target);
+        boolean created;
+        try {
+            created = new ProcessBuilder("mkfifo", fifo.getPath()).start().waitFor() == 0;
+        } catch (IOException e) {
+            created = false;
+        }
+        Assume.assumeTrue(created);
+
+        byte[] content = randomBytes(100_000);
+        Thread writer = new Thread(() -> {
+            try (OutputStream out = new FileOutputStream(fifo)) {
+                out.write(content);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.start();
+        try (InputStream in = new FileInputStream(fifo); OutputStream out = new FileOutputStream(target)) {
+            IOUtil.trans(in, out);
+        }
+        writer.join();
+        assertArrayEquals(content, Files.readAllBytes(target.toPath()));
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
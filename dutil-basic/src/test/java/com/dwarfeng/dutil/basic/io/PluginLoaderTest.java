@@ -0,0 +1,89 @@
+package com.dwarfeng.dutil.basic.io;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.*;
+
+public class PluginLoaderTest {
+
+    private static final File ROOT = new File("test/");
+    private static final File PLUGIN_DIR = new File(ROOT, "plugins");
+    private static final File INDEX_FILE = new File(ROOT, "plugins.idx");
+
+    @Before
+    public void setUp() throws IOException {
+        File jar = new File(PLUGIN_DIR, "plugin.jar");
+        FileUtil.createFileIfNotExists(jar);
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            for (Class<?> clas : new Class<?>[]{Plugin.class, AbstractPlugin.class, SubPlugin.class, Other.class}) {
+                String name = clas.getName().replace('.', '/') + ".class";
+                out.putNextEntry(new JarEntry(name));
+                try (InputStream in = PluginLoaderTest.class.getClassLoader().getResourceAsStream(name)) {
+                    IOUtil.trans(in, out);
+                }
+                out.closeEntry();
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        FileUtil.deleteFile(ROOT);
+    }
+
+    @Test
+    public void testScanMode() throws IOException {
+        PluginLoader<Runnable> legacy = new PluginLoader<>(PLUGIN_DIR);
+        Collection<Class<Runnable>> expected = legacy.loadPluginClass(Runnable.class);
+        legacy.close();
+        assertEquals(3, expected.size());
+
+        PluginLoader<Runnable> loader = new PluginLoader<>(PLUGIN_DIR, INDEX_FILE, 4);
+        Collection<Class<Runnable>> classes = loader.loadPluginClass(Runnable.class);
+        assertEquals(expected.size(), classes.size());
+        for (Class<Runnable> clas : expected) {
+            assertTrue(classes.stream().anyMatch(c -> c.getName().equals(clas.getName())));
+        }
+        assertEquals(2, loader.loadPluginClass(AbstractPlugin.class).size());
+        assertEquals(2, loader.loadPluginInstance(Runnable.class).size());
+        loader.close();
+        assertTrue(INDEX_FILE.isFile());
+
+        // 第二次扫描使用索引文件中的结果。
+        long lastModified = INDEX_FILE.lastModified();
+        loader = new PluginLoader<>(PLUGIN_DIR, INDEX_FILE, 1);
+        assertEquals(3, loader.loadPluginClass(Runnable.class).size());
+        loader.close();
+        assertEquals(lastModified, INDEX_FILE.lastModified());
+    }
+
+    public static class Plugin implements Runnable {
+
+        @Override
+        public void run() {
+        }
+    }
+
+    public static abstract class AbstractPlugin implements Runnable {
+    }
+
+    public static class SubPlugin extends AbstractPlugin {
+
+        @Override
+        public void run() {
+        }
+    }
+
+    public static class Other {
+    }
+}
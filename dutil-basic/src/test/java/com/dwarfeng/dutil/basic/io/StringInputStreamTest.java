@@ -4,11 +4,12 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 public class StringInputStreamTest {
 
@@ -148,4 +149,91 @@ public class StringInputStreamTest {
         in.read(bs, 1, 3);
         in.reset();
     }
+
+    @Test
+    public void testReadEnd() throws IOException {
+        in.skip(10);
+        assertEquals(-1, in.read());
+        assertEquals(-1, in.read(new byte[4]));
+        assertEquals(0, in.available());
+    }
+
+    @Test
+    public void testStreamingRead() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append("测试\uD83D\uDE00text").append(i);
+        }
+        byte[] expected = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        StringInputStream streaming = new StringInputStream(sb, StandardCharsets.UTF_8, 16);
+        assertTrue(streaming.isStreaming());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IOUtil.trans(streaming, out, 7);
+        assertArrayEquals(expected, out.toByteArray());
+        assertEquals(-1, streaming.read());
+
+        streaming = new StringInputStream(sb, StandardCharsets.UTF_8, 16);
+        assertEquals(expected[0] & 0xFF, streaming.read());
+        assertEquals(expected[1] & 0xFF, streaming.read());
+    }
+
+    @Test
+    public void testStreamingMarkAndReset() throws IOException {
+        StringInputStream streaming = new StringInputStream((CharSequence) TEXT, StandardCharsets.US_ASCII, 1);
+        assertEquals(3, streaming.skip(3));
+        assertEquals(51, streaming.read());
+        streaming.mark(10);
+        assertEquals(52, streaming.read());
+        assertEquals(3, streaming.skip(3));
+        assertEquals(56, streaming.read());
+        streaming.reset();
+        assertEquals(52, streaming.read());
+        // 重放标记缓冲的过程中重新标记。
+        streaming.mark(3);
+        byte[] bs = new byte[3];
+        assertEquals(3, streaming.read(bs));
+        assertArrayEquals("567".getBytes(StandardCharsets.US_ASCII), bs);
+        streaming.reset();
+        assertEquals(53, streaming.read());
+        assertEquals(4, streaming.skip(100));
+        assertEquals(-1, streaming.read());
+    }
+
+    @Test(expected = IOException.class)
+    public void testStreamingMarkLimit() throws IOException {
+        StringInputStream streaming = new StringInputStream((CharSequence) TEXT, StandardCharsets.US_ASCII);
+        streaming.mark(2);
+        byte[] bs = new byte[3];
+        streaming.read(bs);
+        assertEquals("012", new String(Arrays.copyOf(bs, 3), StandardCharsets.US_ASCII));
+        streaming.reset();
+    }
+
+    @Test
+    public void testStringStreamingThreshold() throws IOException {
+        assertFalse(in.isStreaming());
+
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() <= StringInputStream.STREAMING_THRESHOLD) {
+            sb.append("测试text");
+        }
+        String string = sb.toString();
+        StringInputStream streaming = new StringInputStream(string, StandardCharsets.UTF_8);
+        assertTrue(streaming.isStreaming());
+        streaming.mark(Integer.MAX_VALUE);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int b;
+        while ((b = streaming.read()) >= 0) {
+            out.write(b);
+        }
+        byte[] expected = string.getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, out.toByteArray());
+
+        // 逐字节读取的数据同样记录在标记缓冲中。
+        streaming.reset();
+        out.reset();
+        IOUtil.trans(streaming, out);
+        assertArrayEquals(expected, out.toByteArray());
+    }
 }
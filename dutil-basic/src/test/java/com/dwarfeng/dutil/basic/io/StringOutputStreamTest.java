@@ -0,0 +1,99 @@
+package com.dwarfeng.dutil.basic.io;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class StringOutputStreamTest {
+
+    private static final String TEXT = "测试😀text";
+
+    @Test
+    public void testWrite() throws IOException {
+        StringOutputStream out = new StringOutputStream(StandardCharsets.UTF_8);
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        // 逐字节写入，多字节字符被拆分到不同的写入中。
+        for (byte b : bytes) {
+            out.write(b);
+            out.flush();
+        }
+        assertEquals(TEXT, out.toString());
+    }
+
+    @Test
+    public void testSmallWindow() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(TEXT).append(i);
+        }
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        StringOutputStream out = new StringOutputStream(StandardCharsets.UTF_8, false, 1, 1.5f);
+        out.write(bytes, 0, 7);
+        out.write(bytes, 7, bytes.length - 7);
+        // 没有被 flush 的数据不会出现在字符串中。
+        assertEquals("", out.toString());
+        out.flush();
+        assertEquals(sb.toString(), out.toString());
+    }
+
+    @Test
+    public void testAutoFlush() throws IOException {
+        StringOutputStream out = new StringOutputStream(StandardCharsets.US_ASCII, true);
+        out.write("abc".getBytes(StandardCharsets.US_ASCII));
+        assertEquals("abc", out.toString());
+    }
+
+    @Test
+    public void testSink() throws IOException {
+        StringBuilder received = new StringBuilder();
+        StringOutputStream out = new StringOutputStream(StandardCharsets.UTF_8, false, 64, received::append);
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < 100; i++) {
+            out.write(bytes);
+        }
+        out.close();
+
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            expected.append(TEXT);
+        }
+        assertEquals(expected.toString(), received.toString());
+        assertEquals("", out.toString());
+    }
+
+    @Test
+    public void testMalformed() throws IOException {
+        // 默认情况下无法解码的字节被替换，写入与刷新不会失败。
+        StringOutputStream out = new StringOutputStream(StandardCharsets.UTF_8);
+        out.write(0xFF);
+        out.write("abc".getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        assertEquals("\uFFFDabc", out.toString());
+
+        StringBuilder received = new StringBuilder();
+        out = new StringOutputStream(StandardCharsets.UTF_8, false, 64, received::append);
+        out.write(new byte[]{'a', (byte) 0xFF, 'b'});
+        out.flush();
+        assertEquals("a\uFFFDb", received.toString());
+    }
+
+    @Test
+    public void testStrictDecoding() throws IOException {
+        StringOutputStream out = new StringOutputStream(StandardCharsets.UTF_8, false,
+                StringOutputStream.DEFAULT_WINDOW_SIZE, true);
+        out.write(0xFF);
+        try {
+            out.flush();
+            fail();
+        } catch (IOException expected) {
+            // 无法解码的字节被跳过，之后的数据依然可以解码。
+        }
+        out.write("abc".getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        assertEquals("abc", out.toString());
+    }
+}
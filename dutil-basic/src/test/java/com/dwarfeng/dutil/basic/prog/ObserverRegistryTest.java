@@ -0,0 +1,112 @@
+package com.dwarfeng.dutil.basic.prog;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ObserverRegistryTest {
+
+    private static final class TestObserver implements Observer {
+
+        private int count = 0;
+    }
+
+    @Test
+    public void testAddRemove() {
+        ObserverRegistry<TestObserver> registry = new ObserverRegistry<>(false);
+        TestObserver a = new TestObserver();
+        TestObserver b = new TestObserver();
+        assertTrue(registry.isEmpty());
+        assertTrue(registry.add(a));
+        assertFalse(registry.add(a));
+        assertTrue(registry.add(b));
+        assertEquals(2, registry.size());
+        assertTrue(registry.contains(a));
+        assertFalse(registry.contains(null));
+        assertTrue(registry.remove(a));
+        assertFalse(registry.remove(a));
+        assertFalse(registry.remove(null));
+        assertEquals(Collections.singleton(b), registry);
+        registry.clear();
+        assertTrue(registry.isEmpty());
+    }
+
+    @Test
+    public void testAddNull() {
+        ObserverRegistry<TestObserver> registry = new ObserverRegistry<>();
+        assertFalse(registry.add(null));
+        assertTrue(registry.isEmpty());
+        registry.forEach(Assert::assertNotNull);
+    }
+
+    @Test
+    public void testModifyDuringDispatch() {
+        ObserverRegistry<TestObserver> registry = new ObserverRegistry<>(false);
+        TestObserver a = new TestObserver();
+        TestObserver b = new TestObserver();
+        registry.add(a);
+        registry.add(b);
+
+        List<TestObserver> visited = new ArrayList<>();
+        registry.forEach(observer -> {
+            visited.add(observer);
+            registry.remove(b);
+            registry.add(new TestObserver());
+        });
+        assertEquals(Arrays.asList(a, b), visited);
+        assertEquals(3, registry.size());
+
+        for (Iterator<TestObserver> i = registry.iterator(); i.hasNext(); ) {
+            i.next();
+            i.remove();
+        }
+        assertTrue(registry.isEmpty());
+    }
+
+    @Test
+    public void testWeakReference() throws InterruptedException {
+        ObserverRegistry<TestObserver> registry = new ObserverRegistry<>();
+        assertTrue(registry.isWeak());
+        TestObserver strong = new TestObserver();
+        registry.add(strong);
+        registry.add(new TestObserver());
+
+        for (int i = 0; i < 50 && registry.size() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(1, registry.size());
+        registry.forEach(observer -> observer.count++);
+        assertEquals(1, strong.count);
+    }
+
+    @Test
+    public void testConcurrentModification() throws InterruptedException {
+        ObserverRegistry<TestObserver> registry = new ObserverRegistry<>(false);
+        int threadCount = 4;
+        int perThread = 500;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        AtomicInteger dispatched = new AtomicInteger();
+        for (int t = 0; t < threadCount; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    TestObserver observer = new TestObserver();
+                    registry.add(observer);
+                    registry.forEach(o -> dispatched.incrementAndGet());
+                    if (i % 2 == 0) {
+                        registry.remove(observer);
+                    }
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+        assertEquals(threadCount * perThread / 2, registry.size());
+        assertTrue(dispatched.get() > 0);
+    }
+}
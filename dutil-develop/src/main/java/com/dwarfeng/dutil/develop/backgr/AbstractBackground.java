@@ -2,12 +2,11 @@ package com.dwarfeng.dutil.develop.backgr;
 
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
 import com.dwarfeng.dutil.develop.backgr.obs.BackgroundObserver;
 
-import java.util.Collections;
 import java.util.Objects;
 import java.util.Set;
-import java.util.WeakHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -35,7 +34,7 @@ public abstract class AbstractBackground implements Background {
      * 生成一个默认的后台。
      */
     public AbstractBackground() {
-        this(Collections.newSetFromMap(new WeakHashMap<>()));
+        this(new ObserverRegistry<>());
     }
 
     /**
@@ -115,14 +114,14 @@ public abstract class AbstractBackground implements Background {
      * @param task 指定的任务。
      */
     protected void fireTaskSubmitted(Task task) {
-        for (BackgroundObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireTaskSubmitted(task);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -131,14 +130,14 @@ public abstract class AbstractBackground implements Background {
      * @param task 指定的任务。
      */
     protected void fireTaskStarted(Task task) {
-        for (BackgroundObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireTaskStarted(task);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -147,14 +146,14 @@ public abstract class AbstractBackground implements Background {
      * @param task 指定的任务。
      */
     protected void fireTaskFinished(Task task) {
-        for (BackgroundObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireTaskFinished(task);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -163,41 +162,41 @@ public abstract class AbstractBackground implements Background {
      * @param task 指定的任务。
      */
     protected void fireTaskRemoved(Task task) {
-        for (BackgroundObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireTaskRemoved(task);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
      * 通知观察器后台被关闭。
      */
     protected void fireShutDown() {
-        for (BackgroundObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireShutDown();
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
      * 通知观察器后台被终结。
      */
     protected void fireTerminated() {
-        for (BackgroundObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireTerminated();
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 }
@@ -2,12 +2,11 @@ package com.dwarfeng.dutil.develop.backgr;
 
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
 import com.dwarfeng.dutil.develop.backgr.obs.TaskObserver;
 
-import java.util.Collections;
 import java.util.Objects;
 import java.util.Set;
-import java.util.WeakHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.*;
 
@@ -46,7 +45,7 @@ public abstract class AbstractTask implements Task {
      * 生成一个默认的抽象任务。
      */
     public AbstractTask() {
-        this(Collections.newSetFromMap(new WeakHashMap<>()));
+        this(new ObserverRegistry<>());
     }
 
     /**
@@ -269,14 +268,14 @@ public abstract class AbstractTask implements Task {
     // 由于早期开发未使用日志框架，故保留 printStackTrace 方法，忽略相关警告。
     @SuppressWarnings("CallToPrintStackTrace")
     protected void fireFinished() {
-        for (TaskObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireFinished();
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -285,14 +284,14 @@ public abstract class AbstractTask implements Task {
     // 由于早期开发未使用日志框架，故保留 printStackTrace 方法，忽略相关警告。
     @SuppressWarnings("CallToPrintStackTrace")
     protected void fireStarted() {
-        for (TaskObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireStarted();
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
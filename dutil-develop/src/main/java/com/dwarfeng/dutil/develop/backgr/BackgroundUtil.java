@@ -4,6 +4,7 @@ import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
 import com.dwarfeng.dutil.basic.cna.ArrayUtil;
 import com.dwarfeng.dutil.basic.cna.CollectionUtil;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
 import com.dwarfeng.dutil.basic.prog.ReadOnlyGenerator;
 import com.dwarfeng.dutil.basic.threads.ThreadUtil;
 import com.dwarfeng.dutil.develop.backgr.obs.BackgroundObserver;
@@ -36,7 +37,7 @@ public final class BackgroundUtil {
      * @throws NullPointerException 入口参数为 <code>null</code>。
      */
     public static Task newTaskFromRunnable(Runnable runnable) throws NullPointerException {
-        return newTaskFromRunnable(runnable, Collections.newSetFromMap(new WeakHashMap<>()));
+        return newTaskFromRunnable(runnable, new ObserverRegistry<>());
     }
 
     /**
@@ -81,7 +82,7 @@ public final class BackgroundUtil {
      * @throws NullPointerException 指定的入口参数为 <code> null </code>。
      */
     public static <V> ResultTask<V> newTaskFromCallable(Callable<V> callable) throws NullPointerException {
-        return newTaskFromCallable(callable, Collections.newSetFromMap(new WeakHashMap<>()));
+        return newTaskFromCallable(callable, new ObserverRegistry<>());
     }
 
     /**
@@ -142,7 +143,7 @@ public final class BackgroundUtil {
         Objects.requireNonNull(task, DwarfUtil.getExceptionString(ExceptionStringKey.BACKGROUNDUTIL_1));
         Objects.requireNonNull(blockTasks, DwarfUtil.getExceptionString(ExceptionStringKey.BACKGROUNDUTIL_6));
 
-        return new BlockedTask(task, ArrayUtil.getNonNull(blockTasks), Collections.newSetFromMap(new WeakHashMap<>()));
+        return new BlockedTask(task, ArrayUtil.getNonNull(blockTasks), new ObserverRegistry<>());
     }
 
     /**
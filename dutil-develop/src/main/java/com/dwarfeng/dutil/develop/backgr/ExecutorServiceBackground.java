@@ -3,6 +3,7 @@ package com.dwarfeng.dutil.develop.backgr;
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
 import com.dwarfeng.dutil.basic.cna.CollectionUtil;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
 import com.dwarfeng.dutil.basic.threads.NumberedThreadFactory;
 import com.dwarfeng.dutil.develop.backgr.obs.BackgroundObserver;
 import com.dwarfeng.dutil.develop.backgr.obs.TaskObserver;
@@ -54,7 +55,7 @@ public class ExecutorServiceBackground extends AbstractBackground {
      * 生成一个默认的执行器后台。
      */
     public ExecutorServiceBackground() {
-        this(Executors.newSingleThreadExecutor(THREAD_FACTORY), Collections.newSetFromMap(new WeakHashMap<>()));
+        this(Executors.newSingleThreadExecutor(THREAD_FACTORY), new ObserverRegistry<>());
     }
 
     /**
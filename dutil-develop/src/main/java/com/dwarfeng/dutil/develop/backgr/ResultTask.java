@@ -1,10 +1,9 @@
 package com.dwarfeng.dutil.develop.backgr;
 
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
 import com.dwarfeng.dutil.develop.backgr.obs.TaskObserver;
 
-import java.util.Collections;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 /**
  * 可返回结果的任务。
@@ -31,7 +30,7 @@ public abstract class ResultTask<V> extends AbstractTask {
      * 生成一个默认的可返回结果的任务。
      */
     public ResultTask() {
-        this(Collections.newSetFromMap(new WeakHashMap<>()));
+        this(new ObserverRegistry<>());
     }
 
     /**
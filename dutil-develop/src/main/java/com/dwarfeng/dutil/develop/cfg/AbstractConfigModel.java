@@ -58,13 +58,13 @@ public abstract class AbstractConfigModel implements ConfigModel {
      * 通知观察器模型中的配置键被清除。
      */
     protected void fireConfigKeyCleared() {
-        for (ConfigObserver observer : observers) {
+        observers.forEach(observer -> {
             try {
                 observer.fireConfigKeyCleared();
             } catch (Exception e) {
                 e.printStackTrace();
             }
-        }
+        });
     }
 
     /**
@@ -73,13 +73,13 @@ public abstract class AbstractConfigModel implements ConfigModel {
      * @param configKey 指定的配置键。
      */
     protected void fireConfigKeyAdded(ConfigKey configKey) {
-        for (ConfigObserver observer : observers) {
+        observers.forEach(observer -> {
             try {
                 observer.fireConfigKeyAdded(configKey);
             } catch (Exception e) {
                 e.printStackTrace();
             }
-        }
+        });
     }
 
     /**
@@ -88,13 +88,13 @@ public abstract class AbstractConfigModel implements ConfigModel {
      * @param configKey 指定的配置键。
      */
     protected void fireConfigKeyRemoved(ConfigKey configKey) {
-        for (ConfigObserver observer : observers) {
+        observers.forEach(observer -> {
             try {
                 observer.fireConfigKeyRemoved(configKey);
             } catch (Exception e) {
                 e.printStackTrace();
             }
-        }
+        });
     }
 
     /**
@@ -105,13 +105,13 @@ public abstract class AbstractConfigModel implements ConfigModel {
      * @param newValue  指定的配置键对应的新的配置属性。
      */
     protected void fireConfigFirmPropsChanged(ConfigKey configKey, ConfigFirmProps oldValue, ConfigFirmProps newValue) {
-        for (ConfigObserver observer : observers) {
+        observers.forEach(observer -> {
             try {
                 observer.fireConfigFirmPropsChanged(configKey, oldValue, newValue);
             } catch (Exception e) {
                 e.printStackTrace();
             }
-        }
+        });
     }
 
     /**
@@ -123,12 +123,12 @@ public abstract class AbstractConfigModel implements ConfigModel {
      * @param validValue 指定的配置键对应的当前值改变后的新的有效值。
      */
     protected void fireCurrentValueChanged(ConfigKey configKey, String oldValue, String newValue, String validValue) {
-        for (ConfigObserver observer : observers) {
+        observers.forEach(observer -> {
             try {
                 observer.fireCurrentValueChanged(configKey, oldValue, newValue, validValue);
             } catch (Exception e) {
                 e.printStackTrace();
             }
-        }
+        });
     }
 }
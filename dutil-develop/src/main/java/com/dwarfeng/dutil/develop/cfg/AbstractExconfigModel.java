@@ -87,28 +87,28 @@ public abstract class AbstractExconfigModel implements ExconfigModel {
      * @param validValue 配置键当前的有效值。
      */
     protected void fireCurrentValueChanged(ConfigKey configKey, String oldValue, String newValue, String validValue) {
-        for (ExconfigObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireCurrentValueChanged(configKey, oldValue, newValue, validValue);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
      * 通知配置模型中的配置键进行了清除。
      */
     protected void fireConfigKeyCleared() {
-        for (ExconfigObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireConfigKeyCleared();
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -121,14 +121,14 @@ public abstract class AbstractExconfigModel implements ExconfigModel {
      */
     protected void fireConfigKeyRemoved(ConfigKey configKey, ConfigFirmProps configFirmProps, ValueParser valueParser,
                                         String currentValue) {
-        for (ExconfigObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireConfigKeyRemoved(configKey, configFirmProps, valueParser, currentValue);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -141,14 +141,14 @@ public abstract class AbstractExconfigModel implements ExconfigModel {
      */
     protected void fireConfigKeyAdded(ConfigKey configKey, ConfigFirmProps configFirmProps, ValueParser valueParser,
                                       String currentValue) {
-        for (ExconfigObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireConfigKeyAdded(configKey, configFirmProps, valueParser, currentValue);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -159,14 +159,14 @@ public abstract class AbstractExconfigModel implements ExconfigModel {
      * @param newValue  指定的配置键的新的固定属性。
      */
     protected void fireConfigFirmPropsChanged(ConfigKey configKey, ConfigFirmProps oldValue, ConfigFirmProps newValue) {
-        for (ExconfigObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireConfigFirmPropsChanged(configKey, oldValue, newValue);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -177,13 +177,13 @@ public abstract class AbstractExconfigModel implements ExconfigModel {
      * @param newValue  指定的配置键对应的新的值解析器。
      */
     protected void fireValueParserChanged(ConfigKey configKey, ValueParser oldValue, ValueParser newValue) {
-        for (ExconfigObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireValueParserChanged(configKey, oldValue, newValue);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 }
@@ -0,0 +1,45 @@
+package com.dwarfeng.dutil.develop.resource;
+
+/**
+ * 缓存资源管理器。
+ *
+ * <p>
+ * 该资源管理器会将资源的内容缓存在内存中，对同一资源的重复读取不再访问资源的实际存储位置。<br>
+ * 缓存的总大小是有上限的，超过上限时，最近最少使用的资源内容会被移出缓存。
+ *
+ * <p>
+ * 通过该资源管理器打开资源的输出流，或是重置资源时，对应资源的缓存会自动失效；
+ * 如果资源的内容在该资源管理器之外被修改，则需要调用 {@link #invalidateCache(String)} 或
+ * {@link #invalidateAllCache()} 手动使缓存失效。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+public interface CachedResourceHandler extends ResourceHandler {
+
+    /**
+     * 返回缓存的最大字节数。
+     *
+     * @return 缓存的最大字节数。
+     */
+    long getMaxCacheSize();
+
+    /**
+     * 返回当前缓存所占用的字节数。
+     *
+     * @return 当前缓存所占用的字节数。
+     */
+    long getCacheSize();
+
+    /**
+     * 使指定的键对应的资源的缓存失效。
+     *
+     * @param key 指定的键。
+     */
+    void invalidateCache(String key);
+
+    /**
+     * 使所有资源的缓存失效。
+     */
+    void invalidateAllCache();
+}
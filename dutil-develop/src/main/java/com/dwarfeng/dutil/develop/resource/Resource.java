@@ -2,9 +2,13 @@ package com.dwarfeng.dutil.develop.resource;
 
 import com.dwarfeng.dutil.basic.prog.WithKey;
 
+import com.dwarfeng.dutil.basic.io.IOUtil;
+
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 /**
  * 程序中使用的资源。
@@ -22,6 +26,32 @@ public interface Resource extends WithKey<String> {
      */
     InputStream openInputStream() throws IOException;
 
+    /**
+     * 以只读的方式映射资源的内容。
+     *
+     * <p>
+     * 对于存储在本地文件中的资源，实现类应该将文件直接映射到内存中（返回 {@link java.nio.MappedByteBuffer}），
+     * 使调用者可以在不将数据复制到堆中的情况下访问资源，这对于大型的资源（如查找表、模型）尤其有用。
+     *
+     * <p>
+     * 该方法的默认实现会读取 {@link #openInputStream()} 中的全部数据，并将其复制到一个堆缓冲中，
+     * 适用于无法映射的资源（如 jar 包中的资源）。
+     *
+     * <p>
+     * 返回的缓冲是只读的，其位置为 0，界限为资源的字节数。
+     *
+     * @return 资源内容的只读缓冲。
+     * @throws IOException IO 异常。
+     * @since 0.4.3.a-beta
+     */
+    default ByteBuffer mapReadOnly() throws IOException {
+        try (InputStream in = openInputStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(in.available(), 32));
+            IOUtil.trans(in, out);
+            return ByteBuffer.wrap(out.toByteArray()).asReadOnlyBuffer();
+        }
+    }
+
     /**
      * 打开资源的输出流。
      *
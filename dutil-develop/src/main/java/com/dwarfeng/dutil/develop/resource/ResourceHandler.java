@@ -6,6 +6,7 @@ import com.dwarfeng.dutil.basic.str.Name;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 /**
  * 资源处理器。
@@ -53,6 +54,34 @@ public interface ResourceHandler extends KeySetModel<String, Resource> {
         return openInputStream(key.getName());
     }
 
+    /**
+     * 以只读的方式映射指定键对应的资源的内容。
+     *
+     * @param key 指定的键。
+     * @return 指定的键对应的资源内容的只读缓冲。
+     * @throws IOException              IO 异常。
+     * @throws IllegalArgumentException 处理器不存在指定的键。
+     * @see Resource#mapReadOnly()
+     * @since 0.4.3.a-beta
+     */
+    default ByteBuffer mapReadOnly(String key) throws IOException, IllegalArgumentException {
+        return get(key).mapReadOnly();
+    }
+
+    /**
+     * 以只读的方式映射指定键对应的资源的内容。
+     *
+     * @param key 指定的键对应的名称。
+     * @return 指定的键对应的资源内容的只读缓冲。
+     * @throws IOException              IO 异常。
+     * @throws IllegalArgumentException 处理器不存在指定的键。
+     * @see Resource#mapReadOnly()
+     * @since 0.4.3.a-beta
+     */
+    default ByteBuffer mapReadOnly(Name key) throws IOException, IllegalArgumentException {
+        return mapReadOnly(key.getName());
+    }
+
     /**
      * 打开指定键对应的资源的输出流。
      *
@@ -5,14 +5,12 @@ import com.dwarfeng.dutil.basic.ExceptionStringKey;
 import com.dwarfeng.dutil.basic.cna.ArrayUtil;
 import com.dwarfeng.dutil.basic.cna.CollectionUtil;
 import com.dwarfeng.dutil.basic.cna.model.obs.SetObserver;
+import com.dwarfeng.dutil.basic.io.ByteBufferInputStream;
 import com.dwarfeng.dutil.basic.prog.ReadOnlyGenerator;
 
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.util.Collection;
-import java.util.Iterator;
-import java.util.Objects;
-import java.util.Set;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.*;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -646,6 +644,654 @@ public final class ResourceUtil {
 
     }
 
+    /**
+     * 缓存资源管理器的默认最大缓存字节数。
+     *
+     * @since 0.4.3.a-beta
+     */
+    public static final long DEFAULT_MAX_CACHE_SIZE = 8L * 1024 * 1024;
+
+    /**
+     * 根据指定的资源管理器生成一个缓存资源管理器，缓存的最大字节数为 {@link #DEFAULT_MAX_CACHE_SIZE}。
+     *
+     * @param resourceHandler 指定的资源管理器。
+     * @return 根据指定的资源管理器生成的缓存资源管理器。
+     * @throws NullPointerException 入口参数为 <code>null</code>。
+     * @see #cachedResourceHandler(ResourceHandler, long)
+     * @since 0.4.3.a-beta
+     */
+    public static CachedResourceHandler cachedResourceHandler(ResourceHandler resourceHandler) {
+        return cachedResourceHandler(resourceHandler, DEFAULT_MAX_CACHE_SIZE);
+    }
+
+    /**
+     * 根据指定的资源管理器与指定的最大缓存字节数生成一个缓存资源管理器。
+     *
+     * <p>
+     * 通过缓存资源管理器获取的资源在第一次打开输入流时会读取资源的全部内容，并将其保存在内存中；
+     * 之后打开的输入流是缓存内容的只读视图，不再访问资源的实际存储位置，也不会复制缓存的内容。<br>
+     * 缓存按照最近最少使用的顺序进行淘汰，内容大于最大缓存字节数的资源不会被缓存。<br>
+     * 单个资源的内容保存在一个字节数组中，因此无论最大缓存字节数是多少，内容大于 <code>Integer.MAX_VALUE - 8</code>
+     * 字节的资源都不会被缓存。
+     *
+     * <p>
+     * 缓存本身是线程安全的，但是资源管理器的其它方法的线程安全性与指定的资源管理器相同，
+     * 如果需要线程安全的缓存资源管理器，请使用 {@link #syncResourceHandler(ResourceHandler)} 对其进行包装。
+     *
+     * @param resourceHandler 指定的资源管理器。
+     * @param maxCacheSize    最大缓存字节数。
+     * @return 根据指定的资源管理器生成的缓存资源管理器。
+     * @throws NullPointerException     入口参数为 <code>null</code>。
+     * @throws IllegalArgumentException 最大缓存字节数为负数。
+     * @since 0.4.3.a-beta
+     */
+    public static CachedResourceHandler cachedResourceHandler(ResourceHandler resourceHandler, long maxCacheSize) {
+        Objects.requireNonNull(resourceHandler, DwarfUtil.getExceptionString(ExceptionStringKey.RESOURCEUTIL_0));
+        if (maxCacheSize < 0) {
+            throw new IllegalArgumentException(DwarfUtil.getExceptionString(ExceptionStringKey.RESOURCEUTIL_3));
+        }
+        return new CachedResourceHandlerImpl(resourceHandler, maxCacheSize);
+    }
+
+    /**
+     * 单个资源可以被缓存的最大字节数，即字节数组的最大长度。
+     */
+    private static final int MAX_CACHEABLE_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final class ResourceContentCache {
+
+        private final long maxSize;
+        private final Map<String, ByteBuffer> map = new LinkedHashMap<>(16, 0.75f, true);
+
+        private long size = 0;
+        private long stamp = 0;
+
+        public ResourceContentCache(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public synchronized long getSize() {
+            return size;
+        }
+
+        public synchronized long getStamp() {
+            return stamp;
+        }
+
+        public synchronized ByteBuffer get(String key) {
+            return map.get(key);
+        }
+
+        /**
+         * 向缓存中放入指定的内容。
+         *
+         * <p>
+         * 如果在读取内容的过程中缓存发生过失效操作（即戳记发生了变化），则读取到的内容可能已经过期，此时放弃放入。
+         */
+        public synchronized void put(String key, ByteBuffer content, long expectedStamp) {
+            if (expectedStamp != stamp || content.capacity() > maxSize) {
+                return;
+            }
+            ByteBuffer old = map.put(key, content);
+            if (Objects.nonNull(old)) {
+                size -= old.capacity();
+            }
+            size += content.capacity();
+            Iterator<ByteBuffer> iterator = map.values().iterator();
+            while (size > maxSize && iterator.hasNext()) {
+                size -= iterator.next().capacity();
+                iterator.remove();
+            }
+        }
+
+        public synchronized void invalidate(String key) {
+            stamp++;
+            ByteBuffer old = map.remove(key);
+            if (Objects.nonNull(old)) {
+                size -= old.capacity();
+            }
+        }
+
+        public synchronized void invalidateAll() {
+            stamp++;
+            map.clear();
+            size = 0;
+        }
+    }
+
+    private static final class CachedResource implements Resource {
+
+        private final Resource delegate;
+        private final ResourceContentCache cache;
+
+        public CachedResource(Resource delegate, ResourceContentCache cache) {
+            this.delegate = delegate;
+            this.cache = cache;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String getKey() {
+            return delegate.getKey();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public InputStream openInputStream() throws IOException {
+            String key = delegate.getKey();
+            ByteBuffer content = cache.get(key);
+            if (Objects.nonNull(content)) {
+                return new ByteBufferInputStream(content.asReadOnlyBuffer(), false);
+            }
+
+            long stamp = cache.getStamp();
+            InputStream in = delegate.openInputStream();
+            try {
+                // 最多读取比缓存上限多一个字节的内容，以此判断资源是否可以被缓存。
+                // 上限不超过字节数组的最大长度，也保证了下面的 limit + 1 不会溢出。
+                long limit = Math.min(cache.getMaxSize(), MAX_CACHEABLE_SIZE);
+                int initialSize = (int) Math.min(limit + 1, Math.max(in.available(), 32));
+                ByteArrayOutputStream out = new ByteArrayOutputStream(initialSize);
+                byte[] buffer = new byte[4096];
+                long total = 0;
+                int i;
+                while (total <= limit
+                        && (i = in.read(buffer, 0, (int) Math.min(buffer.length, limit - total + 1))) >= 0) {
+                    out.write(buffer, 0, i);
+                    total += i;
+                }
+                if (total > limit) {
+                    // 资源过大，不进行缓存，已经读取的部分与剩余的部分拼接后直接返回。
+                    return new SequenceInputStream(new ByteArrayInputStream(out.toByteArray()), in);
+                }
+                in.close();
+                content = ByteBuffer.wrap(out.toByteArray());
+                cache.put(key, content, stamp);
+                return new ByteBufferInputStream(content.asReadOnlyBuffer(), false);
+            } catch (IOException | RuntimeException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * 如果资源的内容已经被缓存，则返回缓存内容的只读视图，否则直接映射被代理的资源，映射的结果不会被缓存。
+         */
+        @Override
+        public ByteBuffer mapReadOnly() throws IOException {
+            ByteBuffer content = cache.get(delegate.getKey());
+            if (Objects.nonNull(content)) {
+                return content.asReadOnlyBuffer();
+            }
+            return delegate.mapReadOnly();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public OutputStream openOutputStream() throws IOException {
+            cache.invalidate(delegate.getKey());
+            return new InvalidatingOutputStream(delegate.openOutputStream());
+        }
+
+        private final class InvalidatingOutputStream extends FilterOutputStream {
+
+            public InvalidatingOutputStream(OutputStream out) {
+                super(out);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    // 写入期间被读取并缓存的内容可能是不完整的，因此在关闭时再次使缓存失效。
+                    cache.invalidate(delegate.getKey());
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void reset() throws IOException {
+            cache.invalidate(delegate.getKey());
+            try {
+                delegate.reset();
+            } finally {
+                cache.invalidate(delegate.getKey());
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isValid() {
+            return delegate.isValid();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return delegate.hashCode();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof CachedResource)) {
+                return false;
+            }
+            return delegate.equals(((CachedResource) obj).delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+
+    private static final class CachedResourceHandlerImpl implements CachedResourceHandler {
+
+        private final ResourceHandler delegate;
+        private final ResourceContentCache cache;
+
+        public CachedResourceHandlerImpl(ResourceHandler delegate, long maxCacheSize) {
+            this.delegate = delegate;
+            this.cache = new ResourceContentCache(maxCacheSize);
+        }
+
+        private Resource wrap(Resource resource) {
+            if (Objects.isNull(resource)) {
+                return null;
+            }
+            return new CachedResource(resource, cache);
+        }
+
+        private static Object unwrap(Object o) {
+            if (o instanceof CachedResource) {
+                return ((CachedResource) o).delegate;
+            }
+            return o;
+        }
+
+        private static Collection<?> unwrapAll(Collection<?> c) {
+            if (Objects.isNull(c)) {
+                return null;
+            }
+            Collection<Object> collection = new ArrayList<>(c.size());
+            for (Object o : c) {
+                collection.add(unwrap(o));
+            }
+            return collection;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getMaxCacheSize() {
+            return cache.getMaxSize();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getCacheSize() {
+            return cache.getSize();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void invalidateCache(String key) {
+            cache.invalidate(key);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void invalidateAllCache() {
+            cache.invalidateAll();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Resource get(String key) {
+            return wrap(delegate.get(key));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean containsKey(Object key) {
+            return delegate.containsKey(key);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean containsAllKey(Collection<?> c) {
+            return delegate.containsAllKey(c);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean removeKey(Object key) {
+            boolean result = delegate.removeKey(key);
+            if (result && key instanceof String) {
+                cache.invalidate((String) key);
+            }
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean removeAllKey(Collection<?> c) {
+            boolean result = delegate.removeAllKey(c);
+            if (result) {
+                cache.invalidateAll();
+            }
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean retainAllKey(Collection<?> c) {
+            boolean result = delegate.retainAllKey(c);
+            if (result) {
+                cache.invalidateAll();
+            }
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isEmpty() {
+            return delegate.isEmpty();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean contains(Object o) {
+            return delegate.contains(unwrap(o));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Iterator<Resource> iterator() {
+            return new CachedIterator(delegate.iterator());
+        }
+
+        private final class CachedIterator implements Iterator<Resource> {
+
+            private final Iterator<Resource> delegateIterator;
+            private Resource lastResource = null;
+
+            public CachedIterator(Iterator<Resource> delegateIterator) {
+                this.delegateIterator = delegateIterator;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public boolean hasNext() {
+                return delegateIterator.hasNext();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Resource next() {
+                lastResource = delegateIterator.next();
+                return wrap(lastResource);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void remove() {
+                delegateIterator.remove();
+                if (Objects.nonNull(lastResource)) {
+                    cache.invalidate(lastResource.getKey());
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Object[] toArray() {
+            Object[] array = delegate.toArray();
+            Resource[] targetArray = new Resource[array.length];
+            for (int i = 0; i < array.length; i++) {
+                targetArray[i] = wrap((Resource) array[i]);
+            }
+            return targetArray;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T[] toArray(T[] a) {
+            T[] tArray = delegate.toArray(a);
+            for (int i = 0; i < tArray.length; i++) {
+                tArray[i] = (T) wrap((Resource) tArray[i]);
+            }
+            return tArray;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean add(Resource e) {
+            Resource resource = (Resource) unwrap(e);
+            boolean result = delegate.add(resource);
+            if (result) {
+                cache.invalidate(resource.getKey());
+            }
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean remove(Object o) {
+            Object object = unwrap(o);
+            boolean result = delegate.remove(object);
+            if (result) {
+                cache.invalidate(((Resource) object).getKey());
+            }
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean containsAll(Collection<?> c) {
+            return delegate.containsAll(unwrapAll(c));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean addAll(Collection<? extends Resource> c) {
+            boolean result = delegate.addAll((Collection<? extends Resource>) unwrapAll(c));
+            if (result) {
+                cache.invalidateAll();
+            }
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean retainAll(Collection<?> c) {
+            boolean result = delegate.retainAll(unwrapAll(c));
+            if (result) {
+                cache.invalidateAll();
+            }
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean removeAll(Collection<?> c) {
+            boolean result = delegate.removeAll(unwrapAll(c));
+            if (result) {
+                cache.invalidateAll();
+            }
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void clear() {
+            delegate.clear();
+            cache.invalidateAll();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Set<SetObserver<Resource>> getObservers() {
+            return delegate.getObservers();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean addObserver(SetObserver<Resource> observer) {
+            return delegate.addObserver(observer);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean removeObserver(SetObserver<Resource> observer) {
+            return delegate.removeObserver(observer);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void clearObserver() {
+            delegate.clearObserver();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return delegate.hashCode();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof ResourceHandler)) {
+                return false;
+            }
+            return delegate.equals(obj);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+
     /**
      * 由指定的资源生成一个不可编辑的资源。
      *
@@ -682,6 +1328,14 @@ public final class ResourceUtil {
             throw new UnsupportedOperationException("openInputStream");
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ByteBuffer mapReadOnly() {
+            throw new UnsupportedOperationException("mapReadOnly");
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -974,6 +1628,14 @@ public final class ResourceUtil {
             throw new UnsupportedOperationException("openInputStream");
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ByteBuffer mapReadOnly(String key) throws IllegalArgumentException {
+            throw new UnsupportedOperationException("mapReadOnly");
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -7,6 +7,9 @@ import com.dwarfeng.dutil.basic.io.IOUtil;
 
 import java.io.*;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
 
 /**
@@ -55,6 +58,19 @@ public class Url2FileResource extends AbstractResource {
         return new FileInputStream(res);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * 资源文件会被直接映射到内存中，资源文件的大小不能超过 {@link Integer#MAX_VALUE}。
+     */
+    @Override
+    public ByteBuffer mapReadOnly() throws IOException {
+        try (FileChannel channel = FileChannel.open(res.toPath(), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -77,7 +93,7 @@ public class Url2FileResource extends AbstractResource {
         try {
             in = def.openStream();
             out = new FileOutputStream(res);
-            IOUtil.trans(in, out, 8192);
+            IOUtil.trans(in, out);
         } finally {
             if (Objects.nonNull(in)) {
                 in.close();
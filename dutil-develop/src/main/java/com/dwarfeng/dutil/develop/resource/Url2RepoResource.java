@@ -8,7 +8,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
 
 /**
@@ -74,6 +77,20 @@ public class Url2RepoResource extends AbstractResource {
         return Files.newInputStream(res.toPath());
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * 资源文件会被直接映射到内存中，资源文件的大小不能超过 {@link Integer#MAX_VALUE}。
+     */
+    @Override
+    public ByteBuffer mapReadOnly() throws IOException {
+        File res = getResourceFile();
+        try (FileChannel channel = FileChannel.open(res.toPath(), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -97,7 +114,7 @@ public class Url2RepoResource extends AbstractResource {
         try {
             in = def.openStream();
             out = Files.newOutputStream(res.toPath());
-            IOUtil.trans(in, out, 8192);
+            IOUtil.trans(in, out);
         } finally {
             if (Objects.nonNull(in)) {
                 in.close();
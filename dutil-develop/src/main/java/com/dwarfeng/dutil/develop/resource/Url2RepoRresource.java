@@ -98,7 +98,7 @@ public class Url2RepoRresource extends AbstractResource {
         try {
             in = def.openStream();
             out = new FileOutputStream(res);
-            IOUtil.trans(in, out, 8192);
+            IOUtil.trans(in, out);
         } finally {
             if (Objects.nonNull(in)) {
                 in.close();
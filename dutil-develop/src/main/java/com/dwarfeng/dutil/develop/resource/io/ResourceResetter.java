@@ -0,0 +1,213 @@
+package com.dwarfeng.dutil.develop.resource.io;
+
+import com.dwarfeng.dutil.basic.threads.NumberedThreadFactory;
+import com.dwarfeng.dutil.develop.resource.Resource;
+
+import java.io.*;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.jar.JarEntry;
+
+/**
+ * 资源重置器。
+ *
+ * <p>
+ * 该类由资源读取器内部使用，负责收集需要重置的资源，并在读取结束时统一执行重置。
+ *
+ * <p>
+ * 如果指定了清单文件，重置器会在清单文件中记录每个资源文件在重置时的指纹，
+ * 指纹由默认资源的大小、修改时间（jar 包中的默认资源还包括 CRC 校验值）以及资源文件重置后的大小、修改时间组成。
+ * 对于强制重置的资源，如果清单中的指纹与当前的指纹一致，说明资源文件与默认资源的内容相同，此时跳过重置。
+ *
+ * <p>
+ * 如果指定的并行度大于 1，重置会在有界的线程池中并行执行。
+ *
+ * @author DwArFeng
+ * @since 0.4.3.a-beta
+ */
+final class ResourceResetter {
+
+    private static final ThreadFactory THREAD_FACTORY = new NumberedThreadFactory(
+            "ResourceResetter", true, Thread.NORM_PRIORITY
+    );
+
+    private final File manifestFile;
+    private final int parallelism;
+    private final Properties manifest = new Properties();
+    private final List<ResetTask> tasks = new ArrayList<>();
+
+    private volatile boolean manifestChanged = false;
+
+    /**
+     * 新实例。
+     *
+     * @param manifestFile 清单文件，为 <code>null</code> 时不使用清单。
+     * @param parallelism  重置的并行度，小于等于 1 时在调用线程中依次重置。
+     */
+    ResourceResetter(File manifestFile, int parallelism) {
+        this.manifestFile = manifestFile;
+        this.parallelism = parallelism;
+
+        if (Objects.nonNull(manifestFile) && manifestFile.isFile()) {
+            try (InputStream in = new FileInputStream(manifestFile)) {
+                manifest.load(in);
+            } catch (IOException | IllegalArgumentException e) {
+                // 清单文件损坏时当作空清单处理，所有的资源都会被重新重置。
+                manifest.clear();
+            }
+        }
+    }
+
+    /**
+     * 按照指定的重置策略登记资源。
+     *
+     * @param policy   重置策略。
+     * @param resource 资源。
+     * @param def      资源的默认资源。
+     * @param res      资源指向的文件。
+     */
+    void schedule(ResourceResetPolicy policy, Resource resource, URL def, File res) {
+        switch (policy) {
+            case AUTO:
+                if (resource.isValid()) {
+                    break;
+                }
+                tasks.add(new ResetTask(resource, def, res));
+                break;
+            case ALWAYS:
+                if (isUpToDate(def, res)) {
+                    break;
+                }
+                tasks.add(new ResetTask(resource, def, res));
+                break;
+            case NEVER:
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 执行所有登记的重置，并保存清单文件。
+     *
+     * @return 重置过程中发生的异常，按照资源的登记顺序排列。
+     */
+    List<Exception> execute() {
+        List<Exception> exceptions = new ArrayList<>();
+
+        if (parallelism <= 1 || tasks.size() <= 1) {
+            for (ResetTask task : tasks) {
+                Exception exception = task.call();
+                if (Objects.nonNull(exception)) {
+                    exceptions.add(exception);
+                }
+            }
+        } else {
+            ExecutorService executorService = Executors.newFixedThreadPool(Math.min(parallelism, tasks.size()),
+                    THREAD_FACTORY);
+            try {
+                List<Future<Exception>> futures = executorService.invokeAll(tasks);
+                for (Future<Exception> future : futures) {
+                    Exception exception = future.get();
+                    if (Objects.nonNull(exception)) {
+                        exceptions.add(exception);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exceptions.add(e);
+            } catch (ExecutionException e) {
+                exceptions.add(e);
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+        tasks.clear();
+
+        if (Objects.nonNull(manifestFile) && manifestChanged) {
+            try {
+                File parentFile = manifestFile.getAbsoluteFile().getParentFile();
+                if (Objects.nonNull(parentFile) && !parentFile.mkdirs() && !parentFile.isDirectory()) {
+                    throw new IOException("unable to create directory " + parentFile);
+                }
+                try (OutputStream out = new FileOutputStream(manifestFile)) {
+                    manifest.store(out, null);
+                }
+            } catch (IOException e) {
+                exceptions.add(e);
+            }
+        }
+
+        return exceptions;
+    }
+
+    private boolean isUpToDate(URL def, File res) {
+        if (Objects.isNull(manifestFile) || !res.isFile()) {
+            return false;
+        }
+        String defFingerprint = defFingerprint(def);
+        if (Objects.isNull(defFingerprint)) {
+            return false;
+        }
+        return Objects.equals(manifest.getProperty(res.getAbsolutePath()), fingerprint(defFingerprint, res));
+    }
+
+    private static String defFingerprint(URL def) {
+        try {
+            if ("file".equals(def.getProtocol())) {
+                File file = new File(def.toURI());
+                return file.length() + ":" + file.lastModified();
+            }
+            URLConnection connection = def.openConnection();
+            if (connection instanceof JarURLConnection) {
+                // jar 包中的条目可以直接从中央目录中获取大小与 CRC，不需要读取条目的内容。
+                JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+                if (Objects.isNull(entry)) {
+                    return null;
+                }
+                return entry.getSize() + ":" + entry.getTime() + ":" + Long.toHexString(entry.getCrc());
+            }
+        } catch (Exception e) {
+            return null;
+        }
+        return null;
+    }
+
+    private static String fingerprint(String defFingerprint, File res) {
+        return defFingerprint + "|" + res.length() + ":" + res.lastModified();
+    }
+
+    private final class ResetTask implements Callable<Exception> {
+
+        private final Resource resource;
+        private final URL def;
+        private final File res;
+
+        public ResetTask(Resource resource, URL def, File res) {
+            this.resource = resource;
+            this.def = def;
+            this.res = res;
+        }
+
+        @Override
+        public Exception call() {
+            try {
+                resource.reset();
+                if (Objects.nonNull(manifestFile)) {
+                    String defFingerprint = defFingerprint(def);
+                    if (Objects.nonNull(defFingerprint)) {
+                        manifest.setProperty(res.getAbsolutePath(), fingerprint(defFingerprint, res));
+                    } else {
+                        manifest.remove(res.getAbsolutePath());
+                    }
+                    manifestChanged = true;
+                }
+                return null;
+            } catch (Exception e) {
+                return e;
+            }
+        }
+    }
+}
@@ -57,6 +57,18 @@ public class XmlJar2FileResourceLoader extends StreamLoader<ResourceHandler> {
      * 重置资源的策略。
      */
     protected final ResourceResetPolicy resourceResetPolicy;
+    /**
+     * 重置清单文件，为 <code>null</code> 时不使用重置清单。
+     *
+     * @since 0.4.3.a-beta
+     */
+    protected final File resetManifest;
+    /**
+     * 重置资源时的并行度。
+     *
+     * @since 0.4.3.a-beta
+     */
+    protected final int resetParallelism;
 
     private boolean readFlag = false;
 
@@ -92,12 +104,35 @@ public class XmlJar2FileResourceLoader extends StreamLoader<ResourceHandler> {
      * @throws NullPointerException 入口参数为 <code>null</code>。
      */
     public XmlJar2FileResourceLoader(InputStream in, ResourceResetPolicy resourceResetPolicy) {
+        this(in, resourceResetPolicy, null, 1);
+    }
+
+    /**
+     * 生成一个 XML jar 包资源文件读取器。
+     *
+     * <p>
+     * 如果指定了重置清单文件，读取器会在清单中记录每个资源文件重置时的指纹；
+     * 在 {@link ResourceResetPolicy#ALWAYS} 策略下，指纹未发生变化的资源文件不会被再次重置。<br>
+     * 如果指定的并行度大于 1，需要重置的资源会在有界的线程池中并行重置，资源添加到资源处理器中的顺序不受影响。
+     *
+     * @param in                  指定的输入流。
+     * @param resourceResetPolicy 复位的策略。
+     * @param resetManifest       重置清单文件，为 <code>null</code> 时不使用重置清单。
+     * @param resetParallelism    重置资源时的并行度，小于等于 1 时依次重置。
+     * @throws NullPointerException 入口参数 <code>in</code> 或 <code>resourceResetPolicy</code> 为 <code>null</code>。
+     * @since 0.4.3.a-beta
+     */
+    public XmlJar2FileResourceLoader(
+            InputStream in, ResourceResetPolicy resourceResetPolicy, File resetManifest, int resetParallelism
+    ) {
         super(in);
 
         Objects.requireNonNull(resourceResetPolicy,
                 DwarfUtil.getExceptionString(ExceptionStringKey.XMLJAR2FILERESOURCELOADER_5));
 
         this.resourceResetPolicy = resourceResetPolicy;
+        this.resetManifest = resetManifest;
+        this.resetParallelism = resetParallelism;
         autoReset = resourceResetPolicy == ResourceResetPolicy.AUTO;
     }
 
@@ -124,8 +159,14 @@ public class XmlJar2FileResourceLoader extends StreamLoader<ResourceHandler> {
              */
             List<Element> infos = root.elements(MARK_INFO);
 
+            ResourceResetter resetter = new ResourceResetter(resetManifest, resetParallelism);
             for (Element info : infos) {
-                loadInfo(resourceHandler, info);
+                loadInfo(resourceHandler, info, resetter);
+            }
+
+            List<Exception> resetExceptions = resetter.execute();
+            if (!resetExceptions.isEmpty()) {
+                throw resetExceptions.get(0);
             }
 
         } catch (Exception e) {
@@ -160,9 +201,10 @@ public class XmlJar2FileResourceLoader extends StreamLoader<ResourceHandler> {
              */
             List<Element> infos = root.elements(MARK_INFO);
 
+            ResourceResetter resetter = new ResourceResetter(resetManifest, resetParallelism);
             for (Element info : infos) {
                 try {
-                    loadInfo(resourceHandler, info);
+                    loadInfo(resourceHandler, info, resetter);
                 } catch (Exception e) {
                     exceptions.add(new LoadFailedException(
                             DwarfUtil.getExceptionString(ExceptionStringKey.XMLJAR2FILERESOURCELOADER_2), e));
@@ -170,6 +212,11 @@ public class XmlJar2FileResourceLoader extends StreamLoader<ResourceHandler> {
 
             }
 
+            for (Exception e : resetter.execute()) {
+                exceptions.add(new LoadFailedException(
+                        DwarfUtil.getExceptionString(ExceptionStringKey.XMLJAR2FILERESOURCELOADER_2), e));
+            }
+
         } catch (Exception e) {
             exceptions.add(new LoadFailedException(
                     DwarfUtil.getExceptionString(ExceptionStringKey.XMLJAR2FILERESOURCELOADER_2), e));
@@ -179,7 +226,8 @@ public class XmlJar2FileResourceLoader extends StreamLoader<ResourceHandler> {
 
     }
 
-    private void loadInfo(ResourceHandler resourceHandler, Element info) throws Exception {
+    private void loadInfo(ResourceHandler resourceHandler, Element info, ResourceResetter resetter)
+            throws Exception {
         String defString = Optional.ofNullable(info.attributeValue(MARK_DEFAULT))
                 .orElseThrow(EXCEPTION_SUPPLIER_LOSSING_PROPERTY);
         String resString = Optional.ofNullable(info.attributeValue(MARK_RESOURCE))
@@ -195,16 +243,6 @@ public class XmlJar2FileResourceLoader extends StreamLoader<ResourceHandler> {
         Url2FileResource resource = new Url2FileResource(key, def, res);
         resourceHandler.add(resource);
 
-        switch (resourceResetPolicy) {
-            case AUTO:
-                if (resource.isValid())
-                    break;
-            case ALWAYS:
-                resource.reset();
-                break;
-            case NEVER:
-            default:
-                break;
-        }
+        resetter.schedule(resourceResetPolicy, resource, def, res);
     }
 }
@@ -51,6 +51,25 @@ public class XmlJar2RepoResourceLoader extends StreamLoader<ResourceHandler> {
      */
     protected final boolean autoReset;
 
+    /**
+     * 重置资源的策略。
+     *
+     * @since 0.4.3.a-beta
+     */
+    protected final ResourceResetPolicy resourceResetPolicy;
+    /**
+     * 重置清单文件，为 <code>null</code> 时不使用重置清单。
+     *
+     * @since 0.4.3.a-beta
+     */
+    protected final File resetManifest;
+    /**
+     * 重置资源时的并行度。
+     *
+     * @since 0.4.3.a-beta
+     */
+    protected final int resetParallelism;
+
     private boolean readFlag = false;
 
     /**
@@ -94,9 +113,52 @@ public class XmlJar2RepoResourceLoader extends StreamLoader<ResourceHandler> {
      * @throws NullPointerException 入口参数 <code>in</code> 为 <code>null</code>。
      */
     public XmlJar2RepoResourceLoader(InputStream in, File repoDir, boolean autoReset) {
+        this(in, repoDir, autoReset ? ResourceResetPolicy.AUTO : ResourceResetPolicy.NEVER);
+    }
+
+    /**
+     * 生成一个 XML jar 包资源仓库读取器，由指定的资源仓库根目录替代 XML 文件中的根目录。
+     *
+     * @param in                  指定的输入流。
+     * @param repoDir             指定的资源仓库根目录，如果为 <code>null</code>，则使用 XML 中的根目录。
+     * @param resourceResetPolicy 复位的策略。
+     * @throws NullPointerException 入口参数 <code>in</code> 或 <code>resourceResetPolicy</code> 为 <code>null</code>。
+     * @since 0.4.3.a-beta
+     */
+    public XmlJar2RepoResourceLoader(InputStream in, File repoDir, ResourceResetPolicy resourceResetPolicy) {
+        this(in, repoDir, resourceResetPolicy, null, 1);
+    }
+
+    /**
+     * 生成一个 XML jar 包资源仓库读取器，由指定的资源仓库根目录替代 XML 文件中的根目录。
+     *
+     * <p>
+     * 如果指定了重置清单文件，读取器会在清单中记录每个资源文件重置时的指纹；
+     * 在 {@link ResourceResetPolicy#ALWAYS} 策略下，指纹未发生变化的资源文件不会被再次重置。<br>
+     * 如果指定的并行度大于 1，需要重置的资源会在有界的线程池中并行重置，资源添加到资源处理器中的顺序不受影响。
+     *
+     * @param in                  指定的输入流。
+     * @param repoDir             指定的资源仓库根目录，如果为 <code>null</code>，则使用 XML 中的根目录。
+     * @param resourceResetPolicy 复位的策略。
+     * @param resetManifest       重置清单文件，为 <code>null</code> 时不使用重置清单。
+     * @param resetParallelism    重置资源时的并行度，小于等于 1 时依次重置。
+     * @throws NullPointerException 入口参数 <code>in</code> 或 <code>resourceResetPolicy</code> 为 <code>null</code>。
+     * @since 0.4.3.a-beta
+     */
+    public XmlJar2RepoResourceLoader(
+            InputStream in, File repoDir, ResourceResetPolicy resourceResetPolicy, File resetManifest,
+            int resetParallelism
+    ) {
         super(in);
+
+        Objects.requireNonNull(resourceResetPolicy,
+                DwarfUtil.getExceptionString(ExceptionStringKey.XMLJAR2REPORESOURCELOADER_5));
+
         this.repoDir = repoDir;
-        this.autoReset = autoReset;
+        this.resourceResetPolicy = resourceResetPolicy;
+        this.resetManifest = resetManifest;
+        this.resetParallelism = resetParallelism;
+        this.autoReset = resourceResetPolicy == ResourceResetPolicy.AUTO;
     }
 
     /**
@@ -131,6 +193,7 @@ public class XmlJar2RepoResourceLoader extends StreamLoader<ResourceHandler> {
              */
             List<Element> infos = root.elements("info");
 
+            ResourceResetter resetter = new ResourceResetter(resetManifest, resetParallelism);
             for (Element info : infos) {
                 String defString = info.attributeValue("default");
                 String classify = info.attributeValue("classify");
@@ -153,9 +216,13 @@ public class XmlJar2RepoResourceLoader extends StreamLoader<ResourceHandler> {
                 Url2RepoResource resource = new Url2RepoResource(key, def, repoDir0, classify, fileName);
                 resourceHandler.add(resource);
 
-                if (autoReset && !resource.isValid()) {
-                    resource.reset();
-                }
+                resetter.schedule(resourceResetPolicy, resource, def,
+                        new File(repoDir0, classify + File.separator + fileName));
+            }
+
+            List<Exception> resetExceptions = resetter.execute();
+            if (!resetExceptions.isEmpty()) {
+                throw resetExceptions.get(0);
             }
 
         } catch (Exception e) {
@@ -198,6 +265,7 @@ public class XmlJar2RepoResourceLoader extends StreamLoader<ResourceHandler> {
              */
             List<Element> infos = root.elements("info");
 
+            ResourceResetter resetter = new ResourceResetter(resetManifest, resetParallelism);
             for (Element info : infos) {
                 try {
                     String defString = info.attributeValue("default");
@@ -221,9 +289,8 @@ public class XmlJar2RepoResourceLoader extends StreamLoader<ResourceHandler> {
                     Url2RepoResource resource = new Url2RepoResource(key, def, repoDir0, classify, fileName);
                     resourceHandler.add(resource);
 
-                    if (autoReset && !resource.isValid()) {
-                        resource.reset();
-                    }
+                    resetter.schedule(resourceResetPolicy, resource, def,
+                            new File(repoDir0, classify + File.separator + fileName));
                 } catch (Exception e) {
                     exceptions.add(new LoadFailedException(
                             DwarfUtil.getExceptionString(ExceptionStringKey.XMLJAR2REPORESOURCELOADER_4), e));
@@ -231,6 +298,11 @@ public class XmlJar2RepoResourceLoader extends StreamLoader<ResourceHandler> {
 
             }
 
+            for (Exception e : resetter.execute()) {
+                exceptions.add(new LoadFailedException(
+                        DwarfUtil.getExceptionString(ExceptionStringKey.XMLJAR2REPORESOURCELOADER_4), e));
+            }
+
         } catch (Exception e) {
             exceptions.add(new LoadFailedException(
                     DwarfUtil.getExceptionString(ExceptionStringKey.XMLJAR2REPORESOURCELOADER_4), e));
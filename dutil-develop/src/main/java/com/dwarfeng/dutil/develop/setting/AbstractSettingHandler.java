@@ -650,14 +650,14 @@ public abstract class AbstractSettingHandler implements SettingHandler {
      * @param currentValue 指定的键对应的当前值。
      */
     protected void fireKeyPut(String key, SettingInfo settingInfo, String currentValue) {
-        for (SettingObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireKeyPut(key, settingInfo, currentValue);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -666,28 +666,28 @@ public abstract class AbstractSettingHandler implements SettingHandler {
      * @param key 指定的键值。
      */
     protected void fireKeyRemoved(String key) {
-        for (SettingObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireKeyRemoved(key);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
      * 通知观察器键值被清空。
      */
     protected void fireKeyCleared() {
-        for (SettingObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireKeyCleared();
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -698,14 +698,14 @@ public abstract class AbstractSettingHandler implements SettingHandler {
      * @param newValue 指定的键对应的新的配置信息。
      */
     protected void fireSettingInfoChanged(String key, SettingInfo oldValue, SettingInfo newValue) {
-        for (SettingObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireSettingInfoChanged(key, oldValue, newValue);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -716,13 +716,13 @@ public abstract class AbstractSettingHandler implements SettingHandler {
      * @param newValue 指定的键对应的新的当前值。
      */
     protected void fireCurrentValueChanged(String key, String oldValue, String newValue) {
-        for (SettingObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireCurrentValueChanged(key, oldValue, newValue);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 }
@@ -349,14 +349,14 @@ public abstract class AbstractPlan implements Plan {
      * @param actualRunTime   计划运行的实际时间。
      */
     protected void fireRun(int count, long expectedRumTime, long actualRunTime) {
-        for (PlanObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireRun(count, expectedRumTime, actualRunTime);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -366,14 +366,14 @@ public abstract class AbstractPlan implements Plan {
      * @param throwable     本次运行抛出的异常，如没有，则为 <code>null</code>。
      */
     protected void fireFinished(int finishedCount, Throwable throwable) {
-        for (PlanObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireFinished(finishedCount, throwable);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
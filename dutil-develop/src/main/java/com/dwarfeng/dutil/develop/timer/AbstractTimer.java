@@ -2,12 +2,11 @@ package com.dwarfeng.dutil.develop.timer;
 
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
 import com.dwarfeng.dutil.develop.timer.obs.TimerObserver;
 
-import java.util.Collections;
 import java.util.Objects;
 import java.util.Set;
-import java.util.WeakHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -35,7 +34,7 @@ public abstract class AbstractTimer implements Timer {
      * 生成一个默认的观察器。
      */
     public AbstractTimer() {
-        this(Collections.newSetFromMap(new WeakHashMap<>()));
+        this(new ObserverRegistry<>());
     }
 
     /**
@@ -115,14 +114,14 @@ public abstract class AbstractTimer implements Timer {
      * @param plan 指定的计划。
      */
     protected void firePlanScheduled(Plan plan) {
-        for (TimerObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.firePlanScheduled(plan);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -134,14 +133,14 @@ public abstract class AbstractTimer implements Timer {
      * @param actualRunTime   计划运行的实际时间。
      */
     protected void firePlanRun(Plan plan, int count, long expectedRumTime, long actualRunTime) {
-        for (TimerObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.firePlanRun(plan, count, expectedRumTime, actualRunTime);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -152,14 +151,14 @@ public abstract class AbstractTimer implements Timer {
      * @param throwable     本次运行抛出的异常，如没有，则为 <code>null</code>。
      */
     protected void firePlanFinished(Plan plan, int finishedCount, Throwable throwable) {
-        for (TimerObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.firePlanFinished(plan, finishedCount, throwable);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
@@ -168,55 +167,55 @@ public abstract class AbstractTimer implements Timer {
      * @param plan 指定的计划。
      */
     protected void firePlanRemoved(Plan plan) {
-        for (TimerObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.firePlanRemoved(plan);
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
      * 通知观察器所有计划被清除。
      */
     protected void firePlanCleared() {
-        for (TimerObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.firePlanCleared();
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
      * 通知观察器计时器被关闭。
      */
     protected void fireShutDown() {
-        for (TimerObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireShutDown();
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 
     /**
      * 通知观察器计时器被终结。
      */
     protected void fireTerminated() {
-        for (TimerObserver observer : observers) {
+        observers.forEach(observer -> {
             if (Objects.nonNull(observer))
                 try {
                     observer.fireTerminated();
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
-        }
+        });
     }
 }
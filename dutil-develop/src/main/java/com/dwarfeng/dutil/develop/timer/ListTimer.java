@@ -3,6 +3,7 @@ package com.dwarfeng.dutil.develop.timer;
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
 import com.dwarfeng.dutil.basic.cna.CollectionUtil;
+import com.dwarfeng.dutil.basic.prog.ObserverRegistry;
 import com.dwarfeng.dutil.basic.threads.NumberedThreadFactory;
 import com.dwarfeng.dutil.develop.timer.obs.PlanAdapter;
 import com.dwarfeng.dutil.develop.timer.obs.TimerObserver;
@@ -61,7 +62,7 @@ public class ListTimer extends AbstractTimer {
      * 生成一个具有默认维护列表，默认的线程工厂，默认观察器集合的列表计时器。
      */
     public ListTimer() {
-        this(new ArrayList<>(), THREAD_FACTORY, Collections.newSetFromMap(new WeakHashMap<>()));
+        this(new ArrayList<>(), THREAD_FACTORY, new ObserverRegistry<>());
     }
 
     /**
@@ -0,0 +1,168 @@
+package com.dwarfeng.dutil.develop.resource;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class CachedResourceHandlerTest {
+
+    private MemoryResource a = null;
+    private MemoryResource b = null;
+    private CachedResourceHandler handler = null;
+
+    @Before
+    public void setUp() {
+        a = new MemoryResource("A", "HelloWorld!");
+        b = new MemoryResource("B", "0123456789");
+        ResourceHandler delegate = new DelegateResourceHandler();
+        delegate.add(a);
+        delegate.add(b);
+        handler = ResourceUtil.cachedResourceHandler(delegate, 16);
+    }
+
+    @Test
+    public void testOpenInputStream() throws IOException {
+        assertEquals("HelloWorld!", read(handler.openInputStream("A")));
+        assertEquals("HelloWorld!", read(handler.openInputStream("A")));
+        assertEquals("HelloWorld!", read(handler.get("A").openInputStream()));
+        assertEquals(1, a.openCount);
+        assertEquals(11, handler.getCacheSize());
+    }
+
+    @Test
+    public void testMapReadOnly() throws IOException {
+        assertEquals("HelloWorld!", StandardCharsets.UTF_8.decode(handler.mapReadOnly("A")).toString());
+        assertEquals(1, a.openCount);
+        assertEquals("HelloWorld!", read(handler.openInputStream("A")));
+        assertEquals("HelloWorld!", StandardCharsets.UTF_8.decode(handler.mapReadOnly("A")).toString());
+        assertEquals(2, a.openCount);
+    }
+
+    @Test
+    public void testEviction() throws IOException {
+        read(handler.openInputStream("A"));
+        read(handler.openInputStream("B"));
+        assertEquals(10, handler.getCacheSize());
+        read(handler.openInputStream("A"));
+        assertEquals(2, a.openCount);
+        assertEquals(11, handler.getCacheSize());
+    }
+
+    @Test(timeout = 10000)
+    public void testUnboundedCache() throws IOException {
+        ResourceHandler delegate = new DelegateResourceHandler();
+        delegate.add(a);
+        CachedResourceHandler handler = ResourceUtil.cachedResourceHandler(delegate, Long.MAX_VALUE);
+        assertEquals("HelloWorld!", read(handler.openInputStream("A")));
+        assertEquals("HelloWorld!", read(handler.openInputStream("A")));
+        assertEquals(1, a.openCount);
+        assertEquals(11, handler.getCacheSize());
+    }
+
+    @Test
+    public void testTooLarge() throws IOException {
+        a.content = "This content is larger than the cache".getBytes(StandardCharsets.UTF_8);
+        assertEquals("This content is larger than the cache", read(handler.openInputStream("A")));
+        assertEquals("This content is larger than the cache", read(handler.openInputStream("A")));
+        assertEquals(2, a.openCount);
+        assertEquals(0, handler.getCacheSize());
+    }
+
+    @Test
+    public void testOpenOutputStream() throws IOException {
+        assertEquals("HelloWorld!", read(handler.openInputStream("A")));
+        OutputStream out = handler.openOutputStream("A");
+        out.write("Foo".getBytes(StandardCharsets.UTF_8));
+        out.close();
+        assertEquals("Foo", read(handler.openInputStream("A")));
+        assertEquals(2, a.openCount);
+    }
+
+    @Test
+    public void testReset() throws IOException {
+        a.content = "Foo".getBytes(StandardCharsets.UTF_8);
+        assertEquals("Foo", read(handler.openInputStream("A")));
+        handler.reset("A");
+        assertEquals("HelloWorld!", read(handler.openInputStream("A")));
+    }
+
+    @Test
+    public void testInvalidateCache() throws IOException {
+        read(handler.openInputStream("A"));
+        a.content = "Foo".getBytes(StandardCharsets.UTF_8);
+        assertEquals("HelloWorld!", read(handler.openInputStream("A")));
+        handler.invalidateCache("A");
+        assertEquals("Foo", read(handler.openInputStream("A")));
+        handler.invalidateAllCache();
+        assertEquals(0, handler.getCacheSize());
+    }
+
+    @Test
+    public void testRemove() throws IOException {
+        read(handler.openInputStream("A"));
+        assertTrue(handler.contains(handler.get("A")));
+        assertTrue(handler.remove(handler.get("A")));
+        assertEquals(0, handler.getCacheSize());
+        assertFalse(handler.containsKey("A"));
+        assertEquals(1, handler.size());
+    }
+
+    @Test
+    public void testEquals() {
+        Resource cached = handler.get("A");
+        assertEquals(cached, handler.get("A"));
+        assertEquals(cached.hashCode(), handler.get("A").hashCode());
+        assertNotEquals(cached, handler.get("B"));
+        assertEquals(a.equals(cached), cached.equals(a));
+        assertNotEquals(cached, a);
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int i;
+        while ((i = in.read()) >= 0) {
+            out.write(i);
+        }
+        in.close();
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static final class MemoryResource extends AbstractResource {
+
+        private final byte[] def;
+        private byte[] content;
+        private int openCount = 0;
+
+        public MemoryResource(String key, String content) {
+            super(key);
+            this.def = content.getBytes(StandardCharsets.UTF_8);
+            this.content = this.def;
+        }
+
+        @Override
+        public InputStream openInputStream() {
+            openCount++;
+            return new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return new ByteArrayOutputStream() {
+
+                @Override
+                public void close() {
+                    content = toByteArray();
+                }
+            };
+        }
+
+        @Override
+        public void reset() {
+            content = def;
+        }
+    }
+}
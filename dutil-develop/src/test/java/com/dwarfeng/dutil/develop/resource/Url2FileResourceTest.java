@@ -7,9 +7,12 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Scanner;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class Url2FileResourceTest {
 
@@ -52,6 +55,13 @@ public class Url2FileResourceTest {
         scanner.close();
     }
 
+    @Test
+    public void testMapReadOnly() throws IOException {
+        ByteBuffer buffer = resource.mapReadOnly();
+        assertTrue(buffer.isReadOnly());
+        assertEquals("HelloWorld!", StandardCharsets.UTF_8.decode(buffer).toString());
+    }
+
     @Test
     public void testOpenOutputStream() throws IOException {
         OutputStream out = resource.openOutputStream();
@@ -3,16 +3,20 @@ package com.dwarfeng.dutil.develop.resource;
 import com.dwarfeng.dutil.basic.io.FileUtil;
 import com.dwarfeng.dutil.basic.io.IOUtil;
 import com.dwarfeng.dutil.basic.io.LoadFailedException;
+import com.dwarfeng.dutil.develop.resource.io.ResourceResetPolicy;
 import com.dwarfeng.dutil.develop.resource.io.XmlJar2FileResourceLoader;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Scanner;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class XmlJar2FileResourceLoaderTest {
 
@@ -77,4 +81,36 @@ public class XmlJar2FileResourceLoaderTest {
         assertEquals("HelloWorld!", scanner.nextLine());
         scanner.close();
     }
+
+    @Test
+    public void testResetManifest() throws IOException {
+        File file = new File("test/hello.txt");
+        File manifest = new File("test/reset.manifest");
+        try {
+            Set<LoadFailedException> exceptions = newLoader(manifest).countinuousLoad(new DelegateResourceHandler());
+            assertEquals(1, exceptions.size());
+            assertTrue(manifest.exists());
+            assertEquals("HelloWorld!", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+
+            // 相同大小与修改时间的文件视为未修改，因此不会被重置。
+            long lastModified = file.lastModified();
+            Files.write(file.toPath(), "HelloWorle?".getBytes(StandardCharsets.UTF_8));
+            assertTrue(file.setLastModified(lastModified));
+            newLoader(manifest).countinuousLoad(new DelegateResourceHandler());
+            assertEquals("HelloWorle?", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+
+            // 文件的修改时间发生变化后，文件会被重置。
+            assertTrue(file.setLastModified(lastModified - 10000));
+            newLoader(manifest).countinuousLoad(new DelegateResourceHandler());
+            assertEquals("HelloWorld!", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        } finally {
+            FileUtil.deleteFile(manifest);
+        }
+    }
+
+    private XmlJar2FileResourceLoader newLoader(File manifest) {
+        return new XmlJar2FileResourceLoader(
+                this.getClass().getResourceAsStream("/com/dwarfeng/dutil/resources/test/develop/resource/paths.xml"),
+                ResourceResetPolicy.ALWAYS, manifest, 4);
+    }
 }